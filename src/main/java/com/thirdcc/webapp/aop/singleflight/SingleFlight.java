@@ -0,0 +1,23 @@
+package com.thirdcc.webapp.aop.singleflight;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Concurrent calls of the annotated method with equal arguments share a single execution, see {@link SingleFlightAspect}.
+ * <p>
+ * Only for read methods whose result does not depend on the current user, and is not modified by the callers.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+
+    /**
+     * @return the name of the flight in the metrics, the class and method name by default.
+     */
+    String value() default "";
+}
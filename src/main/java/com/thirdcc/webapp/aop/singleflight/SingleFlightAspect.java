@@ -0,0 +1,153 @@
+package com.thirdcc.webapp.aop.singleflight;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aspect coalescing the concurrent calls of the {@link SingleFlight} methods: the first caller executes the method,
+ * and the callers arriving with equal arguments while it runs wait for its result, or its exception.
+ * <p>
+ * It runs outside of the transaction of the method. Callers already in a transaction execute the method themselves,
+ * as they may have to see their own uncommitted changes.
+ * The {@code singleflight.callers} summary records the number of callers served by each execution.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SingleFlightAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<Key, Flight> flights = new ConcurrentHashMap<>();
+
+    public SingleFlightAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(com.thirdcc.webapp.aop.singleflight.SingleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getTarget().getClass());
+        SingleFlight singleFlight = AnnotationUtils.findAnnotation(method, SingleFlight.class);
+        Key key = new Key(method, joinPoint.getArgs());
+        while (true) {
+            Flight flight = new Flight();
+            Flight inFlight = flights.putIfAbsent(key, flight);
+            if (inFlight == null) {
+                return execute(joinPoint, getName(method, singleFlight), key, flight);
+            }
+            if (inFlight.join()) {
+                return inFlight.await();
+            }
+            // landed while the flight was completing, start a new one
+        }
+    }
+
+    private Object execute(ProceedingJoinPoint joinPoint, String name, Key key, Flight flight) throws Throwable {
+        try {
+            Object result = joinPoint.proceed();
+            flight.result.complete(result);
+            return result;
+        } catch (Throwable t) {
+            flight.result.completeExceptionally(t);
+            throw t;
+        } finally {
+            flights.remove(key, flight);
+            DistributionSummary.builder("singleflight.callers")
+                .description("Number of callers served by a single execution")
+                .tag("flight", name)
+                .register(meterRegistry)
+                .record(flight.close());
+        }
+    }
+
+    private String getName(Method method, SingleFlight singleFlight) {
+        if (singleFlight != null && !singleFlight.value().isEmpty()) {
+            return singleFlight.value();
+        }
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private static final class Flight {
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        /**
+         * The number of callers waiting for the result, -1 once it is no longer joinable.
+         */
+        private final AtomicInteger callers = new AtomicInteger(1);
+
+        boolean join() {
+            while (true) {
+                int current = callers.get();
+                if (current < 0) {
+                    return false;
+                }
+                if (callers.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        int close() {
+            return callers.getAndSet(-1);
+        }
+
+        Object await() throws Throwable {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static final class Key {
+
+        private final Method method;
+
+        private final List<Object> args;
+
+        Key(Method method, Object[] args) {
+            this.method = method;
+            this.args = Arrays.asList(args);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return method.equals(key.method) && args.equals(key.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(method, args);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.thirdcc.webapp.authorization;
+
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.domain.Administrator;
+import com.thirdcc.webapp.domain.EventCrew;
+import com.thirdcc.webapp.domain.enumeration.AdministratorRole;
+import com.thirdcc.webapp.domain.enumeration.AdministratorStatus;
+import com.thirdcc.webapp.domain.enumeration.EventCrewRole;
+import com.thirdcc.webapp.repository.AdministratorRepository;
+import com.thirdcc.webapp.repository.EventCrewRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded cache of the {@link UserAuthorization} of users, keyed by user and year session.
+ * <p>
+ * Entries are invalidated after the commit of every {@link AuthorizationChangedEvent}, on the other instances through
+ * the {@link com.thirdcc.webapp.cache.CacheInvalidationBus}, and also expire after the configured time to live to bound
+ * the staleness of changes made without going through the services.
+ * A load started before an invalidation is not kept in the cache, it may have read the authorizations before the commit.
+ * Caching is disabled when the maximum size is {@code 0}.
+ */
+@Component
+public class AuthorizationCache {
+
+    /**
+     * Name of the cache in the {@link com.thirdcc.webapp.cache.CacheInvalidation}s, keyed by user id.
+     */
+    public static final String CACHE_NAME = "userAuthorizations";
+
+    private final Logger log = LoggerFactory.getLogger(AuthorizationCache.class);
+
+    private final AdministratorRepository administratorRepository;
+
+    private final EventCrewRepository eventCrewRepository;
+
+    private final Cache<Key, UserAuthorization> userAuthorizations;
+
+    /**
+     * Incremented by every invalidation, before the entries are invalidated.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public AuthorizationCache(
+        AdministratorRepository administratorRepository,
+        EventCrewRepository eventCrewRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.administratorRepository = administratorRepository;
+        this.eventCrewRepository = eventCrewRepository;
+        ApplicationProperties.Authorization authorization = applicationProperties.getAuthorization();
+        this.userAuthorizations = authorization.getCacheMaximumSize() > 0
+            ? Caffeine.newBuilder()
+                .maximumSize(authorization.getCacheMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(authorization.getCacheTimeToLiveSeconds()))
+                .build()
+            : null;
+    }
+
+    /**
+     * @param yearSession the year session of the administrator roles, or {@code null} to only resolve the event crew memberships.
+     */
+    public UserAuthorization get(Long userId, String yearSession) {
+        if (userAuthorizations == null) {
+            return load(userId, yearSession);
+        }
+        Key key = new Key(userId, yearSession);
+        UserAuthorization userAuthorization = userAuthorizations.getIfPresent(key);
+        if (userAuthorization != null) {
+            return userAuthorization;
+        }
+        long loadGeneration = generation.get();
+        userAuthorization = load(userId, yearSession);
+        userAuthorizations.put(key, userAuthorization);
+        if (generation.get() != loadGeneration) {
+            // invalidated during the load, after or before the entry was put
+            userAuthorizations.invalidate(key);
+        }
+        return userAuthorization;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        log.debug("Request to invalidate cached authorizations : {}", event);
+        if (event.isAllUsers()) {
+            invalidateAll();
+        } else {
+            invalidate(event.getUserIds());
+        }
+    }
+
+    public void invalidate(Collection<Long> userIds) {
+        if (userAuthorizations == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        userAuthorizations.invalidateAll(userAuthorizations.asMap().keySet().stream()
+            .filter(key -> userIds.contains(key.userId))
+            .collect(Collectors.toList()));
+    }
+
+    public void invalidateAll() {
+        if (userAuthorizations == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        userAuthorizations.invalidateAll();
+    }
+
+    /**
+     * Resolve the authorization from the database, bypassing the cache.
+     */
+    UserAuthorization load(Long userId, String yearSession) {
+        Set<AdministratorRole> activeAdministratorRoles = EnumSet.noneOf(AdministratorRole.class);
+        if (yearSession != null) {
+            administratorRepository
+                .findAllByUserIdAndYearSessionAndStatus(userId, yearSession, AdministratorStatus.ACTIVE)
+                .stream()
+                .map(Administrator::getRole)
+                .forEach(activeAdministratorRoles::add);
+        }
+        List<EventCrew> eventCrews = eventCrewRepository.findAllByUserId(userId);
+        Set<Long> crewEventIds = new HashSet<>();
+        Set<Long> headEventIds = new HashSet<>();
+        for (EventCrew eventCrew : eventCrews) {
+            crewEventIds.add(eventCrew.getEventId());
+            if (eventCrew.getRole() == EventCrewRole.HEAD) {
+                headEventIds.add(eventCrew.getEventId());
+            }
+        }
+        return new UserAuthorization(activeAdministratorRoles, crewEventIds, headEventIds);
+    }
+
+    private static class Key {
+
+        private final Long userId;
+
+        private final String yearSession;
+
+        Key(Long userId, String yearSession) {
+            this.userId = userId;
+            this.yearSession = yearSession;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(userId, key.userId) && Objects.equals(yearSession, key.yearSession);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, yearSession);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.thirdcc.webapp.authorization;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Published when administrators, event crews or year sessions change, so that the cached authorizations of the
+ * affected users are invalidated once the change is committed.
+ */
+public class AuthorizationChangedEvent {
+
+    private final Set<Long> userIds;
+
+    private AuthorizationChangedEvent(Set<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    /**
+     * @param userIds the ids of the users whose authorizations changed, {@code null} ids are ignored.
+     */
+    public static AuthorizationChangedEvent ofUsers(Long... userIds) {
+        Set<Long> affectedUserIds = new HashSet<>(Arrays.asList(userIds));
+        affectedUserIds.remove(null);
+        return new AuthorizationChangedEvent(Collections.unmodifiableSet(affectedUserIds));
+    }
+
+    /**
+     * The authorizations of all users changed, e.g. when the current year session changes.
+     */
+    public static AuthorizationChangedEvent ofAllUsers() {
+        return new AuthorizationChangedEvent(null);
+    }
+
+    public boolean isAllUsers() {
+        return userIds == null;
+    }
+
+    public Set<Long> getUserIds() {
+        return userIds == null ? Collections.emptySet() : userIds;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthorizationChangedEvent{" +
+            "userIds=" + (isAllUsers() ? "ALL" : Objects.toString(userIds)) +
+            "}";
+    }
+}
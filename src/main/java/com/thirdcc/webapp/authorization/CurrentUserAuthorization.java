@@ -0,0 +1,51 @@
+package com.thirdcc.webapp.authorization;
+
+import com.thirdcc.webapp.domain.User;
+import com.thirdcc.webapp.domain.YearSession;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Authorization facts of the current user, each resolved at most once and reused by every security expression
+ * evaluated for the same request.
+ */
+class CurrentUserAuthorization {
+
+    private final String login;
+
+    private User user;
+
+    private Optional<YearSession> currentYearSession;
+
+    private UserAuthorization userAuthorization;
+
+    CurrentUserAuthorization(String login) {
+        this.login = login;
+    }
+
+    String getLogin() {
+        return login;
+    }
+
+    User getUser(Supplier<User> userLoader) {
+        if (user == null) {
+            user = userLoader.get();
+        }
+        return user;
+    }
+
+    Optional<YearSession> getCurrentYearSession(Supplier<Optional<YearSession>> yearSessionLoader) {
+        if (currentYearSession == null) {
+            currentYearSession = yearSessionLoader.get();
+        }
+        return currentYearSession;
+    }
+
+    UserAuthorization getUserAuthorization(Supplier<UserAuthorization> userAuthorizationLoader) {
+        if (userAuthorization == null) {
+            userAuthorization = userAuthorizationLoader.get();
+        }
+        return userAuthorization;
+    }
+}
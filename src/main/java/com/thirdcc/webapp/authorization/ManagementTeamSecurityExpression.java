@@ -2,63 +2,73 @@ package com.thirdcc.webapp.authorization;
 
 import com.thirdcc.webapp.domain.*;
 import com.thirdcc.webapp.domain.enumeration.AdministratorRole;
-import com.thirdcc.webapp.domain.enumeration.AdministratorStatus;
-import com.thirdcc.webapp.domain.enumeration.EventCrewRole;
 import com.thirdcc.webapp.exception.BadRequestException;
-import com.thirdcc.webapp.repository.AdministratorRepository;
-import com.thirdcc.webapp.repository.EventCrewRepository;
+import com.thirdcc.webapp.exception.InternalServerErrorException;
 import com.thirdcc.webapp.repository.UserRepository;
 import com.thirdcc.webapp.security.AuthoritiesConstants;
 import com.thirdcc.webapp.security.SecurityUtils;
+import com.thirdcc.webapp.security.jwt.TokenPermissions;
 import com.thirdcc.webapp.service.UserService;
 import com.thirdcc.webapp.service.YearSessionService;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ManagementTeamSecurityExpression {
+
+    private static final String CURRENT_USER_AUTHORIZATION_ATTRIBUTE = CurrentUserAuthorization.class.getName();
+
+    private static final String CURRENT_TOKEN_PERMISSIONS_ATTRIBUTE = TokenPermissions.class.getName();
+
     private final UserService userService;
     private final UserRepository userRepository;
-    private final EventCrewRepository eventCrewRepository;
-    private final AdministratorRepository administratorRepository;
     private final YearSessionService yearSessionService;
+    private final AuthorizationCache authorizationCache;
+    private final TokenPermissionsService tokenPermissionsService;
 
     public ManagementTeamSecurityExpression(
         UserService userService,
         UserRepository userRepository,
-        EventCrewRepository eventCrewRepository,
-        AdministratorRepository administratorRepository,
-        YearSessionService yearSessionService
+        YearSessionService yearSessionService,
+        AuthorizationCache authorizationCache,
+        TokenPermissionsService tokenPermissionsService
     ) {
         this.userService = userService;
         this.userRepository = userRepository;
-        this.eventCrewRepository = eventCrewRepository;
-        this.administratorRepository = administratorRepository;
         this.yearSessionService = yearSessionService;
+        this.authorizationCache = authorizationCache;
+        this.tokenPermissionsService = tokenPermissionsService;
     }
 
     /**
      * Check if User is CC Head only
      */
     public boolean isCurrentCCHead() {
-        User currentUser = getCurrentUserWithLogin();
-        YearSession currentYearSession = yearSessionService.getCurrentYearSession();
-        return administratorRepository
-            .findByUserIdAndYearSessionAndRoleAndStatus(currentUser.getId(), currentYearSession.getValue(), AdministratorRole.CC_HEAD, AdministratorStatus.ACTIVE)
-            .isPresent();
+        Optional<TokenPermissions> tokenPermissions = getTokenPermissions();
+        if (tokenPermissions.isPresent()) {
+            return getCurrentAdministratorRoles(tokenPermissions.get()).contains(AdministratorRole.CC_HEAD);
+        }
+        return getCurrentAdministratorRoles(getCurrentUserAuthorization()).contains(AdministratorRole.CC_HEAD);
     }
 
     /**
      * Check if User is Administrator
      */
     public boolean isCurrentAdministrator() {
-        User currentUser = getCurrentUserWithLogin();
-        YearSession currentYearSession = yearSessionService.getCurrentYearSession();
-        return administratorRepository
-            .findByUserIdAndYearSessionAndStatus(currentUser.getId(), currentYearSession.getValue(), AdministratorStatus.ACTIVE)
-            .isPresent();
+        Optional<TokenPermissions> tokenPermissions = getTokenPermissions();
+        if (tokenPermissions.isPresent()) {
+            return !getCurrentAdministratorRoles(tokenPermissions.get()).isEmpty();
+        }
+        return !getCurrentAdministratorRoles(getCurrentUserAuthorization()).isEmpty();
     }
 
     /**
@@ -66,13 +76,17 @@ public class ManagementTeamSecurityExpression {
      * @param eventId eventId
      */
     public boolean isEventCrew(Long eventId) {
-        User currentUser = getCurrentUserWithLogin();
+        Optional<TokenPermissions> tokenPermissions = getTokenPermissions();
+        if (tokenPermissions.isPresent()) {
+            return tokenPermissions.get().isEventCrew(eventId);
+        }
+
+        CurrentUserAuthorization currentUserAuthorization = getCurrentUserAuthorization();
+        getCurrentUserWithLogin(currentUserAuthorization);
 
         if (eventId == null) return false;
 
-        return eventCrewRepository
-            .findByUserIdAndAndEventId(currentUser.getId(), eventId)
-            .isPresent();
+        return getUserAuthorization(currentUserAuthorization).isEventCrew(eventId);
     }
 
     /**
@@ -80,10 +94,11 @@ public class ManagementTeamSecurityExpression {
      * @param eventId eventId
      */
     public boolean isEventHead(Long eventId) {
-        User currentUser = getCurrentUserWithLogin();
-        return eventCrewRepository
-            .findByUserIdAndAndEventIdAndRole(currentUser.getId(), eventId, EventCrewRole.HEAD)
-            .isPresent();
+        Optional<TokenPermissions> tokenPermissions = getTokenPermissions();
+        if (tokenPermissions.isPresent()) {
+            return tokenPermissions.get().isEventHead(eventId);
+        }
+        return getUserAuthorization(getCurrentUserAuthorization()).isEventHead(eventId);
     }
 
     @Deprecated
@@ -113,10 +128,86 @@ public class ManagementTeamSecurityExpression {
             .collect(Collectors.toList());
     }
 
-    private User getCurrentUserWithLogin() {
-        return SecurityUtils
+    private Set<AdministratorRole> getCurrentAdministratorRoles(TokenPermissions tokenPermissions) {
+        if (tokenPermissions.getYearSession() == null) {
+            throw new InternalServerErrorException("Year Session not found");
+        }
+        return tokenPermissions.getAdministratorRoles();
+    }
+
+    private Set<AdministratorRole> getCurrentAdministratorRoles(CurrentUserAuthorization currentUserAuthorization) {
+        getCurrentUserWithLogin(currentUserAuthorization);
+        getCurrentYearSession(currentUserAuthorization)
+            .orElseThrow(() -> new InternalServerErrorException("Year Session not found"));
+        return getUserAuthorization(currentUserAuthorization).getActiveAdministratorRoles();
+    }
+
+    /**
+     * Event crew memberships do not depend on the year session, so they are still resolved without a current one.
+     */
+    private UserAuthorization getUserAuthorization(CurrentUserAuthorization currentUserAuthorization) {
+        return currentUserAuthorization.getUserAuthorization(() -> authorizationCache.get(
+            getCurrentUserWithLogin(currentUserAuthorization).getId(),
+            getCurrentYearSession(currentUserAuthorization).map(YearSession::getValue).orElse(null)
+        ));
+    }
+
+    private Optional<YearSession> getCurrentYearSession(CurrentUserAuthorization currentUserAuthorization) {
+        return currentUserAuthorization.getCurrentYearSession(yearSessionService::findCurrentYearSession);
+    }
+
+    private User getCurrentUserWithLogin(CurrentUserAuthorization currentUserAuthorization) {
+        return currentUserAuthorization.getUser(() -> userRepository
+            .findOneWithAuthoritiesByLogin(currentUserAuthorization.getLogin())
+            .orElseThrow(() -> new BadRequestException("Cannot find user")));
+    }
+
+    /**
+     * Get the permissions embedded in the access token of the current user, if any. Their version is checked against
+     * the database once per request, which also rejects the tokens of deleted users.
+     *
+     * @throws CredentialsExpiredException if the permissions changed since the token was issued, so that the client
+     *                                     refreshes its access token.
+     */
+    private Optional<TokenPermissions> getTokenPermissions() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getDetails() instanceof TokenPermissions)) {
+            return Optional.empty();
+        }
+        TokenPermissions tokenPermissions = (TokenPermissions) authentication.getDetails();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+            && requestAttributes.getAttribute(CURRENT_TOKEN_PERMISSIONS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == tokenPermissions) {
+            return Optional.of(tokenPermissions);
+        }
+        if (!tokenPermissionsService.isCurrent(tokenPermissions)) {
+            throw new CredentialsExpiredException("Permissions changed, the access token must be refreshed");
+        }
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(CURRENT_TOKEN_PERMISSIONS_ATTRIBUTE, tokenPermissions, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.of(tokenPermissions);
+    }
+
+    /**
+     * Get the authorization facts of the current user, shared by all expressions evaluated within the current request.
+     * Outside of a request, they are resolved again on every call.
+     */
+    private CurrentUserAuthorization getCurrentUserAuthorization() {
+        String login = SecurityUtils
             .getCurrentUserLogin()
-            .flatMap(userRepository::findOneWithAuthoritiesByLogin)
             .orElseThrow(() -> new BadRequestException("Cannot find user"));
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return new CurrentUserAuthorization(login);
+        }
+        Object currentUserAuthorization = requestAttributes.getAttribute(CURRENT_USER_AUTHORIZATION_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (currentUserAuthorization instanceof CurrentUserAuthorization
+            && login.equals(((CurrentUserAuthorization) currentUserAuthorization).getLogin())) {
+            return (CurrentUserAuthorization) currentUserAuthorization;
+        }
+        CurrentUserAuthorization newCurrentUserAuthorization = new CurrentUserAuthorization(login);
+        requestAttributes.setAttribute(CURRENT_USER_AUTHORIZATION_ATTRIBUTE, newCurrentUserAuthorization, RequestAttributes.SCOPE_REQUEST);
+        return newCurrentUserAuthorization;
     }
 }
@@ -0,0 +1,58 @@
+package com.thirdcc.webapp.authorization;
+
+import com.thirdcc.webapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Tracks the permission version of users in the {@code permission_version} column of the users, bumped within the
+ * transaction of every {@link AuthorizationChangedEvent}.
+ * <p>
+ * The versions are shared by all instances, so an access token issued by one instance is trusted by the others
+ * until a change committed on any of them makes its permissions stale.
+ */
+@Component
+public class PermissionVersionRegistry {
+
+    private final Logger log = LoggerFactory.getLogger(PermissionVersionRegistry.class);
+
+    private final UserRepository userRepository;
+
+    public PermissionVersionRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * @return the current version, or empty if the user does not exist.
+     */
+    public Optional<Long> getCurrentVersion(Long userId) {
+        return userRepository.findPermissionVersionById(userId);
+    }
+
+    public boolean isCurrentVersion(Long userId, long version) {
+        return getCurrentVersion(userId)
+            .map(currentVersion -> currentVersion == version)
+            .orElse(false);
+    }
+
+    /**
+     * The bump is committed or rolled back together with the change, so the permissions read by a token issued
+     * meanwhile are always older than the version they carry.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    @Transactional
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        log.debug("Request to bump permission versions : {}", event);
+        if (event.isAllUsers()) {
+            userRepository.incrementAllPermissionVersions();
+        } else if (!event.getUserIds().isEmpty()) {
+            userRepository.incrementPermissionVersionByIdIn(event.getUserIds());
+        }
+    }
+}
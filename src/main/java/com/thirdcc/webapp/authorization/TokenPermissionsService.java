@@ -0,0 +1,77 @@
+package com.thirdcc.webapp.authorization;
+
+import com.thirdcc.webapp.domain.User;
+import com.thirdcc.webapp.domain.YearSession;
+import com.thirdcc.webapp.repository.UserRepository;
+import com.thirdcc.webapp.security.jwt.TokenPermissions;
+import com.thirdcc.webapp.service.YearSessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Service resolving the {@link TokenPermissions} embedded in the access tokens.
+ */
+@Service
+public class TokenPermissionsService {
+
+    private final Logger log = LoggerFactory.getLogger(TokenPermissionsService.class);
+
+    private final UserRepository userRepository;
+
+    private final YearSessionService yearSessionService;
+
+    private final AuthorizationCache authorizationCache;
+
+    private final PermissionVersionRegistry permissionVersionRegistry;
+
+    public TokenPermissionsService(
+        UserRepository userRepository,
+        YearSessionService yearSessionService,
+        AuthorizationCache authorizationCache,
+        PermissionVersionRegistry permissionVersionRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.yearSessionService = yearSessionService;
+        this.authorizationCache = authorizationCache;
+        this.permissionVersionRegistry = permissionVersionRegistry;
+    }
+
+    /**
+     * Resolve the current permissions of a user.
+     * <p>
+     * The version is read before the permissions, and the permissions are read from the database rather than from
+     * the {@link AuthorizationCache}, so a change committed meanwhile always makes the returned permissions stale.
+     *
+     * @param login the login of the user.
+     * @return the permissions, or empty if the user does not exist.
+     */
+    public Optional<TokenPermissions> getTokenPermissions(String login) {
+        log.debug("Request to get TokenPermissions : {}", login);
+        return userRepository.findOneByLogin(login)
+            .map(User::getId)
+            .flatMap(userId -> permissionVersionRegistry.getCurrentVersion(userId).map(version -> {
+                String yearSession = yearSessionService.findCurrentYearSession()
+                    .map(YearSession::getValue)
+                    .orElse(null);
+                UserAuthorization userAuthorization = authorizationCache.load(userId, yearSession);
+                return new TokenPermissions(
+                    userId,
+                    yearSession,
+                    version,
+                    userAuthorization.getActiveAdministratorRoles(),
+                    userAuthorization.getCrewEventIds(),
+                    userAuthorization.getHeadEventIds()
+                );
+            }));
+    }
+
+    /**
+     * @return whether the permissions still are the current permissions of their user, false if the user was deleted.
+     */
+    public boolean isCurrent(TokenPermissions tokenPermissions) {
+        return permissionVersionRegistry.isCurrentVersion(tokenPermissions.getUserId(), tokenPermissions.getVersion());
+    }
+}
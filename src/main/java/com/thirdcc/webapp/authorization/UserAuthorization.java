@@ -0,0 +1,57 @@
+package com.thirdcc.webapp.authorization;
+
+import com.thirdcc.webapp.domain.enumeration.AdministratorRole;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Administrator roles and event crew memberships of a user within a year session.
+ */
+public class UserAuthorization {
+
+    private final Set<AdministratorRole> activeAdministratorRoles;
+
+    private final Set<Long> crewEventIds;
+
+    private final Set<Long> headEventIds;
+
+    public UserAuthorization(Set<AdministratorRole> activeAdministratorRoles, Set<Long> crewEventIds, Set<Long> headEventIds) {
+        this.activeAdministratorRoles = Collections.unmodifiableSet(activeAdministratorRoles);
+        this.crewEventIds = Collections.unmodifiableSet(crewEventIds);
+        this.headEventIds = Collections.unmodifiableSet(headEventIds);
+    }
+
+    public Set<AdministratorRole> getActiveAdministratorRoles() {
+        return activeAdministratorRoles;
+    }
+
+    public Set<Long> getCrewEventIds() {
+        return crewEventIds;
+    }
+
+    public Set<Long> getHeadEventIds() {
+        return headEventIds;
+    }
+
+    public boolean isAdministrator() {
+        return !activeAdministratorRoles.isEmpty();
+    }
+
+    public boolean isEventCrew(Long eventId) {
+        return eventId != null && crewEventIds.contains(eventId);
+    }
+
+    public boolean isEventHead(Long eventId) {
+        return eventId != null && headEventIds.contains(eventId);
+    }
+
+    @Override
+    public String toString() {
+        return "UserAuthorization{" +
+            "activeAdministratorRoles=" + activeAdministratorRoles +
+            ", crewEventIds=" + crewEventIds +
+            ", headEventIds=" + headEventIds +
+            "}";
+    }
+}
@@ -0,0 +1,84 @@
+package com.thirdcc.webapp.cache;
+
+import java.util.Objects;
+
+/**
+ * Eviction of a cache entry, broadcast to the other instances by the {@link CacheInvalidationBus}.
+ */
+public final class CacheInvalidation {
+
+    public enum Type {
+        /**
+         * An entity of the Hibernate second level cache, with its collections and the query results over its tables.
+         */
+        ENTITY,
+        /**
+         * An entry of a cache of the Spring cache manager.
+         */
+        CACHE
+    }
+
+    private final Type type;
+
+    private final String cacheName;
+
+    private final String key;
+
+    public CacheInvalidation(Type type, String cacheName, String key) {
+        this.type = Objects.requireNonNull(type);
+        this.cacheName = Objects.requireNonNull(cacheName);
+        this.key = key;
+    }
+
+    public static CacheInvalidation entity(String entityName, Object id) {
+        return new CacheInvalidation(Type.ENTITY, entityName, String.valueOf(id));
+    }
+
+    public static CacheInvalidation cache(String cacheName, String key) {
+        return new CacheInvalidation(Type.CACHE, cacheName, key);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the entity name for an {@link Type#ENTITY} invalidation, the cache name otherwise.
+     */
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * @return the entity id for an {@link Type#ENTITY} invalidation, the cache key otherwise, {@code null} clearing the whole cache.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheInvalidation)) {
+            return false;
+        }
+        CacheInvalidation that = (CacheInvalidation) o;
+        return type == that.type && cacheName.equals(that.cacheName) && Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, cacheName, key);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidation{" +
+            "type=" + type +
+            ", cacheName='" + cacheName + "'" +
+            ", key='" + key + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,19 @@
+package com.thirdcc.webapp.cache;
+
+import java.util.Collection;
+
+/**
+ * Transport of the {@link CacheInvalidation}s to the other instances, which apply them with the
+ * {@link LocalCacheInvalidator}.
+ * <p>
+ * The implementation is selected by {@code application.cache.invalidation.bus}, {@code jdbc} by default.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Broadcast the invalidations once the current transaction commits, they are dropped if it rolls back.
+     *
+     * @param invalidations the invalidations of the changes made in the current transaction.
+     */
+    void publish(Collection<CacheInvalidation> invalidations);
+}
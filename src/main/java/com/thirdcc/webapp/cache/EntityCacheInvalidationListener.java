@@ -0,0 +1,159 @@
+package com.thirdcc.webapp.cache;
+
+import com.thirdcc.webapp.authorization.AuthorizationCache;
+import com.thirdcc.webapp.authorization.AuthorizationChangedEvent;
+import com.thirdcc.webapp.domain.User;
+import com.thirdcc.webapp.repository.UserRepository;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the {@link CacheInvalidation}s of the entities written by a session, and publishes them on the
+ * {@link CacheInvalidationBus} right before its transaction commits. The {@link AuthorizationChangedEvent}s are
+ * published the same way for the {@link AuthorizationCache}.
+ * <p>
+ * The bulk JPQL updates and deletes are not seen, the time to live of the regions bounds their staleness.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.cache.invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EntityCacheInvalidationListener implements PostInsertEventListener, PostUpdateEventListener,
+    PostDeleteEventListener, PostCollectionUpdateEventListener {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final Map<SessionImplementor, Set<CacheInvalidation>> pendingInvalidations = new ConcurrentHashMap<>();
+
+    public EntityCacheInvalidationListener(EntityManagerFactory entityManagerFactory, CacheInvalidationBus cacheInvalidationBus) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        // nothing to evict yet, but the cached query results over the table are stale
+        collect(event.getSession(), event.getPersister(), event.getId(), event.getEntity(), event.getState());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        collect(event.getSession(), event.getPersister(), event.getId(), event.getEntity(), event.getOldState(), event.getState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        collect(event.getSession(), event.getPersister(), event.getId(), event.getEntity(), event.getDeletedState());
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        Serializable ownerId = event.getAffectedOwnerIdOrNull();
+        if (ownerId != null) {
+            EntityPersister persister = sessionFactory.getMetamodel().entityPersister(event.getAffectedOwnerEntityName());
+            collect(event.getSession(), persister, ownerId, event.getAffectedOwnerOrNull());
+        }
+    }
+
+    // still abstract in Hibernate 5, the requiresPostCommitHandling replacing it delegates to it
+    @SuppressWarnings("deprecation")
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        if (event.isAllUsers()) {
+            cacheInvalidationBus.publish(Collections.singleton(CacheInvalidation.cache(AuthorizationCache.CACHE_NAME, null)));
+        } else {
+            cacheInvalidationBus.publish(event.getUserIds().stream()
+                .map(userId -> CacheInvalidation.cache(AuthorizationCache.CACHE_NAME, userId.toString()))
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        }
+    }
+
+    private void collect(SessionImplementor session, EntityPersister persister, Serializable id, Object entity, Object[]... states) {
+        Set<CacheInvalidation> invalidations = new LinkedHashSet<>();
+        if (persister.canWriteToCache()) {
+            invalidations.add(CacheInvalidation.entity(persister.getEntityName(), id));
+        }
+        if (entity instanceof User) {
+            // the users by login and by email are cached by the UserRepository, under their current and previous values
+            User user = (User) entity;
+            if (user.getLogin() != null) {
+                invalidations.add(CacheInvalidation.cache(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin()));
+            }
+            if (user.getEmail() != null) {
+                invalidations.add(CacheInvalidation.cache(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail()));
+            }
+            for (Object[] state : states) {
+                addCacheInvalidation(invalidations, UserRepository.USERS_BY_LOGIN_CACHE, persister, state, "login");
+                addCacheInvalidation(invalidations, UserRepository.USERS_BY_EMAIL_CACHE, persister, state, "email");
+            }
+        }
+        if (!invalidations.isEmpty()) {
+            getPendingInvalidations(session).addAll(invalidations);
+        }
+    }
+
+    private void addCacheInvalidation(Set<CacheInvalidation> invalidations, String cacheName, EntityPersister persister, Object[] state, String propertyName) {
+        if (state == null) {
+            return;
+        }
+        Object value = state[persister.getEntityMetamodel().getPropertyIndex(propertyName)];
+        if (value != null) {
+            invalidations.add(CacheInvalidation.cache(cacheName, value.toString()));
+        }
+    }
+
+    private Set<CacheInvalidation> getPendingInvalidations(SessionImplementor session) {
+        return pendingInvalidations.computeIfAbsent(session, key -> {
+            key.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completingSession -> {
+                Set<CacheInvalidation> invalidations = pendingInvalidations.remove(key);
+                if (invalidations != null) {
+                    cacheInvalidationBus.publish(invalidations);
+                }
+            });
+            // the invalidations of a rolled back transaction are dropped
+            key.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completedSession) -> pendingInvalidations.remove(key));
+            return new LinkedHashSet<>();
+        });
+    }
+}
@@ -0,0 +1,215 @@
+package com.thirdcc.webapp.cache;
+
+import com.thirdcc.webapp.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CacheInvalidationBus} over the {@code cache_invalidation} outbox table, only needing the database shared by
+ * the instances.
+ * <p>
+ * The invalidations are inserted in the transaction of the changes, so they are only visible once it commits, and
+ * every instance polls the rows inserted by the others. The ids are assumed to be allocated by steps of one: a
+ * missing id is waited for during the gap timeout, as the transaction inserting it may not be committed yet. Past the
+ * timeout every cache of this instance is cleared, since the missing rows cannot be told apart from those of a long
+ * transaction, and the missing ids are still looked for until the retention, in case they are committed later.
+ */
+@Component
+@ConditionalOnExpression("${application.cache.invalidation.enabled:true} && '${application.cache.invalidation.bus:jdbc}' == 'jdbc'")
+public class JdbcCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final String INSERT_INVALIDATION =
+        "insert into cache_invalidation (origin, invalidation_type, cache_name, cache_key, created_date) values (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_INVALIDATIONS =
+        "select id, origin, invalidation_type, cache_name, cache_key from cache_invalidation where id > ? order by id";
+
+    private static final String SELECT_LATE_INVALIDATIONS =
+        "select id, origin, invalidation_type, cache_name, cache_key from cache_invalidation where id >= ? and id <= ? order by id";
+
+    private static final String SELECT_MAX_ID = "select max(id) from cache_invalidation";
+
+    private static final String DELETE_INVALIDATIONS = "delete from cache_invalidation where created_date < ?";
+
+    private final Logger log = LoggerFactory.getLogger(JdbcCacheInvalidationBus.class);
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LocalCacheInvalidator localCacheInvalidator;
+
+    private final long gapTimeoutNanos;
+
+    private final long retentionSeconds;
+
+    /**
+     * Every row up to this id is applied, except the late ones.
+     */
+    private long cursor;
+
+    /**
+     * The rows above the cursor already applied, beyond a gap.
+     */
+    private final SortedSet<Long> appliedIds = new TreeSet<>();
+
+    /**
+     * The ids below the cursor skipped past the gap timeout, with the time they were skipped.
+     */
+    private final SortedMap<Long, Long> lateIds = new TreeMap<>();
+
+    private Long gapSeenAt;
+
+    public JdbcCacheInvalidationBus(JdbcTemplate jdbcTemplate, LocalCacheInvalidator localCacheInvalidator, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.localCacheInvalidator = localCacheInvalidator;
+        ApplicationProperties.CacheInvalidation invalidation = applicationProperties.getCache().getInvalidation();
+        this.gapTimeoutNanos = TimeUnit.SECONDS.toNanos(invalidation.getGapTimeoutSeconds());
+        this.retentionSeconds = invalidation.getRetentionSeconds();
+        // read before this instance fills any cache, e.g. by the warm-up or the first requests
+        this.cursor = readMaxId();
+    }
+
+    @Override
+    public void publish(Collection<CacheInvalidation> invalidations) {
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cache invalidations must be published in the transaction of the changes");
+        }
+        log.debug("Request to publish {} CacheInvalidations", invalidations.size());
+        Timestamp createdDate = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_INVALIDATION, invalidations, invalidations.size(), (ps, invalidation) -> {
+            ps.setString(1, origin);
+            ps.setString(2, invalidation.getType().name());
+            ps.setString(3, invalidation.getCacheName());
+            ps.setString(4, invalidation.getKey());
+            ps.setTimestamp(5, createdDate);
+        });
+    }
+
+    /**
+     * Apply the invalidations committed by the other instances since the previous poll.
+     */
+    @Scheduled(
+        initialDelayString = "${application.cache.invalidation.poll-interval-millis:1000}",
+        fixedDelayString = "${application.cache.invalidation.poll-interval-millis:1000}"
+    )
+    @Transactional(readOnly = true)
+    public synchronized void poll() {
+        List<CacheInvalidation> received = new ArrayList<>();
+        expireLateIds();
+        if (!lateIds.isEmpty()) {
+            jdbcTemplate.query(SELECT_LATE_INVALIDATIONS, rs -> {
+                if (lateIds.remove(rs.getLong("id")) != null) {
+                    receive(rs, received);
+                }
+            }, lateIds.firstKey(), lateIds.lastKey());
+        }
+        jdbcTemplate.query(SELECT_INVALIDATIONS, rs -> {
+            if (appliedIds.add(rs.getLong("id"))) {
+                receive(rs, received);
+            }
+        }, cursor);
+        if (!received.isEmpty()) {
+            log.debug("Request to apply {} received CacheInvalidations", received.size());
+            localCacheInvalidator.invalidate(received);
+        }
+        advanceCursor();
+    }
+
+    /**
+     * Delete the rows older than the retention, long applied by every running instance.
+     */
+    @Scheduled(
+        initialDelayString = "${application.cache.invalidation.purge-interval-millis:600000}",
+        fixedDelayString = "${application.cache.invalidation.purge-interval-millis:600000}"
+    )
+    @Transactional
+    public void purge() {
+        int deleted = jdbcTemplate.update(DELETE_INVALIDATIONS, Timestamp.from(Instant.now().minusSeconds(retentionSeconds)));
+        log.debug("Purged {} CacheInvalidations", deleted);
+    }
+
+    String getOrigin() {
+        return origin;
+    }
+
+    private long readMaxId() {
+        try {
+            Long maxId = jdbcTemplate.queryForObject(SELECT_MAX_ID, Long.class);
+            return maxId != null ? maxId : 0L;
+        } catch (DataAccessException e) {
+            // the table is not created yet, so there is nothing to skip
+            log.warn("Could not read the last CacheInvalidation id: {}", e.getMessage());
+            return 0L;
+        }
+    }
+
+    private void receive(ResultSet rs, List<CacheInvalidation> received) throws SQLException {
+        if (!origin.equals(rs.getString("origin"))) {
+            received.add(new CacheInvalidation(
+                CacheInvalidation.Type.valueOf(rs.getString("invalidation_type")),
+                rs.getString("cache_name"),
+                rs.getString("cache_key")
+            ));
+        }
+    }
+
+    /**
+     * The rows older than the retention are purged, so a late id is no longer looked for past it.
+     */
+    private void expireLateIds() {
+        long expiredBefore = System.nanoTime() - TimeUnit.SECONDS.toNanos(retentionSeconds);
+        lateIds.values().removeIf(skippedAt -> skippedAt - expiredBefore < 0);
+    }
+
+    private void advanceCursor() {
+        while (!appliedIds.isEmpty()) {
+            long lowest = appliedIds.first();
+            if (lowest == cursor + 1) {
+                appliedIds.remove(lowest);
+                cursor = lowest;
+                gapSeenAt = null;
+                continue;
+            }
+            long now = System.nanoTime();
+            if (gapSeenAt == null) {
+                gapSeenAt = now;
+                return;
+            }
+            if (now - gapSeenAt < gapTimeoutNanos) {
+                return;
+            }
+            log.warn("CacheInvalidation ids {} to {} still missing after the gap timeout, clearing all caches", cursor + 1, lowest - 1);
+            for (long lateId = cursor + 1; lateId < lowest; lateId++) {
+                lateIds.put(lateId, now);
+            }
+            localCacheInvalidator.invalidateAll();
+            cursor = lowest - 1;
+            gapSeenAt = null;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.thirdcc.webapp.cache;
+
+import com.thirdcc.webapp.authorization.AuthorizationCache;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Applies the {@link CacheInvalidation}s received from the other instances to the caches of this instance.
+ */
+@Component
+public class LocalCacheInvalidator {
+
+    private final Logger log = LoggerFactory.getLogger(LocalCacheInvalidator.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final CacheManager cacheManager;
+
+    private final AuthorizationCache authorizationCache;
+
+    public LocalCacheInvalidator(EntityManagerFactory entityManagerFactory, CacheManager cacheManager, AuthorizationCache authorizationCache) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cacheManager = cacheManager;
+        this.authorizationCache = authorizationCache;
+    }
+
+    public void invalidate(Collection<CacheInvalidation> invalidations) {
+        Set<String> querySpaces = new LinkedHashSet<>();
+        for (CacheInvalidation invalidation : invalidations) {
+            log.debug("Request to invalidate : {}", invalidation);
+            try {
+                if (invalidation.getType() == CacheInvalidation.Type.ENTITY) {
+                    querySpaces.addAll(evictEntity(invalidation.getCacheName(), invalidation.getKey()));
+                } else {
+                    evictCacheEntry(invalidation.getCacheName(), invalidation.getKey());
+                }
+            } catch (RuntimeException e) {
+                // an instance running another version may broadcast invalidations unknown to this one
+                log.warn("Could not apply {}: {}", invalidation, e.getMessage());
+            }
+        }
+        if (!querySpaces.isEmpty() && sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()) {
+            // marks the tables as updated, so the cached query results over them are no longer up to date
+            try (Session session = sessionFactory.openSession()) {
+                sessionFactory.getCache().getTimestampsCache()
+                    .invalidate(querySpaces.toArray(new String[0]), (SharedSessionContractImplementor) session);
+            }
+        }
+    }
+
+    /**
+     * Clear every region of the second level cache, every cache of the cache manager and the {@link AuthorizationCache},
+     * used when the invalidations to apply are unknown.
+     */
+    public void invalidateAll() {
+        log.debug("Request to invalidate all caches");
+        sessionFactory.getCache().evictAllRegions();
+        cacheManager.getCacheNames().forEach(cacheName -> evictCacheEntry(cacheName, null));
+        authorizationCache.invalidateAll();
+    }
+
+    private Set<String> evictEntity(String entityName, String key) {
+        EntityPersister persister = sessionFactory.getMetamodel().entityPersister(entityName);
+        Serializable id = toIdentifier(persister, key);
+        if (persister.canWriteToCache()) {
+            sessionFactory.getCache().evictEntityData(entityName, id);
+        }
+        for (CollectionPersister collectionPersister : sessionFactory.getMetamodel().collectionPersisters().values()) {
+            if (collectionPersister.hasCache() && collectionPersister.getOwnerEntityPersister().getEntityName().equals(entityName)) {
+                sessionFactory.getCache().evictCollectionData(collectionPersister.getRole(), id);
+            }
+        }
+        Set<String> querySpaces = new LinkedHashSet<>();
+        Arrays.stream(persister.getPropertySpaces()).map(String::valueOf).forEach(querySpaces::add);
+        return querySpaces;
+    }
+
+    private Serializable toIdentifier(EntityPersister persister, String key) {
+        Class<?> identifierClass = persister.getIdentifierType().getReturnedClass();
+        if (Long.class.equals(identifierClass)) {
+            return Long.valueOf(key);
+        }
+        if (Integer.class.equals(identifierClass)) {
+            return Integer.valueOf(key);
+        }
+        if (String.class.equals(identifierClass)) {
+            return key;
+        }
+        throw new IllegalArgumentException("Unsupported identifier type " + identifierClass.getName() + " of " + persister.getEntityName());
+    }
+
+    private void evictCacheEntry(String cacheName, String key) {
+        if (AuthorizationCache.CACHE_NAME.equals(cacheName)) {
+            if (key == null) {
+                authorizationCache.invalidateAll();
+            } else {
+                authorizationCache.invalidate(Collections.singleton(Long.valueOf(key)));
+            }
+            return;
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+}
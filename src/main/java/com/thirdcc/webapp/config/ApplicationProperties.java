@@ -2,6 +2,12 @@ package com.thirdcc.webapp.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Properties specific to Clubmanagement.
  * <p>
@@ -14,6 +20,18 @@ public class ApplicationProperties {
     private boolean shouldInitFirebase = false;
     private final ApplicationProperties.AccessToken accessToken = new ApplicationProperties.AccessToken();
     private final ApplicationProperties.RefreshToken refreshToken = new ApplicationProperties.RefreshToken();
+    private final ApplicationProperties.FinanceSummary financeSummary = new ApplicationProperties.FinanceSummary();
+    private final ApplicationProperties.TransactionExport transactionExport = new ApplicationProperties.TransactionExport();
+    private final ApplicationProperties.Waitlist waitlist = new ApplicationProperties.Waitlist();
+    private final ApplicationProperties.FirebaseToken firebaseToken = new ApplicationProperties.FirebaseToken();
+    private final ApplicationProperties.Authorization authorization = new ApplicationProperties.Authorization();
+    private final ApplicationProperties.YearSession yearSession = new ApplicationProperties.YearSession();
+    private final ApplicationProperties.Cache cache = new ApplicationProperties.Cache();
+    private final ApplicationProperties.ReferenceData referenceData = new ApplicationProperties.ReferenceData();
+    private final ApplicationProperties.WarmUp warmUp = new ApplicationProperties.WarmUp();
+    private final ApplicationProperties.ImageUpload imageUpload = new ApplicationProperties.ImageUpload();
+    private final ApplicationProperties.LocalStorage localStorage = new ApplicationProperties.LocalStorage();
+    private final ApplicationProperties.Clients clients = new ApplicationProperties.Clients();
 
     public boolean isShouldInitFirebase() {
         return shouldInitFirebase;
@@ -31,9 +49,58 @@ public class ApplicationProperties {
         return refreshToken;
     }
 
+    public FinanceSummary getFinanceSummary() {
+        return financeSummary;
+    }
+
+    public TransactionExport getTransactionExport() {
+        return transactionExport;
+    }
+
+    public Waitlist getWaitlist() {
+        return waitlist;
+    }
+
+    public FirebaseToken getFirebaseToken() {
+        return firebaseToken;
+    }
+
+    public Authorization getAuthorization() {
+        return authorization;
+    }
+
+    public YearSession getYearSession() {
+        return yearSession;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public ReferenceData getReferenceData() {
+        return referenceData;
+    }
+
+    public WarmUp getWarmUp() {
+        return warmUp;
+    }
+
+    public ImageUpload getImageUpload() {
+        return imageUpload;
+    }
+
+    public LocalStorage getLocalStorage() {
+        return localStorage;
+    }
+
+    public Clients getClients() {
+        return clients;
+    }
+
     public static class AccessToken {
         private String base64Secret = "";
         private Long tokenValidityInSeconds = 0L;
+        private long cacheMaximumSize = 10000L;
 
         public AccessToken() {
         }
@@ -53,6 +120,14 @@ public class ApplicationProperties {
         public void setTokenValidityInSeconds(Long tokenValidityInSeconds) {
             this.tokenValidityInSeconds = tokenValidityInSeconds;
         }
+
+        public long getCacheMaximumSize() {
+            return cacheMaximumSize;
+        }
+
+        public void setCacheMaximumSize(long cacheMaximumSize) {
+            this.cacheMaximumSize = cacheMaximumSize;
+        }
     }
 
     public static class RefreshToken {
@@ -79,4 +154,503 @@ public class ApplicationProperties {
         }
     }
 
+    public static class FinanceSummary {
+        private int chunkSize = 100;
+        private String consistencyCheckCron = "0 30 2 * * ?";
+
+        public FinanceSummary() {
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public String getConsistencyCheckCron() {
+            return consistencyCheckCron;
+        }
+
+        public void setConsistencyCheckCron(String consistencyCheckCron) {
+            this.consistencyCheckCron = consistencyCheckCron;
+        }
+    }
+
+    public static class TransactionExport {
+        private int fetchSize = 500;
+
+        public TransactionExport() {
+        }
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    public static class Waitlist {
+        private int promotionBatchSize = 100;
+        private String promotionCron = "0 */5 * * * ?";
+
+        public Waitlist() {
+        }
+
+        public int getPromotionBatchSize() {
+            return promotionBatchSize;
+        }
+
+        public void setPromotionBatchSize(int promotionBatchSize) {
+            this.promotionBatchSize = promotionBatchSize;
+        }
+
+        public String getPromotionCron() {
+            return promotionCron;
+        }
+
+        public void setPromotionCron(String promotionCron) {
+            this.promotionCron = promotionCron;
+        }
+    }
+
+    public static class FirebaseToken {
+        private long cacheMaximumSize = 10000L;
+
+        public FirebaseToken() {
+        }
+
+        public long getCacheMaximumSize() {
+            return cacheMaximumSize;
+        }
+
+        public void setCacheMaximumSize(long cacheMaximumSize) {
+            this.cacheMaximumSize = cacheMaximumSize;
+        }
+    }
+
+    public static class Authorization {
+        private long cacheMaximumSize = 10000L;
+        private long cacheTimeToLiveSeconds = 600L;
+
+        public Authorization() {
+        }
+
+        public long getCacheMaximumSize() {
+            return cacheMaximumSize;
+        }
+
+        public void setCacheMaximumSize(long cacheMaximumSize) {
+            this.cacheMaximumSize = cacheMaximumSize;
+        }
+
+        public long getCacheTimeToLiveSeconds() {
+            return cacheTimeToLiveSeconds;
+        }
+
+        public void setCacheTimeToLiveSeconds(long cacheTimeToLiveSeconds) {
+            this.cacheTimeToLiveSeconds = cacheTimeToLiveSeconds;
+        }
+    }
+
+    public static class YearSession {
+        private boolean snapshotEnabled = true;
+        private long snapshotRefreshIntervalMillis = 60000L;
+
+        public YearSession() {
+        }
+
+        public boolean isSnapshotEnabled() {
+            return snapshotEnabled;
+        }
+
+        public void setSnapshotEnabled(boolean snapshotEnabled) {
+            this.snapshotEnabled = snapshotEnabled;
+        }
+
+        public long getSnapshotRefreshIntervalMillis() {
+            return snapshotRefreshIntervalMillis;
+        }
+
+        public void setSnapshotRefreshIntervalMillis(long snapshotRefreshIntervalMillis) {
+            this.snapshotRefreshIntervalMillis = snapshotRefreshIntervalMillis;
+        }
+    }
+
+    public static class ReferenceData {
+        private boolean snapshotEnabled = true;
+        private long snapshotRefreshIntervalMillis = 300000L;
+
+        public ReferenceData() {
+        }
+
+        public boolean isSnapshotEnabled() {
+            return snapshotEnabled;
+        }
+
+        public void setSnapshotEnabled(boolean snapshotEnabled) {
+            this.snapshotEnabled = snapshotEnabled;
+        }
+
+        public long getSnapshotRefreshIntervalMillis() {
+            return snapshotRefreshIntervalMillis;
+        }
+
+        public void setSnapshotRefreshIntervalMillis(long snapshotRefreshIntervalMillis) {
+            this.snapshotRefreshIntervalMillis = snapshotRefreshIntervalMillis;
+        }
+    }
+
+    public static class Cache {
+        private final Map<String, CacheRegion> regions = new HashMap<>();
+        private final CacheInvalidation invalidation = new CacheInvalidation();
+
+        public Cache() {
+        }
+
+        /**
+         * @return the cache regions keyed by cache name, without the {@code com.thirdcc.webapp.domain.} prefix of the entity caches.
+         */
+        public Map<String, CacheRegion> getRegions() {
+            return regions;
+        }
+
+        public CacheInvalidation getInvalidation() {
+            return invalidation;
+        }
+    }
+
+    /**
+     * Broadcast of the cache evictions to the other instances.
+     */
+    public static class CacheInvalidation {
+        private boolean enabled = true;
+        private String bus = "jdbc";
+        private long pollIntervalMillis = 1000L;
+        private long gapTimeoutSeconds = 30L;
+        private long retentionSeconds = 3600L;
+        private long purgeIntervalMillis = 600000L;
+
+        public CacheInvalidation() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getBus() {
+            return bus;
+        }
+
+        public void setBus(String bus) {
+            this.bus = bus;
+        }
+
+        public long getPollIntervalMillis() {
+            return pollIntervalMillis;
+        }
+
+        public void setPollIntervalMillis(long pollIntervalMillis) {
+            this.pollIntervalMillis = pollIntervalMillis;
+        }
+
+        public long getGapTimeoutSeconds() {
+            return gapTimeoutSeconds;
+        }
+
+        public void setGapTimeoutSeconds(long gapTimeoutSeconds) {
+            this.gapTimeoutSeconds = gapTimeoutSeconds;
+        }
+
+        public long getRetentionSeconds() {
+            return retentionSeconds;
+        }
+
+        public void setRetentionSeconds(long retentionSeconds) {
+            this.retentionSeconds = retentionSeconds;
+        }
+
+        public long getPurgeIntervalMillis() {
+            return purgeIntervalMillis;
+        }
+
+        public void setPurgeIntervalMillis(long purgeIntervalMillis) {
+            this.purgeIntervalMillis = purgeIntervalMillis;
+        }
+    }
+
+    /**
+     * Overrides of the default {@code jhipster.cache.ehcache} settings for a single cache region.
+     */
+    public static class CacheRegion {
+        private Long heapEntries;
+        private Long offHeapMb;
+        private Long timeToLiveSeconds;
+        private Long timeToIdleSeconds;
+        private boolean eternal = false;
+
+        public CacheRegion() {
+        }
+
+        public Long getHeapEntries() {
+            return heapEntries;
+        }
+
+        public void setHeapEntries(Long heapEntries) {
+            this.heapEntries = heapEntries;
+        }
+
+        public Long getOffHeapMb() {
+            return offHeapMb;
+        }
+
+        public void setOffHeapMb(Long offHeapMb) {
+            this.offHeapMb = offHeapMb;
+        }
+
+        public Long getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public Long getTimeToIdleSeconds() {
+            return timeToIdleSeconds;
+        }
+
+        public void setTimeToIdleSeconds(Long timeToIdleSeconds) {
+            this.timeToIdleSeconds = timeToIdleSeconds;
+        }
+
+        public boolean isEternal() {
+            return eternal;
+        }
+
+        public void setEternal(boolean eternal) {
+            this.eternal = eternal;
+        }
+    }
+
+    public static class WarmUp {
+        private boolean enabled = true;
+        private long timeBudgetSeconds = 60L;
+        private List<String> regions = new ArrayList<>(Arrays.asList("current-year-session", "reference-data", "upcoming-events", "active-administrators"));
+        private int upcomingEventsPageSize = 50;
+        private int endpointIterations = 20;
+
+        public WarmUp() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getTimeBudgetSeconds() {
+            return timeBudgetSeconds;
+        }
+
+        public void setTimeBudgetSeconds(long timeBudgetSeconds) {
+            this.timeBudgetSeconds = timeBudgetSeconds;
+        }
+
+        public List<String> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(List<String> regions) {
+            this.regions = regions;
+        }
+
+        public int getUpcomingEventsPageSize() {
+            return upcomingEventsPageSize;
+        }
+
+        public void setUpcomingEventsPageSize(int upcomingEventsPageSize) {
+            this.upcomingEventsPageSize = upcomingEventsPageSize;
+        }
+
+        public int getEndpointIterations() {
+            return endpointIterations;
+        }
+
+        public void setEndpointIterations(int endpointIterations) {
+            this.endpointIterations = endpointIterations;
+        }
+    }
+
+    public static class ImageUpload {
+        private String spoolDirectory = System.getProperty("java.io.tmpdir");
+        private int corePoolSize = 2;
+        private int maxPoolSize = 4;
+        private int queueCapacity = 100;
+        private int maxAttempts = 5;
+        private long initialBackoffMillis = 2000L;
+        private long maxBackoffMillis = 60000L;
+        private List<Integer> variantWidths = new ArrayList<>(Arrays.asList(160, 480, 1080));
+        private float variantQuality = 0.8f;
+        private long stalePendingMillis = 600000L;
+        private long sweepIntervalMillis = 300000L;
+        private String spoolHost;
+
+        public ImageUpload() {
+        }
+
+        public String getSpoolDirectory() {
+            return spoolDirectory;
+        }
+
+        public void setSpoolDirectory(String spoolDirectory) {
+            this.spoolDirectory = spoolDirectory;
+        }
+
+        public int getCorePoolSize() {
+            return corePoolSize;
+        }
+
+        public void setCorePoolSize(int corePoolSize) {
+            this.corePoolSize = corePoolSize;
+        }
+
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        public void setMaxPoolSize(int maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialBackoffMillis() {
+            return initialBackoffMillis;
+        }
+
+        public void setInitialBackoffMillis(long initialBackoffMillis) {
+            this.initialBackoffMillis = initialBackoffMillis;
+        }
+
+        public long getMaxBackoffMillis() {
+            return maxBackoffMillis;
+        }
+
+        public void setMaxBackoffMillis(long maxBackoffMillis) {
+            this.maxBackoffMillis = maxBackoffMillis;
+        }
+
+        public List<Integer> getVariantWidths() {
+            return variantWidths;
+        }
+
+        public void setVariantWidths(List<Integer> variantWidths) {
+            this.variantWidths = variantWidths;
+        }
+
+        public float getVariantQuality() {
+            return variantQuality;
+        }
+
+        public void setVariantQuality(float variantQuality) {
+            this.variantQuality = variantQuality;
+        }
+
+        public long getStalePendingMillis() {
+            return stalePendingMillis;
+        }
+
+        public void setStalePendingMillis(long stalePendingMillis) {
+            this.stalePendingMillis = stalePendingMillis;
+        }
+
+        public long getSweepIntervalMillis() {
+            return sweepIntervalMillis;
+        }
+
+        public void setSweepIntervalMillis(long sweepIntervalMillis) {
+            this.sweepIntervalMillis = sweepIntervalMillis;
+        }
+
+        public String getSpoolHost() {
+            return spoolHost;
+        }
+
+        public void setSpoolHost(String spoolHost) {
+            this.spoolHost = spoolHost;
+        }
+    }
+
+    public static class LocalStorage {
+        private String directory = "storage";
+        private String baseUrl = "/api/files/";
+        private long cacheMaxAgeSeconds = 31536000L;
+
+        public LocalStorage() {
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public long getCacheMaxAgeSeconds() {
+            return cacheMaxAgeSeconds;
+        }
+
+        public void setCacheMaxAgeSeconds(long cacheMaxAgeSeconds) {
+            this.cacheMaxAgeSeconds = cacheMaxAgeSeconds;
+        }
+    }
+
+    public static class Clients {
+        private boolean initializeAfterReady = true;
+
+        public Clients() {
+        }
+
+        public boolean isInitializeAfterReady() {
+            return initializeAfterReady;
+        }
+
+        public void setInitializeAfterReady(boolean initializeAfterReady) {
+            this.initializeAfterReady = initializeAfterReady;
+        }
+    }
+
 }
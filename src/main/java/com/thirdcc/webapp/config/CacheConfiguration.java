@@ -1,13 +1,14 @@
 package com.thirdcc.webapp.config;
 
-import java.time.Duration;
-
-import org.ehcache.config.builders.*;
-import org.ehcache.jsr107.Eh107Configuration;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.hibernate.cache.jcache.ConfigSettings;
 import io.github.jhipster.config.JHipsterProperties;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
@@ -17,17 +18,18 @@ import org.springframework.context.annotation.*;
 @EnableCaching
 public class CacheConfiguration {
 
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final Logger log = LoggerFactory.getLogger(CacheConfiguration.class);
+
+    private final CacheRegionConfigurations cacheRegionConfigurations;
+
+    private final Set<String> configuredRegionNames;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         JHipsterProperties.Cache.Ehcache ehcache =
             jHipsterProperties.getCache().getEhcache();
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build());
+        cacheRegionConfigurations = new CacheRegionConfigurations(ehcache, applicationProperties.getCache().getRegions());
+        configuredRegionNames = new HashSet<>(applicationProperties.getCache().getRegions().keySet());
     }
 
     @Bean
@@ -47,6 +49,7 @@ public class CacheConfiguration {
             createCache(cm, com.thirdcc.webapp.domain.EventCrew.class.getName());
             createCache(cm, com.thirdcc.webapp.domain.EventAttendee.class.getName());
             createCache(cm, com.thirdcc.webapp.domain.ImageStorage.class.getName());
+            createCache(cm, com.thirdcc.webapp.domain.ImageStorage.class.getName() + ".variants");
             createCache(cm, com.thirdcc.webapp.domain.EventImage.class.getName());
             createCache(cm, com.thirdcc.webapp.domain.Budget.class.getName());
             createCache(cm, com.thirdcc.webapp.domain.EventActivity.class.getName());
@@ -59,7 +62,11 @@ public class CacheConfiguration {
             createCache(cm, com.thirdcc.webapp.domain.YearSession.class.getName());
             createCache(cm, com.thirdcc.webapp.domain.Faculty.class.getName());
             createCache(cm, com.thirdcc.webapp.domain.EventRegistrationClosingCriteria.class.getName());
+            createCache(cm, com.thirdcc.webapp.domain.EventWaitlistEntry.class.getName());
+            createCache(cm, org.hibernate.cache.spi.RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            createCache(cm, org.hibernate.cache.spi.RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
             // jhipster-needle-ehcache-add-entry
+            configuredRegionNames.forEach(regionName -> log.warn("Cache region {} is configured but no such cache exists", regionName));
         };
     }
 
@@ -68,6 +75,9 @@ public class CacheConfiguration {
         if (cache != null) {
             cm.destroyCache(cacheName);
         }
-        cm.createCache(cacheName, jcacheConfiguration);
+        cm.createCache(cacheName, cacheRegionConfigurations.getConfiguration(cacheName));
+        // the statistics are bound to Micrometer with the other caches of the Spring cache manager
+        cm.enableStatistics(cacheName, true);
+        configuredRegionNames.remove(CacheRegionConfigurations.getRegionName(cacheName));
     }
 }
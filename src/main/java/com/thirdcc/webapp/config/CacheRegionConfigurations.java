@@ -0,0 +1,74 @@
+package com.thirdcc.webapp.config;
+
+import io.github.jhipster.config.JHipsterProperties;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.spi.serialization.Serializer;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Builds the Ehcache configuration of each cache region, applying the {@code application.cache.regions} overrides
+ * on top of the default {@code jhipster.cache.ehcache} settings.
+ */
+class CacheRegionConfigurations {
+
+    static final String ENTITY_CACHE_PREFIX = "com.thirdcc.webapp.domain.";
+
+    private final JHipsterProperties.Cache.Ehcache defaults;
+
+    private final Map<String, ApplicationProperties.CacheRegion> regions;
+
+    CacheRegionConfigurations(JHipsterProperties.Cache.Ehcache defaults, Map<String, ApplicationProperties.CacheRegion> regions) {
+        this.defaults = defaults;
+        this.regions = regions;
+    }
+
+    /**
+     * @return the name of the region configuring the cache, the entity caches drop their package prefix.
+     */
+    static String getRegionName(String cacheName) {
+        return cacheName.startsWith(ENTITY_CACHE_PREFIX) ? cacheName.substring(ENTITY_CACHE_PREFIX.length()) : cacheName;
+    }
+
+    javax.cache.configuration.Configuration<Object, Object> getConfiguration(String cacheName) {
+        ApplicationProperties.CacheRegion region = regions.getOrDefault(getRegionName(cacheName), new ApplicationProperties.CacheRegion());
+
+        long heapEntries = region.getHeapEntries() != null ? region.getHeapEntries() : defaults.getMaxEntries();
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.newResourcePoolsBuilder().heap(heapEntries, EntryUnit.ENTRIES);
+        CacheConfigurationBuilder<Object, Object> builder;
+        if (region.getOffHeapMb() != null && region.getOffHeapMb() > 0) {
+            // the off-heap tier stores entries serialized, Hibernate cache keys and entries are Serializable
+            builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                resourcePools.offheap(region.getOffHeapMb(), MemoryUnit.MB))
+                .withKeySerializer(javaSerializer())
+                .withValueSerializer(javaSerializer());
+        } else {
+            builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools);
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.withExpiry(getExpiryPolicy(region)).build());
+    }
+
+    private ExpiryPolicy<Object, Object> getExpiryPolicy(ApplicationProperties.CacheRegion region) {
+        if (region.isEternal()) {
+            return ExpiryPolicyBuilder.noExpiration();
+        }
+        if (region.getTimeToIdleSeconds() != null) {
+            return ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofSeconds(region.getTimeToIdleSeconds()));
+        }
+        long timeToLiveSeconds = region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : defaults.getTimeToLiveSeconds();
+        return ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(timeToLiveSeconds));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Serializer<Object> javaSerializer() {
+        return (Serializer<Object>) (Serializer<?>) new PlainJavaSerializer<>(CacheRegionConfigurations.class.getClassLoader());
+    }
+}
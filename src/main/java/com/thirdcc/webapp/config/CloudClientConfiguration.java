@@ -0,0 +1,96 @@
+package com.thirdcc.webapp.config;
+
+import com.thirdcc.webapp.lib.wrapper.LazyClientHolder;
+import com.thirdcc.webapp.warmup.StartupTimings;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Clients of the Google Cloud services, created on first use so that the credential discovery and the connections
+ * do not delay the startup.
+ * <p>
+ * Unless {@code application.clients.initialize-after-ready} is false, they are created on the {@code taskExecutor}
+ * once the application is ready, so that the first requests using them do not pay for it either.
+ */
+@Configuration
+public class CloudClientConfiguration {
+
+    private static final String PROJECT_ID = "ccclubmanagement";
+
+    private final Logger log = LoggerFactory.getLogger(CloudClientConfiguration.class);
+
+    private final ApplicationProperties applicationProperties;
+
+    private final StartupTimings startupTimings;
+
+    private final ObjectProvider<LazyClientHolder<?>> clientHolders;
+
+    private final Executor taskExecutor;
+
+    public CloudClientConfiguration(
+        ApplicationProperties applicationProperties,
+        StartupTimings startupTimings,
+        ObjectProvider<LazyClientHolder<?>> clientHolders,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        this.applicationProperties = applicationProperties;
+        this.startupTimings = startupTimings;
+        this.clientHolders = clientHolders;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Bean
+    @Profile("!" + Constants.SPRING_PROFILE_LOCAL_STORAGE)
+    public LazyClientHolder<Storage> storageClientHolder() {
+        return new LazyClientHolder<>("cloud-storage", () ->
+            StorageOptions.newBuilder().setProjectId(PROJECT_ID).build().getService(), startupTimings);
+    }
+
+    /**
+     * The default {@link FirebaseApp}, only initialized by this application if {@code application.shouldInitFirebase}
+     * is true.
+     */
+    @Bean
+    public LazyClientHolder<FirebaseApp> firebaseAppHolder() {
+        return new LazyClientHolder<>("firebase-app", () -> {
+            if (!applicationProperties.isShouldInitFirebase() || !FirebaseApp.getApps().isEmpty()) {
+                return FirebaseApp.getInstance();
+            }
+            log.debug("Init FirebaseApp");
+            FirebaseOptions options = FirebaseOptions.builder()
+                .setCredentials(GoogleCredentials.getApplicationDefault())
+                .setProjectId(PROJECT_ID)
+                .build();
+            return FirebaseApp.initializeApp(options);
+        }, startupTimings);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeClients() {
+        if (!applicationProperties.getClients().isInitializeAfterReady()) {
+            return;
+        }
+        clientHolders.forEach(clientHolder -> taskExecutor.execute(() -> {
+            try {
+                clientHolder.get();
+            } catch (RuntimeException e) {
+                log.warn("Cannot initialize the {} client, retried on first use: {}", clientHolder.getName(), e.getMessage());
+            }
+        }));
+    }
+}
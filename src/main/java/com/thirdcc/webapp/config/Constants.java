@@ -12,6 +12,9 @@ public final class Constants {
     public static final String DEFAULT_LANGUAGE = "en";
     public static final String ANONYMOUS_USER = "anonymoususer";
 
+    // Stores the uploaded files in the local file system instead of Google Cloud Storage
+    public static final String SPRING_PROFILE_LOCAL_STORAGE = "local-storage";
+
     private Constants() {
     }
 }
@@ -0,0 +1,36 @@
+package com.thirdcc.webapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImageUploadConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(ImageUploadConfiguration.class);
+
+    private final ApplicationProperties.ImageUpload imageUploadProperties;
+
+    public ImageUploadConfiguration(ApplicationProperties applicationProperties) {
+        this.imageUploadProperties = applicationProperties.getImageUpload();
+    }
+
+    /**
+     * Bounded executor of the image uploads, kept apart from the {@code taskExecutor} so that slow uploads cannot
+     * starve the other asynchronous tasks.
+     */
+    @Bean(name = "imageUploadExecutor")
+    public ThreadPoolTaskExecutor imageUploadExecutor() {
+        log.debug("Creating Image Upload Task Executor");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imageUploadProperties.getCorePoolSize());
+        executor.setMaxPoolSize(imageUploadProperties.getMaxPoolSize());
+        executor.setQueueCapacity(imageUploadProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("image-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
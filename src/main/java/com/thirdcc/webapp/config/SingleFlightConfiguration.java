@@ -0,0 +1,17 @@
+package com.thirdcc.webapp.config;
+
+import com.thirdcc.webapp.aop.singleflight.SingleFlightAspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.context.annotation.*;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class SingleFlightConfiguration {
+
+    @Bean
+    public SingleFlightAspect singleFlightAspect(MeterRegistry meterRegistry) {
+        return new SingleFlightAspect(meterRegistry);
+    }
+}
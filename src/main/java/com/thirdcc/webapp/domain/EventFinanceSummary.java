@@ -0,0 +1,237 @@
+package com.thirdcc.webapp.domain;
+import com.thirdcc.webapp.domain.enumeration.TransactionStatus;
+import com.thirdcc.webapp.domain.enumeration.TransactionType;
+
+import javax.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A EventFinanceSummary, the budget and transaction totals of an {@link Event}
+ * maintained together with every write on {@link Budget} and {@link Transaction}.
+ * <p>
+ * Not cached in the second level cache, the amounts are only written through bulk updates.
+ */
+@Entity
+@Table(name = "event_finance_summary")
+public class EventFinanceSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "budget_income", precision = 21, scale = 2, nullable = false)
+    private BigDecimal budgetIncome = BigDecimal.ZERO;
+
+    @Column(name = "budget_expense", precision = 21, scale = 2, nullable = false)
+    private BigDecimal budgetExpense = BigDecimal.ZERO;
+
+    @Column(name = "realised_income", precision = 21, scale = 2, nullable = false)
+    private BigDecimal realisedIncome = BigDecimal.ZERO;
+
+    @Column(name = "pending_income", precision = 21, scale = 2, nullable = false)
+    private BigDecimal pendingIncome = BigDecimal.ZERO;
+
+    @Column(name = "invalid_income", precision = 21, scale = 2, nullable = false)
+    private BigDecimal invalidIncome = BigDecimal.ZERO;
+
+    @Column(name = "realised_expense", precision = 21, scale = 2, nullable = false)
+    private BigDecimal realisedExpense = BigDecimal.ZERO;
+
+    @Column(name = "pending_expense", precision = 21, scale = 2, nullable = false)
+    private BigDecimal pendingExpense = BigDecimal.ZERO;
+
+    @Column(name = "invalid_expense", precision = 21, scale = 2, nullable = false)
+    private BigDecimal invalidExpense = BigDecimal.ZERO;
+
+    // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public EventFinanceSummary eventId(Long eventId) {
+        this.eventId = eventId;
+        return this;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public BigDecimal getBudgetIncome() {
+        return budgetIncome;
+    }
+
+    public void setBudgetIncome(BigDecimal budgetIncome) {
+        this.budgetIncome = budgetIncome;
+    }
+
+    public BigDecimal getBudgetExpense() {
+        return budgetExpense;
+    }
+
+    public void setBudgetExpense(BigDecimal budgetExpense) {
+        this.budgetExpense = budgetExpense;
+    }
+
+    public BigDecimal getRealisedIncome() {
+        return realisedIncome;
+    }
+
+    public void setRealisedIncome(BigDecimal realisedIncome) {
+        this.realisedIncome = realisedIncome;
+    }
+
+    public BigDecimal getPendingIncome() {
+        return pendingIncome;
+    }
+
+    public void setPendingIncome(BigDecimal pendingIncome) {
+        this.pendingIncome = pendingIncome;
+    }
+
+    public BigDecimal getInvalidIncome() {
+        return invalidIncome;
+    }
+
+    public void setInvalidIncome(BigDecimal invalidIncome) {
+        this.invalidIncome = invalidIncome;
+    }
+
+    public BigDecimal getRealisedExpense() {
+        return realisedExpense;
+    }
+
+    public void setRealisedExpense(BigDecimal realisedExpense) {
+        this.realisedExpense = realisedExpense;
+    }
+
+    public BigDecimal getPendingExpense() {
+        return pendingExpense;
+    }
+
+    public void setPendingExpense(BigDecimal pendingExpense) {
+        this.pendingExpense = pendingExpense;
+    }
+
+    public BigDecimal getInvalidExpense() {
+        return invalidExpense;
+    }
+
+    public void setInvalidExpense(BigDecimal invalidExpense) {
+        this.invalidExpense = invalidExpense;
+    }
+    // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
+
+    /**
+     * @return the total of all income transactions regardless of their status.
+     */
+    public BigDecimal getTotalIncome() {
+        return realisedIncome.add(pendingIncome).add(invalidIncome);
+    }
+
+    /**
+     * @return the total of all expense transactions regardless of their status.
+     */
+    public BigDecimal getTotalExpense() {
+        return realisedExpense.add(pendingExpense).add(invalidExpense);
+    }
+
+    /**
+     * Add the amount of a budget to the matching bucket, a negative amount removes it.
+     */
+    public EventFinanceSummary addBudgetAmount(TransactionType type, BigDecimal amount) {
+        if (type == null || amount == null) {
+            return this;
+        }
+        switch (type) {
+            case INCOME:
+                budgetIncome = budgetIncome.add(amount);
+                break;
+            case EXPENSE:
+                budgetExpense = budgetExpense.add(amount);
+                break;
+        }
+        return this;
+    }
+
+    /**
+     * Add the amount of a transaction to the matching bucket, a negative amount removes it.
+     */
+    public EventFinanceSummary addTransactionAmount(TransactionType type, TransactionStatus status, BigDecimal amount) {
+        if (type == null || status == null || amount == null) {
+            return this;
+        }
+        switch (type) {
+            case INCOME:
+                switch (status) {
+                    case COMPLETED: realisedIncome = realisedIncome.add(amount);
+                    break;
+                    case PENDING: pendingIncome = pendingIncome.add(amount);
+                    break;
+                    case INVALID: invalidIncome = invalidIncome.add(amount);
+                    break;
+                }
+                break;
+            case EXPENSE:
+                switch (status) {
+                    case COMPLETED: realisedExpense = realisedExpense.add(amount);
+                    break;
+                    case PENDING: pendingExpense = pendingExpense.add(amount);
+                    break;
+                    case INVALID: invalidExpense = invalidExpense.add(amount);
+                    break;
+                }
+                break;
+        }
+        return this;
+    }
+
+    /**
+     * Compare the amounts of both summaries ignoring the scale of the values.
+     */
+    public boolean hasSameAmounts(EventFinanceSummary other) {
+        return budgetIncome.compareTo(other.budgetIncome) == 0 &&
+            budgetExpense.compareTo(other.budgetExpense) == 0 &&
+            realisedIncome.compareTo(other.realisedIncome) == 0 &&
+            pendingIncome.compareTo(other.pendingIncome) == 0 &&
+            invalidIncome.compareTo(other.invalidIncome) == 0 &&
+            realisedExpense.compareTo(other.realisedExpense) == 0 &&
+            pendingExpense.compareTo(other.pendingExpense) == 0 &&
+            invalidExpense.compareTo(other.invalidExpense) == 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EventFinanceSummary)) {
+            return false;
+        }
+        return eventId != null && eventId.equals(((EventFinanceSummary) o).eventId);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    @Override
+    public String toString() {
+        return "EventFinanceSummary{" +
+            "eventId=" + getEventId() +
+            ", budgetIncome=" + getBudgetIncome() +
+            ", budgetExpense=" + getBudgetExpense() +
+            ", realisedIncome=" + getRealisedIncome() +
+            ", pendingIncome=" + getPendingIncome() +
+            ", invalidIncome=" + getInvalidIncome() +
+            ", realisedExpense=" + getRealisedExpense() +
+            ", pendingExpense=" + getPendingExpense() +
+            ", invalidExpense=" + getInvalidExpense() +
+            "}";
+    }
+}
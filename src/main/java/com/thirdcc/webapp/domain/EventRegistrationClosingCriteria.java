@@ -33,6 +33,13 @@ public class EventRegistrationClosingCriteria implements Serializable {
     @Column(name = "force_close")
     private Boolean forceClose;
 
+    /**
+     * The number of registered attendees, only changed by the conditional updates of
+     * {@link com.thirdcc.webapp.repository.EventRegistrationClosingCriteriaRepository}.
+     */
+    @Column(name = "attendee_count", nullable = false, updatable = false)
+    private Integer attendeeCount = 0;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -93,6 +100,19 @@ public class EventRegistrationClosingCriteria implements Serializable {
     public void setForceClose(Boolean forceClose) {
         this.forceClose = forceClose;
     }
+
+    public Integer getAttendeeCount() {
+        return attendeeCount;
+    }
+
+    public EventRegistrationClosingCriteria attendeeCount(Integer attendeeCount) {
+        this.attendeeCount = attendeeCount;
+        return this;
+    }
+
+    public void setAttendeeCount(Integer attendeeCount) {
+        this.attendeeCount = attendeeCount;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -119,6 +139,7 @@ public class EventRegistrationClosingCriteria implements Serializable {
             ", maxAttendees=" + getMaxAttendees() +
             ", closingDate='" + getClosingDate() + "'" +
             ", forceClose='" + isForceClose() + "'" +
+            ", attendeeCount=" + getAttendeeCount() +
             "}";
     }
 }
@@ -0,0 +1,126 @@
+package com.thirdcc.webapp.domain;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import javax.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A EventWaitlistEntry, a user queued for a full {@link Event}.
+ * <p>
+ * The entries of an event are promoted to {@link EventAttendee} in the order of their id.
+ */
+@Entity
+@Table(name = "event_waitlist_entry")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+public class EventWaitlistEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "provide_transport")
+    private Boolean provideTransport;
+
+    @Column(name = "joined_date", nullable = false)
+    private Instant joinedDate = Instant.now();
+
+    // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public EventWaitlistEntry userId(Long userId) {
+        this.userId = userId;
+        return this;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public EventWaitlistEntry eventId(Long eventId) {
+        this.eventId = eventId;
+        return this;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Boolean isProvideTransport() {
+        return provideTransport;
+    }
+
+    public EventWaitlistEntry provideTransport(Boolean provideTransport) {
+        this.provideTransport = provideTransport;
+        return this;
+    }
+
+    public void setProvideTransport(Boolean provideTransport) {
+        this.provideTransport = provideTransport;
+    }
+
+    public Instant getJoinedDate() {
+        return joinedDate;
+    }
+
+    public EventWaitlistEntry joinedDate(Instant joinedDate) {
+        this.joinedDate = joinedDate;
+        return this;
+    }
+
+    public void setJoinedDate(Instant joinedDate) {
+        this.joinedDate = joinedDate;
+    }
+    // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EventWaitlistEntry)) {
+            return false;
+        }
+        return id != null && id.equals(((EventWaitlistEntry) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    @Override
+    public String toString() {
+        return "EventWaitlistEntry{" +
+            "id=" + getId() +
+            ", userId=" + getUserId() +
+            ", eventId=" + getEventId() +
+            ", provideTransport='" + isProvideTransport() + "'" +
+            ", joinedDate='" + getJoinedDate() + "'" +
+            "}";
+    }
+}
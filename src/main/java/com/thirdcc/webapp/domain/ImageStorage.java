@@ -1,10 +1,15 @@
 package com.thirdcc.webapp.domain;
+import com.thirdcc.webapp.domain.enumeration.ImageStorageStatus;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 import java.io.Serializable;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A ImageStorage.
@@ -29,6 +34,36 @@ public class ImageStorage implements Serializable {
     @Column(name = "file_type")
     private String fileType;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private ImageStorageStatus status;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /**
+     * The local file the PENDING image is spooled to, until it is stored in the cloud storage.
+     */
+    @Column(name = "spool_path", length = 1024)
+    private String spoolPath;
+
+    @Column(name = "spool_host")
+    private String spoolHost;
+
+    @Column(name = "spooled_date")
+    private Instant spooledDate;
+
+    /**
+     * The urls of the downsized copies of the image, by width in pixels.
+     */
+    @ElementCollection
+    @MapKeyColumn(name = "width")
+    @Column(name = "image_url")
+    @CollectionTable(name = "image_storage_variant", joinColumns = @JoinColumn(name = "image_storage_id"))
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+    @BatchSize(size = 20)
+    private Map<Integer, String> variants = new HashMap<>();
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -76,6 +111,84 @@ public class ImageStorage implements Serializable {
     public void setFileType(String fileType) {
         this.fileType = fileType;
     }
+
+    public ImageStorageStatus getStatus() {
+        return status;
+    }
+
+    public ImageStorage status(ImageStorageStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    public void setStatus(ImageStorageStatus status) {
+        this.status = status;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public ImageStorage contentHash(String contentHash) {
+        this.contentHash = contentHash;
+        return this;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getSpoolPath() {
+        return spoolPath;
+    }
+
+    public ImageStorage spoolPath(String spoolPath) {
+        this.spoolPath = spoolPath;
+        return this;
+    }
+
+    public void setSpoolPath(String spoolPath) {
+        this.spoolPath = spoolPath;
+    }
+
+    public String getSpoolHost() {
+        return spoolHost;
+    }
+
+    public ImageStorage spoolHost(String spoolHost) {
+        this.spoolHost = spoolHost;
+        return this;
+    }
+
+    public void setSpoolHost(String spoolHost) {
+        this.spoolHost = spoolHost;
+    }
+
+    public Instant getSpooledDate() {
+        return spooledDate;
+    }
+
+    public ImageStorage spooledDate(Instant spooledDate) {
+        this.spooledDate = spooledDate;
+        return this;
+    }
+
+    public void setSpooledDate(Instant spooledDate) {
+        this.spooledDate = spooledDate;
+    }
+
+    public Map<Integer, String> getVariants() {
+        return variants;
+    }
+
+    public ImageStorage variants(Map<Integer, String> variants) {
+        this.variants = variants;
+        return this;
+    }
+
+    public void setVariants(Map<Integer, String> variants) {
+        this.variants = variants;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -101,6 +214,11 @@ public class ImageStorage implements Serializable {
             ", imageUrl='" + getImageUrl() + "'" +
             ", fileName='" + getFileName() + "'" +
             ", fileType='" + getFileType() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", contentHash='" + getContentHash() + "'" +
+            ", spoolPath='" + getSpoolPath() + "'" +
+            ", spoolHost='" + getSpoolHost() + "'" +
+            ", spooledDate='" + getSpooledDate() + "'" +
             "}";
     }
 }
@@ -98,6 +98,14 @@ public class User extends AbstractAuditingEntity implements Serializable {
     @Column(name = "reset_date")
     private Instant resetDate = null;
 
+    /**
+     * Only written by the bulk updates of {@link com.thirdcc.webapp.repository.UserRepository}, so a stale cached
+     * user never writes an older version back.
+     */
+    @JsonIgnore
+    @Column(name = "permission_version", nullable = false, insertable = false, updatable = false)
+    private long permissionVersion;
+
     @JsonIgnore
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
@@ -228,6 +236,10 @@ public class User extends AbstractAuditingEntity implements Serializable {
         this.resetDate = resetDate;
     }
 
+    public long getPermissionVersion() {
+        return permissionVersion;
+    }
+
     public Set<Authority> getAuthorities() {
         return authorities;
     }
@@ -0,0 +1,8 @@
+package com.thirdcc.webapp.domain.enumeration;
+
+/**
+ * The ImageStorageStatus enumeration.
+ */
+public enum ImageStorageStatus {
+    PENDING, READY, FAILED
+}
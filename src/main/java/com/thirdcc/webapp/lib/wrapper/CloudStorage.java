@@ -1,18 +1,25 @@
 package com.thirdcc.webapp.lib.wrapper;
 
-import com.thirdcc.webapp.service.dto.ImageStorageDTO;
-import org.springframework.web.multipart.MultipartFile;
-
 import java.io.IOException;
+import java.nio.file.Path;
 
 public interface CloudStorage {
 
     /**
-     * Save file and produce an url
+     * Produce the url the file stored under the object name is served from
+     *
+     * @param objectName
+     * @return url to the file, available once it is stored
+     */
+    String getUrl(String objectName);
+
+    /**
+     * Save file under the object name, replacing the previous one if any
      *
-     * @param multipartFile
-     * @return url to the file
+     * @param objectName
+     * @param contentType
+     * @param file
      * @throws IOException
      */
-    String store(MultipartFile multipartFile) throws IOException;
+    void store(String objectName, String contentType, Path file) throws IOException;
 }
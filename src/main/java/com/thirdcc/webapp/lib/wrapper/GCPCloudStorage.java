@@ -1,27 +1,49 @@
 package com.thirdcc.webapp.lib.wrapper;
 
+import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.*;
+import com.thirdcc.webapp.config.Constants;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriUtils;
 
 import java.io.IOException;
-import java.util.Objects;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
 
 @Service
+@Profile("!" + Constants.SPRING_PROFILE_LOCAL_STORAGE)
 public class GCPCloudStorage implements CloudStorage {
-    private Storage storage = StorageOptions.newBuilder().setProjectId("ccclubmanagement").build().getService();
+    private static final String BUCKET_NAME = "cc-club-management-bucket-1";
 
-    @Override
-    public String store(MultipartFile multipartFile) throws IOException {
-        BlobId blobId = BlobId.of("cc-club-management-bucket-1", Objects.requireNonNull(multipartFile.getOriginalFilename()));
-        BlobInfo blobInfo = BlobInfo.newBuilder(blobId).build();
+    private final LazyClientHolder<Storage> storageHolder;
+
+    public GCPCloudStorage(LazyClientHolder<Storage> storageHolder) {
+        this.storageHolder = storageHolder;
+    }
 
-        // Create object in bucket
-        storage.create(blobInfo, multipartFile.getInputStream());
+    @Override
+    public String getUrl(String objectName) {
+        return "https://storage.googleapis.com/" + BUCKET_NAME + "/" + UriUtils.encodePath(objectName, StandardCharsets.UTF_8);
+    }
 
-        // Set ACL to public
-        storage.createAcl(blobId, Acl.of(Acl.User.ofAllUsers(), Acl.Role.READER));
+    @Override
+    public void store(String objectName, String contentType, Path file) throws IOException {
+        // Public object, created with its ACL in a single request
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(BUCKET_NAME, objectName))
+            .setContentType(contentType)
+            .setAcl(Collections.singletonList(Acl.of(Acl.User.ofAllUsers(), Acl.Role.READER)))
+            .build();
 
-        return storage.get(blobId).getMediaLink();
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ); WriteChannel writer = storageHolder.get().writer(blobInfo)) {
+            long position = 0;
+            long size = source.size();
+            while (position < size) {
+                position += source.transferTo(position, size - position, writer);
+            }
+        }
     }
 }
@@ -0,0 +1,65 @@
+package com.thirdcc.webapp.lib.wrapper;
+
+import com.thirdcc.webapp.warmup.StartupTimings;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Holds a client of an external service, created on first use instead of at startup, its creation possibly
+ * discovering credentials and connecting to the service.
+ * <p>
+ * A failed creation is not kept, the next use tries again. The duration of the creation is recorded as the
+ * {@code client.<name>} phase of the {@link StartupTimings}.
+ *
+ * @param <T> the type of the client.
+ */
+public class LazyClientHolder<T> {
+
+    private final String name;
+
+    private final Callable<T> factory;
+
+    private final StartupTimings startupTimings;
+
+    private volatile T client;
+
+    public LazyClientHolder(String name, Callable<T> factory, StartupTimings startupTimings) {
+        this.name = name;
+        this.factory = factory;
+        this.startupTimings = startupTimings;
+    }
+
+    /**
+     * @return the client, created by the first call.
+     * @throws IllegalStateException if the client cannot be created.
+     */
+    public T get() {
+        T current = client;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (client == null) {
+                long start = System.nanoTime();
+                try {
+                    client = factory.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException("Cannot create the " + name + " client", e);
+                }
+                startupTimings.record("client." + name, Duration.ofNanos(System.nanoTime() - start));
+            }
+            return client;
+        }
+    }
+
+    public boolean isInitialized() {
+        return client != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
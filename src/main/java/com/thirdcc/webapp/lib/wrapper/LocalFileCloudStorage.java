@@ -0,0 +1,119 @@
+package com.thirdcc.webapp.lib.wrapper;
+
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.config.Constants;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Stores the files in a local directory, served by {@link com.thirdcc.webapp.web.rest.FileResource}.
+ * <p>
+ * The content type of each file is kept in a {@code .content-type} file next to it.
+ */
+@Service
+@Profile(Constants.SPRING_PROFILE_LOCAL_STORAGE)
+public class LocalFileCloudStorage implements CloudStorage {
+
+    private static final String CONTENT_TYPE_SUFFIX = ".content-type";
+
+    private final Path directory;
+
+    private final String baseUrl;
+
+    public LocalFileCloudStorage(ApplicationProperties applicationProperties) {
+        this.directory = Paths.get(applicationProperties.getLocalStorage().getDirectory()).toAbsolutePath().normalize();
+        String baseUrl = applicationProperties.getLocalStorage().getBaseUrl();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    @Override
+    public String getUrl(String objectName) {
+        return baseUrl + UriUtils.encodePath(objectName, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void store(String objectName, String contentType, Path file) throws IOException {
+        Path target = resolve(objectName).orElseThrow(() -> new IOException("Invalid object name: " + objectName));
+        Files.createDirectories(target.getParent());
+
+        // Written aside then moved, the file being served while it is replaced
+        Path temporaryFile = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ);
+                 FileChannel destination = FileChannel.open(temporaryFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long position = 0;
+                long size = source.size();
+                while (position < size) {
+                    position += destination.transferFrom(source, position, size - position);
+                }
+                destination.force(true);
+            }
+            Path contentTypeFile = target.resolveSibling(target.getFileName() + CONTENT_TYPE_SUFFIX);
+            if (contentType == null) {
+                Files.deleteIfExists(contentTypeFile);
+            } else {
+                Files.write(contentTypeFile, contentType.getBytes(StandardCharsets.UTF_8));
+            }
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Get the stored file.
+     *
+     * @param objectName the name of the file.
+     * @return the path of the file, empty if not found.
+     */
+    public Optional<Path> getFile(String objectName) {
+        return resolve(objectName)
+            .filter(Files::isRegularFile);
+    }
+
+    /**
+     * Get the content type the file was stored with.
+     *
+     * @param objectName the name of the file.
+     * @return the content type, empty if unknown.
+     * @throws IOException if the content type cannot be read.
+     */
+    public Optional<String> getContentType(String objectName) throws IOException {
+        Optional<Path> file = resolve(objectName);
+        if (!file.isPresent()) {
+            return Optional.empty();
+        }
+        try {
+            byte[] contentType = Files.readAllBytes(file.get().resolveSibling(file.get().getFileName() + CONTENT_TYPE_SUFFIX));
+            return Optional.of(new String(contentType, StandardCharsets.UTF_8));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Resolve the object name in the directory, rejecting the names escaping it and the content type files.
+     */
+    private Optional<Path> resolve(String objectName) {
+        if (objectName == null || objectName.isEmpty() || objectName.endsWith(CONTENT_TYPE_SUFFIX)) {
+            return Optional.empty();
+        }
+        Path file = directory.resolve(objectName).normalize();
+        if (!file.startsWith(directory) || file.equals(directory)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+}
@@ -6,6 +6,8 @@ import com.thirdcc.webapp.domain.enumeration.AdministratorStatus;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -20,5 +22,10 @@ public interface AdministratorRepository extends JpaRepository<Administrator, Lo
 
     Optional<Administrator> findByUserIdAndYearSessionAndStatus(Long id, String currentYearSession, AdministratorStatus status);
 
+    List<Administrator> findAllByUserIdAndYearSessionAndStatus(Long userId, String yearSession, AdministratorStatus status);
+
+    List<Administrator> findAllByYearSessionAndStatus(String yearSession, AdministratorStatus status);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     List<Administrator> findAllByUserId(Long userId);
 }
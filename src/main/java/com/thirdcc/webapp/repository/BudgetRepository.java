@@ -2,11 +2,14 @@ package com.thirdcc.webapp.repository;
 
 import com.thirdcc.webapp.domain.Budget;
 import com.thirdcc.webapp.domain.enumeration.TransactionType;
+import com.thirdcc.webapp.repository.projection.EventBudgetAmountProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +25,8 @@ public interface BudgetRepository extends JpaRepository<Budget, Long>, JpaSpecif
     List<Budget> findAllByEventIdAndType(Long eventId, TransactionType type);
 
     Page<Budget> findAllByEventId(Pageable pageable, Long eventId);
+
+    @Query("select b.eventId as eventId, b.type as type, sum(b.amount) as amount from Budget b " +
+        "where b.eventId in :eventIds group by b.eventId, b.type")
+    List<EventBudgetAmountProjection> sumAmountByEventIdIn(@Param("eventIds") Collection<Long> eventIds);
 }
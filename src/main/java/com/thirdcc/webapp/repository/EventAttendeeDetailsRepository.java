@@ -0,0 +1,33 @@
+package com.thirdcc.webapp.repository;
+
+import com.thirdcc.webapp.repository.projection.EventAttendeeDetailsProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Custom repository fragment reading event attendees together with the details of their user.
+ */
+public interface EventAttendeeDetailsRepository {
+
+    /**
+     * The properties the attendees can be sorted by.
+     */
+    Set<String> SORT_PROPERTIES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "id", "userId", "eventId", "provideTransport", "userName", "yearSession"
+    )));
+
+    /**
+     * Get a page of the attendees of an event, joined with their user and uni info.
+     *
+     * @param eventId the id of the event.
+     * @param pageable the pagination information, sortable by the {@link #SORT_PROPERTIES}.
+     * @return the page of attendees.
+     * @throws IllegalArgumentException if sorted by another property.
+     */
+    Page<EventAttendeeDetailsProjection> findAllDetailsByEventId(Long eventId, Pageable pageable);
+}
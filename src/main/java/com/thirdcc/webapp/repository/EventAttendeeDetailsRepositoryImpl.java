@@ -0,0 +1,96 @@
+package com.thirdcc.webapp.repository;
+
+import com.thirdcc.webapp.domain.EventAttendee;
+import com.thirdcc.webapp.repository.projection.EventAttendeeDetailsProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the attendees of a page together with their user and uni info within a single statement,
+ * sorted and paged by the database, so the cost does not depend on the number of attendees of the event.
+ */
+public class EventAttendeeDetailsRepositoryImpl implements EventAttendeeDetailsRepository {
+
+    private static final String EVENT_ATTENDEE_DETAILS_QUERY = "select a as eventAttendee, " +
+        "u.id as userId, u.firstName as firstName, u.lastName as lastName, i.yearSession as yearSession " +
+        "from EventAttendee a left join User u on u.id = a.userId left join UserUniInfo i on i.userId = a.userId " +
+        "where a.eventId = :eventId";
+
+    private static final String COUNT_QUERY = "select count(a) from EventAttendee a where a.eventId = :eventId";
+
+    private static final Map<String, List<String>> SORT_EXPRESSIONS;
+
+    static {
+        Map<String, List<String>> sortExpressions = new HashMap<>();
+        sortExpressions.put("id", Collections.singletonList("a.id"));
+        sortExpressions.put("userId", Collections.singletonList("a.userId"));
+        sortExpressions.put("eventId", Collections.singletonList("a.eventId"));
+        sortExpressions.put("provideTransport", Collections.singletonList("a.provideTransport"));
+        sortExpressions.put("userName", Arrays.asList("u.firstName", "u.lastName"));
+        sortExpressions.put("yearSession", Collections.singletonList("i.yearSession"));
+        SORT_EXPRESSIONS = Collections.unmodifiableMap(sortExpressions);
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EventAttendeeDetailsProjection> findAllDetailsByEventId(Long eventId, Pageable pageable) {
+        TypedQuery<Tuple> query = entityManager.createQuery(EVENT_ATTENDEE_DETAILS_QUERY + toOrderByClause(pageable.getSort()), Tuple.class)
+            .setParameter("eventId", eventId);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<EventAttendeeDetailsProjection> content = query.getResultList()
+            .stream()
+            .map(this::toProjection)
+            .collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(content, pageable, () -> entityManager
+            .createQuery(COUNT_QUERY, Long.class)
+            .setParameter("eventId", eventId)
+            .getSingleResult());
+    }
+
+    private String toOrderByClause(Sort sort) {
+        List<String> orderBy = new ArrayList<>();
+        boolean isSortedById = false;
+        for (Sort.Order order : sort) {
+            List<String> expressions = SORT_EXPRESSIONS.get(order.getProperty());
+            if (expressions == null) {
+                throw new IllegalArgumentException("Cannot sort event attendees by " + order.getProperty());
+            }
+            isSortedById |= "id".equals(order.getProperty());
+            expressions.forEach(expression -> orderBy.add(expression + (order.isAscending() ? " asc" : " desc")));
+        }
+        // Keep the order stable between pages
+        if (!isSortedById) {
+            orderBy.add("a.id asc");
+        }
+        return " order by " + String.join(", ", orderBy);
+    }
+
+    private EventAttendeeDetailsProjection toProjection(Tuple tuple) {
+        return new EventAttendeeDetailsProjection(
+            tuple.get("eventAttendee", EventAttendee.class),
+            tuple.get("userId", Long.class) != null,
+            tuple.get("firstName", String.class),
+            tuple.get("lastName", String.class),
+            tuple.get("yearSession", String.class)
+        );
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,12 +15,13 @@ import java.util.Optional;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EventAttendeeRepository extends JpaRepository<EventAttendee, Long>, JpaSpecificationExecutor<EventAttendee> {
-
-    //overloading the findAllByEventId method
-    List<EventAttendee> findAllByEventId(Long eventId);
+public interface EventAttendeeRepository extends JpaRepository<EventAttendee, Long>, JpaSpecificationExecutor<EventAttendee>, EventAttendeeDetailsRepository {
 
     Page<EventAttendee> findAllByEventId(Long eventId, Pageable pageable);
 
     Optional<EventAttendee> findOneByEventIdAndUserId(Long eventId , Long userId);
+
+    int countByEventId(Long eventId);
+
+    List<EventAttendee> findAllByEventIdAndUserIdIn(Long eventId, Collection<Long> userIds);
 }
@@ -0,0 +1,13 @@
+package com.thirdcc.webapp.repository;
+
+import com.thirdcc.webapp.repository.projection.EventFinanceReportProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Custom repository fragment reading the budget and transaction totals of events.
+ */
+public interface EventFinanceReportRepository {
+
+    Page<EventFinanceReportProjection> findAllFinanceReport(Pageable pageable);
+}
@@ -0,0 +1,66 @@
+package com.thirdcc.webapp.repository;
+
+import com.thirdcc.webapp.domain.Event;
+import com.thirdcc.webapp.repository.projection.EventFinanceReportProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the budget and transaction totals of every event of a page from {@link com.thirdcc.webapp.domain.EventFinanceSummary}
+ * within a single statement, so the cost of a finance report depends on the page size instead of the number of events.
+ */
+public class EventFinanceReportRepositoryImpl implements EventFinanceReportRepository {
+
+    private static final String EVENT_ALIAS = "e";
+
+    private static final String FINANCE_REPORT_QUERY = "select e as event, " +
+        "coalesce(s.budgetIncome, 0) as totalBudgetIncome, " +
+        "coalesce(s.budgetExpense, 0) as totalBudgetExpenses, " +
+        "coalesce(s.realisedIncome + s.pendingIncome + s.invalidIncome, 0) as totalIncome, " +
+        "coalesce(s.realisedExpense + s.pendingExpense + s.invalidExpense, 0) as totalExpenses, " +
+        "s.eventId as summaryEventId " +
+        "from Event e left join EventFinanceSummary s on s.eventId = e.id";
+
+    private static final String COUNT_QUERY = "select count(e) from Event e";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EventFinanceReportProjection> findAllFinanceReport(Pageable pageable) {
+        // Sorting is applied with the explicit event alias, so the report can be sorted by any property of the event
+        String queryString = QueryUtils.applySorting(FINANCE_REPORT_QUERY, pageable.getSort(), EVENT_ALIAS);
+        TypedQuery<Tuple> query = entityManager.createQuery(queryString, Tuple.class);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<EventFinanceReportProjection> content = query.getResultList()
+            .stream()
+            .map(this::toProjection)
+            .collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(content, pageable,
+            () -> entityManager.createQuery(COUNT_QUERY, Long.class).getSingleResult());
+    }
+
+    private EventFinanceReportProjection toProjection(Tuple tuple) {
+        return new EventFinanceReportProjection(
+            tuple.get("event", Event.class),
+            tuple.get("totalBudgetIncome", BigDecimal.class),
+            tuple.get("totalBudgetExpenses", BigDecimal.class),
+            tuple.get("totalIncome", BigDecimal.class),
+            tuple.get("totalExpenses", BigDecimal.class),
+            tuple.get("summaryEventId", Long.class) != null
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package com.thirdcc.webapp.repository;
+
+import com.thirdcc.webapp.domain.EventFinanceSummary;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data SQL repository for the EventFinanceSummary entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface EventFinanceSummaryRepository extends JpaRepository<EventFinanceSummary, Long> {
+
+    /**
+     * Lock the summaries of the events until the end of the transaction, the deltas of the concurrent writes waiting
+     * for it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from EventFinanceSummary s where s.eventId in :eventIds")
+    List<EventFinanceSummary> findAllForUpdateByEventIdIn(@Param("eventIds") Collection<Long> eventIds);
+
+    /**
+     * Atomically add the amounts of {@code delta} to the summary of the event.
+     *
+     * @return the number of updated rows, 0 when the event has no summary yet.
+     */
+    @Modifying
+    @Query("update EventFinanceSummary s set " +
+        "s.budgetIncome = s.budgetIncome + :#{#delta.budgetIncome}, " +
+        "s.budgetExpense = s.budgetExpense + :#{#delta.budgetExpense}, " +
+        "s.realisedIncome = s.realisedIncome + :#{#delta.realisedIncome}, " +
+        "s.pendingIncome = s.pendingIncome + :#{#delta.pendingIncome}, " +
+        "s.invalidIncome = s.invalidIncome + :#{#delta.invalidIncome}, " +
+        "s.realisedExpense = s.realisedExpense + :#{#delta.realisedExpense}, " +
+        "s.pendingExpense = s.pendingExpense + :#{#delta.pendingExpense}, " +
+        "s.invalidExpense = s.invalidExpense + :#{#delta.invalidExpense} " +
+        "where s.eventId = :eventId")
+    int addAmounts(@Param("eventId") Long eventId, @Param("delta") EventFinanceSummary delta);
+}
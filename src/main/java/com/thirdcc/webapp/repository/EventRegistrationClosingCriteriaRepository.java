@@ -2,12 +2,52 @@ package com.thirdcc.webapp.repository;
 
 import com.thirdcc.webapp.domain.EventRegistrationClosingCriteria;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Optional;
+
 /**
  * Spring Data SQL repository for the EventRegistrationClosingCriteria entity.
  */
 @SuppressWarnings("unused")
 @Repository
 public interface EventRegistrationClosingCriteriaRepository
-  extends JpaRepository<EventRegistrationClosingCriteria, Long>, JpaSpecificationExecutor<EventRegistrationClosingCriteria> {}
+  extends JpaRepository<EventRegistrationClosingCriteria, Long>, JpaSpecificationExecutor<EventRegistrationClosingCriteria> {
+
+    Optional<EventRegistrationClosingCriteria> findFirstByEventIdOrderByIdAsc(Long eventId);
+
+    /**
+     * Lock the criteria of the event until the end of the transaction, so seats are not taken while the waitlist is promoted.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<EventRegistrationClosingCriteria> findFirstForUpdateByEventIdOrderByIdAsc(Long eventId);
+
+    /**
+     * Take a seat of the criteria if its registration is still open, the row stays locked until the
+     * registering transaction ends so concurrent registrations cannot overbook the event.
+     * <p>
+     * Only the criteria read by {@link #findFirstByEventIdOrderByIdAsc(Long)} holds the seat counter of its event.
+     *
+     * @return the number of updated rows, 0 if the registration is closed.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update EventRegistrationClosingCriteria criteria set criteria.attendeeCount = criteria.attendeeCount + 1 " +
+        "where criteria.id = :id " +
+        "and (criteria.forceClose is null or criteria.forceClose = false) " +
+        "and (criteria.closingDate is null or criteria.closingDate > :now) " +
+        "and (criteria.maxAttendees is null or criteria.attendeeCount < criteria.maxAttendees)")
+    int takeSeatIfOpen(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update EventRegistrationClosingCriteria criteria set criteria.attendeeCount = criteria.attendeeCount + :count " +
+        "where criteria.id = :id")
+    int addAttendeeCount(@Param("id") Long id, @Param("count") int count);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update EventRegistrationClosingCriteria criteria set criteria.attendeeCount = criteria.attendeeCount - 1 " +
+        "where criteria.id = :id and criteria.attendeeCount > 0")
+    int releaseSeat(@Param("id") Long id);
+}
@@ -5,9 +5,11 @@ import com.thirdcc.webapp.domain.enumeration.EventStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -16,7 +18,7 @@ import java.util.Set;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventFinanceReportRepository {
 
     Optional<Event> findOneByIdAndStatusIn(Long id, Set<EventStatus> eventStatus);
 
@@ -25,4 +27,7 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
     Page<Event> findEventsByStartDateBeforeAndStatusIn(Instant fromDate, Set<EventStatus> eventStatus, Pageable pageable);
 
     Page<Event> findEventsByStartDateAfterAndStatusIn(Instant fromDate, Set<EventStatus> eventStatus, Pageable pageable);
+
+    @Query("select e.id from Event e where e.id > :lastId order by e.id")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
 }
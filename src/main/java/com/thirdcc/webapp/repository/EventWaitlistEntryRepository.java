@@ -0,0 +1,27 @@
+package com.thirdcc.webapp.repository;
+
+import com.thirdcc.webapp.domain.EventWaitlistEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data SQL repository for the EventWaitlistEntry entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface EventWaitlistEntryRepository extends JpaRepository<EventWaitlistEntry, Long> {
+
+    Page<EventWaitlistEntry> findAllByEventIdOrderByIdAsc(Long eventId, Pageable pageable);
+
+    Optional<EventWaitlistEntry> findOneByEventIdAndUserId(Long eventId, Long userId);
+
+    boolean existsByEventId(Long eventId);
+
+    @Query("select distinct entry.eventId from EventWaitlistEntry entry")
+    List<Long> findAllEventIds();
+}
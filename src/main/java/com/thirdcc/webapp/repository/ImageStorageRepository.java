@@ -1,12 +1,46 @@
 package com.thirdcc.webapp.repository;
 
 import com.thirdcc.webapp.domain.ImageStorage;
+import com.thirdcc.webapp.domain.enumeration.ImageStorageStatus;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Spring Data SQL repository for the ImageStorage entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ImageStorageRepository extends JpaRepository<ImageStorage, Long>, JpaSpecificationExecutor<ImageStorage> {}
+public interface ImageStorageRepository extends JpaRepository<ImageStorage, Long>, JpaSpecificationExecutor<ImageStorage> {
+
+    Optional<ImageStorage> findFirstByContentHashAndStatusOrderByIdAsc(String contentHash, ImageStorageStatus status);
+
+    /**
+     * Get the image storages spooled on a host before a date, and the ones without spooled file.
+     */
+    @Query("select imageStorage from ImageStorage imageStorage where imageStorage.status = :status " +
+        "and (imageStorage.spoolHost = :spoolHost or imageStorage.spoolPath is null) " +
+        "and (imageStorage.spooledDate is null or imageStorage.spooledDate < :spooledBefore)")
+    List<ImageStorage> findAllByStatusAndSpoolHostAndSpooledBefore(
+        @Param("status") ImageStorageStatus status,
+        @Param("spoolHost") String spoolHost,
+        @Param("spooledBefore") Instant spooledBefore
+    );
+
+    @Query("select imageStorage.spoolPath from ImageStorage imageStorage where imageStorage.status = :status and imageStorage.spoolPath is not null")
+    List<String> findAllSpoolPathsByStatus(@Param("status") ImageStorageStatus status);
+
+    /**
+     * Claim a stale PENDING image storage for the sweep, the other instances sweeping at the same time claim none.
+     *
+     * @return 1 if claimed, 0 if no longer PENDING or already claimed.
+     */
+    @Modifying
+    @Query("update ImageStorage imageStorage set imageStorage.spooledDate = :now where imageStorage.id = :id " +
+        "and imageStorage.status = :status and (imageStorage.spooledDate is null or imageStorage.spooledDate < :spooledBefore)")
+    int claimStale(@Param("id") Long id, @Param("status") ImageStorageStatus status, @Param("spooledBefore") Instant spooledBefore, @Param("now") Instant now);
+}
@@ -0,0 +1,22 @@
+package com.thirdcc.webapp.repository;
+
+import com.thirdcc.webapp.repository.projection.TransactionExportProjection;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository fragment streaming the transactions to be exported.
+ */
+public interface TransactionExportRepository {
+
+    /**
+     * Stream the transactions created within the period as projections, so the rows are neither kept in the
+     * persistence context nor in the second level cache. Must be consumed and closed within a transaction.
+     *
+     * @param inclusiveFrom the first instant of the period.
+     * @param exclusiveTo the first instant after the period.
+     * @return the transactions ordered by id, together with the name of their event.
+     */
+    Stream<TransactionExportProjection> streamExportByCreatedDateBetween(Instant inclusiveFrom, Instant exclusiveTo);
+}
@@ -0,0 +1,46 @@
+package com.thirdcc.webapp.repository;
+
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.repository.projection.TransactionExportProjection;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+/**
+ * Streams the transactions to be exported with the fetch size of {@code application.transaction-export.fetch-size}.
+ * The fetch size only applies to this query, so the way the other queries of the application fetch their rows
+ * does not depend on the driver settings required to stream this one.
+ */
+public class TransactionExportRepositoryImpl implements TransactionExportRepository {
+
+    private static final String EXPORT_QUERY = "select new com.thirdcc.webapp.repository.projection.TransactionExportProjection(" +
+        "t.id, t.transactionDate, t.title, e.name, t.transactionType, t.transactionStatus, t.transactionAmount, t.imageLink) " +
+        "from Transaction t left join Event e on e.id = t.eventId " +
+        "where t.createdDate >= :inclusiveFrom and t.createdDate < :exclusiveTo order by t.id";
+
+    private final int fetchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TransactionExportRepositoryImpl(ApplicationProperties applicationProperties) {
+        this.fetchSize = applicationProperties.getTransactionExport().getFetchSize();
+    }
+
+    @Override
+    public Stream<TransactionExportProjection> streamExportByCreatedDateBetween(Instant inclusiveFrom, Instant exclusiveTo) {
+        return entityManager.createQuery(EXPORT_QUERY, TransactionExportProjection.class)
+            .setParameter("inclusiveFrom", inclusiveFrom)
+            .setParameter("exclusiveTo", exclusiveTo)
+            .setHint(HINT_FETCH_SIZE, fetchSize)
+            .setHint(HINT_CACHEABLE, false)
+            .setHint(HINT_READONLY, true)
+            .getResultStream();
+    }
+}
@@ -0,0 +1,20 @@
+package com.thirdcc.webapp.repository;
+
+import com.thirdcc.webapp.repository.projection.TransactionMonthlyAmountProjection;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Custom repository fragment aggregating the transaction amounts of a period.
+ */
+public interface TransactionFinanceReportRepository {
+
+    /**
+     * Sum the amount of the transactions created within each month, grouped by type and status.
+     *
+     * @param monthBoundaries the first instant of every month followed by the first instant after the last month.
+     * @return the monthly amounts of every type and status having transactions.
+     */
+    List<TransactionMonthlyAmountProjection> sumAmountByMonth(List<Instant> monthBoundaries);
+}
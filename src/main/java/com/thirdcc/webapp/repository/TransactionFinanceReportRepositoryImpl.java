@@ -0,0 +1,67 @@
+package com.thirdcc.webapp.repository;
+
+import com.thirdcc.webapp.domain.enumeration.TransactionStatus;
+import com.thirdcc.webapp.domain.enumeration.TransactionType;
+import com.thirdcc.webapp.repository.projection.TransactionMonthlyAmountProjection;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Sums the transaction amounts of every month within a single grouped statement. The months are pivoted
+ * into one conditional sum each, so the boundaries computed in the application zone are only bound as
+ * parameters and at most one row per type and status is returned, whatever the number of transactions.
+ */
+public class TransactionFinanceReportRepositoryImpl implements TransactionFinanceReportRepository {
+
+    private static final String BOUNDARY_PARAMETER = "boundary";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionMonthlyAmountProjection> sumAmountByMonth(List<Instant> monthBoundaries) {
+        if (monthBoundaries.size() < 2) {
+            throw new IllegalArgumentException("at least 2 month boundaries are required");
+        }
+        int numOfMonths = monthBoundaries.size() - 1;
+        StringBuilder queryString = new StringBuilder("select t.transactionType as transactionType, t.transactionStatus as transactionStatus");
+        for (int month = 0; month < numOfMonths; month++) {
+            queryString.append(", sum(case when t.createdDate >= :").append(BOUNDARY_PARAMETER).append(month)
+                .append(" and t.createdDate < :").append(BOUNDARY_PARAMETER).append(month + 1)
+                .append(" then t.transactionAmount else 0 end) as month").append(month);
+        }
+        queryString.append(" from Transaction t where t.createdDate >= :").append(BOUNDARY_PARAMETER).append(0)
+            .append(" and t.createdDate < :").append(BOUNDARY_PARAMETER).append(numOfMonths)
+            .append(" group by t.transactionType, t.transactionStatus");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(queryString.toString(), Tuple.class);
+        for (int boundary = 0; boundary <= numOfMonths; boundary++) {
+            query.setParameter(BOUNDARY_PARAMETER + boundary, monthBoundaries.get(boundary));
+        }
+        return query.getResultList()
+            .stream()
+            .map(tuple -> toProjection(tuple, numOfMonths))
+            .collect(Collectors.toList());
+    }
+
+    private TransactionMonthlyAmountProjection toProjection(Tuple tuple, int numOfMonths) {
+        List<BigDecimal> monthlyAmounts = new ArrayList<>(numOfMonths);
+        for (int month = 0; month < numOfMonths; month++) {
+            Number amount = tuple.get("month" + month, Number.class);
+            monthlyAmounts.add(amount == null ? BigDecimal.ZERO : new BigDecimal(amount.toString()));
+        }
+        return new TransactionMonthlyAmountProjection(
+            tuple.get("transactionType", TransactionType.class),
+            tuple.get("transactionStatus", TransactionStatus.class),
+            monthlyAmounts
+        );
+    }
+}
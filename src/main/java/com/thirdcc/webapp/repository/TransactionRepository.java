@@ -2,12 +2,16 @@ package com.thirdcc.webapp.repository;
 
 import com.thirdcc.webapp.domain.Transaction;
 import com.thirdcc.webapp.domain.enumeration.TransactionType;
+import com.thirdcc.webapp.repository.projection.EventTransactionAmountProjection;
+import com.thirdcc.webapp.repository.projection.TransactionAmountProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,11 +19,23 @@ import java.util.List;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>, TransactionFinanceReportRepository, TransactionExportRepository {
 
     Page<Transaction> findAllByEventId(Long eventId, Pageable pageable);
 
     List<Transaction> findAllByEventIdAndTransactionType(Long eventId, TransactionType type);
 
-    List<Transaction> findAllByCreatedDateGreaterThanEqualAndCreatedDateLessThan(Instant inclusiveFrom, Instant exclusiveTo);
+    @Query("select t.transactionType as transactionType, t.transactionStatus as transactionStatus, " +
+        "sum(t.transactionAmount) as amount from Transaction t " +
+        "where t.createdDate >= :inclusiveFrom and t.createdDate < :exclusiveTo " +
+        "group by t.transactionType, t.transactionStatus")
+    List<TransactionAmountProjection> sumAmountByCreatedDateBetween(
+        @Param("inclusiveFrom") Instant inclusiveFrom,
+        @Param("exclusiveTo") Instant exclusiveTo
+    );
+
+    @Query("select t.eventId as eventId, t.transactionType as transactionType, t.transactionStatus as transactionStatus, " +
+        "sum(t.transactionAmount) as amount from Transaction t where t.eventId in :eventIds " +
+        "group by t.eventId, t.transactionType, t.transactionStatus")
+    List<EventTransactionAmountProjection> sumAmountByEventIdIn(@Param("eventIds") Collection<Long> eventIds);
 }
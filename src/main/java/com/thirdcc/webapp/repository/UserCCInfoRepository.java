@@ -6,6 +6,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+
 import java.util.Optional;
 
 /**
@@ -17,5 +19,6 @@ public interface UserCCInfoRepository extends JpaRepository<UserCCInfo, Long>, J
 
     Page<UserCCInfo> findAllByUserId(Long userId, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Optional<UserCCInfo> findByUserId(Long userId);
 }
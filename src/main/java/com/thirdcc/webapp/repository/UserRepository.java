@@ -8,8 +8,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.time.Instant;
@@ -48,4 +52,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findOneWithAuthoritiesByEmail(String email);
 
     Page<User> findAllByLoginNot(Pageable pageable, String login);
+
+    /**
+     * Read the permission version from the database rather than from a possibly stale cached user.
+     */
+    @Query("select u.permissionVersion from User u where u.id = :id")
+    Optional<Long> findPermissionVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.permissionVersion = u.permissionVersion + 1 where u.id in :ids")
+    int incrementPermissionVersionByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update User u set u.permissionVersion = u.permissionVersion + 1")
+    int incrementAllPermissionVersions();
 }
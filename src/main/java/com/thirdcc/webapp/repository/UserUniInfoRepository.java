@@ -4,6 +4,8 @@ import com.thirdcc.webapp.domain.UserUniInfo;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+
 import java.util.Optional;
 
 /**
@@ -13,5 +15,6 @@ import java.util.Optional;
 @Repository
 public interface UserUniInfoRepository extends JpaRepository<UserUniInfo, Long>, JpaSpecificationExecutor<UserUniInfo> {
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Optional<UserUniInfo> findOneByUserId(Long userId);
 }
@@ -14,4 +14,6 @@ import java.util.Optional;
 public interface YearSessionRepository extends JpaRepository<YearSession, Long>, JpaSpecificationExecutor<YearSession> {
 
     Optional<YearSession> findFirstByOrderByIdDesc();
+
+    Optional<YearSession> findFirstByValueOrderByIdDesc(String value);
 }
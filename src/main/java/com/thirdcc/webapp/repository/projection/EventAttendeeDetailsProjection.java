@@ -0,0 +1,56 @@
+package com.thirdcc.webapp.repository.projection;
+
+import com.thirdcc.webapp.domain.EventAttendee;
+
+/**
+ * Projection of an {@link EventAttendee} together with the details of the attending user.
+ */
+public class EventAttendeeDetailsProjection {
+
+    private final EventAttendee eventAttendee;
+
+    private final boolean userExists;
+
+    private final String firstName;
+
+    private final String lastName;
+
+    private final String yearSession;
+
+    public EventAttendeeDetailsProjection(
+        EventAttendee eventAttendee,
+        boolean userExists,
+        String firstName,
+        String lastName,
+        String yearSession
+    ) {
+        this.eventAttendee = eventAttendee;
+        this.userExists = userExists;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.yearSession = yearSession;
+    }
+
+    public EventAttendee getEventAttendee() {
+        return eventAttendee;
+    }
+
+    public boolean isUserExists() {
+        return userExists;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * @return the year session of the user, null if the user has no uni info.
+     */
+    public String getYearSession() {
+        return yearSession;
+    }
+}
@@ -0,0 +1,17 @@
+package com.thirdcc.webapp.repository.projection;
+
+import com.thirdcc.webapp.domain.enumeration.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of the summed budget amount of an event grouped by type.
+ */
+public interface EventBudgetAmountProjection {
+
+    Long getEventId();
+
+    TransactionType getType();
+
+    BigDecimal getAmount();
+}
@@ -0,0 +1,66 @@
+package com.thirdcc.webapp.repository.projection;
+
+import com.thirdcc.webapp.domain.Event;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of an {@link Event} together with its aggregated budget and transaction amounts.
+ */
+public class EventFinanceReportProjection {
+
+    private final Event event;
+
+    private final BigDecimal totalBudgetIncome;
+
+    private final BigDecimal totalBudgetExpenses;
+
+    private final BigDecimal totalIncome;
+
+    private final BigDecimal totalExpenses;
+
+    private final boolean summaryPresent;
+
+    public EventFinanceReportProjection(
+        Event event,
+        BigDecimal totalBudgetIncome,
+        BigDecimal totalBudgetExpenses,
+        BigDecimal totalIncome,
+        BigDecimal totalExpenses,
+        boolean summaryPresent
+    ) {
+        this.event = event;
+        this.totalBudgetIncome = totalBudgetIncome;
+        this.totalBudgetExpenses = totalBudgetExpenses;
+        this.totalIncome = totalIncome;
+        this.totalExpenses = totalExpenses;
+        this.summaryPresent = summaryPresent;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public BigDecimal getTotalBudgetIncome() {
+        return totalBudgetIncome;
+    }
+
+    public BigDecimal getTotalBudgetExpenses() {
+        return totalBudgetExpenses;
+    }
+
+    public BigDecimal getTotalIncome() {
+        return totalIncome;
+    }
+
+    public BigDecimal getTotalExpenses() {
+        return totalExpenses;
+    }
+
+    /**
+     * @return whether the amounts were read from the summary of the event, they are zero otherwise.
+     */
+    public boolean isSummaryPresent() {
+        return summaryPresent;
+    }
+}
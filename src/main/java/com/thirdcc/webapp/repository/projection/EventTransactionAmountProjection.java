@@ -0,0 +1,9 @@
+package com.thirdcc.webapp.repository.projection;
+
+/**
+ * Projection of the summed transaction amount of an event grouped by type and status.
+ */
+public interface EventTransactionAmountProjection extends TransactionAmountProjection {
+
+    Long getEventId();
+}
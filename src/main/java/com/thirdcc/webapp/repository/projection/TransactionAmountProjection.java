@@ -0,0 +1,18 @@
+package com.thirdcc.webapp.repository.projection;
+
+import com.thirdcc.webapp.domain.enumeration.TransactionStatus;
+import com.thirdcc.webapp.domain.enumeration.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of the summed transaction amount grouped by type and status.
+ */
+public interface TransactionAmountProjection {
+
+    TransactionType getTransactionType();
+
+    TransactionStatus getTransactionStatus();
+
+    BigDecimal getAmount();
+}
@@ -0,0 +1,81 @@
+package com.thirdcc.webapp.repository.projection;
+
+import com.thirdcc.webapp.domain.enumeration.TransactionStatus;
+import com.thirdcc.webapp.domain.enumeration.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Projection of a {@link com.thirdcc.webapp.domain.Transaction} row to be exported, together with the name of its event.
+ */
+public class TransactionExportProjection {
+
+    private final Long id;
+
+    private final Instant transactionDate;
+
+    private final String title;
+
+    private final String eventName;
+
+    private final TransactionType transactionType;
+
+    private final TransactionStatus transactionStatus;
+
+    private final BigDecimal transactionAmount;
+
+    private final String imageLink;
+
+    public TransactionExportProjection(
+        Long id,
+        Instant transactionDate,
+        String title,
+        String eventName,
+        TransactionType transactionType,
+        TransactionStatus transactionStatus,
+        BigDecimal transactionAmount,
+        String imageLink
+    ) {
+        this.id = id;
+        this.transactionDate = transactionDate;
+        this.title = title;
+        this.eventName = eventName;
+        this.transactionType = transactionType;
+        this.transactionStatus = transactionStatus;
+        this.transactionAmount = transactionAmount;
+        this.imageLink = imageLink;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Instant getTransactionDate() {
+        return transactionDate;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public TransactionStatus getTransactionStatus() {
+        return transactionStatus;
+    }
+
+    public BigDecimal getTransactionAmount() {
+        return transactionAmount;
+    }
+
+    public String getImageLink() {
+        return imageLink;
+    }
+}
@@ -0,0 +1,44 @@
+package com.thirdcc.webapp.repository.projection;
+
+import com.thirdcc.webapp.domain.enumeration.TransactionStatus;
+import com.thirdcc.webapp.domain.enumeration.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Projection of the summed transaction amount grouped by type and status, with one amount per month.
+ */
+public class TransactionMonthlyAmountProjection {
+
+    private final TransactionType transactionType;
+
+    private final TransactionStatus transactionStatus;
+
+    private final List<BigDecimal> monthlyAmounts;
+
+    public TransactionMonthlyAmountProjection(
+        TransactionType transactionType,
+        TransactionStatus transactionStatus,
+        List<BigDecimal> monthlyAmounts
+    ) {
+        this.transactionType = transactionType;
+        this.transactionStatus = transactionStatus;
+        this.monthlyAmounts = monthlyAmounts;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public TransactionStatus getTransactionStatus() {
+        return transactionStatus;
+    }
+
+    /**
+     * @return the amounts in the order of the months queried, zero for a month without transactions.
+     */
+    public List<BigDecimal> getMonthlyAmounts() {
+        return monthlyAmounts;
+    }
+}
@@ -1,24 +1,128 @@
 package com.thirdcc.webapp.security.firebase;
 
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.lib.wrapper.LazyClientHolder;
 import com.thirdcc.webapp.security.firebase.exception.FirebaseTokenException;
 import com.thirdcc.webapp.security.firebase.exception.FirebaseTokenExceptionMessages;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.api.core.ApiFuture;
+import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseException;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
+/**
+ * Verifies Firebase ID tokens.
+ * <p>
+ * Verified tokens are cached until their own {@code exp}, keyed by the SHA-256 digest of the token so the raw
+ * credential is never retained as a key. Concurrent verifications of the same token share a single in-flight
+ * future, and failed verifications are never cached. Hits and misses are exported as the {@code cache.gets}
+ * metrics of the {@value #CACHE_NAME} cache.
+ */
 @Service
-public class FirebaseService{
+public class FirebaseService {
+
+    static final String CACHE_NAME = "firebaseToken";
+
+    private final Logger log = LoggerFactory.getLogger(FirebaseService.class);
+
+    private final Function<String, ApiFuture<FirebaseToken>> tokenVerifier;
+
+    private final AsyncCache<String, FirebaseTokenHolder> verifiedTokens;
+
+    @Autowired
+    public FirebaseService(LazyClientHolder<FirebaseApp> firebaseAppHolder, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this(
+            firebaseToken -> FirebaseAuth.getInstance(firebaseAppHolder.get()).verifyIdTokenAsync(firebaseToken),
+            applicationProperties.getFirebaseToken().getCacheMaximumSize(),
+            meterRegistry
+        );
+    }
+
+    FirebaseService(Function<String, ApiFuture<FirebaseToken>> tokenVerifier, long cacheMaximumSize, MeterRegistry meterRegistry) {
+        this.tokenVerifier = tokenVerifier;
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(cacheMaximumSize)
+            .expireAfter(new TokenExpiry())
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens.synchronous(), CACHE_NAME);
+    }
+
     public FirebaseTokenHolder parseToken(String firebaseToken) throws InterruptedException, ExecutionException, FirebaseException {
         if (StringUtils.isBlank(firebaseToken)) {
             throw new FirebaseTokenException(FirebaseTokenExceptionMessages.TOKEN_HEADER_NOT_FOUND);
         }
 
-        FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdTokenAsync(firebaseToken).get();
-        return new FirebaseTokenHolder(decodedToken);
+        return verifiedTokens.get(digest(firebaseToken), (digest, executor) -> verifyToken(firebaseToken)).get();
+    }
+
+    private CompletableFuture<FirebaseTokenHolder> verifyToken(String firebaseToken) {
+        log.debug("Request to verify Firebase token");
+        CompletableFuture<FirebaseTokenHolder> result = new CompletableFuture<>();
+        ApiFuture<FirebaseToken> verification = tokenVerifier.apply(firebaseToken);
+        verification.addListener(() -> {
+            try {
+                result.complete(new FirebaseTokenHolder(verification.get()));
+            } catch (ExecutionException e) {
+                result.completeExceptionally(e.getCause());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }, Runnable::run);
+        return result;
+    }
+
+    private static String digest(String firebaseToken) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(firebaseToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+
+    /**
+     * Keeps a verified token until its {@code exp} claim, tokens without one are not kept at all.
+     */
+    private static class TokenExpiry implements Expiry<String, FirebaseTokenHolder> {
+
+        @Override
+        public long expireAfterCreate(String digest, FirebaseTokenHolder holder, long currentTime) {
+            return holder.getExpirationTime()
+                .map(expirationTime -> Duration.between(Instant.now(), expirationTime).toNanos())
+                .filter(remaining -> remaining > 0)
+                .orElse(0L);
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, FirebaseTokenHolder holder, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, holder, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, FirebaseTokenHolder holder, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
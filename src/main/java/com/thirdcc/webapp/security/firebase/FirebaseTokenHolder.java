@@ -4,8 +4,10 @@ import com.google.api.client.util.ArrayMap;
 import com.google.firebase.auth.FirebaseToken;
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.Optional;
 
 public class FirebaseTokenHolder {
     private FirebaseToken token;
@@ -38,6 +40,17 @@ public class FirebaseTokenHolder {
         return token.getUid();
     }
 
+    /**
+     * @return the instant after which the token must no longer be accepted, taken from its {@code exp} claim.
+     */
+    public Optional<Instant> getExpirationTime() {
+        Object expiration = token.getClaims().get("exp");
+        if (!(expiration instanceof Number)) {
+            return Optional.empty();
+        }
+        return Optional.of(Instant.ofEpochSecond(((Number) expiration).longValue()));
+    }
+
     public String getGoogleId() {
         String userId = ((ArrayList<String>) ((ArrayMap) ((ArrayMap) token.getClaims().get("firebase"))
             .get("identities")).get("google.com")).get(0);
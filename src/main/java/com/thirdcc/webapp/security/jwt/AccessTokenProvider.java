@@ -1,6 +1,9 @@
 package com.thirdcc.webapp.security.jwt;
 
 import com.thirdcc.webapp.config.ApplicationProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.github.jhipster.config.JHipsterProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -18,9 +21,10 @@ import org.springframework.util.StringUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Date;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
@@ -30,14 +34,45 @@ public class AccessTokenProvider implements InitializingBean {
 
     private static final String AUTHORITIES_KEY = "auth";
 
+    private static final String USER_ID_KEY = "uid";
+
+    private static final String YEAR_SESSION_KEY = "ys";
+
+    private static final String PERMISSION_VERSION_KEY = "pv";
+
+    private static final String ADMINISTRATOR_ROLES_KEY = "adm";
+
+    private static final String CREW_EVENT_IDS_KEY = "crew";
+
+    private static final String HEAD_EVENT_IDS_KEY = "head";
+
+    private static final long INTERNED_AUTHORITIES_MAXIMUM_SIZE = 100L;
+
     private Key key;
 
     private long tokenValidityInMilliseconds;
 
     private final ApplicationProperties applicationProperties;
 
+    /**
+     * Recently verified tokens keyed by their SHA-256 digest, each kept until its own expiration.
+     */
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * Authorities shared by every token carrying the same {@code auth} claim, bounded as the claims are read from the
+     * tokens. Only the few combinations of authorities granted to users are expected.
+     */
+    private final Cache<String, List<GrantedAuthority>> internedAuthorities = Caffeine.newBuilder()
+        .maximumSize(INTERNED_AUTHORITIES_MAXIMUM_SIZE)
+        .build();
+
     public AccessTokenProvider(ApplicationProperties applicationProperties) {
         this.applicationProperties = applicationProperties;
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(applicationProperties.getAccessToken().getCacheMaximumSize())
+            .expireAfter(new VerifiedTokenExpiry())
+            .build();
     }
 
     @Override
@@ -49,6 +84,16 @@ public class AccessTokenProvider implements InitializingBean {
     }
 
     public String createToken(Authentication authentication) {
+        return createToken(authentication, null);
+    }
+
+    /**
+     * @param authentication the authentication of the user.
+     * @param tokenPermissions the permissions to embed in the token, or {@code null} to leave them to be resolved
+     *                         from the database on every request.
+     * @return the access token.
+     */
+    public String createToken(Authentication authentication, TokenPermissions tokenPermissions) {
         String authorities = authentication.getAuthorities().stream()
             .map(GrantedAuthority::getAuthority)
             .collect(Collectors.joining(","));
@@ -56,9 +101,19 @@ public class AccessTokenProvider implements InitializingBean {
         long now = (new Date()).getTime();
         Date validity = new Date(now + this.tokenValidityInMilliseconds);
 
-        return Jwts.builder()
+        JwtBuilder jwtBuilder = Jwts.builder()
             .setSubject(authentication.getName())
-            .claim(AUTHORITIES_KEY, authorities)
+            .claim(AUTHORITIES_KEY, authorities);
+        if (tokenPermissions != null) {
+            jwtBuilder
+                .claim(USER_ID_KEY, tokenPermissions.getUserId())
+                .claim(YEAR_SESSION_KEY, tokenPermissions.getYearSession())
+                .claim(PERMISSION_VERSION_KEY, tokenPermissions.getVersion())
+                .claim(ADMINISTRATOR_ROLES_KEY, tokenPermissions.getEncodedAdministratorRoles())
+                .claim(CREW_EVENT_IDS_KEY, tokenPermissions.getEncodedCrewEventIds())
+                .claim(HEAD_EVENT_IDS_KEY, tokenPermissions.getEncodedHeadEventIds());
+        }
+        return jwtBuilder
             .signWith(key, SignatureAlgorithm.HS512)
             .setExpiration(validity)
             .compact();
@@ -70,20 +125,37 @@ public class AccessTokenProvider implements InitializingBean {
             .parseClaimsJws(token)
             .getBody();
 
-        Collection<? extends GrantedAuthority> authorities =
-            Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
+        return toVerifiedToken(claims).toAuthentication(token);
+    }
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    /**
+     * Parses and verifies the token once, replacing a {@link #validateToken(String)} followed by a
+     * {@link #getAuthentication(String)} on the request path.
+     *
+     * @param token the access token.
+     * @return the authentication of the token, or empty if the token is not valid.
+     */
+    public Optional<Authentication> getVerifiedAuthentication(String token) {
+        String digest = digest(token);
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(digest);
+        if (verifiedToken == null) {
+            Optional<Claims> claims = parseClaims(token);
+            if (!claims.isPresent()) {
+                return Optional.empty();
+            }
+            verifiedToken = toVerifiedToken(claims.get());
+            verifiedTokens.put(digest, verifiedToken);
+        }
+        return Optional.of(verifiedToken.toAuthentication(token));
     }
 
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken).isPresent();
+    }
+
+    private Optional<Claims> parseClaims(String authToken) {
         try {
-            Jwts.parser().setSigningKey(key).parseClaimsJws(authToken);
-            return true;
+            return Optional.of(Jwts.parser().setSigningKey(key).parseClaimsJws(authToken).getBody());
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT signature.");
             log.trace("Invalid JWT signature trace: {}", e);
@@ -97,6 +169,93 @@ public class AccessTokenProvider implements InitializingBean {
             log.info("JWT token compact of handler are invalid.");
             log.trace("JWT token compact of handler are invalid trace: {}", e);
         }
-        return false;
+        return Optional.empty();
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        List<GrantedAuthority> authorities = internedAuthorities.get(
+            claims.get(AUTHORITIES_KEY).toString(),
+            authoritiesClaim -> Collections.unmodifiableList(Arrays.stream(authoritiesClaim.split(","))
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList()))
+        );
+        User principal = new User(claims.getSubject(), "", authorities);
+        return new VerifiedToken(principal, authorities, getTokenPermissions(claims), claims.getExpiration());
+    }
+
+    private TokenPermissions getTokenPermissions(Claims claims) {
+        if (!claims.containsKey(PERMISSION_VERSION_KEY)) {
+            return null;
+        }
+        return TokenPermissions.decode(
+            claims.get(USER_ID_KEY, Long.class),
+            claims.get(YEAR_SESSION_KEY, String.class),
+            claims.get(PERMISSION_VERSION_KEY, Long.class),
+            claims.get(ADMINISTRATOR_ROLES_KEY, String.class),
+            claims.get(CREW_EVENT_IDS_KEY, String.class),
+            claims.get(HEAD_EVENT_IDS_KEY, String.class)
+        );
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+
+    private static class VerifiedToken {
+
+        private final User principal;
+
+        private final List<GrantedAuthority> authorities;
+
+        private final TokenPermissions tokenPermissions;
+
+        private final Date expiration;
+
+        VerifiedToken(User principal, List<GrantedAuthority> authorities, TokenPermissions tokenPermissions, Date expiration) {
+            this.principal = principal;
+            this.authorities = authorities;
+            this.tokenPermissions = tokenPermissions;
+            this.expiration = expiration;
+        }
+
+        /**
+         * A new authentication is built for every request as downstream filters may mutate it. The embedded
+         * permissions, if any, are exposed as its details.
+         */
+        Authentication toAuthentication(String token) {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(principal, token, authorities);
+            authentication.setDetails(tokenPermissions);
+            return authentication;
+        }
+    }
+
+    /**
+     * Keeps a verified token until its expiration, tokens without one are not kept at all.
+     */
+    private static class VerifiedTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String digest, VerifiedToken verifiedToken, long currentTime) {
+            if (verifiedToken.expiration == null) {
+                return 0L;
+            }
+            long remainingMillis = verifiedToken.expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0L));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, verifiedToken, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
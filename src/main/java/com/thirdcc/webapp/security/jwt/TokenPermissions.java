@@ -0,0 +1,189 @@
+package com.thirdcc.webapp.security.jwt;
+
+import com.thirdcc.webapp.domain.enumeration.AdministratorRole;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Permissions of a user embedded in its access token, so that security expressions can be evaluated without
+ * querying the database.
+ * <p>
+ * The permissions are only trusted while their {@code version} is still the current permission version of the user.
+ */
+public class TokenPermissions {
+
+    private final Long userId;
+
+    private final String yearSession;
+
+    private final long version;
+
+    private final Set<AdministratorRole> administratorRoles;
+
+    private final long[] crewEventIds;
+
+    private final long[] headEventIds;
+
+    public TokenPermissions(
+        Long userId,
+        String yearSession,
+        long version,
+        Set<AdministratorRole> administratorRoles,
+        Collection<Long> crewEventIds,
+        Collection<Long> headEventIds
+    ) {
+        this(userId, yearSession, version, administratorRoles, toSortedArray(crewEventIds), toSortedArray(headEventIds));
+    }
+
+    private TokenPermissions(
+        Long userId,
+        String yearSession,
+        long version,
+        Set<AdministratorRole> administratorRoles,
+        long[] crewEventIds,
+        long[] headEventIds
+    ) {
+        this.userId = Objects.requireNonNull(userId);
+        this.yearSession = yearSession;
+        this.version = version;
+        this.administratorRoles = administratorRoles.isEmpty()
+            ? Collections.emptySet()
+            : Collections.unmodifiableSet(EnumSet.copyOf(administratorRoles));
+        this.crewEventIds = crewEventIds;
+        this.headEventIds = headEventIds;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getYearSession() {
+        return yearSession;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Set<AdministratorRole> getAdministratorRoles() {
+        return administratorRoles;
+    }
+
+    public boolean isEventCrew(Long eventId) {
+        return eventId != null && Arrays.binarySearch(crewEventIds, eventId) >= 0;
+    }
+
+    public boolean isEventHead(Long eventId) {
+        return eventId != null && Arrays.binarySearch(headEventIds, eventId) >= 0;
+    }
+
+    String getEncodedAdministratorRoles() {
+        return administratorRoles.stream()
+            .map(AdministratorRole::name)
+            .reduce((first, second) -> first + "," + second)
+            .orElse("");
+    }
+
+    String getEncodedCrewEventIds() {
+        return encodeEventIds(crewEventIds);
+    }
+
+    String getEncodedHeadEventIds() {
+        return encodeEventIds(headEventIds);
+    }
+
+    static TokenPermissions decode(
+        Long userId,
+        String yearSession,
+        long version,
+        String encodedAdministratorRoles,
+        String encodedCrewEventIds,
+        String encodedHeadEventIds
+    ) {
+        Set<AdministratorRole> administratorRoles = EnumSet.noneOf(AdministratorRole.class);
+        if (!encodedAdministratorRoles.isEmpty()) {
+            Arrays.stream(encodedAdministratorRoles.split(","))
+                .map(AdministratorRole::valueOf)
+                .forEach(administratorRoles::add);
+        }
+        return new TokenPermissions(
+            userId,
+            yearSession,
+            version,
+            administratorRoles,
+            decodeEventIds(encodedCrewEventIds),
+            decodeEventIds(encodedHeadEventIds)
+        );
+    }
+
+    /**
+     * Encodes sorted event ids as the unsigned varints of their deltas, in URL-safe Base64.
+     */
+    static String encodeEventIds(long[] sortedEventIds) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(sortedEventIds.length * 2);
+        long previous = 0;
+        for (long eventId : sortedEventIds) {
+            long delta = eventId - previous;
+            previous = eventId;
+            while ((delta & ~0x7FL) != 0) {
+                bytes.write((int) ((delta & 0x7F) | 0x80));
+                delta >>>= 7;
+            }
+            bytes.write((int) delta);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static long[] decodeEventIds(String encodedEventIds) {
+        byte[] bytes = Base64.getUrlDecoder().decode(encodedEventIds);
+        long[] eventIds = new long[bytes.length];
+        int count = 0;
+        long previous = 0;
+        int index = 0;
+        while (index < bytes.length) {
+            long delta = 0;
+            int shift = 0;
+            byte current;
+            do {
+                if (index >= bytes.length || shift > 63) {
+                    throw new IllegalArgumentException("Malformed event ids");
+                }
+                current = bytes[index++];
+                delta |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            previous += delta;
+            eventIds[count++] = previous;
+        }
+        return Arrays.copyOf(eventIds, count);
+    }
+
+    private static long[] toSortedArray(Collection<Long> eventIds) {
+        return eventIds.stream()
+            .filter(Objects::nonNull)
+            .mapToLong(Long::longValue)
+            .filter(eventId -> eventId > 0)
+            .sorted()
+            .distinct()
+            .toArray();
+    }
+
+    @Override
+    public String toString() {
+        return "TokenPermissions{" +
+            "userId=" + userId +
+            ", yearSession='" + yearSession + "'" +
+            ", version=" + version +
+            ", administratorRoles=" + administratorRoles +
+            ", crewEventIds=" + Arrays.toString(crewEventIds) +
+            ", headEventIds=" + Arrays.toString(headEventIds) +
+            "}";
+    }
+}
@@ -0,0 +1,71 @@
+package com.thirdcc.webapp.service;
+
+import com.thirdcc.webapp.domain.Budget;
+import com.thirdcc.webapp.domain.EventFinanceSummary;
+import com.thirdcc.webapp.domain.Transaction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service Interface for maintaining {@link com.thirdcc.webapp.domain.EventFinanceSummary}.
+ */
+public interface EventFinanceSummaryService {
+
+    /**
+     * Create the empty summary of a new event, must be called within the transaction creating the event.
+     *
+     * @param eventId the id of the created event.
+     */
+    void onEventCreated(Long eventId);
+
+    /**
+     * Apply the change of a transaction to the summary of its event(s),
+     * must be called within the transaction of the write, after the write is issued.
+     *
+     * @param previous the state of the transaction before the write, null if created.
+     * @param current the state of the transaction after the write, null if deleted.
+     */
+    void onTransactionChanged(Transaction previous, Transaction current);
+
+    /**
+     * Apply the change of a budget to the summary of its event(s),
+     * must be called within the transaction of the write, after the write is issued.
+     *
+     * @param previous the state of the budget before the write, null if created.
+     * @param current the state of the budget after the write, null if deleted.
+     */
+    void onBudgetChanged(Budget previous, Budget current);
+
+    /**
+     * Get the summary of the event, computed from the budgets and transactions if it is not persisted yet.
+     *
+     * @param eventId the id of the event.
+     * @return the summary of the event.
+     */
+    EventFinanceSummary findOneByEventId(Long eventId);
+
+    /**
+     * Get the summaries of the events, computed from the budgets and transactions for those not persisted yet.
+     *
+     * @param eventIds the ids of the events.
+     * @return the summary of each event by its id.
+     */
+    Map<Long, EventFinanceSummary> findAllByEventIdIn(Collection<Long> eventIds);
+
+    /**
+     * Recompute and persist the summary of every event, chunk by chunk.
+     *
+     * @return the number of rebuilt summaries.
+     */
+    int rebuildAll();
+
+    /**
+     * Compare the persisted summary of every event with the budgets and transactions, chunk by chunk.
+     *
+     * @param repair whether the inconsistent summaries should be rebuilt.
+     * @return the ids of the events with an inconsistent summary.
+     */
+    List<Long> checkConsistency(boolean repair);
+}
@@ -33,9 +33,12 @@ public class EventQueryService extends QueryService<Event> {
 
   private final EventMapper eventMapper;
 
-  public EventQueryService(EventRepository eventRepository, EventMapper eventMapper) {
+  private final EventService eventService;
+
+  public EventQueryService(EventRepository eventRepository, EventMapper eventMapper, EventService eventService) {
     this.eventRepository = eventRepository;
     this.eventMapper = eventMapper;
+    this.eventService = eventService;
   }
 
   /**
@@ -47,7 +50,7 @@ public class EventQueryService extends QueryService<Event> {
   public List<EventDTO> findByCriteria(EventCriteria criteria) {
     log.debug("find by criteria : {}", criteria);
     final Specification<Event> specification = createSpecification(criteria);
-    return eventMapper.toDto(eventRepository.findAll(specification));
+    return eventService.mapEventImageStorage(eventMapper.toDto(eventRepository.findAll(specification)));
   }
 
   /**
@@ -60,7 +63,9 @@ public class EventQueryService extends QueryService<Event> {
   public Page<EventDTO> findByCriteria(EventCriteria criteria, Pageable page) {
     log.debug("find by criteria : {}, page: {}", criteria, page);
     final Specification<Event> specification = createSpecification(criteria);
-    return eventRepository.findAll(specification, page).map(eventMapper::toDto);
+    Page<EventDTO> eventDTOPage = eventRepository.findAll(specification, page).map(eventMapper::toDto);
+    eventService.mapEventImageStorage(eventDTOPage.getContent());
+    return eventDTOPage;
   }
 
   /**
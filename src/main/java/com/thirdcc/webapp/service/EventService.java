@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -74,6 +75,14 @@ public interface EventService {
      */
     Optional<EventDTO> findOne(Long id);
 
+    /**
+     * Attach the image storage of every event, loaded with a single query.
+     *
+     * @param eventDTOs the events of a page.
+     * @return the same events.
+     */
+    List<EventDTO> mapEventImageStorage(List<EventDTO> eventDTOs);
+
     /**
      * Delete the "id" event.
      *
@@ -0,0 +1,54 @@
+package com.thirdcc.webapp.service;
+
+import com.thirdcc.webapp.service.dto.EventWaitlistEntryDTO;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Service Interface for managing {@link com.thirdcc.webapp.domain.EventWaitlistEntry}.
+ */
+public interface EventWaitlistService {
+
+    /**
+     * Queue a user for a full event limited by its {@link com.thirdcc.webapp.domain.EventRegistrationClosingCriteria}.
+     *
+     * @param eventWaitlistEntryDTO the entity to save.
+     * @return the persisted entity.
+     */
+    EventWaitlistEntryDTO save(EventWaitlistEntryDTO eventWaitlistEntryDTO);
+
+    /**
+     * Get the waitlist of an event in the order of promotion.
+     *
+     * @param pageable the pagination information.
+     * @param eventId the id of the event.
+     * @return the list of entities.
+     */
+    Page<EventWaitlistEntryDTO> findAllByEventId(Pageable pageable, Long eventId);
+
+    /**
+     * Delete the eventWaitlistEntry by id.
+     *
+     * @param id the id of the entity.
+     */
+    void delete(Long id);
+
+    /**
+     * Promote the head of the waitlist of an event into the available seats in a single transaction,
+     * promoting an event whose registration is closed, or without available seats or queued users, does nothing.
+     *
+     * @param eventId the id of the event.
+     * @return the number of promoted users.
+     */
+    int promote(Long eventId);
+
+    /**
+     * Promote the waitlist of an event once the current transaction commits, or right away without transaction.
+     * <p>
+     * An event scheduled several times within the same transaction is only promoted once.
+     *
+     * @param eventId the id of the event.
+     */
+    void schedulePromotion(Long eventId);
+}
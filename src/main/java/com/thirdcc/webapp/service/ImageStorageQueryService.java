@@ -95,6 +95,9 @@ public class ImageStorageQueryService extends QueryService<ImageStorage> {
       if (criteria.getFileType() != null) {
         specification = specification.and(buildStringSpecification(criteria.getFileType(), ImageStorage_.fileType));
       }
+      if (criteria.getStatus() != null) {
+        specification = specification.and(buildSpecification(criteria.getStatus(), ImageStorage_.status));
+      }
     }
     return specification;
   }
@@ -4,7 +4,9 @@ import com.thirdcc.webapp.service.dto.ImageStorageDTO;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -36,6 +38,14 @@ public interface ImageStorageService {
      */
     Optional<ImageStorageDTO> findOne(Long id);
 
+    /**
+     * Get the imageStorages of all the ids in a single query.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities by id, without the ids not found.
+     */
+    Map<Long, ImageStorageDTO> findAllByIdIn(Collection<Long> ids);
+
     /**
      * Delete the "id" imageStorage.
      *
@@ -1,5 +1,6 @@
 package com.thirdcc.webapp.service;
 
+import com.thirdcc.webapp.domain.Event;
 import com.thirdcc.webapp.domain.User;
 
 import io.github.jhipster.config.JHipsterProperties;
@@ -32,6 +33,8 @@ public class MailService {
 
     private static final String BASE_URL = "baseUrl";
 
+    private static final String EVENT = "event";
+
     private final JHipsterProperties jHipsterProperties;
 
     private final JavaMailSender javaMailSender;
@@ -101,4 +104,17 @@ public class MailService {
         log.debug("Sending password reset email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
     }
+
+    @Async
+    public void sendWaitlistPromotionEmail(User user, Event event) {
+        log.debug("Sending waitlist promotion email of event '{}' to '{}'", event.getId(), user.getEmail());
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(EVENT, event);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        String content = templateEngine.process("mail/waitlistPromotionEmail", context);
+        String subject = messageSource.getMessage("email.waitlistPromotion.title", new Object[]{event.getName()}, locale);
+        sendEmail(user.getEmail(), subject, content, false, true);
+    }
 }
@@ -0,0 +1,66 @@
+package com.thirdcc.webapp.service;
+
+import com.thirdcc.webapp.domain.CourseProgram;
+import com.thirdcc.webapp.domain.Faculty;
+import com.thirdcc.webapp.service.dto.ReferenceDataDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service Interface for reading the {@link Faculty} and {@link CourseProgram} reference data.
+ */
+public interface ReferenceDataService {
+
+    /**
+     * Get the whole catalogue of faculties and course programs.
+     *
+     * @return the catalogue, with the version identifying its content.
+     */
+    ReferenceDataDTO getReferenceData();
+
+    /**
+     * @return the version identifying the current content of the catalogue.
+     */
+    String getVersion();
+
+    /**
+     * Get all the faculties.
+     *
+     * @return the list of entities ordered by id.
+     */
+    List<Faculty> findAllFaculties();
+
+    /**
+     * Get the "id" faculty.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    Optional<Faculty> findFaculty(Long id);
+
+    /**
+     * Get all the course programs.
+     *
+     * @return the list of entities ordered by name.
+     */
+    List<CourseProgram> findAllCoursePrograms();
+
+    /**
+     * Get all the course programs of a faculty.
+     *
+     * @param facultyId the id of the faculty.
+     * @return the list of entities ordered by id.
+     */
+    List<CourseProgram> findAllCourseProgramsByFacultyId(Long facultyId);
+
+    /**
+     * Get the "id" course program.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    Optional<CourseProgram> findCourseProgram(Long id);
+
+    boolean existsCourseProgram(Long id);
+}
@@ -0,0 +1,42 @@
+package com.thirdcc.webapp.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service Interface for exporting {@link com.thirdcc.webapp.domain.Transaction}.
+ */
+public interface TransactionExportService {
+
+    enum Format {
+        CSV("text/csv", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Write every transaction created within the year session to the output stream, row by row.
+     *
+     * @param yearSession the year session, e.g. 2019/2020.
+     * @param format the format of the export.
+     * @param outputStream the stream to write to, left open.
+     * @throws IOException if the export couldn't be written.
+     */
+    void exportByYearSession(String yearSession, Format format, OutputStream outputStream) throws IOException;
+}
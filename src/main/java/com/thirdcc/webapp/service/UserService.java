@@ -1,5 +1,6 @@
 package com.thirdcc.webapp.service;
 
+import com.thirdcc.webapp.authorization.AuthorizationChangedEvent;
 import com.thirdcc.webapp.config.Constants;
 import com.thirdcc.webapp.domain.Authority;
 import com.thirdcc.webapp.domain.User;
@@ -20,6 +21,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -53,8 +55,11 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository, CacheManager cacheManager, EventCrewRepository eventCrewRepository, UserCCInfoRepository userCCInfoRepository) {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository, CacheManager cacheManager, EventCrewRepository eventCrewRepository, UserCCInfoRepository userCCInfoRepository, ApplicationEventPublisher applicationEventPublisher) {
         this.userRepository = userRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
@@ -252,6 +257,7 @@ public class UserService {
         userRepository.findOneByLogin(login).ifPresent(user -> {
             userRepository.delete(user);
             this.clearUserCaches(user);
+            applicationEventPublisher.publishEvent(AuthorizationChangedEvent.ofUsers(user.getId()));
             log.debug("Deleted User: {}", user);
         });
     }
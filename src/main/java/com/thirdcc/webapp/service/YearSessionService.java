@@ -34,6 +34,21 @@ public interface YearSessionService {
      */
     Optional<YearSession> findOne(Long id);
 
+    /**
+     * Get the latest yearSession with the given value.
+     *
+     * @param value the value of the entity.
+     * @return the entity.
+     */
+    Optional<YearSession> findOneByValue(String value);
+
+    /**
+     * Get the current yearSession, which is the latest one created.
+     *
+     * @return the entity, or empty if there is no yearSession.
+     */
+    Optional<YearSession> findCurrentYearSession();
+
     String getDefaultYearSessionString();
 
     String getYearSessionStringById(Long id);
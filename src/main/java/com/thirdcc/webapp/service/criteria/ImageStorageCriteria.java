@@ -1,5 +1,6 @@
 package com.thirdcc.webapp.service.criteria;
 
+import com.thirdcc.webapp.domain.enumeration.ImageStorageStatus;
 import java.io.Serializable;
 import java.util.Objects;
 import io.github.jhipster.service.Criteria;
@@ -22,6 +23,23 @@ import io.github.jhipster.service.filter.StringFilter;
  */
 public class ImageStorageCriteria implements Serializable, Criteria {
 
+  /**
+   * Class for filtering ImageStorageStatus
+   */
+  public static class ImageStorageStatusFilter extends Filter<ImageStorageStatus> {
+
+    public ImageStorageStatusFilter() {}
+
+    public ImageStorageStatusFilter(ImageStorageStatusFilter filter) {
+      super(filter);
+    }
+
+    @Override
+    public ImageStorageStatusFilter copy() {
+      return new ImageStorageStatusFilter(this);
+    }
+  }
+
   private static final long serialVersionUID = 1L;
 
   private LongFilter id;
@@ -32,6 +50,8 @@ public class ImageStorageCriteria implements Serializable, Criteria {
 
   private StringFilter fileType;
 
+  private ImageStorageStatusFilter status;
+
   public ImageStorageCriteria() {}
 
   public ImageStorageCriteria(ImageStorageCriteria other) {
@@ -39,6 +59,7 @@ public class ImageStorageCriteria implements Serializable, Criteria {
     this.imageUrl = other.imageUrl == null ? null : other.imageUrl.copy();
     this.fileName = other.fileName == null ? null : other.fileName.copy();
     this.fileType = other.fileType == null ? null : other.fileType.copy();
+    this.status = other.status == null ? null : other.status.copy();
   }
 
   @Override
@@ -106,6 +127,21 @@ public class ImageStorageCriteria implements Serializable, Criteria {
     this.fileType = fileType;
   }
 
+  public ImageStorageStatusFilter getStatus() {
+    return status;
+  }
+
+  public ImageStorageStatusFilter status() {
+    if (status == null) {
+      status = new ImageStorageStatusFilter();
+    }
+    return status;
+  }
+
+  public void setStatus(ImageStorageStatusFilter status) {
+    this.status = status;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -119,13 +155,14 @@ public class ImageStorageCriteria implements Serializable, Criteria {
       Objects.equals(id, that.id) &&
       Objects.equals(imageUrl, that.imageUrl) &&
       Objects.equals(fileName, that.fileName) &&
-      Objects.equals(fileType, that.fileType)
+      Objects.equals(fileType, that.fileType) &&
+      Objects.equals(status, that.status)
     );
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id, imageUrl, fileName, fileType);
+    return Objects.hash(id, imageUrl, fileName, fileType, status);
   }
 
   // prettier-ignore
@@ -136,6 +173,7 @@ public class ImageStorageCriteria implements Serializable, Criteria {
             (imageUrl != null ? "imageUrl=" + imageUrl + ", " : "") +
             (fileName != null ? "fileName=" + fileName + ", " : "") +
             (fileType != null ? "fileType=" + fileType + ", " : "") +
+            (status != null ? "status=" + status + ", " : "") +
             "}";
     }
 }
@@ -0,0 +1,93 @@
+package com.thirdcc.webapp.service.dto;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.thirdcc.webapp.domain.EventWaitlistEntry} entity.
+ */
+public class EventWaitlistEntryDTO implements Serializable {
+
+    private Long id;
+
+    private Long userId;
+
+    private Long eventId;
+
+    private Boolean provideTransport;
+
+    private Instant joinedDate;
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Boolean isProvideTransport() {
+        return provideTransport;
+    }
+
+    public void setProvideTransport(Boolean provideTransport) {
+        this.provideTransport = provideTransport;
+    }
+
+    public Instant getJoinedDate() {
+        return joinedDate;
+    }
+
+    public void setJoinedDate(Instant joinedDate) {
+        this.joinedDate = joinedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        EventWaitlistEntryDTO eventWaitlistEntryDTO = (EventWaitlistEntryDTO) o;
+        if (eventWaitlistEntryDTO.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), eventWaitlistEntryDTO.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "EventWaitlistEntryDTO{" +
+            "id=" + getId() +
+            ", userId=" + getUserId() +
+            ", eventId=" + getEventId() +
+            ", provideTransport='" + isProvideTransport() + "'" +
+            ", joinedDate='" + getJoinedDate() + "'" +
+            "}";
+    }
+}
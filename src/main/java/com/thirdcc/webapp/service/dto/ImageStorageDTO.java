@@ -1,5 +1,9 @@
 package com.thirdcc.webapp.service.dto;
+import com.thirdcc.webapp.domain.enumeration.ImageStorageStatus;
+
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -15,6 +19,12 @@ public class ImageStorageDTO implements Serializable {
 
     private String fileType;
 
+    private ImageStorageStatus status;
+
+    private String contentHash;
+
+    private Map<Integer, String> variants = new HashMap<>();
+
 
     public Long getId() {
         return id;
@@ -48,6 +58,30 @@ public class ImageStorageDTO implements Serializable {
         this.fileType = fileType;
     }
 
+    public ImageStorageStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImageStorageStatus status) {
+        this.status = status;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Map<Integer, String> getVariants() {
+        return variants;
+    }
+
+    public void setVariants(Map<Integer, String> variants) {
+        this.variants = variants;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -77,6 +111,9 @@ public class ImageStorageDTO implements Serializable {
             ", imageUrl='" + getImageUrl() + "'" +
             ", fileName='" + getFileName() + "'" +
             ", fileType='" + getFileType() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", contentHash='" + getContentHash() + "'" +
+            ", variants=" + getVariants() +
             "}";
     }
 }
@@ -0,0 +1,52 @@
+package com.thirdcc.webapp.service.dto;
+
+import com.thirdcc.webapp.domain.CourseProgram;
+import com.thirdcc.webapp.domain.Faculty;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO for the whole catalogue of {@link Faculty} and {@link CourseProgram}, with the version identifying its content.
+ */
+public class ReferenceDataDTO implements Serializable {
+
+    private String version;
+
+    private List<Faculty> faculties;
+
+    private List<CourseProgram> coursePrograms;
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public List<Faculty> getFaculties() {
+        return faculties;
+    }
+
+    public void setFaculties(List<Faculty> faculties) {
+        this.faculties = faculties;
+    }
+
+    public List<CourseProgram> getCoursePrograms() {
+        return coursePrograms;
+    }
+
+    public void setCoursePrograms(List<CourseProgram> coursePrograms) {
+        this.coursePrograms = coursePrograms;
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceDataDTO{" +
+            "version='" + getVersion() + "'" +
+            ", faculties=" + (faculties == null ? 0 : faculties.size()) +
+            ", coursePrograms=" + (coursePrograms == null ? 0 : coursePrograms.size()) +
+            "}";
+    }
+}
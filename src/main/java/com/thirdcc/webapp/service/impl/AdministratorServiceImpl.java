@@ -1,5 +1,6 @@
 package com.thirdcc.webapp.service.impl;
 
+import com.thirdcc.webapp.authorization.AuthorizationChangedEvent;
 import com.thirdcc.webapp.exception.BadRequestException;
 import com.thirdcc.webapp.repository.UserRepository;
 import com.thirdcc.webapp.service.AdministratorService;
@@ -10,6 +11,7 @@ import com.thirdcc.webapp.service.mapper.AdministratorMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,10 +35,18 @@ public class AdministratorServiceImpl implements AdministratorService {
 
     private final UserRepository userRepository;
 
-    public AdministratorServiceImpl(AdministratorRepository administratorRepository, AdministratorMapper administratorMapper, UserRepository userRepository) {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public AdministratorServiceImpl(
+        AdministratorRepository administratorRepository,
+        AdministratorMapper administratorMapper,
+        UserRepository userRepository,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
         this.administratorRepository = administratorRepository;
         this.administratorMapper = administratorMapper;
         this.userRepository = userRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -53,8 +63,12 @@ public class AdministratorServiceImpl implements AdministratorService {
         }
         userRepository.findById(administratorDTO.getUserId())
             .orElseThrow(() -> new BadRequestException("User not found with Id"));
+        Long previousUserId = administratorDTO.getId() == null ? null : administratorRepository.findById(administratorDTO.getId())
+            .map(Administrator::getUserId)
+            .orElse(null);
         Administrator administrator = administratorMapper.toEntity(administratorDTO);
         administrator = administratorRepository.save(administrator);
+        applicationEventPublisher.publishEvent(AuthorizationChangedEvent.ofUsers(previousUserId, administrator.getUserId()));
         return administratorMapper.toDto(administrator);
     }
 
@@ -95,6 +109,8 @@ public class AdministratorServiceImpl implements AdministratorService {
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Administrator : {}", id);
+        administratorRepository.findById(id)
+            .ifPresent(administrator -> applicationEventPublisher.publishEvent(AuthorizationChangedEvent.ofUsers(administrator.getUserId())));
         administratorRepository.deleteById(id);
     }
 
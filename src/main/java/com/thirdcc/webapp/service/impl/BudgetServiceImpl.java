@@ -1,11 +1,12 @@
 package com.thirdcc.webapp.service.impl;
 
 import com.thirdcc.webapp.domain.Event;
-import com.thirdcc.webapp.domain.enumeration.TransactionType;
+import com.thirdcc.webapp.domain.EventFinanceSummary;
 import com.thirdcc.webapp.exception.BadRequestException;
 import com.thirdcc.webapp.service.BudgetService;
 import com.thirdcc.webapp.domain.Budget;
 import com.thirdcc.webapp.repository.BudgetRepository;
+import com.thirdcc.webapp.service.EventFinanceSummaryService;
 import com.thirdcc.webapp.service.EventService;
 import com.thirdcc.webapp.service.dto.BudgetDTO;
 import com.thirdcc.webapp.service.dto.EventBudgetTotalDTO;
@@ -36,14 +37,18 @@ public class BudgetServiceImpl implements BudgetService {
 
     private final EventService eventService;
 
+    private final EventFinanceSummaryService eventFinanceSummaryService;
+
     public BudgetServiceImpl(
         BudgetRepository budgetRepository,
         BudgetMapper budgetMapper,
-        EventService eventService
+        EventService eventService,
+        EventFinanceSummaryService eventFinanceSummaryService
     ) {
         this.budgetRepository = budgetRepository;
         this.budgetMapper = budgetMapper;
         this.eventService = eventService;
+        this.eventFinanceSummaryService = eventFinanceSummaryService;
     }
 
     @Override
@@ -55,6 +60,7 @@ public class BudgetServiceImpl implements BudgetService {
         }
         Budget budget = budgetMapper.toEntity(budgetDTO);
         budget = budgetRepository.save(budget);
+        eventFinanceSummaryService.onBudgetChanged(null, budget);
         return budgetMapper.toDto(budget);
     }
 
@@ -68,11 +74,13 @@ public class BudgetServiceImpl implements BudgetService {
         if (event.getEndDate().isBefore(Instant.now())) {
             throw new BadRequestException("cannot update budget for ended event");
         }
+        Budget previousBudget = budgetMapper.toEntity(budgetMapper.toDto(budget));
         budget.setAmount(budgetDTO.getAmount());
         budget.setType(budgetDTO.getType());
         budget.setName(budgetDTO.getName());
         budget.setDetails(budgetDTO.getDetails());
         budget = budgetRepository.save(budget);
+        eventFinanceSummaryService.onBudgetChanged(previousBudget, budget);
         return budgetMapper.toDto(budget);
     }
 
@@ -98,21 +106,18 @@ public class BudgetServiceImpl implements BudgetService {
         Budget budget = budgetRepository
             .findOneByEventIdAndId(eventId, id)
             .orElseThrow(() -> new BadRequestException("Cannot delete non existing budget"));
-        budgetRepository.deleteById(id);
+        budgetRepository.delete(budget);
+        eventFinanceSummaryService.onBudgetChanged(budget, null);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public EventBudgetTotalDTO findTotalEventBudgetByEventId(Long eventId) {
         log.debug("Request to get total event budget by event Id");
+        EventFinanceSummary eventFinanceSummary = eventFinanceSummaryService.findOneByEventId(eventId);
         EventBudgetTotalDTO eventBudgetTotalDTO = new EventBudgetTotalDTO();
-        budgetRepository.findAllByEventId(Pageable.unpaged(), eventId)
-            .forEach(eventBudget -> {
-                if (TransactionType.EXPENSE == eventBudget.getType()) {
-                    eventBudgetTotalDTO.addTotalExpense(eventBudget.getAmount());
-                } else if (TransactionType.INCOME == eventBudget.getType()) {
-                    eventBudgetTotalDTO.addTotalIncome(eventBudget.getAmount());
-                }
-            });
+        eventBudgetTotalDTO.setTotalIncome(eventFinanceSummary.getBudgetIncome());
+        eventBudgetTotalDTO.setTotalExpense(eventFinanceSummary.getBudgetExpense());
         return eventBudgetTotalDTO;
     }
 }
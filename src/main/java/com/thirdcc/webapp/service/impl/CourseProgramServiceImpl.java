@@ -1,16 +1,19 @@
 package com.thirdcc.webapp.service.impl;
 
 import com.thirdcc.webapp.domain.CourseProgram;
-import com.thirdcc.webapp.repository.CourseProgramRepository;
 import com.thirdcc.webapp.service.CourseProgramService;
+import com.thirdcc.webapp.service.ReferenceDataService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.support.PropertyComparator;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -22,10 +25,10 @@ public class CourseProgramServiceImpl implements CourseProgramService {
 
     private final Logger log = LoggerFactory.getLogger(EventActivityServiceImpl.class);
 
-    private final CourseProgramRepository courseProgramRepository;
+    private final ReferenceDataService referenceDataService;
 
-    public CourseProgramServiceImpl(CourseProgramRepository courseProgramRepository) {
-        this.courseProgramRepository = courseProgramRepository;
+    public CourseProgramServiceImpl(ReferenceDataService referenceDataService) {
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -38,7 +41,16 @@ public class CourseProgramServiceImpl implements CourseProgramService {
     @Transactional(readOnly = true)
     public Page<CourseProgram> findAllByFacultyId(Long facultyId, Pageable pageable) {
         log.debug("Request to get all courseProgram by Faculty: {}", facultyId);
-        return courseProgramRepository.findAllByFacultyId(facultyId, pageable);
+        List<CourseProgram> coursePrograms = referenceDataService.findAllCourseProgramsByFacultyId(facultyId);
+        if (pageable.getSort().isSorted()) {
+            coursePrograms.sort(getComparator(pageable.getSort()));
+        }
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(coursePrograms, pageable, coursePrograms.size());
+        }
+        int fromIndex = (int) Math.min(pageable.getOffset(), coursePrograms.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), coursePrograms.size());
+        return new PageImpl<>(coursePrograms.subList(fromIndex, toIndex), pageable, coursePrograms.size());
     }
 
     /**
@@ -49,6 +61,14 @@ public class CourseProgramServiceImpl implements CourseProgramService {
     @Transactional(readOnly = true)
     public List<CourseProgram> findAll() {
         log.debug("Request to get all courseProgram");
-        return courseProgramRepository.findAll(Sort.by(Sort.Direction.ASC, "name"));
+        return referenceDataService.findAllCoursePrograms();
+    }
+
+    private Comparator<CourseProgram> getComparator(Sort sort) {
+        Comparator<CourseProgram> comparator = (first, second) -> 0;
+        for (Sort.Order order : sort) {
+            comparator = comparator.thenComparing(new PropertyComparator<>(order.getProperty(), order.isIgnoreCase(), order.isAscending()));
+        }
+        return comparator;
     }
 }
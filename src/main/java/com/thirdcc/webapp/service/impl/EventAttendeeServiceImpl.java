@@ -2,35 +2,30 @@ package com.thirdcc.webapp.service.impl;
 
 import com.thirdcc.webapp.domain.Event;
 import com.thirdcc.webapp.exception.BadRequestException;
+import com.thirdcc.webapp.repository.EventAttendeeDetailsRepository;
+import com.thirdcc.webapp.repository.EventRegistrationClosingCriteriaRepository;
 import com.thirdcc.webapp.repository.EventRepository;
 import com.thirdcc.webapp.repository.UserRepository;
-import com.thirdcc.webapp.repository.UserUniInfoRepository;
+import com.thirdcc.webapp.repository.projection.EventAttendeeDetailsProjection;
 import com.thirdcc.webapp.service.EventAttendeeService;
 import com.thirdcc.webapp.domain.EventAttendee;
-import com.thirdcc.webapp.domain.User;
-import com.thirdcc.webapp.domain.UserUniInfo;
 import com.thirdcc.webapp.repository.EventAttendeeRepository;
 import com.thirdcc.webapp.service.EventService;
+import com.thirdcc.webapp.service.EventWaitlistService;
 import com.thirdcc.webapp.service.dto.EventAttendeeDTO;
 import com.thirdcc.webapp.service.mapper.EventAttendeeMapper;
-import io.github.jhipster.web.util.PageUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.Comparator;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.domain.Sort.Direction;
 
 /**
  * Service Implementation for managing {@link EventAttendee}.
@@ -49,16 +44,19 @@ public class EventAttendeeServiceImpl implements EventAttendeeService {
 
     private final UserRepository userRepository;
 
-    private final UserUniInfoRepository userUniInfoRepository;
+    private final EventRegistrationClosingCriteriaRepository eventRegistrationClosingCriteriaRepository;
+
+    private final EventWaitlistService eventWaitlistService;
 
     private final EventAttendeeMapper eventAttendeeMapper;
 
-    public EventAttendeeServiceImpl(EventAttendeeRepository eventAttendeeRepository, EventRepository eventRepository, EventService eventService, UserRepository userRepository, UserUniInfoRepository userUniInfoRepository, EventAttendeeMapper eventAttendeeMapper) {
+    public EventAttendeeServiceImpl(EventAttendeeRepository eventAttendeeRepository, EventRepository eventRepository, EventService eventService, UserRepository userRepository, EventRegistrationClosingCriteriaRepository eventRegistrationClosingCriteriaRepository, EventWaitlistService eventWaitlistService, EventAttendeeMapper eventAttendeeMapper) {
         this.eventAttendeeRepository = eventAttendeeRepository;
+        this.eventRegistrationClosingCriteriaRepository = eventRegistrationClosingCriteriaRepository;
+        this.eventWaitlistService = eventWaitlistService;
         this.eventRepository = eventRepository;
         this.eventService = eventService;
         this.userRepository = userRepository;
-        this.userUniInfoRepository = userUniInfoRepository;
         this.eventAttendeeMapper = eventAttendeeMapper;
     }
 
@@ -90,8 +88,23 @@ public class EventAttendeeServiceImpl implements EventAttendeeService {
             throw new BadRequestException("User has registered as attendee for this event");
         }
 
+        EventAttendee previousEventAttendee = eventAttendeeDTO.getId() == null ? null : eventAttendeeRepository
+            .findById(eventAttendeeDTO.getId())
+            .orElse(null);
+        if (previousEventAttendee == null || !eventAttendeeDTO.getEventId().equals(previousEventAttendee.getEventId())) {
+            takeSeat(eventAttendeeDTO.getEventId());
+            if (previousEventAttendee != null) {
+                releaseSeat(previousEventAttendee.getEventId());
+            }
+        }
+
         EventAttendee eventAttendee = eventAttendeeMapper.toEntity(eventAttendeeDTO);
-        eventAttendee = eventAttendeeRepository.save(eventAttendee);
+        try {
+            // the unique constraint on event and user catches the registrations racing past the check above
+            eventAttendee = eventAttendeeRepository.saveAndFlush(eventAttendee);
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("User has registered as attendee for this event");
+        }
         return eventAttendeeMapper.toDto(eventAttendee);
 
     }
@@ -124,42 +137,13 @@ public class EventAttendeeServiceImpl implements EventAttendeeService {
         eventRepository
             .findById(eventId)
             .orElseThrow(() -> new BadRequestException("Event not found"));
-        //need to check the orderProperty in yearSession is yearSession
-        //or other property
-        String orderProperty = null;
-        Direction orderDirection = null;
-        Iterator<Sort.Order> sortIterator = pageable.getSort().iterator();
-        if(sortIterator.hasNext()){
-            Sort.Order order = sortIterator.next();
-            orderProperty = order.getProperty();
-            orderDirection = order.getDirection();
-        }
-
-        //if the orderProperty is null or provideTransport can use the query
-        //with pageable
-        if(null == orderProperty || orderProperty.equals("provideTransport")){
-            return eventAttendeeRepository.findAllByEventId(eventId, pageable)
-                .map(eventAttendeeMapper::toDto)
-                .map(this::mapEventAttendeeDetails);
-        }
-        else{//if the orderProperty is yearSession need to get the list and do sorting
-            List<EventAttendeeDTO> eventAttendeeList = eventAttendeeRepository.findAllByEventId(eventId)
-                .stream()
-                .map(eventAttendeeMapper::toDto)
-                .map(this::mapEventAttendeeDetails)
-                .collect(Collectors.toList());
-
-            //final is needed because local variable inside Comparator must be final
-            final boolean isAscending = (null == orderDirection || orderDirection.isAscending());
-            eventAttendeeList.sort((EventAttendeeDTO e1, EventAttendeeDTO e2) -> {
-                if(isAscending){
-                    return e1.getYearSession().compareTo(e2.getYearSession());
-                }
-                return e2.getYearSession().compareTo(e1.getYearSession());
-            });
-
-            return PageUtil.createPageFromList(eventAttendeeList, pageable);
+        for (Sort.Order order : pageable.getSort()) {
+            if (!EventAttendeeDetailsRepository.SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new BadRequestException("Cannot sort event attendees by " + order.getProperty());
+            }
         }
+        return eventAttendeeRepository.findAllDetailsByEventId(eventId, pageable)
+            .map(this::toEventAttendeeDTO);
     }
 
     /**
@@ -184,6 +168,9 @@ public class EventAttendeeServiceImpl implements EventAttendeeService {
     @Override
     public void delete(Long id) {
         log.debug("Request to delete EventAttendee : {}", id);
+        eventAttendeeRepository.findById(id)
+            .map(EventAttendee::getEventId)
+            .ifPresent(this::releaseSeat);
         eventAttendeeRepository.deleteById(id);
     }
 
@@ -202,13 +189,39 @@ public class EventAttendeeServiceImpl implements EventAttendeeService {
     }
 
 
-    private EventAttendeeDTO mapEventAttendeeDetails(EventAttendeeDTO eventAttendeeDTO){
-        Optional<User> dbUser = userRepository.findById(eventAttendeeDTO.getUserId());
-        if(dbUser.isPresent()){
-            User user = dbUser.get();
-            String lastName = (user.getLastName() != null ? " " + user.getLastName(): "");
-            String userName = user.getFirstName() + lastName;
-            eventAttendeeDTO.setUserName(userName);
+    /**
+     * Take a seat of the event according to its {@link com.thirdcc.webapp.domain.EventRegistrationClosingCriteria},
+     * events without criteria accept every registration.
+     */
+    private void takeSeat(Long eventId) {
+        Instant now = Instant.now();
+        eventRegistrationClosingCriteriaRepository.findFirstByEventIdOrderByIdAsc(eventId)
+            .ifPresent(criteria -> {
+                if (eventRegistrationClosingCriteriaRepository.takeSeatIfOpen(criteria.getId(), now) > 0) {
+                    return;
+                }
+                if (Boolean.TRUE.equals(criteria.isForceClose())
+                    || (criteria.getClosingDate() != null && !criteria.getClosingDate().isAfter(now))) {
+                    throw new BadRequestException("Event registration is closed");
+                }
+                throw new BadRequestException("Event is full");
+            });
+    }
+
+    /**
+     * Release a seat of the event and hand it over to its waitlist once the transaction commits.
+     */
+    private void releaseSeat(Long eventId) {
+        eventRegistrationClosingCriteriaRepository.findFirstByEventIdOrderByIdAsc(eventId)
+            .ifPresent(criteria -> eventRegistrationClosingCriteriaRepository.releaseSeat(criteria.getId()));
+        eventWaitlistService.schedulePromotion(eventId);
+    }
+
+    private EventAttendeeDTO toEventAttendeeDTO(EventAttendeeDetailsProjection eventAttendeeDetails) {
+        EventAttendeeDTO eventAttendeeDTO = eventAttendeeMapper.toDto(eventAttendeeDetails.getEventAttendee());
+        if (eventAttendeeDetails.isUserExists()) {
+            String lastName = (eventAttendeeDetails.getLastName() != null ? " " + eventAttendeeDetails.getLastName() : "");
+            eventAttendeeDTO.setUserName(eventAttendeeDetails.getFirstName() + lastName);
             //TODO: set contact number as user phone number after adding it in database
             eventAttendeeDTO.setContactNumber("000");
         }
@@ -216,14 +229,8 @@ public class EventAttendeeServiceImpl implements EventAttendeeService {
             eventAttendeeDTO.setUserName("");
             eventAttendeeDTO.setContactNumber("");
         }
-        Optional<UserUniInfo> dbUserUniInfo = userUniInfoRepository.findOneByUserId(eventAttendeeDTO.getUserId());
-        if(dbUserUniInfo.isPresent()){
-            UserUniInfo userUniInfo = dbUserUniInfo.get();
-            eventAttendeeDTO.setYearSession(userUniInfo.getYearSession());
-        }
-        else{//if userUniInfo is not found, set the yearSession to empty string instead of null
-            eventAttendeeDTO.setYearSession("");
-        }
+        //if userUniInfo is not found, set the yearSession to empty string instead of null
+        eventAttendeeDTO.setYearSession(eventAttendeeDetails.getYearSession() != null ? eventAttendeeDetails.getYearSession() : "");
         return eventAttendeeDTO;
     }
 }
@@ -1,5 +1,6 @@
 package com.thirdcc.webapp.service.impl;
 
+import com.thirdcc.webapp.authorization.AuthorizationChangedEvent;
 import com.thirdcc.webapp.domain.Event;
 import com.thirdcc.webapp.domain.User;
 import com.thirdcc.webapp.exception.BadRequestException;
@@ -15,6 +16,7 @@ import com.thirdcc.webapp.utils.YearSessionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -44,12 +46,22 @@ public class EventCrewServiceImpl implements EventCrewService {
 
     private final EventService eventService;
 
-    public EventCrewServiceImpl(EventCrewRepository eventCrewRepository, UserRepository userRepository, EventRepository eventRepository, EventCrewMapper eventCrewMapper, EventService eventService) {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public EventCrewServiceImpl(
+        EventCrewRepository eventCrewRepository,
+        UserRepository userRepository,
+        EventRepository eventRepository,
+        EventCrewMapper eventCrewMapper,
+        EventService eventService,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
         this.eventCrewRepository = eventCrewRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.eventCrewMapper = eventCrewMapper;
         this.eventService = eventService;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -61,8 +73,12 @@ public class EventCrewServiceImpl implements EventCrewService {
     @Override
     public EventCrewDTO save(EventCrewDTO eventCrewDTO) {
         log.debug("Request to save EventCrew : {}", eventCrewDTO);
+        Long previousUserId = eventCrewDTO.getId() == null ? null : eventCrewRepository.findById(eventCrewDTO.getId())
+            .map(EventCrew::getUserId)
+            .orElse(null);
         EventCrew eventCrew = eventCrewMapper.toEntity(eventCrewDTO);
         eventCrew = eventCrewRepository.save(eventCrew);
+        applicationEventPublisher.publishEvent(AuthorizationChangedEvent.ofUsers(previousUserId, eventCrew.getUserId()));
         return eventCrewMapper.toDto(eventCrew);
     }
 
@@ -127,6 +143,7 @@ public class EventCrewServiceImpl implements EventCrewService {
             .orElseThrow(() -> new BadRequestException("Cannot delete non existing event crew"));
 
         eventCrewRepository.deleteById(id);
+        applicationEventPublisher.publishEvent(AuthorizationChangedEvent.ofUsers(eventCrew.getUserId()));
     }
 
     @Override
@@ -0,0 +1,263 @@
+package com.thirdcc.webapp.service.impl;
+
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.domain.Budget;
+import com.thirdcc.webapp.domain.EventFinanceSummary;
+import com.thirdcc.webapp.domain.Transaction;
+import com.thirdcc.webapp.repository.BudgetRepository;
+import com.thirdcc.webapp.repository.EventFinanceSummaryRepository;
+import com.thirdcc.webapp.repository.EventRepository;
+import com.thirdcc.webapp.repository.TransactionRepository;
+import com.thirdcc.webapp.service.EventFinanceSummaryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Service Implementation for maintaining {@link EventFinanceSummary}.
+ * <p>
+ * Writes on budgets and transactions are applied as deltas with an atomic update of the summary row,
+ * the rebuild and consistency check jobs recompute the rows from the base tables chunk by chunk. The rows are locked
+ * before being recomputed, so the delta of a concurrent write is either in the sums or added after the repair.
+ */
+@Service
+@Transactional
+public class EventFinanceSummaryServiceImpl implements EventFinanceSummaryService {
+
+    private final Logger log = LoggerFactory.getLogger(EventFinanceSummaryServiceImpl.class);
+
+    private final EventFinanceSummaryRepository eventFinanceSummaryRepository;
+
+    private final EventRepository eventRepository;
+
+    private final BudgetRepository budgetRepository;
+
+    private final TransactionRepository transactionRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate requiresNewTransactionTemplate;
+
+    private final int chunkSize;
+
+    public EventFinanceSummaryServiceImpl(
+        EventFinanceSummaryRepository eventFinanceSummaryRepository,
+        EventRepository eventRepository,
+        BudgetRepository budgetRepository,
+        TransactionRepository transactionRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.eventFinanceSummaryRepository = eventFinanceSummaryRepository;
+        this.eventRepository = eventRepository;
+        this.budgetRepository = budgetRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = applicationProperties.getFinanceSummary().getChunkSize();
+    }
+
+    @Override
+    public void onEventCreated(Long eventId) {
+        log.debug("Request to create EventFinanceSummary : {}", eventId);
+        eventFinanceSummaryRepository.save(new EventFinanceSummary().eventId(eventId));
+    }
+
+    @Override
+    public void onTransactionChanged(Transaction previous, Transaction current) {
+        Map<Long, EventFinanceSummary> deltas = new HashMap<>();
+        if (previous != null && previous.getEventId() != null) {
+            getDelta(deltas, previous.getEventId())
+                .addTransactionAmount(previous.getTransactionType(), previous.getTransactionStatus(), negate(previous.getTransactionAmount()));
+        }
+        if (current != null && current.getEventId() != null) {
+            getDelta(deltas, current.getEventId())
+                .addTransactionAmount(current.getTransactionType(), current.getTransactionStatus(), current.getTransactionAmount());
+        }
+        deltas.forEach(this::applyDelta);
+    }
+
+    @Override
+    public void onBudgetChanged(Budget previous, Budget current) {
+        Map<Long, EventFinanceSummary> deltas = new HashMap<>();
+        if (previous != null && previous.getEventId() != null) {
+            getDelta(deltas, previous.getEventId())
+                .addBudgetAmount(previous.getType(), negate(previous.getAmount()));
+        }
+        if (current != null && current.getEventId() != null) {
+            getDelta(deltas, current.getEventId())
+                .addBudgetAmount(current.getType(), current.getAmount());
+        }
+        deltas.forEach(this::applyDelta);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventFinanceSummary findOneByEventId(Long eventId) {
+        log.debug("Request to get EventFinanceSummary : {}", eventId);
+        return findAllByEventIdIn(Collections.singletonList(eventId)).get(eventId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, EventFinanceSummary> findAllByEventIdIn(Collection<Long> eventIds) {
+        log.debug("Request to get EventFinanceSummaries : {}", eventIds);
+        Map<Long, EventFinanceSummary> summaries = new HashMap<>();
+        if (eventIds.isEmpty()) {
+            return summaries;
+        }
+        eventFinanceSummaryRepository.findAllById(eventIds)
+            .forEach(summary -> summaries.put(summary.getEventId(), summary));
+        List<Long> missingEventIds = new ArrayList<>(eventIds);
+        missingEventIds.removeAll(summaries.keySet());
+        if (!missingEventIds.isEmpty()) {
+            summaries.putAll(computeSummaries(missingEventIds));
+        }
+        return summaries;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildAll() {
+        log.info("Rebuilding all EventFinanceSummary in chunks of {}", chunkSize);
+        int rebuilt = forEachChunk(eventIds -> recompute(eventIds, true));
+        log.info("Rebuilt {} EventFinanceSummary", rebuilt);
+        return rebuilt;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Long> checkConsistency(boolean repair) {
+        log.debug("Checking consistency of EventFinanceSummary, repair: {}", repair);
+        List<Long> inconsistentEventIds = new ArrayList<>();
+        forEachChunk(eventIds -> inconsistentEventIds.addAll(recompute(eventIds, repair)));
+        return inconsistentEventIds;
+    }
+
+    /**
+     * Summaries might drift when budgets or transactions are written without going through the services.
+     * <p>
+     * This is scheduled to get fired according to {@code application.finance-summary.consistency-check-cron}.
+     */
+    @Scheduled(cron = "${application.finance-summary.consistency-check-cron:0 30 2 * * ?}")
+    public void repairInconsistentSummaries() {
+        List<Long> inconsistentEventIds = checkConsistency(true);
+        if (!inconsistentEventIds.isEmpty()) {
+            log.warn("Repaired EventFinanceSummary of events: {}", inconsistentEventIds);
+        }
+    }
+
+    private void applyDelta(Long eventId, EventFinanceSummary delta) {
+        log.debug("Request to apply delta to EventFinanceSummary : {}", delta);
+        if (eventFinanceSummaryRepository.addAmounts(eventId, delta) == 0) {
+            insertIfAbsent(eventId);
+            eventFinanceSummaryRepository.addAmounts(eventId, delta);
+        }
+    }
+
+    /**
+     * Insert the summary of an event created without going through the service, computed from the committed
+     * budgets and transactions in its own transaction, so the delta of the current write still has to be added.
+     * <p>
+     * A concurrent first write of the same event fails on the primary key, its summary is then used as is.
+     */
+    private void insertIfAbsent(Long eventId) {
+        try {
+            requiresNewTransactionTemplate.execute(status -> {
+                if (!eventFinanceSummaryRepository.existsById(eventId)) {
+                    eventFinanceSummaryRepository.saveAndFlush(computeSummaries(Collections.singletonList(eventId)).get(eventId));
+                }
+                return null;
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("EventFinanceSummary of event {} inserted concurrently", eventId);
+        }
+    }
+
+    /**
+     * Compare the summaries of the events to the sums of their budgets and transactions, in a new transaction.
+     * <p>
+     * To repair them, the missing summaries are first inserted, then the rows are locked before the sums are read:
+     * a concurrent write either committed its delta before, counted in the sums, or adds it after the repair.
+     *
+     * @return the ids of the events whose summary was missing or inconsistent.
+     */
+    private List<Long> recompute(List<Long> eventIds, boolean repair) {
+        Set<Long> missingEventIds = new HashSet<>(eventIds);
+        eventFinanceSummaryRepository.findAllById(eventIds).forEach(summary -> missingEventIds.remove(summary.getEventId()));
+        if (repair) {
+            missingEventIds.forEach(this::insertIfAbsent);
+        }
+        List<Long> inconsistentEventIds = new ArrayList<>();
+        requiresNewTransactionTemplate.execute(status -> {
+            Map<Long, EventFinanceSummary> actualSummaries = new HashMap<>();
+            (repair ? eventFinanceSummaryRepository.findAllForUpdateByEventIdIn(eventIds) : eventFinanceSummaryRepository.findAllById(eventIds))
+                .forEach(summary -> actualSummaries.put(summary.getEventId(), summary));
+            for (EventFinanceSummary expected : computeSummaries(eventIds).values()) {
+                EventFinanceSummary actual = actualSummaries.get(expected.getEventId());
+                if (missingEventIds.contains(expected.getEventId()) || actual == null || !actual.hasSameAmounts(expected)) {
+                    log.warn("Inconsistent EventFinanceSummary, expected: {}, actual: {}", expected, actual);
+                    inconsistentEventIds.add(expected.getEventId());
+                    if (repair && actual != null) {
+                        eventFinanceSummaryRepository.save(expected);
+                    }
+                }
+            }
+            return null;
+        });
+        return inconsistentEventIds;
+    }
+
+    private int forEachChunk(Consumer<List<Long>> chunkProcessor) {
+        int processed = 0;
+        Long lastId = 0L;
+        while (true) {
+            Long afterId = lastId;
+            List<Long> eventIds = transactionTemplate.execute(status -> {
+                List<Long> chunk = eventRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+                if (!chunk.isEmpty()) {
+                    chunkProcessor.accept(chunk);
+                }
+                return chunk;
+            });
+            if (eventIds == null || eventIds.isEmpty()) {
+                return processed;
+            }
+            processed += eventIds.size();
+            lastId = eventIds.get(eventIds.size() - 1);
+        }
+    }
+
+    private Map<Long, EventFinanceSummary> computeSummaries(Collection<Long> eventIds) {
+        Map<Long, EventFinanceSummary> summaries = new HashMap<>();
+        eventIds.forEach(eventId -> summaries.put(eventId, new EventFinanceSummary().eventId(eventId)));
+        budgetRepository.sumAmountByEventIdIn(eventIds)
+            .forEach(budgetAmount -> summaries.get(budgetAmount.getEventId())
+                .addBudgetAmount(budgetAmount.getType(), budgetAmount.getAmount()));
+        transactionRepository.sumAmountByEventIdIn(eventIds)
+            .forEach(transactionAmount -> summaries.get(transactionAmount.getEventId())
+                .addTransactionAmount(transactionAmount.getTransactionType(), transactionAmount.getTransactionStatus(), transactionAmount.getAmount()));
+        return summaries;
+    }
+
+    private static EventFinanceSummary getDelta(Map<Long, EventFinanceSummary> deltas, Long eventId) {
+        return deltas.computeIfAbsent(eventId, id -> new EventFinanceSummary().eventId(id));
+    }
+
+    private static BigDecimal negate(BigDecimal amount) {
+        return amount == null ? null : amount.negate();
+    }
+}
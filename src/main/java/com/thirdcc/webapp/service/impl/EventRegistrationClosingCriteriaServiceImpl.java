@@ -1,7 +1,9 @@
 package com.thirdcc.webapp.service.impl;
 
 import com.thirdcc.webapp.service.EventRegistrationClosingCriteriaService;
+import com.thirdcc.webapp.service.EventWaitlistService;
 import com.thirdcc.webapp.domain.EventRegistrationClosingCriteria;
+import com.thirdcc.webapp.repository.EventAttendeeRepository;
 import com.thirdcc.webapp.repository.EventRegistrationClosingCriteriaRepository;
 import com.thirdcc.webapp.service.dto.EventRegistrationClosingCriteriaDTO;
 import com.thirdcc.webapp.service.mapper.EventRegistrationClosingCriteriaMapper;
@@ -27,10 +29,16 @@ public class EventRegistrationClosingCriteriaServiceImpl implements EventRegistr
 
     private final EventRegistrationClosingCriteriaRepository eventRegistrationClosingCriteriaRepository;
 
+    private final EventAttendeeRepository eventAttendeeRepository;
+
+    private final EventWaitlistService eventWaitlistService;
+
     private final EventRegistrationClosingCriteriaMapper eventRegistrationClosingCriteriaMapper;
 
-    public EventRegistrationClosingCriteriaServiceImpl(EventRegistrationClosingCriteriaRepository eventRegistrationClosingCriteriaRepository, EventRegistrationClosingCriteriaMapper eventRegistrationClosingCriteriaMapper) {
+    public EventRegistrationClosingCriteriaServiceImpl(EventRegistrationClosingCriteriaRepository eventRegistrationClosingCriteriaRepository, EventAttendeeRepository eventAttendeeRepository, EventWaitlistService eventWaitlistService, EventRegistrationClosingCriteriaMapper eventRegistrationClosingCriteriaMapper) {
         this.eventRegistrationClosingCriteriaRepository = eventRegistrationClosingCriteriaRepository;
+        this.eventAttendeeRepository = eventAttendeeRepository;
+        this.eventWaitlistService = eventWaitlistService;
         this.eventRegistrationClosingCriteriaMapper = eventRegistrationClosingCriteriaMapper;
     }
 
@@ -44,7 +52,15 @@ public class EventRegistrationClosingCriteriaServiceImpl implements EventRegistr
     public EventRegistrationClosingCriteriaDTO save(EventRegistrationClosingCriteriaDTO eventRegistrationClosingCriteriaDTO) {
         log.debug("Request to save EventRegistrationClosingCriteria : {}", eventRegistrationClosingCriteriaDTO);
         EventRegistrationClosingCriteria eventRegistrationClosingCriteria = eventRegistrationClosingCriteriaMapper.toEntity(eventRegistrationClosingCriteriaDTO);
+        if (eventRegistrationClosingCriteria.getId() == null && eventRegistrationClosingCriteria.getEventId() != null) {
+            // the seat counter is not updatable, it is only initialised from the attendees registered so far
+            eventRegistrationClosingCriteria.setAttendeeCount(eventAttendeeRepository.countByEventId(eventRegistrationClosingCriteria.getEventId()));
+        }
         eventRegistrationClosingCriteria = eventRegistrationClosingCriteriaRepository.save(eventRegistrationClosingCriteria);
+        if (eventRegistrationClosingCriteria.getEventId() != null) {
+            // the capacity might have been raised or the registration reopened
+            eventWaitlistService.schedulePromotion(eventRegistrationClosingCriteria.getEventId());
+        }
         return eventRegistrationClosingCriteriaMapper.toDto(eventRegistrationClosingCriteria);
     }
 
@@ -85,6 +101,9 @@ public class EventRegistrationClosingCriteriaServiceImpl implements EventRegistr
     @Override
     public void delete(Long id) {
         log.debug("Request to delete EventRegistrationClosingCriteria : {}", id);
+        eventRegistrationClosingCriteriaRepository.findById(id)
+            .map(EventRegistrationClosingCriteria::getEventId)
+            .ifPresent(eventWaitlistService::schedulePromotion);
         eventRegistrationClosingCriteriaRepository.deleteById(id);
     }
 }
@@ -1,7 +1,9 @@
 package com.thirdcc.webapp.service.impl;
 
+import com.thirdcc.webapp.aop.singleflight.SingleFlight;
 import com.thirdcc.webapp.domain.enumeration.EventStatus;
 import com.thirdcc.webapp.exception.BadRequestException;
+import com.thirdcc.webapp.service.EventFinanceSummaryService;
 import com.thirdcc.webapp.service.EventService;
 import com.thirdcc.webapp.domain.Event;
 import com.thirdcc.webapp.repository.EventRepository;
@@ -22,8 +24,12 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service Implementation for managing {@link Event}.
@@ -42,10 +48,18 @@ public class EventServiceImpl implements EventService {
 
     private final ImageStorageService imageStorageService;
 
-    public EventServiceImpl(EventRepository eventRepository, EventMapper eventMapper, ImageStorageService imageStorageService) {
+    private final EventFinanceSummaryService eventFinanceSummaryService;
+
+    public EventServiceImpl(
+        EventRepository eventRepository,
+        EventMapper eventMapper,
+        ImageStorageService imageStorageService,
+        EventFinanceSummaryService eventFinanceSummaryService
+    ) {
         this.eventRepository = eventRepository;
         this.eventMapper = eventMapper;
         this.imageStorageService = imageStorageService;
+        this.eventFinanceSummaryService = eventFinanceSummaryService;
     }
 
     /**
@@ -69,7 +83,11 @@ public class EventServiceImpl implements EventService {
         }
 
         Event event = eventMapper.toEntity(eventDTO);
+        boolean isNew = event.getId() == null;
         event = eventRepository.save(event);
+        if (isNew) {
+            eventFinanceSummaryService.onEventCreated(event.getId());
+        }
         return eventMapper.toDto(event);
     }
 
@@ -121,9 +139,10 @@ public class EventServiceImpl implements EventService {
     @Transactional(readOnly = true)
     public Page<EventDTO> findAll(Pageable pageable) {
         log.debug("Request to get all Events");
-        return eventRepository.findAll(pageable)
-            .map(eventMapper::toDto)
-            .map(this::mapEventImageStorage);
+        Page<EventDTO> page = eventRepository.findAll(pageable)
+            .map(eventMapper::toDto);
+        mapEventImageStorage(page.getContent());
+        return page;
     }
 
     @Override
@@ -132,9 +151,10 @@ public class EventServiceImpl implements EventService {
 
         Instant from = Instant.parse(fromDate);
         Instant to = Instant.parse(toDate);
-        return eventRepository.findEventsByStartDateBetween(from, to, pageable)
-            .map(eventMapper::toDto)
-            .map(this::mapEventImageStorage);
+        Page<EventDTO> page = eventRepository.findEventsByStartDateBetween(from, to, pageable)
+            .map(eventMapper::toDto);
+        mapEventImageStorage(page.getContent());
+        return page;
     }
 
     /**
@@ -143,6 +163,7 @@ public class EventServiceImpl implements EventService {
      * @return the list of entity.
      */
     @Override
+    @SingleFlight("events.upcoming")
     public Page<EventDTO> findAllUpcomingEvents(Pageable pageable) {
         log.debug("Request to get all Upcoming Events");
 
@@ -153,9 +174,10 @@ public class EventServiceImpl implements EventService {
 
         Instant from = Instant.now();
 
-        return eventRepository.findEventsByStartDateAfterAndStatusIn(from, eventStatuses, pageable)
-            .map(eventMapper::toDto)
-            .map(this::mapEventImageStorage);
+        Page<EventDTO> page = eventRepository.findEventsByStartDateAfterAndStatusIn(from, eventStatuses, pageable)
+            .map(eventMapper::toDto);
+        mapEventImageStorage(page.getContent());
+        return page;
     }
 
     /**
@@ -174,9 +196,10 @@ public class EventServiceImpl implements EventService {
 
         Instant from = Instant.now();
 
-        return eventRepository.findEventsByStartDateBeforeAndStatusIn(from, eventStatuses, pageable)
-            .map(eventMapper::toDto)
-            .map(this::mapEventImageStorage);
+        Page<EventDTO> page = eventRepository.findEventsByStartDateBeforeAndStatusIn(from, eventStatuses, pageable)
+            .map(eventMapper::toDto);
+        mapEventImageStorage(page.getContent());
+        return page;
     }
 
 
@@ -188,6 +211,7 @@ public class EventServiceImpl implements EventService {
      */
     @Override
     @Transactional(readOnly = true)
+    @SingleFlight("events.one")
     public Optional<EventDTO> findOne(Long id) {
         log.debug("Request to get Event : {}", id);
         return eventRepository.findById(id)
@@ -214,6 +238,27 @@ public class EventServiceImpl implements EventService {
         return eventDTO;
     }
 
+    /**
+     * Attach the image storage of every event, the image storages of the whole page
+     * are loaded with a single query instead of one query per event.
+     *
+     * @param eventDTOs the events of a page.
+     * @return the same events.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventDTO> mapEventImageStorage(List<EventDTO> eventDTOs) {
+        Set<Long> imageStorageIds = eventDTOs.stream()
+            .map(EventDTO::getImageStorageId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, ImageStorageDTO> imageStorages = imageStorageService.findAllByIdIn(imageStorageIds);
+        eventDTOs.stream()
+            .filter(eventDTO -> eventDTO.getImageStorageId() != null)
+            .forEach(eventDTO -> eventDTO.setImageStorageDTO(imageStorages.get(eventDTO.getImageStorageId())));
+        return eventDTOs;
+    }
+
     /**
      * Find the not cancelled event by id.
      *
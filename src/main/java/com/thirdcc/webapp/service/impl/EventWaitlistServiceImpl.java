@@ -0,0 +1,299 @@
+package com.thirdcc.webapp.service.impl;
+
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.domain.Event;
+import com.thirdcc.webapp.domain.EventAttendee;
+import com.thirdcc.webapp.domain.EventRegistrationClosingCriteria;
+import com.thirdcc.webapp.domain.EventWaitlistEntry;
+import com.thirdcc.webapp.domain.User;
+import com.thirdcc.webapp.domain.enumeration.EventStatus;
+import com.thirdcc.webapp.exception.BadRequestException;
+import com.thirdcc.webapp.repository.EventAttendeeRepository;
+import com.thirdcc.webapp.repository.EventRegistrationClosingCriteriaRepository;
+import com.thirdcc.webapp.repository.EventRepository;
+import com.thirdcc.webapp.repository.EventWaitlistEntryRepository;
+import com.thirdcc.webapp.repository.UserRepository;
+import com.thirdcc.webapp.service.EventService;
+import com.thirdcc.webapp.service.EventWaitlistService;
+import com.thirdcc.webapp.service.MailService;
+import com.thirdcc.webapp.service.dto.EventWaitlistEntryDTO;
+import com.thirdcc.webapp.service.mapper.EventWaitlistEntryMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service Implementation for managing {@link EventWaitlistEntry}.
+ * <p>
+ * Promotions take the lock of the event's {@link EventRegistrationClosingCriteria} row, the same row registrations
+ * take a seat from, so the waitlist never overbooks the event and concurrent promotions of an event run one by one.
+ */
+@Service
+@Transactional
+public class EventWaitlistServiceImpl implements EventWaitlistService {
+
+    private static final Set<EventStatus> PROMOTABLE_EVENT_STATUSES = EnumSet.of(EventStatus.OPEN, EventStatus.POSTPONED);
+
+    private final Logger log = LoggerFactory.getLogger(EventWaitlistServiceImpl.class);
+
+    /**
+     * Key of the ids of the events scheduled for promotion, bound to the current transaction.
+     */
+    private final Object scheduledEventIdsKey = new Object();
+
+    private final EventWaitlistEntryRepository eventWaitlistEntryRepository;
+
+    private final EventAttendeeRepository eventAttendeeRepository;
+
+    private final EventRegistrationClosingCriteriaRepository eventRegistrationClosingCriteriaRepository;
+
+    private final EventRepository eventRepository;
+
+    private final EventService eventService;
+
+    private final UserRepository userRepository;
+
+    private final MailService mailService;
+
+    private final EventWaitlistEntryMapper eventWaitlistEntryMapper;
+
+    private final TransactionTemplate newTransactionTemplate;
+
+    private final int promotionBatchSize;
+
+    public EventWaitlistServiceImpl(
+        EventWaitlistEntryRepository eventWaitlistEntryRepository,
+        EventAttendeeRepository eventAttendeeRepository,
+        EventRegistrationClosingCriteriaRepository eventRegistrationClosingCriteriaRepository,
+        EventRepository eventRepository,
+        EventService eventService,
+        UserRepository userRepository,
+        MailService mailService,
+        EventWaitlistEntryMapper eventWaitlistEntryMapper,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.eventWaitlistEntryRepository = eventWaitlistEntryRepository;
+        this.eventAttendeeRepository = eventAttendeeRepository;
+        this.eventRegistrationClosingCriteriaRepository = eventRegistrationClosingCriteriaRepository;
+        this.eventRepository = eventRepository;
+        this.eventService = eventService;
+        this.userRepository = userRepository;
+        this.mailService = mailService;
+        this.eventWaitlistEntryMapper = eventWaitlistEntryMapper;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.promotionBatchSize = applicationProperties.getWaitlist().getPromotionBatchSize();
+    }
+
+    /**
+     * Save a eventWaitlistEntry.
+     *
+     * @param eventWaitlistEntryDTO the entity to save.
+     * @return the persisted entity.
+     */
+    @Override
+    public EventWaitlistEntryDTO save(EventWaitlistEntryDTO eventWaitlistEntryDTO) {
+        log.debug("Request to save EventWaitlistEntry : {}", eventWaitlistEntryDTO);
+        userRepository
+            .findById(eventWaitlistEntryDTO.getUserId())
+            .orElseThrow(() -> new BadRequestException("User not found"));
+        Event event = eventService
+            .findEventByIdAndNotCancelledStatus(eventWaitlistEntryDTO.getEventId());
+        if (event.getEndDate().isBefore(Instant.now())) {
+            throw new BadRequestException("Cannot join the waitlist of ended event");
+        }
+        if (eventAttendeeRepository.findOneByEventIdAndUserId(event.getId(), eventWaitlistEntryDTO.getUserId()).isPresent()) {
+            throw new BadRequestException("User has registered as attendee for this event");
+        }
+        EventRegistrationClosingCriteria criteria = eventRegistrationClosingCriteriaRepository
+            .findFirstByEventIdOrderByIdAsc(event.getId())
+            .filter(closingCriteria -> closingCriteria.getMaxAttendees() != null)
+            .orElseThrow(() -> new BadRequestException("Event has no limit on attendees"));
+        if (isRegistrationClosed(criteria)) {
+            throw new BadRequestException("Event registration is closed");
+        }
+        if (getAvailableSeats(criteria) > 0) {
+            throw new BadRequestException("Event is not full, register as attendee instead");
+        }
+
+        EventWaitlistEntry eventWaitlistEntry = eventWaitlistEntryMapper.toEntity(eventWaitlistEntryDTO);
+        eventWaitlistEntry.setJoinedDate(Instant.now());
+        try {
+            eventWaitlistEntry = eventWaitlistEntryRepository.saveAndFlush(eventWaitlistEntry);
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("User has joined the waitlist of this event");
+        }
+        return eventWaitlistEntryMapper.toDto(eventWaitlistEntry);
+    }
+
+    /**
+     * Get the waitlist of an event in the order of promotion.
+     *
+     * @param pageable the pagination information.
+     * @param eventId the id of the event.
+     * @return the list of entities.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventWaitlistEntryDTO> findAllByEventId(Pageable pageable, Long eventId) {
+        log.debug("Request to get all EventWaitlistEntries by Event Id: {}", eventId);
+        return eventWaitlistEntryRepository.findAllByEventIdOrderByIdAsc(eventId, pageable)
+            .map(eventWaitlistEntryMapper::toDto);
+    }
+
+    /**
+     * Delete the eventWaitlistEntry by id.
+     *
+     * @param id the id of the entity.
+     */
+    @Override
+    public void delete(Long id) {
+        log.debug("Request to delete EventWaitlistEntry : {}", id);
+        eventWaitlistEntryRepository.deleteById(id);
+    }
+
+    @Override
+    public int promote(Long eventId) {
+        log.debug("Request to promote EventWaitlistEntries of Event : {}", eventId);
+        if (!eventWaitlistEntryRepository.existsByEventId(eventId)) {
+            return 0;
+        }
+        Optional<EventRegistrationClosingCriteria> criteria = eventRegistrationClosingCriteriaRepository
+            .findFirstForUpdateByEventIdOrderByIdAsc(eventId);
+        Optional<Event> event = eventRepository.findOneByIdAndStatusIn(eventId, PROMOTABLE_EVENT_STATUSES)
+            .filter(promotableEvent -> !promotableEvent.getEndDate().isBefore(Instant.now()));
+        if (!event.isPresent() || criteria.filter(EventWaitlistServiceImpl::isRegistrationClosed).isPresent()) {
+            return 0;
+        }
+        int seatsToFill = Math.min(criteria.map(this::getAvailableSeats).orElse(Integer.MAX_VALUE), promotionBatchSize);
+
+        // the entries of users already registered are dropped without taking a seat, so the next ones are read
+        List<EventAttendee> eventAttendees = new ArrayList<>();
+        while (eventAttendees.size() < seatsToFill) {
+            List<EventWaitlistEntry> promotedEntries = eventWaitlistEntryRepository
+                .findAllByEventIdOrderByIdAsc(eventId, PageRequest.of(0, seatsToFill - eventAttendees.size()))
+                .getContent();
+            if (promotedEntries.isEmpty()) {
+                break;
+            }
+            Set<Long> registeredUserIds = eventAttendeeRepository
+                .findAllByEventIdAndUserIdIn(eventId, promotedEntries.stream().map(EventWaitlistEntry::getUserId).collect(Collectors.toList()))
+                .stream()
+                .map(EventAttendee::getUserId)
+                .collect(Collectors.toSet());
+            promotedEntries.stream()
+                .filter(entry -> !registeredUserIds.contains(entry.getUserId()))
+                .map(entry -> new EventAttendee()
+                    .eventId(eventId)
+                    .userId(entry.getUserId())
+                    .provideTransport(entry.isProvideTransport()))
+                .forEach(eventAttendees::add);
+            eventWaitlistEntryRepository.deleteInBatch(promotedEntries);
+        }
+
+        eventAttendeeRepository.saveAll(eventAttendees);
+        if (criteria.isPresent() && !eventAttendees.isEmpty()) {
+            eventRegistrationClosingCriteriaRepository.addAttendeeCount(criteria.get().getId(), eventAttendees.size());
+        }
+        log.debug("Promoted {} EventWaitlistEntries of Event : {}", eventAttendees.size(), eventId);
+
+        notifyPromotedUsers(event.get(), eventAttendees.stream().map(EventAttendee::getUserId).collect(Collectors.toList()));
+        return eventAttendees.size();
+    }
+
+    @Override
+    public void schedulePromotion(Long eventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            promoteInNewTransaction(eventId);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Long> scheduledEventIds = (Set<Long>) TransactionSynchronizationManager.getResource(scheduledEventIdsKey);
+        if (scheduledEventIds == null) {
+            Set<Long> eventIds = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(scheduledEventIdsKey, eventIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    eventIds.forEach(EventWaitlistServiceImpl.this::promoteInNewTransaction);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(scheduledEventIdsKey);
+                }
+            });
+            scheduledEventIds = eventIds;
+        }
+        scheduledEventIds.add(eventId);
+    }
+
+    /**
+     * Promotions are triggered after the commit of the cancellations and capacity changes, the waitlists left behind by
+     * a failed promotion are caught up by this job.
+     * <p>
+     * This is scheduled to get fired according to {@code application.waitlist.promotion-cron}.
+     */
+    @Scheduled(cron = "${application.waitlist.promotion-cron:0 */5 * * * ?}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void promoteAllWaitlists() {
+        eventWaitlistEntryRepository.findAllEventIds().forEach(this::promoteInNewTransaction);
+    }
+
+    private void promoteInNewTransaction(Long eventId) {
+        try {
+            newTransactionTemplate.execute(status -> promote(eventId));
+        } catch (RuntimeException e) {
+            log.warn("Cannot promote the waitlist of event '{}': {}", eventId, e.getMessage());
+        }
+    }
+
+    private void notifyPromotedUsers(Event event, List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<User> users = userRepository.findAllById(userIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            users.forEach(user -> mailService.sendWaitlistPromotionEmail(user, event));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                users.forEach(user -> mailService.sendWaitlistPromotionEmail(user, event));
+            }
+        });
+    }
+
+    private int getAvailableSeats(EventRegistrationClosingCriteria criteria) {
+        if (Boolean.TRUE.equals(criteria.isForceClose())) {
+            return 0;
+        }
+        if (criteria.getMaxAttendees() == null) {
+            return Integer.MAX_VALUE;
+        }
+        return criteria.getMaxAttendees() - criteria.getAttendeeCount();
+    }
+
+    private static boolean isRegistrationClosed(EventRegistrationClosingCriteria criteria) {
+        return Boolean.TRUE.equals(criteria.isForceClose())
+            || (criteria.getClosingDate() != null && !criteria.getClosingDate().isAfter(Instant.now()));
+    }
+}
@@ -3,9 +3,11 @@ package com.thirdcc.webapp.service.impl;
 import com.thirdcc.webapp.service.FacultyService;
 import com.thirdcc.webapp.domain.Faculty;
 import com.thirdcc.webapp.repository.FacultyRepository;
+import com.thirdcc.webapp.service.ReferenceDataService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,8 +25,18 @@ public class FacultyServiceImpl implements FacultyService {
 
     private final FacultyRepository facultyRepository;
 
-    public FacultyServiceImpl(FacultyRepository facultyRepository) {
+    private final ReferenceDataService referenceDataService;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public FacultyServiceImpl(
+        FacultyRepository facultyRepository,
+        ReferenceDataService referenceDataService,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
         this.facultyRepository = facultyRepository;
+        this.referenceDataService = referenceDataService;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -36,7 +48,9 @@ public class FacultyServiceImpl implements FacultyService {
     @Override
     public Faculty save(Faculty faculty) {
         log.debug("Request to save Faculty : {}", faculty);
-        return facultyRepository.save(faculty);
+        Faculty result = facultyRepository.save(faculty);
+        applicationEventPublisher.publishEvent(ReferenceDataChangedEvent.INSTANCE);
+        return result;
     }
 
     /**
@@ -48,7 +62,7 @@ public class FacultyServiceImpl implements FacultyService {
     @Transactional(readOnly = true)
     public List<Faculty> findAll() {
         log.debug("Request to get all Faculties");
-        return facultyRepository.findAll();
+        return referenceDataService.findAllFaculties();
     }
 
 
@@ -62,7 +76,7 @@ public class FacultyServiceImpl implements FacultyService {
     @Transactional(readOnly = true)
     public Optional<Faculty> findOne(Long id) {
         log.debug("Request to get Faculty : {}", id);
-        return facultyRepository.findById(id);
+        return referenceDataService.findFaculty(id);
     }
 
     /**
@@ -74,5 +88,6 @@ public class FacultyServiceImpl implements FacultyService {
     public void delete(Long id) {
         log.debug("Request to delete Faculty : {}", id);
         facultyRepository.deleteById(id);
+        applicationEventPublisher.publishEvent(ReferenceDataChangedEvent.INSTANCE);
     }
 }
@@ -1,18 +1,22 @@
 package com.thirdcc.webapp.service.impl;
 
-import com.thirdcc.webapp.domain.Budget;
-import com.thirdcc.webapp.domain.Transaction;
+import com.thirdcc.webapp.aop.singleflight.SingleFlight;
+import com.thirdcc.webapp.domain.Event;
+import com.thirdcc.webapp.domain.EventFinanceSummary;
 import com.thirdcc.webapp.domain.enumeration.TransactionStatus;
 import com.thirdcc.webapp.domain.enumeration.TransactionType;
-import com.thirdcc.webapp.repository.BudgetRepository;
+import com.thirdcc.webapp.repository.EventRepository;
 import com.thirdcc.webapp.repository.TransactionRepository;
-import com.thirdcc.webapp.service.EventService;
+import com.thirdcc.webapp.repository.projection.EventFinanceReportProjection;
+import com.thirdcc.webapp.repository.projection.TransactionAmountProjection;
+import com.thirdcc.webapp.repository.projection.TransactionMonthlyAmountProjection;
+import com.thirdcc.webapp.service.EventFinanceSummaryService;
 import com.thirdcc.webapp.service.FinanceReportService;
-import com.thirdcc.webapp.service.dto.EventDTO;
+import com.thirdcc.webapp.service.EventService;
 import com.thirdcc.webapp.service.dto.FinanceReportDTO;
 import com.thirdcc.webapp.service.dto.FinanceReportStatisticDTO;
+import com.thirdcc.webapp.service.mapper.EventMapper;
 import com.thirdcc.webapp.utils.YearSessionUtils;
-import io.github.jhipster.web.util.PageUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -31,90 +35,115 @@ public class FinanceReportServiceImpl implements FinanceReportService {
 
     private final Logger log = LoggerFactory.getLogger(FinanceReportServiceImpl.class);
 
-    private final EventService eventService;
+    private final EventRepository eventRepository;
+
+    private final EventMapper eventMapper;
 
-    private final BudgetRepository budgetRepository;
+    private final EventService eventService;
 
     private final TransactionRepository transactionRepository;
 
+    private final EventFinanceSummaryService eventFinanceSummaryService;
+
     public FinanceReportServiceImpl(
+        EventRepository eventRepository,
+        EventMapper eventMapper,
         EventService eventService,
-        BudgetRepository budgetRepository,
-        TransactionRepository transactionRepository
+        TransactionRepository transactionRepository,
+        EventFinanceSummaryService eventFinanceSummaryService
     ) {
+        this.eventRepository = eventRepository;
+        this.eventMapper = eventMapper;
         this.eventService = eventService;
-        this.budgetRepository = budgetRepository;
         this.transactionRepository = transactionRepository;
+        this.eventFinanceSummaryService = eventFinanceSummaryService;
     }
 
+    /**
+     * Get the finance report of all events, the budget and transaction totals of each event
+     * are read from the event finance summary within the same paged query. The totals of the events
+     * without a summary yet are computed from their budgets and transactions.
+     *
+     * @param pageable the pagination information.
+     * @return the page of finance reports.
+     */
     @Override
     @Transactional(readOnly = true)
     public Page<FinanceReportDTO> findAll(Pageable pageable) {
-        List<FinanceReportDTO> financeReportDTOList = eventService
-            .findAll(Pageable.unpaged())
+        log.debug("Request to get all FinanceReports");
+        Page<EventFinanceReportProjection> projections = eventRepository.findAllFinanceReport(pageable);
+        List<Long> eventIdsWithoutSummary = projections.getContent()
             .stream()
-            .map(this::toFinanceReportDTO)
-            .map(this::mapTotalBudgetIncome)
-            .map(this::mapTotalBudgetExpenses)
-            .map(this::mapTotalIncome)
-            .map(this::mapTotalExpenses)
+            .filter(projection -> !projection.isSummaryPresent())
+            .map(projection -> projection.getEvent().getId())
             .collect(Collectors.toList());
-        return PageUtil.createPageFromList(financeReportDTOList, pageable);
+        Map<Long, EventFinanceSummary> computedSummaries = eventFinanceSummaryService.findAllByEventIdIn(eventIdsWithoutSummary);
+        Page<FinanceReportDTO> page = projections
+            .map(projection -> projection.isSummaryPresent()
+                ? toFinanceReportDTO(projection)
+                : toFinanceReportDTO(projection.getEvent(), computedSummaries.get(projection.getEvent().getId())));
+        eventService.mapEventImageStorage(page.getContent()
+            .stream()
+            .map(FinanceReportDTO::getEventDTO)
+            .collect(Collectors.toList()));
+        return page;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<FinanceReportDTO> findOneByEventId(Long eventId) {
-        return eventService
-            .findOne(eventId)
-            .map(this::toFinanceReportDTO)
-            .map(this::mapTotalBudgetIncome)
-            .map(this::mapTotalBudgetExpenses)
-            .map(this::mapTotalIncome)
-            .map(this::mapTotalExpenses);
+        log.debug("Request to get FinanceReport of event: {}", eventId);
+        Optional<FinanceReportDTO> financeReportDTO = eventRepository
+            .findById(eventId)
+            .map(event -> toFinanceReportDTO(event, eventFinanceSummaryService.findOneByEventId(eventId)));
+        financeReportDTO.ifPresent(dto -> eventService.mapEventImageStorage(Collections.singletonList(dto.getEventDTO())));
+        return financeReportDTO;
     }
 
+    /**
+     * Sum the transactions of the year session by month within the database, each month
+     * being bounded in the system zone.
+     *
+     * @param yearSession the year session, e.g. 2019/2020.
+     * @return the amount of every month of the year session for each transaction type.
+     */
     @Override
     @Transactional(readOnly = true)
     public Map<TransactionType, Map<Month, BigDecimal>> getFinanceReportByYearSession(String yearSession) {
         ZoneId zoneId = ZoneId.systemDefault();
         Instant inclusiveFrom = YearSessionUtils.getFirstInstantOfYearSession(yearSession);
-        Instant exclusiveTo = inclusiveFrom.atZone(zoneId).toLocalDate().plusYears(1).atStartOfDay().atZone(zoneId).toInstant();
-        log.info("getYearSessionFinanceReport inclusiveFrom {} exclusiveTo {}", inclusiveFrom, exclusiveTo);
-
-        List<Transaction> transactionList = transactionRepository
-            .findAllByCreatedDateGreaterThanEqualAndCreatedDateLessThan(inclusiveFrom, exclusiveTo);
+        LocalDate firstDateOfYearSession = inclusiveFrom.atZone(zoneId).toLocalDate();
+        List<Month> months = YearSessionUtils.getAllMonthsOfYearSession();
+        List<Instant> monthBoundaries = new ArrayList<>();
+        for (int month = 0; month <= months.size(); month++) {
+            monthBoundaries.add(firstDateOfYearSession.plusMonths(month).atStartOfDay(zoneId).toInstant());
+        }
+        log.info("getYearSessionFinanceReport inclusiveFrom {} exclusiveTo {}", inclusiveFrom, monthBoundaries.get(months.size()));
 
         Map<TransactionType, Map<Month, BigDecimal>> result = new HashMap<>();
-        result.put(TransactionType.INCOME, null);
-        result.put(TransactionType.EXPENSE, null);
-
-        for (Map.Entry<TransactionType, Map<Month, BigDecimal>> entry : result.entrySet()) {
+        for (TransactionType transactionType : TransactionType.values()) {
             Map<Month, BigDecimal> defaultMap = new HashMap<>();
-            YearSessionUtils.getAllMonthsOfYearSession()
-                .forEach(month -> defaultMap.put(month, BigDecimal.ZERO));
-
-            entry.setValue(defaultMap);
+            months.forEach(month -> defaultMap.put(month, BigDecimal.ZERO));
+            result.put(transactionType, defaultMap);
         }
 
-        for (Transaction transaction : transactionList) {
-            Month transactionMonth = transaction.getCreatedDate().atZone(zoneId).getMonth();
-            TransactionType transactionType = transaction.getTransactionType();
-            BigDecimal transactionAmount = transaction.getTransactionAmount();
-
-            BigDecimal currentValue = result.get(transactionType).get(transactionMonth);
-            result.get(transactionType).put(transactionMonth, currentValue.add(transactionAmount));
+        for (TransactionMonthlyAmountProjection monthlyAmount : transactionRepository.sumAmountByMonth(monthBoundaries)) {
+            Map<Month, BigDecimal> amountByMonth = result.get(monthlyAmount.getTransactionType());
+            for (int month = 0; month < months.size(); month++) {
+                amountByMonth.merge(months.get(month), monthlyAmount.getMonthlyAmounts().get(month), BigDecimal::add);
+            }
         }
         return result;
     }
     
     /**
-     * get all transaction of current year session and calculate realiseIncome
+     * sum the transactions of current year session by type and status to calculate realiseIncome
      * pendingIncome, realiseExpense, pendingExpense, invalidExpense and badDebt
      * @return FinanceReportStatisticDTO 
      */
     @Override
     @Transactional(readOnly = true)
+    @SingleFlight("finance-report.current-year-session-statistic")
     public FinanceReportStatisticDTO getFinanceReportStatisticOfCurrentYearSession() {
         String currentYearSession = YearSessionUtils.getCurrentYearSession();
         String nextYearSession = YearSessionUtils.getNextYearSession();
@@ -124,8 +153,8 @@ public class FinanceReportServiceImpl implements FinanceReportService {
 
         FinanceReportStatisticDTO financeReportStatisticDTO = new FinanceReportStatisticDTO();
         
-        List<Transaction> transactionList = transactionRepository
-            .findAllByCreatedDateGreaterThanEqualAndCreatedDateLessThan(inclusiveFrom, exclusiveTo);
+        List<TransactionAmountProjection> transactionAmountList = transactionRepository
+            .sumAmountByCreatedDateBetween(inclusiveFrom, exclusiveTo);
 
         BigDecimal realiseExpense = BigDecimal.ZERO;
         BigDecimal pendingExpense = BigDecimal.ZERO;
@@ -134,29 +163,29 @@ public class FinanceReportServiceImpl implements FinanceReportService {
         BigDecimal pendingIncome = BigDecimal.ZERO;
         BigDecimal badDebt = BigDecimal.ZERO;
         
-        for (Transaction transaction : transactionList) {
-            TransactionType transactionType = transaction.getTransactionType();
-            TransactionStatus transactionStatus = transaction.getTransactionStatus();
-            BigDecimal transactionAmount = transaction.getTransactionAmount();
+        for (TransactionAmountProjection transactionAmount : transactionAmountList) {
+            TransactionType transactionType = transactionAmount.getTransactionType();
+            TransactionStatus transactionStatus = transactionAmount.getTransactionStatus();
+            BigDecimal amount = transactionAmount.getAmount();
 
             switch(transactionType){
                 case INCOME:
                     switch(transactionStatus){
-                        case COMPLETED: realiseIncome = realiseIncome.add(transactionAmount);
+                        case COMPLETED: realiseIncome = realiseIncome.add(amount);
                         break;
-                        case PENDING: pendingIncome = pendingIncome.add(transactionAmount);
+                        case PENDING: pendingIncome = pendingIncome.add(amount);
                         break;
-                        case INVALID: badDebt = badDebt.add(transactionAmount);
+                        case INVALID: badDebt = badDebt.add(amount);
                         break;
                     }
                     break;
                 case EXPENSE:
                     switch(transactionStatus){
-                        case COMPLETED: realiseExpense = realiseExpense.add(transactionAmount);
+                        case COMPLETED: realiseExpense = realiseExpense.add(amount);
                         break;
-                        case PENDING: pendingExpense = pendingExpense.add(transactionAmount);
+                        case PENDING: pendingExpense = pendingExpense.add(amount);
                         break;
-                        case INVALID: invalidExpense = invalidExpense.add(transactionAmount);
+                        case INVALID: invalidExpense = invalidExpense.add(amount);
                         break;
                     }
                     break;
@@ -173,49 +202,23 @@ public class FinanceReportServiceImpl implements FinanceReportService {
         return financeReportStatisticDTO;
     }
 
-    private FinanceReportDTO toFinanceReportDTO(EventDTO eventDTO) {
+    private FinanceReportDTO toFinanceReportDTO(EventFinanceReportProjection projection) {
         FinanceReportDTO financeReportDTO = new FinanceReportDTO();
-        financeReportDTO.setEventDTO(eventDTO);
-        return financeReportDTO;
-    }
-
-    private FinanceReportDTO mapTotalExpenses(FinanceReportDTO financeReportDTO) {
-        BigDecimal totalExpenses = transactionRepository
-            .findAllByEventIdAndTransactionType(financeReportDTO.getEventDTO().getId(), TransactionType.EXPENSE)
-            .stream()
-            .map(Transaction::getTransactionAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        financeReportDTO.setTotalExpenses(totalExpenses);
-        return financeReportDTO;
-    }
-
-    private FinanceReportDTO mapTotalIncome(FinanceReportDTO financeReportDTO) {
-        BigDecimal totalIncome = transactionRepository
-            .findAllByEventIdAndTransactionType(financeReportDTO.getEventDTO().getId(), TransactionType.INCOME)
-            .stream()
-            .map(Transaction::getTransactionAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        financeReportDTO.setTotalIncome(totalIncome);
-        return financeReportDTO;
-    }
-
-    private FinanceReportDTO mapTotalBudgetExpenses(FinanceReportDTO financeReportDTO) {
-        BigDecimal totalBudgetExpenses = budgetRepository
-            .findAllByEventIdAndType(financeReportDTO.getEventDTO().getId(), TransactionType.EXPENSE)
-            .stream()
-            .map(Budget::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        financeReportDTO.setTotalBudgetExpenses(totalBudgetExpenses);
+        financeReportDTO.setEventDTO(eventMapper.toDto(projection.getEvent()));
+        financeReportDTO.setTotalBudgetIncome(projection.getTotalBudgetIncome());
+        financeReportDTO.setTotalBudgetExpenses(projection.getTotalBudgetExpenses());
+        financeReportDTO.setTotalIncome(projection.getTotalIncome());
+        financeReportDTO.setTotalExpenses(projection.getTotalExpenses());
         return financeReportDTO;
     }
 
-    private FinanceReportDTO mapTotalBudgetIncome(FinanceReportDTO financeReportDTO) {
-        BigDecimal totalBudgetIncome = budgetRepository
-            .findAllByEventIdAndType(financeReportDTO.getEventDTO().getId(), TransactionType.INCOME)
-            .stream()
-            .map(Budget::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        financeReportDTO.setTotalBudgetIncome(totalBudgetIncome);
+    private FinanceReportDTO toFinanceReportDTO(Event event, EventFinanceSummary eventFinanceSummary) {
+        FinanceReportDTO financeReportDTO = new FinanceReportDTO();
+        financeReportDTO.setEventDTO(eventMapper.toDto(event));
+        financeReportDTO.setTotalBudgetIncome(eventFinanceSummary.getBudgetIncome());
+        financeReportDTO.setTotalBudgetExpenses(eventFinanceSummary.getBudgetExpense());
+        financeReportDTO.setTotalIncome(eventFinanceSummary.getTotalIncome());
+        financeReportDTO.setTotalExpenses(eventFinanceSummary.getTotalExpense());
         return financeReportDTO;
     }
 }
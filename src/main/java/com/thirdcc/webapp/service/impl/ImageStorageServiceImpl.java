@@ -1,23 +1,35 @@
 package com.thirdcc.webapp.service.impl;
 
+import com.thirdcc.webapp.domain.enumeration.ImageStorageStatus;
+import com.thirdcc.webapp.exception.BadRequestException;
 import com.thirdcc.webapp.lib.wrapper.CloudStorage;
 import com.thirdcc.webapp.service.ImageStorageService;
 import com.thirdcc.webapp.domain.ImageStorage;
 import com.thirdcc.webapp.repository.ImageStorageRepository;
 import com.thirdcc.webapp.service.dto.ImageStorageDTO;
 import com.thirdcc.webapp.service.mapper.ImageStorageMapper;
+import com.thirdcc.webapp.upload.ImageContentTypes;
+import com.thirdcc.webapp.upload.ImageUpload;
+import com.thirdcc.webapp.upload.ImageUploadPipeline;
+import com.thirdcc.webapp.upload.SpooledImage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -33,46 +45,70 @@ public class ImageStorageServiceImpl implements ImageStorageService {
 
     private final ImageStorageMapper imageStorageMapper;
 
-    private CloudStorage cloudStorage;
+    private final CloudStorage cloudStorage;
 
-    public CloudStorage getCloudStorage() {
-        return cloudStorage;
-    }
-
-    @Autowired
-    public void setCloudStorage(CloudStorage cloudStorage) {
-        this.cloudStorage = cloudStorage;
-    }
+    private final ImageUploadPipeline imageUploadPipeline;
 
-    public ImageStorageServiceImpl(ImageStorageRepository imageStorageRepository, ImageStorageMapper imageStorageMapper) {
+    public ImageStorageServiceImpl(
+        ImageStorageRepository imageStorageRepository,
+        ImageStorageMapper imageStorageMapper,
+        CloudStorage cloudStorage,
+        ImageUploadPipeline imageUploadPipeline
+    ) {
         this.imageStorageRepository = imageStorageRepository;
         this.imageStorageMapper = imageStorageMapper;
+        this.cloudStorage = cloudStorage;
+        this.imageUploadPipeline = imageUploadPipeline;
     }
 
     /**
-     * Save a imageStorage.
+     * Save a imageStorage, PENDING until the file is stored in the cloud storage after the commit.
+     * The files are stored under the SHA-256 of their content, the content already stored is not uploaded again.
+     * The downsized variants of the images are stored with them. Only the raster image types of {@link ImageContentTypes}
+     * are accepted.
      *
      * @param multipartFile the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, with the url the file will be served from.
      */
     @Override
     public ImageStorageDTO save(ImageStorageDTO imageStorageDTO, MultipartFile multipartFile) throws IOException {
         log.debug("Request to save ImageStorage : {}", multipartFile);
-
-        // Get the file url after storing in cloud storage
-        String imageUrl = cloudStorage.store(multipartFile);
-        String fileName = multipartFile.getOriginalFilename();
-        String fileType = multipartFile.getContentType();
-
-        // Assign file properties from files and cloud service provider
-        imageStorageDTO.setImageUrl(imageUrl);
-        imageStorageDTO.setFileName(fileName);
-        imageStorageDTO.setFileType(fileType);
-
-        // Store file details
-        ImageStorage imageStorage = imageStorageMapper.toEntity(imageStorageDTO);
-        imageStorage = imageStorageRepository.save(imageStorage);
-        return imageStorageMapper.toDto(imageStorage);
+        String fileType = ImageContentTypes.getAllowed(multipartFile.getContentType())
+            .orElseThrow(() -> new BadRequestException("Only PNG, JPEG, GIF and WebP images can be uploaded"));
+
+        SpooledImage spooledImage = imageUploadPipeline.spool(multipartFile);
+        try {
+            String objectName = spooledImage.getContentHash();
+            Optional<ImageStorage> storedImage = imageStorageRepository
+                .findFirstByContentHashAndStatusOrderByIdAsc(spooledImage.getContentHash(), ImageStorageStatus.READY);
+
+            // Assign file properties from files and cloud service provider, the file url being known before the file is stored
+            imageStorageDTO.setImageUrl(storedImage.map(ImageStorage::getImageUrl).orElseGet(() -> cloudStorage.getUrl(objectName)));
+            imageStorageDTO.setFileName(multipartFile.getOriginalFilename());
+            imageStorageDTO.setFileType(fileType);
+            imageStorageDTO.setContentHash(spooledImage.getContentHash());
+            imageStorageDTO.setStatus(storedImage.isPresent() ? ImageStorageStatus.READY : ImageStorageStatus.PENDING);
+            imageStorageDTO.setVariants(storedImage.map(image -> new HashMap<>(image.getVariants())).orElseGet(HashMap::new));
+
+            // Store file details
+            ImageStorage imageStorage = imageStorageMapper.toEntity(imageStorageDTO);
+            if (!storedImage.isPresent()) {
+                imageStorage.setSpoolPath(spooledImage.getFile().toString());
+                imageStorage.setSpoolHost(imageUploadPipeline.getSpoolHost());
+                imageStorage.setSpooledDate(Instant.now());
+            }
+            imageStorage = imageStorageRepository.save(imageStorage);
+
+            if (storedImage.isPresent()) {
+                imageUploadPipeline.discard(spooledImage);
+            } else {
+                imageUploadPipeline.uploadAfterCommit(new ImageUpload(imageStorage.getId(), objectName, imageStorage.getFileType(), spooledImage));
+            }
+            return imageStorageMapper.toDto(imageStorage);
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(spooledImage.getFile());
+            throw e;
+        }
     }
 
     /**
@@ -104,6 +140,24 @@ public class ImageStorageServiceImpl implements ImageStorageService {
             .map(imageStorageMapper::toDto);
     }
 
+    /**
+     * Get the imageStorages of all the ids in a single query.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities by id.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, ImageStorageDTO> findAllByIdIn(Collection<Long> ids) {
+        log.debug("Request to get ImageStorages : {}", ids);
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return imageStorageRepository.findAllById(ids).stream()
+            .map(imageStorageMapper::toDto)
+            .collect(Collectors.toMap(ImageStorageDTO::getId, Function.identity()));
+    }
+
     /**
      * Delete the imageStorage by id.
      *
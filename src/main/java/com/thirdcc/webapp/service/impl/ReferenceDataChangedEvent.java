@@ -0,0 +1,18 @@
+package com.thirdcc.webapp.service.impl;
+
+/**
+ * Published when a faculty or a course program is saved or deleted, so that the {@link ReferenceDataSnapshot} is
+ * rebuilt once the change is committed.
+ */
+final class ReferenceDataChangedEvent {
+
+    static final ReferenceDataChangedEvent INSTANCE = new ReferenceDataChangedEvent();
+
+    private ReferenceDataChangedEvent() {
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceDataChangedEvent{}";
+    }
+}
@@ -0,0 +1,169 @@
+package com.thirdcc.webapp.service.impl;
+
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.domain.CourseProgram;
+import com.thirdcc.webapp.domain.Faculty;
+import com.thirdcc.webapp.repository.CourseProgramRepository;
+import com.thirdcc.webapp.repository.FacultyRepository;
+import com.thirdcc.webapp.service.ReferenceDataService;
+import com.thirdcc.webapp.service.dto.ReferenceDataDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service Implementation for reading the {@link Faculty} and {@link CourseProgram} reference data.
+ * <p>
+ * Reads are served from a {@link ReferenceDataSnapshot} loaded at startup, which is rebuilt and swapped atomically
+ * after every committed change, and on the configured interval to pick up the changes made by other instances.
+ * When the snapshot is disabled every read builds a fresh one from the database.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReferenceDataServiceImpl implements ReferenceDataService {
+
+    private final Logger log = LoggerFactory.getLogger(ReferenceDataServiceImpl.class);
+
+    private final FacultyRepository facultyRepository;
+
+    private final CourseProgramRepository courseProgramRepository;
+
+    private final boolean snapshotEnabled;
+
+    private final AtomicReference<ReferenceDataSnapshot> snapshot = new AtomicReference<>();
+
+    public ReferenceDataServiceImpl(
+        FacultyRepository facultyRepository,
+        CourseProgramRepository courseProgramRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.facultyRepository = facultyRepository;
+        this.courseProgramRepository = courseProgramRepository;
+        this.snapshotEnabled = applicationProperties.getReferenceData().isSnapshotEnabled();
+    }
+
+    @Override
+    public ReferenceDataDTO getReferenceData() {
+        log.debug("Request to get ReferenceData");
+        ReferenceDataSnapshot referenceDataSnapshot = getSnapshot();
+        ReferenceDataDTO referenceDataDTO = new ReferenceDataDTO();
+        referenceDataDTO.setVersion(referenceDataSnapshot.getVersion());
+        referenceDataDTO.setFaculties(referenceDataSnapshot.getFaculties());
+        referenceDataDTO.setCoursePrograms(referenceDataSnapshot.getCoursePrograms());
+        return referenceDataDTO;
+    }
+
+    @Override
+    public String getVersion() {
+        return getSnapshot().getVersion();
+    }
+
+    @Override
+    public List<Faculty> findAllFaculties() {
+        log.debug("Request to get all Faculties");
+        return getSnapshot().getFaculties();
+    }
+
+    @Override
+    public Optional<Faculty> findFaculty(Long id) {
+        log.debug("Request to get Faculty : {}", id);
+        return id == null ? Optional.empty() : getSnapshot().findFaculty(id);
+    }
+
+    @Override
+    public List<CourseProgram> findAllCoursePrograms() {
+        log.debug("Request to get all CoursePrograms");
+        return getSnapshot().getCourseProgramsByName();
+    }
+
+    @Override
+    public List<CourseProgram> findAllCourseProgramsByFacultyId(Long facultyId) {
+        log.debug("Request to get all CoursePrograms by Faculty : {}", facultyId);
+        return facultyId == null ? Collections.emptyList() : getSnapshot().getCourseProgramsByFacultyId(facultyId);
+    }
+
+    @Override
+    public Optional<CourseProgram> findCourseProgram(Long id) {
+        log.debug("Request to get CourseProgram : {}", id);
+        return id == null ? Optional.empty() : getSnapshot().findCourseProgram(id);
+    }
+
+    @Override
+    public boolean existsCourseProgram(Long id) {
+        return id != null && getSnapshot().containsCourseProgram(id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        if (!snapshotEnabled) {
+            return;
+        }
+        try {
+            refreshSnapshot();
+        } catch (RuntimeException e) {
+            // the database may not be migrated yet, the snapshot is then loaded by the first read
+            log.warn("Could not load the ReferenceData snapshot at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the snapshot once a change is committed, in a new transaction as the committed one cannot be reused.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        log.debug("Request to rebuild ReferenceData snapshot : {}", event);
+        if (snapshotEnabled) {
+            refreshSnapshot();
+        }
+    }
+
+    /**
+     * Periodically rebuild the snapshot, picking up the reference data changed by the other instances.
+     */
+    @Scheduled(
+        initialDelayString = "${application.reference-data.snapshot-refresh-interval-millis:300000}",
+        fixedDelayString = "${application.reference-data.snapshot-refresh-interval-millis:300000}"
+    )
+    public void refreshSnapshotPeriodically() {
+        if (snapshotEnabled) {
+            refreshSnapshot();
+        }
+    }
+
+    private ReferenceDataSnapshot getSnapshot() {
+        if (!snapshotEnabled) {
+            return load();
+        }
+        ReferenceDataSnapshot current = snapshot.get();
+        return current != null ? current : refreshSnapshot();
+    }
+
+    /**
+     * Loads are serialized, so a slower rebuild that read older rows can never replace a newer snapshot.
+     */
+    private synchronized ReferenceDataSnapshot refreshSnapshot() {
+        ReferenceDataSnapshot refreshed = load();
+        ReferenceDataSnapshot previous = snapshot.getAndSet(refreshed);
+        if (previous == null || !previous.getVersion().equals(refreshed.getVersion())) {
+            log.debug("Rebuilt ReferenceData snapshot with version {}", refreshed.getVersion());
+        }
+        return refreshed;
+    }
+
+    private ReferenceDataSnapshot load() {
+        return ReferenceDataSnapshot.of(facultyRepository.findAll(), courseProgramRepository.findAll());
+    }
+}
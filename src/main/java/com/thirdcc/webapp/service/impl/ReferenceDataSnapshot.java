@@ -0,0 +1,157 @@
+package com.thirdcc.webapp.service.impl;
+
+import com.thirdcc.webapp.domain.CourseProgram;
+import com.thirdcc.webapp.domain.Faculty;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of the faculties and course programs, indexed by id in sorted primitive arrays.
+ * <p>
+ * The entities are detached copies, so the snapshot can be shared between threads and is not affected by changes
+ * made to the returned entities. The version is a digest of the content, identical on every instance serving the
+ * same data.
+ */
+final class ReferenceDataSnapshot {
+
+    private final long[] facultyIds;
+
+    private final Faculty[] faculties;
+
+    private final long[] courseProgramIds;
+
+    private final CourseProgram[] coursePrograms;
+
+    private final List<CourseProgram> courseProgramsByName;
+
+    private final String version;
+
+    private ReferenceDataSnapshot(List<Faculty> faculties, List<CourseProgram> coursePrograms) {
+        this.faculties = faculties.toArray(new Faculty[0]);
+        this.facultyIds = faculties.stream().mapToLong(Faculty::getId).toArray();
+        this.coursePrograms = coursePrograms.toArray(new CourseProgram[0]);
+        this.courseProgramIds = coursePrograms.stream().mapToLong(CourseProgram::getId).toArray();
+        this.courseProgramsByName = Collections.unmodifiableList(coursePrograms.stream()
+            .sorted(Comparator.comparing(CourseProgram::getName, Comparator.nullsFirst(Comparator.naturalOrder())))
+            .collect(Collectors.toList()));
+        this.version = digest(faculties, coursePrograms);
+    }
+
+    static ReferenceDataSnapshot of(List<Faculty> faculties, List<CourseProgram> coursePrograms) {
+        return new ReferenceDataSnapshot(
+            faculties.stream()
+                .map(ReferenceDataSnapshot::copyOf)
+                .sorted(Comparator.comparing(Faculty::getId))
+                .collect(Collectors.toList()),
+            coursePrograms.stream()
+                .map(ReferenceDataSnapshot::copyOf)
+                .sorted(Comparator.comparing(CourseProgram::getId))
+                .collect(Collectors.toList())
+        );
+    }
+
+    String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the faculties ordered by id.
+     */
+    List<Faculty> getFaculties() {
+        return Arrays.stream(faculties).map(ReferenceDataSnapshot::copyOf).collect(Collectors.toList());
+    }
+
+    Optional<Faculty> findFaculty(long id) {
+        int index = Arrays.binarySearch(facultyIds, id);
+        return index < 0 ? Optional.empty() : Optional.of(copyOf(faculties[index]));
+    }
+
+    /**
+     * @return the course programs ordered by id.
+     */
+    List<CourseProgram> getCoursePrograms() {
+        return Arrays.stream(coursePrograms).map(ReferenceDataSnapshot::copyOf).collect(Collectors.toList());
+    }
+
+    List<CourseProgram> getCourseProgramsByName() {
+        return courseProgramsByName.stream().map(ReferenceDataSnapshot::copyOf).collect(Collectors.toList());
+    }
+
+    /**
+     * @return the course programs of the faculty ordered by id.
+     */
+    List<CourseProgram> getCourseProgramsByFacultyId(long facultyId) {
+        return Arrays.stream(coursePrograms)
+            .filter(courseProgram -> Objects.equals(courseProgram.getFacultyId(), facultyId))
+            .map(ReferenceDataSnapshot::copyOf)
+            .collect(Collectors.toList());
+    }
+
+    Optional<CourseProgram> findCourseProgram(long id) {
+        int index = Arrays.binarySearch(courseProgramIds, id);
+        return index < 0 ? Optional.empty() : Optional.of(copyOf(coursePrograms[index]));
+    }
+
+    boolean containsCourseProgram(long id) {
+        return Arrays.binarySearch(courseProgramIds, id) >= 0;
+    }
+
+    private static String digest(List<Faculty> faculties, List<CourseProgram> coursePrograms) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (Faculty faculty : faculties) {
+            update(messageDigest, "faculty", faculty.getId(), faculty.getName(), faculty.getShortName());
+        }
+        for (CourseProgram courseProgram : coursePrograms) {
+            update(messageDigest, "courseProgram", courseProgram.getId(), courseProgram.getFacultyId(), courseProgram.getName(), courseProgram.getNumOfSem());
+        }
+        StringBuilder hex = new StringBuilder();
+        // 128 bits are plenty to tell the versions apart
+        for (byte b : Arrays.copyOf(messageDigest.digest(), 16)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static void update(MessageDigest messageDigest, Object... values) {
+        for (Object value : values) {
+            // the length prefix keeps the fields unambiguous
+            byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+            messageDigest.update((byte) (bytes.length >>> 24));
+            messageDigest.update((byte) (bytes.length >>> 16));
+            messageDigest.update((byte) (bytes.length >>> 8));
+            messageDigest.update((byte) bytes.length);
+            messageDigest.update(bytes);
+        }
+    }
+
+    private static Faculty copyOf(Faculty faculty) {
+        Faculty copy = new Faculty()
+            .name(faculty.getName())
+            .shortName(faculty.getShortName());
+        copy.setId(faculty.getId());
+        return copy;
+    }
+
+    private static CourseProgram copyOf(CourseProgram courseProgram) {
+        CourseProgram copy = new CourseProgram();
+        copy.setId(courseProgram.getId());
+        copy.setFacultyId(courseProgram.getFacultyId());
+        copy.setName(courseProgram.getName());
+        copy.setNumOfSem(courseProgram.getNumOfSem());
+        return copy;
+    }
+}
@@ -0,0 +1,154 @@
+package com.thirdcc.webapp.service.impl;
+
+import com.thirdcc.webapp.repository.TransactionRepository;
+import com.thirdcc.webapp.repository.projection.TransactionExportProjection;
+import com.thirdcc.webapp.service.TransactionExportService;
+import com.thirdcc.webapp.utils.YearSessionUtils;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Service Implementation for exporting {@link com.thirdcc.webapp.domain.Transaction}.
+ * <p>
+ * The rows are streamed from the database and written as they are read, so the memory used
+ * does not depend on the number of transactions of the year session.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    private final Logger log = LoggerFactory.getLogger(TransactionExportServiceImpl.class);
+
+    private static final String[] HEADERS = {"Id", "Transaction Date", "Title", "Event", "Type", "Status", "Amount", "Image Link"};
+
+    // Number of rows kept in memory by the workbook, the others are flushed to a temporary file
+    private static final int XLSX_ROW_ACCESS_WINDOW_SIZE = 100;
+
+    // Leading characters making a CSV value run as a formula in Excel or Sheets
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private static final Pattern PLAIN_NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    private final TransactionRepository transactionRepository;
+
+    public TransactionExportServiceImpl(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Override
+    public void exportByYearSession(String yearSession, Format format, OutputStream outputStream) throws IOException {
+        ZoneId zoneId = ZoneId.systemDefault();
+        Instant inclusiveFrom = YearSessionUtils.getFirstInstantOfYearSession(yearSession);
+        Instant exclusiveTo = inclusiveFrom.atZone(zoneId).toLocalDate().plusYears(1).atStartOfDay(zoneId).toInstant();
+        log.debug("Request to export Transactions as {} inclusiveFrom {} exclusiveTo {}", format, inclusiveFrom, exclusiveTo);
+
+        try (Stream<TransactionExportProjection> rows = transactionRepository.streamExportByCreatedDateBetween(inclusiveFrom, exclusiveTo)) {
+            switch (format) {
+                case CSV:
+                    writeCsv(rows.iterator(), outputStream);
+                    break;
+                case XLSX:
+                    writeXlsx(rows.iterator(), outputStream);
+                    break;
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<TransactionExportProjection> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writeCsvLine(writer, HEADERS);
+        while (rows.hasNext()) {
+            writeCsvLine(writer, toValues(rows.next()));
+        }
+        writer.flush();
+    }
+
+    private void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int column = 0; column < values.length; column++) {
+            if (column > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[column]));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeXlsx(Iterator<TransactionExportProjection> rows, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_ACCESS_WINDOW_SIZE);
+        try {
+            Sheet sheet = workbook.createSheet("Transactions");
+            writeXlsxRow(sheet.createRow(0), HEADERS);
+            int rowNum = 1;
+            while (rows.hasNext()) {
+                TransactionExportProjection transaction = rows.next();
+                Row row = sheet.createRow(rowNum++);
+                writeXlsxRow(row, toValues(transaction));
+                if (transaction.getTransactionAmount() != null) {
+                    row.getCell(6).setCellValue(transaction.getTransactionAmount().doubleValue());
+                }
+            }
+            workbook.write(outputStream);
+            outputStream.flush();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void writeXlsxRow(Row row, String[] values) {
+        for (int column = 0; column < values.length; column++) {
+            row.createCell(column).setCellValue(values[column]);
+        }
+    }
+
+    private String[] toValues(TransactionExportProjection transaction) {
+        return new String[]{
+            toString(transaction.getId()),
+            toString(transaction.getTransactionDate()),
+            transaction.getTitle(),
+            transaction.getEventName(),
+            toString(transaction.getTransactionType()),
+            toString(transaction.getTransactionStatus()),
+            transaction.getTransactionAmount() == null ? null : transaction.getTransactionAmount().toPlainString(),
+            transaction.getImageLink()
+        };
+    }
+
+    private static String toString(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Quote the value when required, a value that would be run as a formula by a spreadsheet is prefixed
+     * with {@code '} and quoted, unless it is a plain number.
+     */
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0 && !PLAIN_NUMBER.matcher(value).matches()) {
+            return "\"'" + value.replace("\"", "\"\"") + "\"";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
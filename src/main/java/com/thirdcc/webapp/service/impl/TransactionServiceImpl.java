@@ -3,7 +3,9 @@ package com.thirdcc.webapp.service.impl;
 import com.thirdcc.webapp.domain.Event;
 import com.thirdcc.webapp.domain.enumeration.TransactionStatus;
 import com.thirdcc.webapp.domain.enumeration.TransactionType;
+import com.thirdcc.webapp.domain.EventFinanceSummary;
 import com.thirdcc.webapp.exception.BadRequestException;
+import com.thirdcc.webapp.service.EventFinanceSummaryService;
 import com.thirdcc.webapp.service.EventService;
 import com.thirdcc.webapp.service.ImageStorageService;
 import com.thirdcc.webapp.service.TransactionService;
@@ -42,16 +44,20 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final ImageStorageService imageStorageService;
 
+    private final EventFinanceSummaryService eventFinanceSummaryService;
+
     public TransactionServiceImpl(
         TransactionRepository transactionRepository,
         TransactionMapper transactionMapper,
         EventService eventService,
-        ImageStorageService imageStorageService
+        ImageStorageService imageStorageService,
+        EventFinanceSummaryService eventFinanceSummaryService
     ) {
         this.transactionRepository = transactionRepository;
         this.transactionMapper = transactionMapper;
         this.eventService = eventService;
         this.imageStorageService = imageStorageService;
+        this.eventFinanceSummaryService = eventFinanceSummaryService;
     }
 
     /**
@@ -110,9 +116,16 @@ public class TransactionServiceImpl implements TransactionService {
             transactionDTO.setImageLink(imageLink);
         }
 
+        // Keep the state before update for the event finance summary
+        Transaction previousTransaction = transactionDTO.getId() == null ? null : transactionRepository
+            .findById(transactionDTO.getId())
+            .map(this::copyOf)
+            .orElse(null);
+
         // Save the transaction
         Transaction transaction = transactionMapper.toEntity(transactionDTO);
         transaction = transactionRepository.save(transaction);
+        eventFinanceSummaryService.onTransactionChanged(previousTransaction, transaction);
         return transactionMapper.toDto(transaction);
     }
 
@@ -153,7 +166,10 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Transaction : {}", id);
-        transactionRepository.deleteById(id);
+        Transaction transaction = transactionRepository.findById(id)
+            .orElseThrow(() -> new BadRequestException("Transaction not exists: " + id));
+        transactionRepository.delete(transaction);
+        eventFinanceSummaryService.onTransactionChanged(transaction, null);
     }
         
     /**
@@ -171,10 +187,11 @@ public class TransactionServiceImpl implements TransactionService {
         if(!TransactionStatus.PENDING.equals(transaction.getTransactionStatus())){
             throw new BadRequestException("Transaction is not pending, not allow to update");
         }
+        Transaction previousTransaction = copyOf(transaction);
         transaction.setTransactionStatus(transactionStatus);
-        return transactionMapper.toDto(
-            transactionRepository.save(transaction)
-        );
+        transaction = transactionRepository.save(transaction);
+        eventFinanceSummaryService.onTransactionChanged(previousTransaction, transaction);
+        return transactionMapper.toDto(transaction);
     }
 
     @Override
@@ -186,20 +203,23 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public EventBudgetTotalDTO findTotalTransactionByEventId(Long eventId) {
         log.debug("Request to get total transactions by event Id");
+        EventFinanceSummary eventFinanceSummary = eventFinanceSummaryService.findOneByEventId(eventId);
         EventBudgetTotalDTO eventBudgetTotalDTO = new EventBudgetTotalDTO();
-        transactionRepository.findAllByEventId(eventId, Pageable.unpaged())
-            .forEach(transaction -> {
-                if (TransactionType.EXPENSE == transaction.getTransactionType()) {
-                    eventBudgetTotalDTO.addTotalExpense(transaction.getTransactionAmount());
-                } else if (TransactionType.INCOME == transaction.getTransactionType()) {
-                    eventBudgetTotalDTO.addTotalIncome(transaction.getTransactionAmount());
-                }
-            });
+        eventBudgetTotalDTO.setTotalIncome(eventFinanceSummary.getTotalIncome());
+        eventBudgetTotalDTO.setTotalExpense(eventFinanceSummary.getTotalExpense());
         return eventBudgetTotalDTO;
     }
 
+    /**
+     * Copy the transaction detached from the persistence context, to keep its state before a write.
+     */
+    private Transaction copyOf(Transaction transaction) {
+        return transactionMapper.toEntity(transactionMapper.toDto(transaction));
+    }
+
     /**
      * Validate on fields:
      * - title
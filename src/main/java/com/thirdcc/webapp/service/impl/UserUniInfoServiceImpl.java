@@ -6,10 +6,10 @@ import com.thirdcc.webapp.domain.UserCCInfo;
 import com.thirdcc.webapp.domain.enumeration.UserUniStatus;
 import com.thirdcc.webapp.exception.BadRequestException;
 import com.thirdcc.webapp.exception.InternalServerErrorException;
-import com.thirdcc.webapp.repository.CourseProgramRepository;
 import com.thirdcc.webapp.repository.UserCCInfoRepository;
 import com.thirdcc.webapp.repository.UserRepository;
 import com.thirdcc.webapp.security.SecurityUtils;
+import com.thirdcc.webapp.service.ReferenceDataService;
 import com.thirdcc.webapp.service.UserUniInfoService;
 import com.thirdcc.webapp.domain.UserUniInfo;
 import com.thirdcc.webapp.repository.UserUniInfoRepository;
@@ -43,17 +43,17 @@ public class UserUniInfoServiceImpl implements UserUniInfoService {
 
     private final UserRepository userRepository;
 
-    private final CourseProgramRepository courseProgramRepository;
+    private final ReferenceDataService referenceDataService;
 
     private UserCCInfoRepository userCCInfoRepository;
 
     private static final UserUniStatus DEFAULT_USER_UNI_STATUS = UserUniStatus.STUDYING;
 
-    public UserUniInfoServiceImpl(UserUniInfoRepository userUniInfoRepository, UserUniInfoMapper userUniInfoMapper, UserRepository userRepository, CourseProgramRepository courseProgramRepository, UserCCInfoRepository userCCInfoRepository) {
+    public UserUniInfoServiceImpl(UserUniInfoRepository userUniInfoRepository, UserUniInfoMapper userUniInfoMapper, UserRepository userRepository, ReferenceDataService referenceDataService, UserCCInfoRepository userCCInfoRepository) {
         this.userUniInfoRepository = userUniInfoRepository;
         this.userUniInfoMapper = userUniInfoMapper;
         this.userRepository = userRepository;
-        this.courseProgramRepository = courseProgramRepository;
+        this.referenceDataService = referenceDataService;
         this.userCCInfoRepository = userCCInfoRepository;
     }
 
@@ -70,7 +70,7 @@ public class UserUniInfoServiceImpl implements UserUniInfoService {
             .getCurrentUserLogin()
             .flatMap(userRepository::findOneWithAuthoritiesByLogin)
             .orElseThrow(() -> new BadRequestException("Cannot find user"));
-        boolean isCourseProgramIdValid = courseProgramRepository.existsById(userUniInfoDTO.getCourseProgramId());
+        boolean isCourseProgramIdValid = referenceDataService.existsCourseProgram(userUniInfoDTO.getCourseProgramId());
         if (!isCourseProgramIdValid) {
             throw new BadRequestException("Invalid Course Program Id");
         }
@@ -155,7 +155,7 @@ public class UserUniInfoServiceImpl implements UserUniInfoService {
     }
 
     private UserUniInfoDTO mapUserUniInfoDetails(UserUniInfoDTO userUniInfoDTO) {
-        CourseProgram courseProgram = courseProgramRepository.findById(userUniInfoDTO.getCourseProgramId())
+        CourseProgram courseProgram = referenceDataService.findCourseProgram(userUniInfoDTO.getCourseProgramId())
             .orElseThrow(() -> new InternalServerErrorException("Course Program not available for Id: " + userUniInfoDTO.getCourseProgramId()));
         userUniInfoDTO.setGraduateYearSession(
             YearSessionUtils.addYearSessionWithSemester(userUniInfoDTO.getYearSession(), courseProgram.getNumOfSem())
@@ -0,0 +1,18 @@
+package com.thirdcc.webapp.service.impl;
+
+/**
+ * Published when a year session is saved or deleted, so that the {@link YearSessionSnapshot} is refreshed once the
+ * change is committed.
+ */
+final class YearSessionChangedEvent {
+
+    static final YearSessionChangedEvent INSTANCE = new YearSessionChangedEvent();
+
+    private YearSessionChangedEvent() {
+    }
+
+    @Override
+    public String toString() {
+        return "YearSessionChangedEvent{}";
+    }
+}
@@ -1,5 +1,7 @@
 package com.thirdcc.webapp.service.impl;
 
+import com.thirdcc.webapp.authorization.AuthorizationChangedEvent;
+import com.thirdcc.webapp.config.ApplicationProperties;
 import com.thirdcc.webapp.exception.BadRequestException;
 import com.thirdcc.webapp.exception.InternalServerErrorException;
 import com.thirdcc.webapp.service.YearSessionService;
@@ -8,14 +10,23 @@ import com.thirdcc.webapp.repository.YearSessionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service Implementation for managing {@link YearSession}.
+ * <p>
+ * Reads are served from a {@link YearSessionSnapshot} of all the year sessions, which is swapped atomically after
+ * every committed save or delete, and on the configured interval to pick up the changes made by other instances.
  */
 @Service
 @Transactional
@@ -25,8 +36,20 @@ public class YearSessionServiceImpl implements YearSessionService {
 
     private final YearSessionRepository yearSessionRepository;
 
-    public YearSessionServiceImpl(YearSessionRepository yearSessionRepository) {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final boolean snapshotEnabled;
+
+    private final AtomicReference<YearSessionSnapshot> snapshot = new AtomicReference<>();
+
+    public YearSessionServiceImpl(
+        YearSessionRepository yearSessionRepository,
+        ApplicationEventPublisher applicationEventPublisher,
+        ApplicationProperties applicationProperties
+    ) {
         this.yearSessionRepository = yearSessionRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.snapshotEnabled = applicationProperties.getYearSession().isSnapshotEnabled();
     }
 
     /**
@@ -38,7 +61,10 @@ public class YearSessionServiceImpl implements YearSessionService {
     @Override
     public YearSession save(YearSession yearSession) {
         log.debug("Request to save YearSession : {}", yearSession);
-        return yearSessionRepository.save(yearSession);
+        YearSession result = yearSessionRepository.save(yearSession);
+        applicationEventPublisher.publishEvent(YearSessionChangedEvent.INSTANCE);
+        applicationEventPublisher.publishEvent(AuthorizationChangedEvent.ofAllUsers());
+        return result;
     }
 
     /**
@@ -50,7 +76,9 @@ public class YearSessionServiceImpl implements YearSessionService {
     @Transactional(readOnly = true)
     public List<YearSession> findAll() {
         log.debug("Request to get all YearSessions");
-        return yearSessionRepository.findAll();
+        return getSnapshot()
+            .map(YearSessionSnapshot::getAll)
+            .orElseGet(yearSessionRepository::findAll);
     }
 
 
@@ -64,32 +92,48 @@ public class YearSessionServiceImpl implements YearSessionService {
     @Transactional(readOnly = true)
     public Optional<YearSession> findOne(Long id) {
         log.debug("Request to get YearSession : {}", id);
-        return yearSessionRepository.findById(id);
+        return getSnapshot()
+            .map(yearSessionSnapshot -> yearSessionSnapshot.findById(id))
+            .orElseGet(() -> yearSessionRepository.findById(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<YearSession> findOneByValue(String value) {
+        log.debug("Request to get YearSession by value : {}", value);
+        return getSnapshot()
+            .map(yearSessionSnapshot -> yearSessionSnapshot.findByValue(value))
+            .orElseGet(() -> yearSessionRepository.findFirstByValueOrderByIdDesc(value));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<YearSession> findCurrentYearSession() {
+        return getSnapshot()
+            .map(YearSessionSnapshot::getCurrent)
+            .orElseGet(yearSessionRepository::findFirstByOrderByIdDesc);
     }
 
     @Override
     @Transactional(readOnly = true)
     public String getDefaultYearSessionString() {
-        List<YearSession> yearSessionList = yearSessionRepository.findAll();
-        if (yearSessionList.isEmpty()) {
-            throw new RuntimeException("Not a single YearSession is found in DB");
-        }
-        YearSession defaultYearSession = yearSessionList.get(yearSessionList.size() - 1);
-        return defaultYearSession.getValue();
+        return findCurrentYearSession()
+            .orElseThrow(() -> new RuntimeException("Not a single YearSession is found in DB"))
+            .getValue();
     }
 
     @Override
     @Transactional(readOnly = true)
     public String getYearSessionStringById(Long id) {
-        return yearSessionRepository
-            .findById(id)
+        return findOne(id)
             .orElseThrow(() -> new BadRequestException("YearSession is not found"))
             .getValue();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public YearSession getCurrentYearSession() {
-        return yearSessionRepository.findFirstByOrderByIdDesc()
+        return findCurrentYearSession()
             .orElseThrow(() -> new InternalServerErrorException("Year Session not found"));
     }
 
@@ -102,5 +146,51 @@ public class YearSessionServiceImpl implements YearSessionService {
     public void delete(Long id) {
         log.debug("Request to delete YearSession : {}", id);
         yearSessionRepository.deleteById(id);
+        applicationEventPublisher.publishEvent(YearSessionChangedEvent.INSTANCE);
+        applicationEventPublisher.publishEvent(AuthorizationChangedEvent.ofAllUsers());
+    }
+
+    /**
+     * Refresh the snapshot once a change is committed, in a new transaction as the committed one cannot be reused.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onYearSessionChanged(YearSessionChangedEvent event) {
+        log.debug("Request to refresh YearSession snapshot : {}", event);
+        if (snapshotEnabled) {
+            refreshSnapshot();
+        }
+    }
+
+    /**
+     * Periodically refresh the snapshot, picking up the year sessions changed by the other instances.
+     */
+    @Scheduled(
+        initialDelayString = "${application.year-session.snapshot-refresh-interval-millis:60000}",
+        fixedDelayString = "${application.year-session.snapshot-refresh-interval-millis:60000}"
+    )
+    @Transactional(readOnly = true)
+    public void refreshSnapshotPeriodically() {
+        if (snapshotEnabled) {
+            refreshSnapshot();
+        }
+    }
+
+    private Optional<YearSessionSnapshot> getSnapshot() {
+        if (!snapshotEnabled) {
+            return Optional.empty();
+        }
+        YearSessionSnapshot current = snapshot.get();
+        return Optional.of(current != null ? current : refreshSnapshot());
+    }
+
+    /**
+     * Loads are serialized, so a slower refresh that read older rows can never replace a newer snapshot.
+     */
+    private synchronized YearSessionSnapshot refreshSnapshot() {
+        YearSessionSnapshot refreshed = YearSessionSnapshot.of(yearSessionRepository.findAll());
+        snapshot.set(refreshed);
+        log.debug("Refreshed YearSession snapshot with {} year sessions", refreshed.size());
+        return refreshed;
     }
 }
@@ -0,0 +1,79 @@
+package com.thirdcc.webapp.service.impl;
+
+import com.thirdcc.webapp.domain.YearSession;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of all the year sessions, ordered by id and indexed by id and value.
+ * <p>
+ * The year sessions are detached copies, so the snapshot can be shared between threads and is not affected by
+ * changes made to the returned entities.
+ */
+final class YearSessionSnapshot {
+
+    private final List<YearSession> yearSessions;
+
+    private final Map<Long, YearSession> yearSessionsById;
+
+    private final Map<String, YearSession> yearSessionsByValue;
+
+    private YearSessionSnapshot(List<YearSession> yearSessions) {
+        this.yearSessions = Collections.unmodifiableList(yearSessions);
+        Map<Long, YearSession> byId = new HashMap<>();
+        Map<String, YearSession> byValue = new HashMap<>();
+        for (YearSession yearSession : yearSessions) {
+            byId.put(yearSession.getId(), yearSession);
+            // the latest year session wins when values are duplicated, like the current year session does
+            byValue.put(yearSession.getValue(), yearSession);
+        }
+        this.yearSessionsById = byId;
+        this.yearSessionsByValue = byValue;
+    }
+
+    static YearSessionSnapshot of(List<YearSession> yearSessions) {
+        return new YearSessionSnapshot(yearSessions.stream()
+            .map(YearSessionSnapshot::copyOf)
+            .sorted(Comparator.comparing(YearSession::getId))
+            .collect(Collectors.toList()));
+    }
+
+    List<YearSession> getAll() {
+        return yearSessions.stream()
+            .map(YearSessionSnapshot::copyOf)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the year session with the greatest id.
+     */
+    Optional<YearSession> getCurrent() {
+        return yearSessions.isEmpty()
+            ? Optional.empty()
+            : Optional.of(copyOf(yearSessions.get(yearSessions.size() - 1)));
+    }
+
+    Optional<YearSession> findById(Long id) {
+        return Optional.ofNullable(yearSessionsById.get(id)).map(YearSessionSnapshot::copyOf);
+    }
+
+    Optional<YearSession> findByValue(String value) {
+        return Optional.ofNullable(yearSessionsByValue.get(value)).map(YearSessionSnapshot::copyOf);
+    }
+
+    int size() {
+        return yearSessions.size();
+    }
+
+    private static YearSession copyOf(YearSession yearSession) {
+        YearSession copy = new YearSession().value(yearSession.getValue());
+        copy.setId(yearSession.getId());
+        return copy;
+    }
+}
@@ -11,7 +11,9 @@ import org.mapstruct.*;
 @Mapper(componentModel = "spring", uses = {})
 public interface EventRegistrationClosingCriteriaMapper extends EntityMapper<EventRegistrationClosingCriteriaDTO, EventRegistrationClosingCriteria> {
 
-
+    @Override
+    @Mapping(target = "attendeeCount", ignore = true)
+    EventRegistrationClosingCriteria toEntity(EventRegistrationClosingCriteriaDTO eventRegistrationClosingCriteriaDTO);
 
     default EventRegistrationClosingCriteria fromId(Long id) {
         if (id == null) {
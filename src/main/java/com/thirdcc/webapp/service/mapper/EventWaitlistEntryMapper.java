@@ -0,0 +1,24 @@
+package com.thirdcc.webapp.service.mapper;
+
+import com.thirdcc.webapp.domain.*;
+import com.thirdcc.webapp.service.dto.EventWaitlistEntryDTO;
+
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link EventWaitlistEntry} and its DTO {@link EventWaitlistEntryDTO}.
+ */
+@Mapper(componentModel = "spring", uses = {})
+public interface EventWaitlistEntryMapper extends EntityMapper<EventWaitlistEntryDTO, EventWaitlistEntry> {
+
+
+
+    default EventWaitlistEntry fromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        EventWaitlistEntry eventWaitlistEntry = new EventWaitlistEntry();
+        eventWaitlistEntry.setId(id);
+        return eventWaitlistEntry;
+    }
+}
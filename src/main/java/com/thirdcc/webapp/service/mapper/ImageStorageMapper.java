@@ -11,7 +11,11 @@ import org.mapstruct.*;
 @Mapper(componentModel = "spring", uses = {})
 public interface ImageStorageMapper extends EntityMapper<ImageStorageDTO, ImageStorage> {
 
-
+    @Override
+    @Mapping(target = "spoolPath", ignore = true)
+    @Mapping(target = "spoolHost", ignore = true)
+    @Mapping(target = "spooledDate", ignore = true)
+    ImageStorage toEntity(ImageStorageDTO imageStorageDTO);
 
     default ImageStorage fromId(Long id) {
         if (id == null) {
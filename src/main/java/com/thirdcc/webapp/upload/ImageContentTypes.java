@@ -0,0 +1,46 @@
+package com.thirdcc.webapp.upload;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The raster image types accepted for the uploads and served as such, the other types, SVG and HTML included, being
+ * able to run scripts.
+ */
+public final class ImageContentTypes {
+
+    private static final Set<String> ALLOWED = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        MediaType.IMAGE_PNG_VALUE,
+        MediaType.IMAGE_JPEG_VALUE,
+        MediaType.IMAGE_GIF_VALUE,
+        "image/webp"
+    )));
+
+    private ImageContentTypes() {
+    }
+
+    /**
+     * Get the allowed raster image type of a content type, without its parameters.
+     *
+     * @param contentType the declared content type, may be {@code null}.
+     * @return the lowercase type, empty if not an allowed raster image type.
+     */
+    public static Optional<String> getAllowed(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            String type = (mediaType.getType() + "/" + mediaType.getSubtype()).toLowerCase();
+            return ALLOWED.contains(type) ? Optional.of(type) : Optional.empty();
+        } catch (InvalidMediaTypeException e) {
+            return Optional.empty();
+        }
+    }
+}
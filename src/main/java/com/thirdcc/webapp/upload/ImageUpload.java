@@ -0,0 +1,54 @@
+package com.thirdcc.webapp.upload;
+
+import java.nio.file.Path;
+
+/**
+ * An image spooled to a local file, to be stored in the cloud storage for its {@link com.thirdcc.webapp.domain.ImageStorage}.
+ */
+public final class ImageUpload {
+
+    private final Long imageStorageId;
+
+    private final String objectName;
+
+    private final String contentType;
+
+    private final SpooledImage image;
+
+    public ImageUpload(Long imageStorageId, String objectName, String contentType, SpooledImage image) {
+        this.imageStorageId = imageStorageId;
+        this.objectName = objectName;
+        this.contentType = contentType;
+        this.image = image;
+    }
+
+    public Long getImageStorageId() {
+        return imageStorageId;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public SpooledImage getImage() {
+        return image;
+    }
+
+    public Path getFile() {
+        return image.getFile();
+    }
+
+    @Override
+    public String toString() {
+        return "ImageUpload{" +
+            "imageStorageId=" + imageStorageId +
+            ", objectName='" + objectName + "'" +
+            ", contentType='" + contentType + "'" +
+            ", image=" + image +
+            "}";
+    }
+}
@@ -0,0 +1,386 @@
+package com.thirdcc.webapp.upload;
+
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.domain.ImageStorage;
+import com.thirdcc.webapp.domain.enumeration.ImageStorageStatus;
+import com.thirdcc.webapp.lib.wrapper.CloudStorage;
+import com.thirdcc.webapp.repository.ImageStorageRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores the uploaded images in the {@link CloudStorage} off the request thread.
+ * <p>
+ * The image is first spooled to a local file, and its {@link com.thirdcc.webapp.domain.ImageStorage} saved as
+ * {@link ImageStorageStatus#PENDING}. Once that transaction commits, the file is stored by the bounded
+ * {@code imageUploadExecutor} along with its downsized variants, retried with an exponential backoff, and the image
+ * storage is then {@link ImageStorageStatus#READY} or {@link ImageStorageStatus#FAILED}.
+ * <p>
+ * The {@code image.upload.bytes} summary records the bytes sent to the cloud storage, and the bytes saved by the
+ * deduplication of the images already stored, and the {@code image.upload.duration} timer the latency of each attempt.
+ * <p>
+ * The spooled file and its host are recorded on the image storage, the file being kept until the status is updated.
+ * The uploads interrupted by a restart are resumed by the sweep of the instances of the same host, at startup and every
+ * {@code sweep-interval-millis}, once PENDING for longer than {@code stale-pending-millis}, or FAILED if their spooled
+ * file is lost. The orphaned spooled files are deleted by the same sweep.
+ */
+@Component
+public class ImageUploadPipeline {
+
+    private static final String SPOOL_FILE_PREFIX = "image-upload-";
+
+    private static final String SPOOL_FILE_SUFFIX = ".tmp";
+
+    private final Logger log = LoggerFactory.getLogger(ImageUploadPipeline.class);
+
+    private final CloudStorage cloudStorage;
+
+    private final ImageStorageRepository imageStorageRepository;
+
+    private final ImageVariantGenerator imageVariantGenerator;
+
+    private final TaskExecutor imageUploadExecutor;
+
+    private final TaskScheduler taskScheduler;
+
+    private final TransactionTemplate newTransactionTemplate;
+
+    private final ApplicationProperties.ImageUpload imageUploadProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final String spoolHost;
+
+    public ImageUploadPipeline(
+        CloudStorage cloudStorage,
+        ImageStorageRepository imageStorageRepository,
+        ImageVariantGenerator imageVariantGenerator,
+        @Qualifier("imageUploadExecutor") TaskExecutor imageUploadExecutor,
+        TaskScheduler taskScheduler,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.cloudStorage = cloudStorage;
+        this.imageStorageRepository = imageStorageRepository;
+        this.imageVariantGenerator = imageVariantGenerator;
+        this.imageUploadExecutor = imageUploadExecutor;
+        this.taskScheduler = taskScheduler;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.imageUploadProperties = applicationProperties.getImageUpload();
+        this.meterRegistry = meterRegistry;
+        this.spoolHost = getSpoolHost(imageUploadProperties);
+    }
+
+    private String getSpoolHost(ApplicationProperties.ImageUpload imageUploadProperties) {
+        if (imageUploadProperties.getSpoolHost() != null && !imageUploadProperties.getSpoolHost().isEmpty()) {
+            return imageUploadProperties.getSpoolHost();
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            log.warn("Cannot get the host name, the uploads are spooled on localhost: {}", e.getMessage());
+            return "localhost";
+        }
+    }
+
+    /**
+     * @return the host the images are spooled on, only its instances resume their uploads.
+     */
+    public String getSpoolHost() {
+        return spoolHost;
+    }
+
+    /**
+     * Copy the uploaded file to the spool directory, the multipart being deleted at the end of the request.
+     * The content is hashed during the copy.
+     *
+     * @param multipartFile the uploaded file.
+     * @return the spooled image.
+     * @throws IOException if the file cannot be copied.
+     */
+    public SpooledImage spool(MultipartFile multipartFile) throws IOException {
+        Path spoolDirectory = Files.createDirectories(Paths.get(imageUploadProperties.getSpoolDirectory()));
+        Path file = Files.createTempFile(spoolDirectory, SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream inputStream = new DigestInputStream(multipartFile.getInputStream(), digest)) {
+                size = Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new SpooledImage(file, String.format("%064x", new BigInteger(1, digest.digest())), size);
+        } catch (NoSuchAlgorithmException e) {
+            delete(file);
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        } catch (IOException | RuntimeException e) {
+            delete(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Drop an image whose content is already stored, instead of uploading it again.
+     *
+     * @param image the spooled image.
+     */
+    public void discard(SpooledImage image) {
+        log.debug("Skipping the upload of {}, already stored", image);
+        recordBytes(image, "deduplicated");
+        delete(image.getFile());
+    }
+
+    /**
+     * Start the upload after the commit of the current transaction, or right away without transaction.
+     * The spooled file is deleted if the transaction rolls back.
+     *
+     * @param upload the upload to start.
+     */
+    public void uploadAfterCommit(ImageUpload upload) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(upload, 1);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                submit(upload, 1);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                    delete(upload.getFile());
+                }
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepOnStartup() {
+        sweep();
+    }
+
+    /**
+     * Resume the stale PENDING uploads spooled on this host, or mark them FAILED when their spooled file is lost, then
+     * delete the stale spooled files no PENDING image storage refers to. The uploads still running are not stale yet,
+     * the uploads spooled on the other hosts are left to their instances, and each stale image storage is claimed by a
+     * single instance.
+     */
+    @Scheduled(
+        initialDelayString = "${application.image-upload.sweep-interval-millis:300000}",
+        fixedDelayString = "${application.image-upload.sweep-interval-millis:300000}"
+    )
+    public void sweep() {
+        Instant now = Instant.now();
+        Instant spooledBefore = now.minusMillis(imageUploadProperties.getStalePendingMillis());
+        List<ImageStorage> staleImageStorages;
+        try {
+            staleImageStorages = imageStorageRepository
+                .findAllByStatusAndSpoolHostAndSpooledBefore(ImageStorageStatus.PENDING, spoolHost, spooledBefore);
+        } catch (RuntimeException e) {
+            log.warn("Cannot sweep the PENDING image storages: {}", e.getMessage());
+            return;
+        }
+        for (ImageStorage imageStorage : staleImageStorages) {
+            try {
+                if (claim(imageStorage.getId(), spooledBefore, now)) {
+                    resume(imageStorage);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Cannot resume the upload of {}: {}", imageStorage, e.getMessage());
+            }
+        }
+        deleteOrphanedSpoolFiles(spooledBefore);
+    }
+
+    private boolean claim(Long imageStorageId, Instant spooledBefore, Instant now) {
+        Integer claimed = newTransactionTemplate.execute(transactionStatus ->
+            imageStorageRepository.claimStale(imageStorageId, ImageStorageStatus.PENDING, spooledBefore, now));
+        return claimed != null && claimed == 1;
+    }
+
+    private void resume(ImageStorage imageStorage) {
+        Path file = imageStorage.getSpoolPath() == null ? null : Paths.get(imageStorage.getSpoolPath());
+        long size;
+        try {
+            if (file == null || imageStorage.getContentHash() == null) {
+                throw new IOException("no spooled file");
+            }
+            size = Files.size(file);
+        } catch (IOException e) {
+            log.error("Cannot resume the upload of {}, the spooled file is lost: {}", imageStorage, e.getMessage());
+            updateStatus(imageStorage.getId(), ImageStorageStatus.FAILED, Collections.emptyMap());
+            return;
+        }
+        ImageUpload upload = new ImageUpload(
+            imageStorage.getId(),
+            imageStorage.getContentHash(),
+            imageStorage.getFileType(),
+            new SpooledImage(file, imageStorage.getContentHash(), size)
+        );
+        log.info("Resuming {}", upload);
+        submit(upload, 1);
+    }
+
+    private void deleteOrphanedSpoolFiles(Instant spooledBefore) {
+        Path spoolDirectory = Paths.get(imageUploadProperties.getSpoolDirectory());
+        if (!Files.isDirectory(spoolDirectory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(spoolDirectory)) {
+            Set<Path> pendingFiles = imageStorageRepository.findAllSpoolPathsByStatus(ImageStorageStatus.PENDING).stream()
+                .map(spoolPath -> Paths.get(spoolPath).toAbsolutePath().normalize())
+                .collect(Collectors.toSet());
+            files
+                .filter(file -> file.getFileName().toString().startsWith(SPOOL_FILE_PREFIX))
+                .filter(file -> file.getFileName().toString().endsWith(SPOOL_FILE_SUFFIX))
+                .filter(file -> !pendingFiles.contains(file.toAbsolutePath().normalize()))
+                .filter(file -> isModifiedBefore(file, spooledBefore))
+                .forEach(file -> {
+                    log.info("Deleting the orphaned spooled file {}", file);
+                    delete(file);
+                });
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot delete the orphaned spooled files: {}", e.getMessage());
+        }
+    }
+
+    private boolean isModifiedBefore(Path file, Instant instant) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(instant);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void submit(ImageUpload upload, int attempt) {
+        try {
+            imageUploadExecutor.execute(() -> upload(upload, attempt));
+        } catch (TaskRejectedException e) {
+            retryOrFail(upload, attempt, e);
+        }
+    }
+
+    private void upload(ImageUpload upload, int attempt) {
+        log.debug("Uploading {}, attempt {}", upload, attempt);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Map<Integer, String> variants;
+        try {
+            cloudStorage.store(upload.getObjectName(), upload.getContentType(), upload.getFile());
+            variants = imageVariantGenerator.storeVariants(upload);
+        } catch (IOException | RuntimeException e) {
+            sample.stop(getUploadTimer("failure"));
+            retryOrFail(upload, attempt, e);
+            return;
+        }
+        sample.stop(getUploadTimer("success"));
+        recordBytes(upload.getImage(), "uploaded");
+        complete(upload, ImageStorageStatus.READY, variants);
+    }
+
+    private Timer getUploadTimer(String outcome) {
+        return Timer.builder("image.upload.duration")
+            .description("Duration of the uploads of the images to the cloud storage")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private void recordBytes(SpooledImage image, String transfer) {
+        DistributionSummary.builder("image.upload.bytes")
+            .description("Size of the images uploaded to the cloud storage, or deduplicated")
+            .baseUnit("bytes")
+            .tag("transfer", transfer)
+            .register(meterRegistry)
+            .record(image.getSize());
+    }
+
+    private void retryOrFail(ImageUpload upload, int attempt, Exception e) {
+        if (attempt >= imageUploadProperties.getMaxAttempts()) {
+            log.error("Cannot upload {} after {} attempts: {}", upload, attempt, e.getMessage());
+            complete(upload, ImageStorageStatus.FAILED, Collections.emptyMap());
+            return;
+        }
+        long backoffMillis = getBackoffMillis(attempt);
+        log.warn("Cannot upload {}, attempt {} retried in {} ms: {}", upload, attempt, backoffMillis, e.getMessage());
+        taskScheduler.schedule(() -> submit(upload, attempt + 1), Instant.now().plusMillis(backoffMillis));
+    }
+
+    private long getBackoffMillis(int attempt) {
+        long backoffMillis = imageUploadProperties.getInitialBackoffMillis() << Math.min(attempt - 1, 30);
+        return Math.min(backoffMillis, imageUploadProperties.getMaxBackoffMillis());
+    }
+
+    /**
+     * Update the status of the image storage, the spooled file being kept for the sweep if the update fails.
+     */
+    private void complete(ImageUpload upload, ImageStorageStatus status, Map<Integer, String> variants) {
+        if (updateStatus(upload.getImageStorageId(), status, variants)) {
+            delete(upload.getFile());
+        }
+    }
+
+    private boolean updateStatus(Long imageStorageId, ImageStorageStatus status, Map<Integer, String> variants) {
+        try {
+            newTransactionTemplate.execute(transactionStatus -> {
+                imageStorageRepository.findById(imageStorageId).ifPresent(imageStorage -> {
+                    imageStorage.setStatus(status);
+                    imageStorage.setSpoolPath(null);
+                    imageStorage.getVariants().clear();
+                    imageStorage.getVariants().putAll(variants);
+                });
+                return null;
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Cannot mark the image storage {} as {}: {}", imageStorageId, status, e.getMessage());
+            return false;
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Cannot delete the spooled file {}: {}", file, e.getMessage());
+        }
+    }
+}
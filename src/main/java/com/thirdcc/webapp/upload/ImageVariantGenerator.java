@@ -0,0 +1,155 @@
+package com.thirdcc.webapp.upload;
+
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.lib.wrapper.CloudStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Stores the downsized JPEG copies of an image, for the clients rendering it smaller than its original size.
+ * <p>
+ * Only the widths smaller than the image are generated, and the files which cannot be decoded as an image have none.
+ */
+@Component
+public class ImageVariantGenerator {
+
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+
+    private final Logger log = LoggerFactory.getLogger(ImageVariantGenerator.class);
+
+    private final CloudStorage cloudStorage;
+
+    private final ApplicationProperties.ImageUpload imageUploadProperties;
+
+    public ImageVariantGenerator(CloudStorage cloudStorage, ApplicationProperties applicationProperties) {
+        this.cloudStorage = cloudStorage;
+        this.imageUploadProperties = applicationProperties.getImageUpload();
+    }
+
+    /**
+     * Store the variants of the uploaded image.
+     *
+     * @param upload the upload of the original image.
+     * @return the urls of the variants by width.
+     * @throws IOException if a variant cannot be stored.
+     */
+    public Map<Integer, String> storeVariants(ImageUpload upload) throws IOException {
+        Map<Integer, String> variants = new TreeMap<>();
+        BufferedImage image = read(upload.getFile());
+        if (image == null) {
+            log.debug("No variants of {}, not a supported image", upload);
+            return variants;
+        }
+        for (int width : getVariantWidths(image.getWidth())) {
+            String objectName = upload.getObjectName() + "-" + width + ".jpg";
+            Path file = Files.createTempFile(upload.getFile().getParent(), "image-variant-", ".jpg");
+            try {
+                writeJpeg(resize(image, width), file);
+                cloudStorage.store(objectName, VARIANT_CONTENT_TYPE, file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+            variants.put(width, cloudStorage.getUrl(objectName));
+        }
+        return variants;
+    }
+
+    private List<Integer> getVariantWidths(int imageWidth) {
+        return imageUploadProperties.getVariantWidths().stream()
+            .filter(width -> width > 0 && width < imageWidth)
+            .distinct()
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Decode the image, subsampled down to about twice the largest variant to bound the memory used by the photos.
+     */
+    private BufferedImage read(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int imageWidth = reader.getWidth(0);
+                List<Integer> widths = getVariantWidths(imageWidth);
+                if (widths.isEmpty()) {
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, imageWidth / (2 * widths.get(widths.size() - 1)));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                // still at least twice as wide as the largest variant, so the same variants are picked
+                return reader.read(0, param);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Cannot decode the image {}: {}", file, e.getMessage());
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale down by successive halvings, a single bilinear pass losing the details of the large reductions.
+     */
+    private BufferedImage resize(BufferedImage image, int width) {
+        int height = Math.max(1, (int) Math.round((double) image.getHeight() * width / image.getWidth()));
+        BufferedImage current = image;
+        do {
+            int stepWidth = Math.max(width, current.getWidth() / 2);
+            int stepHeight = stepWidth == width ? height : Math.max(height, current.getHeight() / 2);
+            BufferedImage step = new BufferedImage(stepWidth, stepHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                // JPEG has no alpha channel, the transparent areas are rendered on white
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, stepWidth, stepHeight);
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(current, 0, 0, stepWidth, stepHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (current.getWidth() > width);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(imageUploadProperties.getVariantQuality());
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
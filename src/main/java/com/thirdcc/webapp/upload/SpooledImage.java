@@ -0,0 +1,45 @@
+package com.thirdcc.webapp.upload;
+
+import java.nio.file.Path;
+
+/**
+ * An uploaded image copied to the spool directory, with the SHA-256 of its content computed during the copy.
+ */
+public final class SpooledImage {
+
+    private final Path file;
+
+    private final String contentHash;
+
+    private final long size;
+
+    public SpooledImage(Path file, String contentHash, long size) {
+        this.file = file;
+        this.contentHash = contentHash;
+        this.size = size;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return the lowercase hexadecimal SHA-256 of the content.
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "SpooledImage{" +
+            "file=" + file +
+            ", contentHash='" + contentHash + "'" +
+            ", size=" + size +
+            "}";
+    }
+}
@@ -0,0 +1,250 @@
+package com.thirdcc.webapp.warmup;
+
+import com.thirdcc.webapp.authorization.AuthorizationCache;
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.domain.Administrator;
+import com.thirdcc.webapp.domain.YearSession;
+import com.thirdcc.webapp.domain.enumeration.AdministratorStatus;
+import com.thirdcc.webapp.repository.AdministratorRepository;
+import com.thirdcc.webapp.service.EventService;
+import com.thirdcc.webapp.service.ReferenceDataService;
+import com.thirdcc.webapp.service.YearSessionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the cache regions and exercises the main read endpoints in-process once the application is started.
+ * <p>
+ * The steps run in the background, within the configured time budget, and the {@link WarmUpHealthIndicator}
+ * reports the instance out of service until they are finished or the budget is spent, so neither the load balancer
+ * nor Eureka route traffic to a cold instance.
+ */
+@Component
+public class CacheWarmUp {
+
+    static final String CURRENT_YEAR_SESSION = "current-year-session";
+    static final String REFERENCE_DATA = "reference-data";
+    static final String UPCOMING_EVENTS = "upcoming-events";
+    static final String ACTIVE_ADMINISTRATORS = "active-administrators";
+    static final String READ_ENDPOINTS = "read-endpoints";
+
+    /**
+     * Page size of the in-process calls, the default page size of the REST endpoints.
+     */
+    private static final int ENDPOINT_PAGE_SIZE = 20;
+
+    enum Status {
+        DISABLED, PENDING, RUNNING, COMPLETED, TIMED_OUT
+    }
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUp.class);
+
+    private final boolean enabled;
+
+    private final Map<String, Runnable> steps;
+
+    private final Duration timeBudget;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Executor executor;
+
+    private final AtomicInteger finishedSteps = new AtomicInteger();
+
+    private volatile Status status;
+
+    private volatile String currentStep;
+
+    private volatile long deadline;
+
+    @Autowired
+    public CacheWarmUp(
+        ApplicationProperties applicationProperties,
+        YearSessionService yearSessionService,
+        ReferenceDataService referenceDataService,
+        EventService eventService,
+        AdministratorRepository administratorRepository,
+        AuthorizationCache authorizationCache,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Qualifier("taskExecutor") Executor executor
+    ) {
+        this(
+            applicationProperties.getWarmUp().isEnabled(),
+            createSteps(applicationProperties.getWarmUp(), yearSessionService, referenceDataService, eventService,
+                administratorRepository, authorizationCache, objectMapper),
+            Duration.ofSeconds(applicationProperties.getWarmUp().getTimeBudgetSeconds()),
+            meterRegistry,
+            executor
+        );
+    }
+
+    CacheWarmUp(boolean enabled, Map<String, Runnable> steps, Duration timeBudget, MeterRegistry meterRegistry, Executor executor) {
+        this.enabled = enabled;
+        this.steps = Collections.unmodifiableMap(new LinkedHashMap<>(steps));
+        this.timeBudget = timeBudget;
+        this.meterRegistry = meterRegistry;
+        this.executor = executor;
+        this.status = enabled ? Status.PENDING : Status.DISABLED;
+        Gauge.builder("warmup.progress", this, CacheWarmUp::getProgress)
+            .description("Fraction of the warm-up steps finished, whether they succeeded, failed or were skipped")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Warm-up disabled");
+            return;
+        }
+        log.info("Warm-up of {} within {} seconds", steps.keySet(), timeBudget.getSeconds());
+        deadline = System.nanoTime() + timeBudget.toNanos();
+        status = Status.RUNNING;
+        executor.execute(this::run);
+    }
+
+    /**
+     * @return whether the instance can serve traffic: the warm-up is disabled, finished, or out of time budget.
+     */
+    public boolean isFinished() {
+        Status current = getStatus();
+        return current == Status.DISABLED || current == Status.COMPLETED || current == Status.TIMED_OUT;
+    }
+
+    Status getStatus() {
+        Status current = status;
+        if (current == Status.RUNNING && isOutOfTimeBudget()) {
+            // the running step is left to complete, but no longer holds the instance back
+            return Status.TIMED_OUT;
+        }
+        return current;
+    }
+
+    Optional<String> getCurrentStep() {
+        return Optional.ofNullable(currentStep);
+    }
+
+    double getProgress() {
+        if (!enabled || steps.isEmpty()) {
+            return 1.0;
+        }
+        return (double) finishedSteps.get() / steps.size();
+    }
+
+    void run() {
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        for (Map.Entry<String, Runnable> step : steps.entrySet()) {
+            if (isOutOfTimeBudget()) {
+                timedOut = true;
+                log.warn("Warm-up step {} skipped, time budget of {} seconds spent", step.getKey(), timeBudget.getSeconds());
+                recordStep(step.getKey(), "skipped", 0L);
+                continue;
+            }
+            currentStep = step.getKey();
+            long stepStart = System.nanoTime();
+            String outcome = "success";
+            try {
+                step.getValue().run();
+            } catch (RuntimeException e) {
+                outcome = "failure";
+                log.warn("Warm-up step {} failed: {}", step.getKey(), e.getMessage());
+            }
+            recordStep(step.getKey(), outcome, System.nanoTime() - stepStart);
+        }
+        currentStep = null;
+        status = timedOut || isOutOfTimeBudget() ? Status.TIMED_OUT : Status.COMPLETED;
+        long duration = System.nanoTime() - start;
+        meterRegistry.timer("warmup.duration", "status", status.name().toLowerCase()).record(duration, TimeUnit.NANOSECONDS);
+        log.info("Warm-up {} in {} ms", status.name().toLowerCase(), TimeUnit.NANOSECONDS.toMillis(duration));
+    }
+
+    private boolean isOutOfTimeBudget() {
+        return System.nanoTime() - deadline >= 0;
+    }
+
+    private void recordStep(String step, String outcome, long durationNanos) {
+        meterRegistry.timer("warmup.step", "step", step, "outcome", outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+        finishedSteps.incrementAndGet();
+    }
+
+    private static Map<String, Runnable> createSteps(
+        ApplicationProperties.WarmUp warmUp,
+        YearSessionService yearSessionService,
+        ReferenceDataService referenceDataService,
+        EventService eventService,
+        AdministratorRepository administratorRepository,
+        AuthorizationCache authorizationCache,
+        ObjectMapper objectMapper
+    ) {
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+        for (String region : warmUp.getRegions()) {
+            switch (region) {
+                case CURRENT_YEAR_SESSION:
+                    steps.put(region, yearSessionService::findCurrentYearSession);
+                    break;
+                case REFERENCE_DATA:
+                    steps.put(region, referenceDataService::getReferenceData);
+                    break;
+                case UPCOMING_EVENTS:
+                    steps.put(region, () -> eventService.findAllUpcomingEvents(PageRequest.of(0, warmUp.getUpcomingEventsPageSize())));
+                    break;
+                case ACTIVE_ADMINISTRATORS:
+                    steps.put(region, () -> yearSessionService.findCurrentYearSession()
+                        .map(YearSession::getValue)
+                        .ifPresent(yearSession -> administratorRepository
+                            .findAllByYearSessionAndStatus(yearSession, AdministratorStatus.ACTIVE)
+                            .stream()
+                            .map(Administrator::getUserId)
+                            .distinct()
+                            .forEach(userId -> {
+                                administratorRepository.findAllByUserId(userId);
+                                authorizationCache.get(userId, yearSession);
+                            })));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown warm-up region: " + region);
+            }
+        }
+        if (warmUp.getEndpointIterations() > 0) {
+            steps.put(READ_ENDPOINTS, () -> {
+                for (int i = 0; i < warmUp.getEndpointIterations(); i++) {
+                    // serialized as the REST resources would, to also warm up the Jackson serializers
+                    serialize(objectMapper, eventService.findAllUpcomingEvents(PageRequest.of(0, ENDPOINT_PAGE_SIZE)).getContent());
+                    serialize(objectMapper, eventService.findAllPastEvents(PageRequest.of(0, ENDPOINT_PAGE_SIZE)).getContent());
+                    serialize(objectMapper, referenceDataService.getReferenceData());
+                    serialize(objectMapper, yearSessionService.findCurrentYearSession().orElse(null));
+                }
+            });
+        }
+        return steps;
+    }
+
+    private static void serialize(ObjectMapper objectMapper, Object value) {
+        try {
+            objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.thirdcc.webapp.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs the duration of the startup phases, and exports them as the {@code startup.phase.duration} gauge tagged by phase.
+ * <p>
+ * The {@value #STARTED} and {@value #READY} phases are measured from the start of the JVM, the initializations of the
+ * clients of the external services by themselves.
+ */
+@Component
+public class StartupTimings {
+
+    public static final String STARTED = "started";
+
+    public static final String READY = "ready";
+
+    private final Logger log = LoggerFactory.getLogger(StartupTimings.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, AtomicLong> durations = new ConcurrentHashMap<>();
+
+    public StartupTimings(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onStarted() {
+        record(STARTED, getUptime());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        record(READY, getUptime());
+    }
+
+    /**
+     * Record the duration of a startup phase, replacing the previous one.
+     *
+     * @param phase the name of the phase.
+     * @param duration the duration of the phase.
+     */
+    public void record(String phase, Duration duration) {
+        log.info("Startup phase {} took {} ms", phase, duration.toMillis());
+        durations.computeIfAbsent(phase, key -> {
+            AtomicLong nanos = new AtomicLong();
+            TimeGauge.builder("startup.phase.duration", nanos, TimeUnit.NANOSECONDS, AtomicLong::doubleValue)
+                .description("Duration of the startup phases")
+                .tag("phase", key)
+                .register(meterRegistry);
+            return nanos;
+        }).set(duration.toNanos());
+    }
+
+    public Optional<Duration> getDuration(String phase) {
+        return Optional.ofNullable(durations.get(phase)).map(nanos -> Duration.ofNanos(nanos.get()));
+    }
+
+    private static Duration getUptime() {
+        return Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+}
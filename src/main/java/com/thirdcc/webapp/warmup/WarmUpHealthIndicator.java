@@ -0,0 +1,29 @@
+package com.thirdcc.webapp.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the instance {@code OUT_OF_SERVICE} until the {@link CacheWarmUp} is finished, which Eureka also uses as the
+ * status of the instance through its health check handler.
+ */
+@Component
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmUp cacheWarmUp;
+
+    public WarmUpHealthIndicator(CacheWarmUp cacheWarmUp) {
+        this.cacheWarmUp = cacheWarmUp;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmUp.isFinished() ? Health.up() : Health.outOfService();
+        builder
+            .withDetail("status", cacheWarmUp.getStatus())
+            .withDetail("progress", cacheWarmUp.getProgress());
+        cacheWarmUp.getCurrentStep().ifPresent(step -> builder.withDetail("step", step));
+        return builder.build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.thirdcc.webapp.web.rest;
+
+import com.thirdcc.webapp.service.EventWaitlistService;
+import com.thirdcc.webapp.web.rest.errors.BadRequestAlertException;
+import com.thirdcc.webapp.service.dto.EventWaitlistEntryDTO;
+
+import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.PaginationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+
+/**
+ * REST controller for managing {@link com.thirdcc.webapp.domain.EventWaitlistEntry}.
+ */
+@RestController
+@RequestMapping("/api")
+public class EventWaitlistEntryResource {
+
+    private final Logger log = LoggerFactory.getLogger(EventWaitlistEntryResource.class);
+
+    private static final String ENTITY_NAME = "eventWaitlistEntry";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final EventWaitlistService eventWaitlistService;
+
+    public EventWaitlistEntryResource(EventWaitlistService eventWaitlistService) {
+        this.eventWaitlistService = eventWaitlistService;
+    }
+
+    /**
+     * {@code POST  /event-waitlist-entries} : Join the waitlist of an event.
+     *
+     * @param eventWaitlistEntryDTO the eventWaitlistEntryDTO to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new eventWaitlistEntryDTO, or with status {@code 400 (Bad Request)} if the eventWaitlistEntry has already an ID.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/event-waitlist-entries")
+    public ResponseEntity<EventWaitlistEntryDTO> createEventWaitlistEntry(@RequestBody EventWaitlistEntryDTO eventWaitlistEntryDTO) throws URISyntaxException {
+        log.debug("REST request to save EventWaitlistEntry : {}", eventWaitlistEntryDTO);
+        if (eventWaitlistEntryDTO.getId() != null) {
+            throw new BadRequestAlertException("A new eventWaitlistEntry cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        EventWaitlistEntryDTO result = eventWaitlistService.save(eventWaitlistEntryDTO);
+        return ResponseEntity.created(new URI("/api/event-waitlist-entries/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code GET  /event-waitlist-entries/event/{eventId}} : get the waitlist of the "eventId" event in the order of promotion.
+     *
+     * @param eventId the id of the event to retrieve the waitlist of.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of eventWaitlistEntries in body.
+     */
+    @GetMapping("/event-waitlist-entries/event/{eventId}")
+    @PreAuthorize("@managementTeamSecurityExpression.isEventCrew(#eventId) || @managementTeamSecurityExpression.isCurrentAdministrator()")
+    public ResponseEntity<List<EventWaitlistEntryDTO>> getAllEventWaitlistEntriesByEventId(Pageable pageable, @PathVariable Long eventId, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder) {
+        log.debug("REST request to get a page of EventWaitlistEntries of Event : {}", eventId);
+        Page<EventWaitlistEntryDTO> page = eventWaitlistService.findAllByEventId(pageable, eventId);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code DELETE  /event-waitlist-entries/:id} : leave the waitlist, delete the "id" eventWaitlistEntry.
+     *
+     * @param id the id of the eventWaitlistEntryDTO to delete.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/event-waitlist-entries/{id}")
+    public ResponseEntity<Void> deleteEventWaitlistEntry(@PathVariable Long id) {
+        log.debug("REST request to delete EventWaitlistEntry : {}", id);
+        eventWaitlistService.delete(id);
+        return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
+    }
+}
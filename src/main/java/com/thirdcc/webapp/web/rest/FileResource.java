@@ -0,0 +1,164 @@
+package com.thirdcc.webapp.web.rest;
+
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.config.Constants;
+import com.thirdcc.webapp.lib.wrapper.LocalFileCloudStorage;
+import com.thirdcc.webapp.upload.ImageContentTypes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST controller serving the files of the {@link LocalFileCloudStorage}.
+ * <p>
+ * The files are sent with {@link FileChannel#transferTo}, in whole or by a single byte range. They are stored under the
+ * hash of their content and cached by the clients for {@code application.local-storage.cache-max-age-seconds}.
+ * <p>
+ * The files are served from the origin of the application without authentication: only the raster image types of
+ * {@link ImageContentTypes} are served as such, the other files are downloaded as {@code application/octet-stream}.
+ * The {@code Content-Security-Policy: sandbox} of these responses is set by the {@code SecurityConfiguration}.
+ */
+@RestController
+@RequestMapping("/api")
+@Profile(Constants.SPRING_PROFILE_LOCAL_STORAGE)
+public class FileResource {
+
+    private final Logger log = LoggerFactory.getLogger(FileResource.class);
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final LocalFileCloudStorage localFileCloudStorage;
+
+    private final String cacheControl;
+
+    public FileResource(LocalFileCloudStorage localFileCloudStorage, ApplicationProperties applicationProperties) {
+        this.localFileCloudStorage = localFileCloudStorage;
+        this.cacheControl = CacheControl
+            .maxAge(applicationProperties.getLocalStorage().getCacheMaxAgeSeconds(), TimeUnit.SECONDS)
+            .cachePublic()
+            .getHeaderValue() + ", immutable";
+    }
+
+    /**
+     * {@code GET  /files/:objectName} : get the stored file.
+     * <p>
+     * A single {@code Range} is answered with its bytes, several ranges with the whole file. The {@code ETag} and
+     * {@code Last-Modified} are checked against {@code If-None-Match}, {@code If-Modified-Since} and {@code If-Range}.
+     *
+     * @param request the request, its path being the object name.
+     * @param response the response the file is written to, with status {@code 200 (OK)}, {@code 206 (Partial Content)},
+     * {@code 304 (Not Modified)} or {@code 416 (Requested Range Not Satisfiable)}, or {@code 404 (Not Found)}.
+     * @throws IOException if the file cannot be sent.
+     */
+    @GetMapping("/files/**")
+    public void getFile(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String objectName = pathMatcher.extractPathWithinPattern(
+            (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+            (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE)
+        );
+        log.debug("REST request to get File : {}", objectName);
+        Path file = localFileCloudStorage.getFile(objectName)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long lastModified = file.toFile().lastModified();
+            String eTag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+                return;
+            }
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            Optional<String> imageContentType = localFileCloudStorage.getContentType(objectName).flatMap(ImageContentTypes::getAllowed);
+            if (imageContentType.isPresent()) {
+                response.setContentType(imageContentType.get());
+            } else {
+                response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment").build().toString());
+            }
+
+            long start = 0;
+            long end = size - 1;
+            HttpRange range = getRange(request, eTag, lastModified);
+            if (range != null) {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+                if (start >= size || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            }
+            long count = end - start + 1;
+            response.setContentLengthLong(count);
+            if (HttpMethod.HEAD.matches(request.getMethod())) {
+                return;
+            }
+
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, target);
+            }
+        }
+    }
+
+    /**
+     * Get the single range requested, ignored if {@code If-Range} does not match the current version of the file.
+     */
+    private HttpRange getRange(HttpServletRequest request, String eTag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(eTag)) {
+            long ifRangeDate;
+            try {
+                ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            if (ifRangeDate / 1000 != lastModified / 1000) {
+                return null;
+            }
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+}
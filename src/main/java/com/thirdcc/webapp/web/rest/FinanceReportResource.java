@@ -1,6 +1,8 @@
 package com.thirdcc.webapp.web.rest;
 
 import com.thirdcc.webapp.domain.enumeration.TransactionType;
+import com.thirdcc.webapp.security.AuthoritiesConstants;
+import com.thirdcc.webapp.service.EventFinanceSummaryService;
 import com.thirdcc.webapp.service.FinanceReportService;
 import com.thirdcc.webapp.service.YearSessionService;
 import com.thirdcc.webapp.service.dto.FinanceReportDTO;
@@ -39,9 +41,16 @@ public class FinanceReportResource {
 
     private final YearSessionService yearSessionService;
 
-    public FinanceReportResource(FinanceReportService financeReportService, YearSessionService yearSessionService) {
+    private final EventFinanceSummaryService eventFinanceSummaryService;
+
+    public FinanceReportResource(
+        FinanceReportService financeReportService,
+        YearSessionService yearSessionService,
+        EventFinanceSummaryService eventFinanceSummaryService
+    ) {
         this.financeReportService = financeReportService;
         this.yearSessionService = yearSessionService;
+        this.eventFinanceSummaryService = eventFinanceSummaryService;
     }
 
     @GetMapping("/finance-report")
@@ -88,4 +97,20 @@ public class FinanceReportResource {
         FinanceReportStatisticDTO result = financeReportService.getFinanceReportStatisticOfCurrentYearSession();
         return ResponseEntity.ok().headers(null).body(result);
     }
+
+    @PostMapping("/finance-report/summary/rebuild")
+    @PreAuthorize("hasRole(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Integer> rebuildEventFinanceSummary() {
+        log.debug("REST request to rebuild all EventFinanceSummary");
+        int result = eventFinanceSummaryService.rebuildAll();
+        return ResponseEntity.ok().body(result);
+    }
+
+    @GetMapping("/finance-report/summary/inconsistencies")
+    @PreAuthorize("hasRole(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<Long>> getInconsistentEventFinanceSummary() {
+        log.debug("REST request to check consistency of EventFinanceSummary");
+        List<Long> result = eventFinanceSummaryService.checkConsistency(false);
+        return ResponseEntity.ok().body(result);
+    }
 }
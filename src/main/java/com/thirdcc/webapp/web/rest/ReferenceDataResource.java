@@ -0,0 +1,55 @@
+package com.thirdcc.webapp.web.rest;
+
+import com.thirdcc.webapp.service.ReferenceDataService;
+import com.thirdcc.webapp.service.dto.ReferenceDataDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * REST controller for reading the {@link com.thirdcc.webapp.domain.Faculty} and
+ * {@link com.thirdcc.webapp.domain.CourseProgram} reference data as a whole.
+ */
+@RestController
+@RequestMapping("/api")
+public class ReferenceDataResource {
+
+    private final Logger log = LoggerFactory.getLogger(ReferenceDataResource.class);
+
+    private final ReferenceDataService referenceDataService;
+
+    public ReferenceDataResource(ReferenceDataService referenceDataService) {
+        this.referenceDataService = referenceDataService;
+    }
+
+    /**
+     * {@code GET  /reference-data} : get the versioned catalogue of faculties and course programs.
+     * <p>
+     * The version is returned as the {@code ETag}, clients sending it back in {@code If-None-Match} only download the
+     * catalogue again once it changed.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the catalogue in body,
+     * or with status {@code 304 (Not Modified)} if the catalogue of the client is current.
+     */
+    @GetMapping("/reference-data")
+    public ResponseEntity<ReferenceDataDTO> getReferenceData(WebRequest webRequest) {
+        log.debug("REST request to get ReferenceData");
+        if (webRequest.checkNotModified(toETag(referenceDataService.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        ReferenceDataDTO referenceDataDTO = referenceDataService.getReferenceData();
+        return ResponseEntity.ok()
+            .eTag(toETag(referenceDataDTO.getVersion()))
+            .cacheControl(CacheControl.noCache())
+            .body(referenceDataDTO);
+    }
+
+    private static String toETag(String version) {
+        return "\"" + version + "\"";
+    }
+}
@@ -2,8 +2,10 @@ package com.thirdcc.webapp.web.rest;
 
 import com.thirdcc.webapp.domain.enumeration.TransactionStatus;
 import com.thirdcc.webapp.security.AuthoritiesConstants;
+import com.thirdcc.webapp.service.TransactionExportService;
 import com.thirdcc.webapp.service.TransactionQueryService;
 import com.thirdcc.webapp.service.TransactionService;
+import com.thirdcc.webapp.service.YearSessionService;
 import com.thirdcc.webapp.service.criteria.TransactionCriteria;
 import com.thirdcc.webapp.service.dto.EventBudgetTotalDTO;
 import com.thirdcc.webapp.web.rest.errors.BadRequestAlertException;
@@ -24,6 +26,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -48,9 +51,20 @@ public class TransactionResource {
 
     private final TransactionQueryService transactionQueryService;
 
-    public TransactionResource(TransactionService transactionService, TransactionQueryService transactionQueryService) {
+    private final TransactionExportService transactionExportService;
+
+    private final YearSessionService yearSessionService;
+
+    public TransactionResource(
+        TransactionService transactionService,
+        TransactionQueryService transactionQueryService,
+        TransactionExportService transactionExportService,
+        YearSessionService yearSessionService
+    ) {
         this.transactionService = transactionService;
         this.transactionQueryService = transactionQueryService;
+        this.transactionExportService = transactionExportService;
+        this.yearSessionService = yearSessionService;
     }
 
     /**
@@ -139,4 +153,29 @@ public class TransactionResource {
         return ResponseEntity.ok()
             .body(result);
     }
+
+    /**
+     * {@code GET  /transactions/export} : export the transactions of a year session.
+     *
+     * @param yearSessionId the id of the year session, the default year session if not specified.
+     * @param format the format of the export, {@code CSV} or {@code XLSX}.
+     * @param response the response the transactions are streamed to as an attachment.
+     * @throws IOException if the export couldn't be written.
+     */
+    @GetMapping("/transactions/export")
+    @PreAuthorize("hasRole(\"" + AuthoritiesConstants.ADMIN + "\") || @managementTeamSecurityExpression.isCurrentAdministrator()")
+    public void exportTransactionsByYearSession(
+        @RequestParam(required = false) Long yearSessionId,
+        @RequestParam(defaultValue = "CSV") TransactionExportService.Format format,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export Transactions by yearSessionId: {} as {}", yearSessionId, format);
+        String yearSession = yearSessionId == null
+            ? yearSessionService.getDefaultYearSessionString()
+            : yearSessionService.getYearSessionStringById(yearSessionId);
+        String fileName = "transactions-" + yearSession.replace('/', '-') + "." + format.getExtension();
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        transactionExportService.exportByYearSession(yearSession, format, response.getOutputStream());
+    }
 }
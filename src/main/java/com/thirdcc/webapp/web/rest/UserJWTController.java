@@ -1,8 +1,10 @@
 package com.thirdcc.webapp.web.rest;
 
+import com.thirdcc.webapp.authorization.TokenPermissionsService;
 import com.thirdcc.webapp.exception.BadRequestException;
 import com.thirdcc.webapp.security.firebase.FirebaseService;
 import com.thirdcc.webapp.security.jwt.AccessTokenProvider;
+import com.thirdcc.webapp.security.jwt.TokenPermissions;
 import com.thirdcc.webapp.security.jwt.JWTFilter;
 import com.thirdcc.webapp.service.UserService;
 import com.thirdcc.webapp.utils.FirebaseUtils;
@@ -42,18 +44,22 @@ public class UserJWTController {
 
     private final UserService userService;
 
+    private final TokenPermissionsService tokenPermissionsService;
+
     public UserJWTController(
         AccessTokenProvider accessTokenProvider,
         RefreshTokenProvider refreshTokenProvider,
         AuthenticationManagerBuilder authenticationManagerBuilder,
         FirebaseService firebaseService,
-        UserService userService
+        UserService userService,
+        TokenPermissionsService tokenPermissionsService
     ) {
         this.accessTokenProvider = accessTokenProvider;
         this.refreshTokenProvider = refreshTokenProvider;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
         this.firebaseService = firebaseService;
         this.userService = userService;
+        this.tokenPermissionsService = tokenPermissionsService;
     }
 
     @PostMapping("/authenticate")
@@ -84,7 +90,8 @@ public class UserJWTController {
 
     private ResponseEntity<JWTToken> generateJwtToken(Authentication authentication) {
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String accessToken = accessTokenProvider.createToken(authentication);
+        TokenPermissions tokenPermissions = tokenPermissionsService.getTokenPermissions(authentication.getName()).orElse(null);
+        String accessToken = accessTokenProvider.createToken(authentication, tokenPermissions);
         String refreshToken = refreshTokenProvider.createToken(authentication);
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + accessToken);
@@ -0,0 +1,156 @@
+package com.thirdcc.webapp.aop.singleflight;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the {@link SingleFlightAspect}.
+ */
+public class SingleFlightAspectTest {
+
+    private static final int CALLERS = 8;
+
+    private MeterRegistry meterRegistry;
+
+    private Lookup lookup;
+
+    private Lookup proxy;
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        lookup = new Lookup();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(lookup);
+        proxyFactory.addAspect(new SingleFlightAspect(meterRegistry));
+        proxy = proxyFactory.getProxy();
+        executorService = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        lookup.release.countDown();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void concurrentCallsWithEqualArguments_ShouldShareOneExecution() throws Exception {
+        List<Future<String>> results = callConcurrently(() -> proxy.find(1L));
+        awaitCallersJoined(CALLERS);
+        lookup.release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value-1");
+        }
+        assertThat(lookup.executions.get()).isEqualTo(1);
+        DistributionSummary callers = meterRegistry.get("singleflight.callers").tag("flight", "lookup").summary();
+        assertThat(callers.count()).isEqualTo(1L);
+        assertThat(callers.totalAmount()).isEqualTo(CALLERS);
+    }
+
+    @Test
+    public void callsWithDifferentArguments_ShouldNotShareExecution() throws Exception {
+        lookup.release.countDown();
+
+        assertThat(proxy.find(1L)).isEqualTo("value-1");
+        assertThat(proxy.find(2L)).isEqualTo("value-2");
+        assertThat(proxy.find(1L)).isEqualTo("value-1");
+
+        assertThat(lookup.executions.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("singleflight.callers").tag("flight", "lookup").summary().totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    public void concurrentCalls_WhenExecutionFails_ShouldAllReceiveException() throws Exception {
+        List<Future<String>> results = callConcurrently(() -> proxy.find(null));
+        awaitCallersJoined(CALLERS);
+        lookup.release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(lookup.executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void callInTransaction_ShouldNotBeCoalesced() throws Exception {
+        lookup.release.countDown();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThat(proxy.find(1L)).isEqualTo("value-1");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertThat(lookup.executions.get()).isEqualTo(1);
+        assertThat(meterRegistry.find("singleflight.callers").summary()).isNull();
+    }
+
+    private List<Future<String>> callConcurrently(Callable<String> call) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executorService.submit(call));
+        }
+        return results;
+    }
+
+    /**
+     * Wait until the first caller is executing and the others are blocked waiting for it.
+     */
+    private void awaitCallersJoined(int callers) throws InterruptedException {
+        assertThat(lookup.started.await(5, TimeUnit.SECONDS)).isTrue();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline && countWaitingThreads() < callers - 1) {
+            Thread.sleep(10);
+        }
+    }
+
+    private long countWaitingThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getState() == Thread.State.WAITING || thread.getState() == Thread.State.TIMED_WAITING)
+            .filter(thread -> Arrays.stream(thread.getStackTrace()).anyMatch(element -> element.getMethodName().equals("await")
+                && element.getClassName().startsWith(SingleFlightAspect.class.getName())))
+            .count();
+    }
+
+    public static class Lookup {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final AtomicInteger executions = new AtomicInteger();
+
+        @SingleFlight("lookup")
+        public String find(Long id) throws InterruptedException {
+            executions.incrementAndGet();
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            if (id == null) {
+                throw new IllegalArgumentException("id is mandatory");
+            }
+            return "value-" + id;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.thirdcc.webapp.authorization;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.domain.Administrator;
+import com.thirdcc.webapp.domain.EventCrew;
+import com.thirdcc.webapp.domain.User;
+import com.thirdcc.webapp.domain.YearSession;
+import com.thirdcc.webapp.domain.enumeration.AdministratorRole;
+import com.thirdcc.webapp.domain.enumeration.AdministratorStatus;
+import com.thirdcc.webapp.domain.enumeration.EventCrewRole;
+import com.thirdcc.webapp.repository.AdministratorRepository;
+import com.thirdcc.webapp.repository.EventCrewRepository;
+import com.thirdcc.webapp.repository.UserRepository;
+import com.thirdcc.webapp.repository.YearSessionRepository;
+import com.thirdcc.webapp.service.AdministratorService;
+import com.thirdcc.webapp.service.EventCrewService;
+import com.thirdcc.webapp.service.YearSessionService;
+import com.thirdcc.webapp.service.dto.AdministratorDTO;
+import com.thirdcc.webapp.web.rest.UserResourceIT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the invalidation of the {@link AuthorizationCache}.
+ */
+@SpringBootTest(classes = ClubmanagementApp.class, properties = "application.authorization.cache-maximum-size=100")
+public class AuthorizationCacheIT {
+
+    private static final String DEFAULT_YEAR_SESSION_VALUE = "2021/2022";
+    private static final Long DEFAULT_EVENT_ID = 1L;
+
+    @Autowired
+    private AuthorizationCache authorizationCache;
+
+    @Autowired
+    private AdministratorService administratorService;
+
+    @Autowired
+    private EventCrewService eventCrewService;
+
+    @Autowired
+    private YearSessionService yearSessionService;
+
+    @Autowired
+    private AdministratorRepository administratorRepository;
+
+    @Autowired
+    private EventCrewRepository eventCrewRepository;
+
+    @Autowired
+    private YearSessionRepository yearSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private User user;
+
+    @BeforeEach
+    public void initTest() {
+        user = UserResourceIT.createUserEntity();
+        user.setLogin("authorization-cache");
+        user.setEmail("authorization-cache@localhost");
+        user = userRepository.saveAndFlush(user);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        administratorRepository.deleteAll();
+        eventCrewRepository.deleteAll();
+        yearSessionRepository.deleteAll();
+        userRepository.delete(user);
+        authorizationCache.onAuthorizationChanged(AuthorizationChangedEvent.ofAllUsers());
+    }
+
+    @Test
+    public void get_WithChangeNotMadeThroughServices_ShouldServeCachedAuthorization() {
+        assertThat(authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isFalse();
+
+        administratorRepository.saveAndFlush(createAdministrator(AdministratorRole.SECRETARY));
+
+        assertThat(authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isFalse();
+    }
+
+    @Test
+    public void administratorSave_ShouldInvalidateOnlyAfterCommit() {
+        assertThat(authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isFalse();
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            administratorService.save(createAdministratorDTO(AdministratorRole.CC_HEAD));
+            assertThat(authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isFalse();
+            return null;
+        });
+
+        assertThat(authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).getActiveAdministratorRoles())
+            .containsExactly(AdministratorRole.CC_HEAD);
+    }
+
+    @Test
+    public void administratorDelete_ShouldInvalidateAuthorization() {
+        Administrator administrator = administratorRepository.saveAndFlush(createAdministrator(AdministratorRole.SECRETARY));
+        assertThat(authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isTrue();
+
+        administratorService.delete(administrator.getId());
+
+        assertThat(authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isFalse();
+    }
+
+    @Test
+    public void administratorSave_WithAdministratorMovedToAnotherUser_ShouldInvalidateBothUsers() {
+        Administrator administrator = administratorRepository.saveAndFlush(createAdministrator(AdministratorRole.SECRETARY));
+        assertThat(authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isTrue();
+        Long otherUserId = userRepository.findOneByLogin("admin").map(User::getId).orElseThrow(AssertionError::new);
+        assertThat(authorizationCache.get(otherUserId, DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isFalse();
+
+        AdministratorDTO administratorDTO = createAdministratorDTO(AdministratorRole.SECRETARY);
+        administratorDTO.setId(administrator.getId());
+        administratorDTO.setUserId(otherUserId);
+        administratorService.save(administratorDTO);
+
+        assertThat(authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isFalse();
+        assertThat(authorizationCache.get(otherUserId, DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isTrue();
+    }
+
+    @Test
+    public void eventCrewDelete_ShouldInvalidateAuthorization() {
+        EventCrew eventCrew = eventCrewRepository.saveAndFlush(new EventCrew()
+            .userId(user.getId())
+            .eventId(DEFAULT_EVENT_ID)
+            .role(EventCrewRole.HEAD));
+        UserAuthorization userAuthorization = authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE);
+        assertThat(userAuthorization.isEventCrew(DEFAULT_EVENT_ID)).isTrue();
+        assertThat(userAuthorization.isEventHead(DEFAULT_EVENT_ID)).isTrue();
+
+        eventCrewService.delete(eventCrew.getId());
+
+        userAuthorization = authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE);
+        assertThat(userAuthorization.isEventCrew(DEFAULT_EVENT_ID)).isFalse();
+        assertThat(userAuthorization.isEventHead(DEFAULT_EVENT_ID)).isFalse();
+    }
+
+    @Test
+    public void yearSessionSave_ShouldInvalidateAllAuthorizations() {
+        assertThat(authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isFalse();
+        administratorRepository.saveAndFlush(createAdministrator(AdministratorRole.SECRETARY));
+
+        yearSessionService.save(new YearSession().value(DEFAULT_YEAR_SESSION_VALUE));
+
+        assertThat(authorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isTrue();
+    }
+
+    @Test
+    public void get_WithInvalidationDuringLoad_ShouldNotCacheLoadedAuthorization() {
+        AtomicInteger loads = new AtomicInteger();
+        AuthorizationCache racingAuthorizationCache = new AuthorizationCache(administratorRepository, eventCrewRepository, applicationProperties) {
+            @Override
+            UserAuthorization load(Long userId, String yearSession) {
+                UserAuthorization userAuthorization = super.load(userId, yearSession);
+                if (loads.incrementAndGet() == 1) {
+                    // the change commits after the first load read the authorization
+                    administratorRepository.saveAndFlush(createAdministrator(AdministratorRole.SECRETARY));
+                    onAuthorizationChanged(AuthorizationChangedEvent.ofUsers(userId));
+                }
+                return userAuthorization;
+            }
+        };
+
+        assertThat(racingAuthorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isFalse();
+
+        assertThat(racingAuthorizationCache.get(user.getId(), DEFAULT_YEAR_SESSION_VALUE).isAdministrator()).isTrue();
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private Administrator createAdministrator(AdministratorRole role) {
+        return new Administrator()
+            .userId(user.getId())
+            .yearSession(DEFAULT_YEAR_SESSION_VALUE)
+            .role(role)
+            .status(AdministratorStatus.ACTIVE);
+    }
+
+    private AdministratorDTO createAdministratorDTO(AdministratorRole role) {
+        AdministratorDTO administratorDTO = new AdministratorDTO();
+        administratorDTO.setUserId(user.getId());
+        administratorDTO.setYearSession(DEFAULT_YEAR_SESSION_VALUE);
+        administratorDTO.setRole(role);
+        administratorDTO.setStatus(AdministratorStatus.ACTIVE);
+        return administratorDTO;
+    }
+}
@@ -13,17 +13,29 @@ import com.thirdcc.webapp.repository.AdministratorRepository;
 import com.thirdcc.webapp.repository.EventCrewRepository;
 import com.thirdcc.webapp.repository.YearSessionRepository;
 import com.thirdcc.webapp.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.persistence.EntityManagerFactory;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(classes = ClubmanagementApp.class)
+@AutoConfigureMockMvc
 @WithMockUser
 public class ManagementTeamSecurityExpressionIT {
 
@@ -42,6 +54,12 @@ public class ManagementTeamSecurityExpressionIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
     private User currentUser;
 
     private static final String DEFAULT_YEAR_SESSION_VALUE = "2021/2022";
@@ -83,6 +101,8 @@ public class ManagementTeamSecurityExpressionIT {
 
     @AfterEach
     public void cleanUp() {
+        RequestContextHolder.resetRequestAttributes();
+        getStatistics().setStatisticsEnabled(false);
         yearSessionRepository.deleteAll();
         eventCrewRepository.deleteAll();
         administratorRepository.deleteAll();
@@ -287,6 +307,81 @@ public class ManagementTeamSecurityExpressionIT {
         assertThat(result).isFalse();
     }
 
+    /**
+     * Test on lookups shared within a request
+     */
+    @Test
+    public void securityExpressions_WithinSameRequest_ShouldResolveEachLookupOnce() {
+        currentUser = getLoggedInUser();
+
+        insertYearSessionToDB(createYearSession());
+
+        Administrator savedAdministrator = createAdministrator();
+        savedAdministrator.setRole(CC_HEAD_ROLE);
+        savedAdministrator.setUserId(currentUser.getId());
+        insertAdministratorToDB(savedAdministrator);
+
+        EventCrew savedEventCrew = createEventCrew();
+        savedEventCrew.setUserId(currentUser.getId());
+        savedEventCrew.setRole(EVENT_HEAD_ROLE);
+        insertEventCrewToDB(savedEventCrew);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Statistics statistics = startCountingStatements();
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(managementTeamSecurityExpression.isCurrentAdministrator()).isTrue();
+            assertThat(managementTeamSecurityExpression.isCurrentCCHead()).isTrue();
+            assertThat(managementTeamSecurityExpression.isEventCrew(DEFAULT_EVENT_ID)).isTrue();
+            assertThat(managementTeamSecurityExpression.isEventHead(DEFAULT_EVENT_ID)).isTrue();
+            assertThat(managementTeamSecurityExpression.isEventCrew(OTHER_EVENT_ID)).isFalse();
+            assertThat(managementTeamSecurityExpression.isEventHead(OTHER_EVENT_ID)).isFalse();
+        }
+
+        // current user, current year session, active administrator roles and event crew memberships
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void securityExpressions_WithinDifferentRequests_ShouldResolveLookupsAgain() {
+        currentUser = getLoggedInUser();
+
+        insertYearSessionToDB(createYearSession());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(managementTeamSecurityExpression.isCurrentAdministrator()).isFalse();
+
+        Administrator savedAdministrator = createAdministrator();
+        savedAdministrator.setUserId(currentUser.getId());
+        insertAdministratorToDB(savedAdministrator);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(managementTeamSecurityExpression.isCurrentAdministrator()).isTrue();
+    }
+
+    @Test
+    public void guardedEndpoint_UserIsNeitherAdministratorNorEventCrew_ShouldResolveEachLookupOnce() throws Exception {
+        insertYearSessionToDB(createYearSession());
+        Statistics statistics = startCountingStatements();
+
+        mockMvc.perform(get("/api/event-crews/event/{eventId}", DEFAULT_EVENT_ID))
+            .andExpect(status().isForbidden());
+
+        // current user, current year session, active administrator roles and event crew memberships
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    private Statistics startCountingStatements() {
+        Statistics statistics = getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    private Statistics getStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
     private User getLoggedInUser() {
         return userService.getUserWithAuthorities()
             .orElseThrow(() -> new BadRequestException("User not login"));
@@ -0,0 +1,174 @@
+package com.thirdcc.webapp.authorization;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import com.thirdcc.webapp.annotations.init.InitYearSession;
+import com.thirdcc.webapp.domain.EventCrew;
+import com.thirdcc.webapp.domain.User;
+import com.thirdcc.webapp.domain.enumeration.EventCrewRole;
+import com.thirdcc.webapp.repository.EventCrewRepository;
+import com.thirdcc.webapp.repository.UserRepository;
+import com.thirdcc.webapp.security.AuthoritiesConstants;
+import com.thirdcc.webapp.security.jwt.AccessTokenProvider;
+import com.thirdcc.webapp.security.jwt.JWTFilter;
+import com.thirdcc.webapp.security.jwt.TokenPermissions;
+import com.thirdcc.webapp.service.EventCrewService;
+import com.thirdcc.webapp.web.rest.UserResourceIT;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the permissions embedded in the access tokens by {@link TokenPermissionsService}.
+ */
+@SpringBootTest(classes = ClubmanagementApp.class)
+@AutoConfigureMockMvc
+@InitYearSession
+public class TokenPermissionsIT {
+
+    private static final Long CREWED_EVENT_ID = 1L;
+    private static final Long OTHER_EVENT_ID = 2L;
+
+    @Autowired
+    private TokenPermissionsService tokenPermissionsService;
+
+    @Autowired
+    private AccessTokenProvider accessTokenProvider;
+
+    @Autowired
+    private EventCrewService eventCrewService;
+
+    @Autowired
+    private EventCrewRepository eventCrewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User user;
+
+    private EventCrew eventCrew;
+
+    @BeforeEach
+    public void initTest() {
+        user = UserResourceIT.createUserEntity();
+        user.setLogin("token-permissions");
+        user.setEmail("token-permissions@localhost");
+        user = userRepository.saveAndFlush(user);
+        eventCrew = eventCrewRepository.saveAndFlush(new EventCrew()
+            .userId(user.getId())
+            .eventId(CREWED_EVENT_ID)
+            .role(EventCrewRole.MEMBER));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        getStatistics().setStatisticsEnabled(false);
+        eventCrewRepository.deleteAll();
+        userRepository.findById(user.getId()).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    public void guardedEndpoint_WithTokenPermissions_ShouldOnlyQueryPermissionVersion() throws Exception {
+        String accessToken = createAccessToken();
+        Statistics statistics = getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/event-crews/event/{eventId}", OTHER_EVENT_ID)
+            .header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + accessToken))
+            .andExpect(status().isForbidden());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        mockMvc.perform(get("/api/event-crews/event/{eventId}", CREWED_EVENT_ID)
+            .header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + accessToken))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    public void guardedEndpoint_WithPermissionsChangedAfterTokenIssued_ShouldRequireRefresh() throws Exception {
+        String accessToken = createAccessToken();
+
+        eventCrewService.delete(eventCrew.getId());
+
+        mockMvc.perform(get("/api/event-crews/event/{eventId}", CREWED_EVENT_ID)
+            .header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + accessToken))
+            .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/event-crews/event/{eventId}", CREWED_EVENT_ID)
+            .header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + createAccessToken()))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void guardedEndpoint_WithPermissionsChangedByAnotherInstance_ShouldRequireRefresh() throws Exception {
+        String accessToken = createAccessToken();
+
+        // another instance commits the change, this instance only sees the bumped version
+        new TransactionTemplate(transactionManager).execute(status ->
+            userRepository.incrementPermissionVersionByIdIn(Collections.singletonList(user.getId())));
+
+        mockMvc.perform(get("/api/event-crews/event/{eventId}", CREWED_EVENT_ID)
+            .header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + accessToken))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void isCurrent_WithUserDeleted_ShouldBeFalse() {
+        TokenPermissions tokenPermissions = tokenPermissionsService.getTokenPermissions(user.getLogin()).orElseThrow(AssertionError::new);
+
+        eventCrewRepository.deleteAll();
+        userRepository.delete(user);
+
+        assertThat(tokenPermissionsService.isCurrent(tokenPermissions)).isFalse();
+    }
+
+    @Test
+    public void getTokenPermissions_ShouldResolveCurrentPermissions() {
+        assertThat(tokenPermissionsService.getTokenPermissions(user.getLogin())).hasValueSatisfying(tokenPermissions -> {
+            assertThat(tokenPermissions.getUserId()).isEqualTo(user.getId());
+            assertThat(tokenPermissions.getYearSession()).isNotNull();
+            assertThat(tokenPermissions.getAdministratorRoles()).isEmpty();
+            assertThat(tokenPermissions.isEventCrew(CREWED_EVENT_ID)).isTrue();
+            assertThat(tokenPermissions.isEventHead(CREWED_EVENT_ID)).isFalse();
+            assertThat(tokenPermissionsService.isCurrent(tokenPermissions)).isTrue();
+        });
+        assertThat(tokenPermissionsService.getTokenPermissions("unknown-login")).isEmpty();
+    }
+
+    private String createAccessToken() {
+        return accessTokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken(user.getLogin(), "", Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))),
+            tokenPermissionsService.getTokenPermissions(user.getLogin()).orElseThrow(AssertionError::new)
+        );
+    }
+
+    private Statistics getStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
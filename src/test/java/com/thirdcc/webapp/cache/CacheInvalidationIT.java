@@ -0,0 +1,307 @@
+package com.thirdcc.webapp.cache;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import com.thirdcc.webapp.authorization.AuthorizationCache;
+import com.thirdcc.webapp.authorization.AuthorizationChangedEvent;
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.domain.Administrator;
+import com.thirdcc.webapp.domain.Faculty;
+import com.thirdcc.webapp.domain.enumeration.AdministratorRole;
+import com.thirdcc.webapp.domain.enumeration.AdministratorStatus;
+import com.thirdcc.webapp.repository.AdministratorRepository;
+import com.thirdcc.webapp.repository.FacultyRepository;
+import com.thirdcc.webapp.repository.UserRepository;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.persistence.EntityManagerFactory;
+import java.net.URI;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@link JdbcCacheInvalidationBus}, between this test context and a second instance
+ * started on the same database, each with its own second level cache.
+ */
+@SpringBootTest(classes = {ClubmanagementApp.class, CacheInvalidationIT.InstanceCacheConfiguration.class}, properties = {
+    CacheInvalidationIT.SECOND_LEVEL_CACHE,
+    CacheInvalidationIT.QUERY_CACHE,
+    CacheInvalidationIT.MISSING_CACHE_STRATEGY,
+    CacheInvalidationIT.INVALIDATION_ENABLED,
+    CacheInvalidationIT.POLL_INTERVAL
+})
+public class CacheInvalidationIT {
+
+    static final String SECOND_LEVEL_CACHE = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true";
+    static final String QUERY_CACHE = "spring.jpa.properties.hibernate.cache.use_query_cache=true";
+    static final String MISSING_CACHE_STRATEGY = "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create";
+    static final String INVALIDATION_ENABLED = "application.cache.invalidation.enabled=true";
+    // polled explicitly by the tests
+    static final String POLL_INTERVAL = "application.cache.invalidation.poll-interval-millis=3600000";
+
+    private static final String DEFAULT_NAME = "CACHE_INVALIDATION_FACULTY";
+    private static final String UPDATED_NAME = "UPDATED_CACHE_INVALIDATION_FACULTY";
+    private static final Long USER_ID = 987654321L;
+    private static final String YEAR_SESSION = "2021/2022";
+
+    private static ConfigurableApplicationContext otherInstance;
+
+    @Autowired
+    private FacultyRepository facultyRepository;
+
+    @Autowired
+    private AdministratorRepository administratorRepository;
+
+    @Autowired
+    private JdbcCacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private FacultyRepository otherFacultyRepository;
+
+    private AdministratorRepository otherAdministratorRepository;
+
+    private JdbcCacheInvalidationBus otherCacheInvalidationBus;
+
+    private SessionFactory otherSessionFactory;
+
+    private Faculty faculty;
+
+    @BeforeAll
+    public static void startOtherInstance() {
+        // passed as arguments, the default properties being overridden by the application.yml
+        otherInstance = new SpringApplicationBuilder(ClubmanagementApp.class, InstanceCacheConfiguration.class)
+            .run(Stream.of(SECOND_LEVEL_CACHE, QUERY_CACHE, MISSING_CACHE_STRATEGY, INVALIDATION_ENABLED, POLL_INTERVAL, "server.port=0")
+                .map(property -> "--" + property)
+                .toArray(String[]::new));
+    }
+
+    @AfterAll
+    public static void stopOtherInstance() {
+        otherInstance.close();
+    }
+
+    @BeforeEach
+    public void initTest() {
+        otherFacultyRepository = otherInstance.getBean(FacultyRepository.class);
+        otherAdministratorRepository = otherInstance.getBean(AdministratorRepository.class);
+        otherCacheInvalidationBus = otherInstance.getBean(JdbcCacheInvalidationBus.class);
+        otherSessionFactory = otherInstance.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+
+        faculty = facultyRepository.saveAndFlush(new Faculty().name(DEFAULT_NAME).shortName("CIF"));
+        cacheInvalidationBus.poll();
+        otherCacheInvalidationBus.poll();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        facultyRepository.findById(faculty.getId()).ifPresent(facultyRepository::delete);
+        administratorRepository.deleteAll(administratorRepository.findAllByUserId(USER_ID));
+        otherCacheInvalidationBus.poll();
+    }
+
+    @Test
+    public void update_ShouldEvictEntityOnOtherInstance() {
+        assertThat(otherFacultyRepository.findById(faculty.getId()))
+            .hasValueSatisfying(found -> assertThat(found.getName()).isEqualTo(DEFAULT_NAME));
+        assertThat(otherSessionFactory.getCache().containsEntity(Faculty.class, faculty.getId())).isTrue();
+
+        faculty.setName(UPDATED_NAME);
+        facultyRepository.saveAndFlush(faculty);
+
+        // served from the second level cache of the other instance until the invalidation is received
+        assertThat(otherFacultyRepository.findById(faculty.getId()))
+            .hasValueSatisfying(found -> assertThat(found.getName()).isEqualTo(DEFAULT_NAME));
+
+        otherCacheInvalidationBus.poll();
+
+        assertThat(otherSessionFactory.getCache().containsEntity(Faculty.class, faculty.getId())).isFalse();
+        assertThat(otherFacultyRepository.findById(faculty.getId()))
+            .hasValueSatisfying(found -> assertThat(found.getName()).isEqualTo(UPDATED_NAME));
+    }
+
+    @Test
+    public void delete_ShouldEvictEntityOnOtherInstance() {
+        assertThat(otherFacultyRepository.findById(faculty.getId())).isPresent();
+
+        facultyRepository.delete(faculty);
+        otherCacheInvalidationBus.poll();
+
+        assertThat(otherSessionFactory.getCache().containsEntity(Faculty.class, faculty.getId())).isFalse();
+        assertThat(otherFacultyRepository.findById(faculty.getId())).isEmpty();
+    }
+
+    @Test
+    public void insert_ShouldInvalidateCachedQueryResultsOnOtherInstance() {
+        assertThat(otherAdministratorRepository.findAllByUserId(USER_ID)).isEmpty();
+
+        administratorRepository.saveAndFlush(new Administrator()
+            .userId(USER_ID)
+            .yearSession(YEAR_SESSION)
+            .role(AdministratorRole.CC_HEAD)
+            .status(AdministratorStatus.ACTIVE));
+
+        assertThat(otherAdministratorRepository.findAllByUserId(USER_ID)).isEmpty();
+
+        otherCacheInvalidationBus.poll();
+
+        assertThat(otherAdministratorRepository.findAllByUserId(USER_ID)).hasSize(1);
+    }
+
+    @Test
+    public void authorizationChange_ShouldInvalidateAuthorizationOnOtherInstance() {
+        AuthorizationCache otherAuthorizationCache = otherInstance.getBean(AuthorizationCache.class);
+        assertThat(otherAuthorizationCache.get(USER_ID, YEAR_SESSION).isAdministrator()).isFalse();
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            administratorRepository.save(new Administrator()
+                .userId(USER_ID)
+                .yearSession(YEAR_SESSION)
+                .role(AdministratorRole.CC_HEAD)
+                .status(AdministratorStatus.ACTIVE));
+            applicationEventPublisher.publishEvent(AuthorizationChangedEvent.ofUsers(USER_ID));
+            return null;
+        });
+
+        assertThat(otherAuthorizationCache.get(USER_ID, YEAR_SESSION).isAdministrator()).isFalse();
+
+        otherCacheInvalidationBus.poll();
+
+        assertThat(otherAuthorizationCache.get(USER_ID, YEAR_SESSION).isAdministrator()).isTrue();
+    }
+
+    @Test
+    public void rolledBackChange_ShouldNotBeBroadcast() {
+        assertThat(otherFacultyRepository.findById(faculty.getId())).isPresent();
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            facultyRepository.findById(faculty.getId()).ifPresent(found -> found.setName(UPDATED_NAME));
+            facultyRepository.flush();
+            status.setRollbackOnly();
+            return null;
+        });
+        otherCacheInvalidationBus.poll();
+
+        assertThat(otherSessionFactory.getCache().containsEntity(Faculty.class, faculty.getId())).isTrue();
+        assertThat(facultyRepository.findById(faculty.getId()))
+            .hasValueSatisfying(found -> assertThat(found.getName()).isEqualTo(DEFAULT_NAME));
+    }
+
+    @Test
+    public void invalidationCommittedBeforeFirstPoll_ShouldBeApplied() {
+        JdbcCacheInvalidationBus startingCacheInvalidationBus = createOtherInstanceBus(new ApplicationProperties());
+        assertThat(otherFacultyRepository.findById(faculty.getId())).isPresent();
+
+        faculty.setName(UPDATED_NAME);
+        facultyRepository.saveAndFlush(faculty);
+        startingCacheInvalidationBus.poll();
+
+        assertThat(otherSessionFactory.getCache().containsEntity(Faculty.class, faculty.getId())).isFalse();
+    }
+
+    @Test
+    public void gapTimeout_ShouldClearCachesAndStillApplyLateInvalidation() throws Exception {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getInvalidation().setGapTimeoutSeconds(0);
+        JdbcCacheInvalidationBus gapCacheInvalidationBus = createOtherInstanceBus(applicationProperties);
+        assertThat(otherFacultyRepository.findById(faculty.getId())).isPresent();
+
+        CountDownLatch published = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> longTransaction = executorService.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+                cacheInvalidationBus.publish(Collections.singletonList(CacheInvalidation.entity(Faculty.class.getName(), faculty.getId())));
+                published.countDown();
+                try {
+                    commit.await(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            assertThat(published.await(1, TimeUnit.MINUTES)).isTrue();
+            new TransactionTemplate(transactionManager).execute(status -> {
+                cacheInvalidationBus.publish(Collections.singletonList(CacheInvalidation.cache(UserRepository.USERS_BY_LOGIN_CACHE, "unknown")));
+                return null;
+            });
+
+            // the gap is first seen, then timed out
+            gapCacheInvalidationBus.poll();
+            assertThat(otherSessionFactory.getCache().containsEntity(Faculty.class, faculty.getId())).isTrue();
+            gapCacheInvalidationBus.poll();
+            assertThat(otherSessionFactory.getCache().containsEntity(Faculty.class, faculty.getId())).isFalse();
+
+            assertThat(otherFacultyRepository.findById(faculty.getId())).isPresent();
+            commit.countDown();
+            longTransaction.get(1, TimeUnit.MINUTES);
+            gapCacheInvalidationBus.poll();
+
+            assertThat(otherSessionFactory.getCache().containsEntity(Faculty.class, faculty.getId())).isFalse();
+        } finally {
+            commit.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    private JdbcCacheInvalidationBus createOtherInstanceBus(ApplicationProperties applicationProperties) {
+        return new JdbcCacheInvalidationBus(
+            otherInstance.getBean(JdbcTemplate.class),
+            otherInstance.getBean(LocalCacheInvalidator.class),
+            applicationProperties
+        );
+    }
+
+    /**
+     * Gives each instance its own cache manager, the default one being shared by the whole JVM.
+     */
+    @TestConfiguration
+    public static class InstanceCacheConfiguration {
+
+        @Bean(destroyMethod = "close")
+        public CacheManager instanceCacheManager() {
+            EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+            return cachingProvider.getCacheManager(
+                URI.create("urn:clubmanagement:" + UUID.randomUUID()),
+                new DefaultConfiguration(InstanceCacheConfiguration.class.getClassLoader())
+            );
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer instanceCacheManagerCustomizer(CacheManager instanceCacheManager) {
+            return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, instanceCacheManager);
+        }
+    }
+}
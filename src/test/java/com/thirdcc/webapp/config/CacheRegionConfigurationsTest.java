@@ -0,0 +1,140 @@
+package com.thirdcc.webapp.config;
+
+import io.github.jhipster.config.JHipsterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link CacheRegionConfigurations}.
+ */
+public class CacheRegionConfigurationsTest {
+
+    private static final String REFERENCE_CACHE = CacheRegionConfigurations.ENTITY_CACHE_PREFIX + "YearSession";
+    private static final String OFF_HEAP_CACHE = CacheRegionConfigurations.ENTITY_CACHE_PREFIX + "Transaction";
+    private static final String DEFAULT_CACHE = CacheRegionConfigurations.ENTITY_CACHE_PREFIX + "Event";
+    private static final String IDLE_CACHE = "usersByLogin";
+
+    private CacheManager cacheManager;
+
+    private CacheRegionConfigurations cacheRegionConfigurations;
+
+    @BeforeEach
+    public void setup() {
+        JHipsterProperties.Cache.Ehcache defaults = new JHipsterProperties.Cache.Ehcache();
+        defaults.setMaxEntries(100);
+        defaults.setTimeToLiveSeconds(3600);
+
+        Map<String, ApplicationProperties.CacheRegion> regions = new HashMap<>();
+        ApplicationProperties.CacheRegion reference = new ApplicationProperties.CacheRegion();
+        reference.setHeapEntries(10L);
+        reference.setEternal(true);
+        regions.put("YearSession", reference);
+        ApplicationProperties.CacheRegion offHeap = new ApplicationProperties.CacheRegion();
+        offHeap.setHeapEntries(2L);
+        offHeap.setOffHeapMb(1L);
+        offHeap.setTimeToLiveSeconds(60L);
+        regions.put("Transaction", offHeap);
+        ApplicationProperties.CacheRegion idle = new ApplicationProperties.CacheRegion();
+        idle.setTimeToIdleSeconds(30L);
+        regions.put(IDLE_CACHE, idle);
+
+        cacheRegionConfigurations = new CacheRegionConfigurations(defaults, regions);
+        cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName()).getCacheManager();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    public void getRegionName_ShouldDropEntityPackagePrefix() {
+        assertThat(CacheRegionConfigurations.getRegionName(REFERENCE_CACHE)).isEqualTo("YearSession");
+        assertThat(CacheRegionConfigurations.getRegionName(REFERENCE_CACHE + ".authorities")).isEqualTo("YearSession.authorities");
+        assertThat(CacheRegionConfigurations.getRegionName(IDLE_CACHE)).isEqualTo(IDLE_CACHE);
+    }
+
+    @Test
+    public void getConfiguration_WithEternalRegion_ShouldNeverExpire() {
+        CacheRuntimeConfiguration<?, ?> configuration = createCache(REFERENCE_CACHE);
+
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(10L);
+        assertThat(configuration.getResourcePools().getResourceTypeSet()).containsOnly(ResourceType.Core.HEAP);
+        assertThat(configuration.getExpiryPolicy()).isSameAs(ExpiryPolicy.NO_EXPIRY);
+    }
+
+    @Test
+    public void getConfiguration_WithOffHeapRegion_ShouldSpillSerializedEntriesOffHeap() {
+        CacheRuntimeConfiguration<?, ?> configuration = createCache(OFF_HEAP_CACHE);
+
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(2L);
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(1L);
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation(null, null)).isEqualTo(Duration.ofSeconds(60));
+
+        Cache<Object, Object> cache = cacheManager.getCache(OFF_HEAP_CACHE);
+        for (long i = 0; i < 10; i++) {
+            cache.put(i, "transaction-" + i);
+        }
+        for (long i = 0; i < 10; i++) {
+            assertThat(cache.get(i)).isEqualTo("transaction-" + i);
+        }
+    }
+
+    @Test
+    public void getConfiguration_WithIdleRegion_ShouldExpireOnIdleTime() {
+        CacheRuntimeConfiguration<?, ?> configuration = createCache(IDLE_CACHE);
+
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100L);
+        assertThat(configuration.getExpiryPolicy().getExpiryForAccess(null, null)).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void getConfiguration_WithoutRegion_ShouldUseDefaults() {
+        CacheRuntimeConfiguration<?, ?> configuration = createCache(DEFAULT_CACHE);
+
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100L);
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation(null, null)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    public void statistics_ShouldBeBoundToMicrometer() {
+        createCache(REFERENCE_CACHE);
+        cacheManager.enableStatistics(REFERENCE_CACHE, true);
+        Cache<Object, Object> cache = cacheManager.getCache(REFERENCE_CACHE);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JCacheMetrics.monitor(meterRegistry, cache);
+
+        cache.put(1L, "2021/2022");
+        cache.get(1L);
+        cache.get(2L);
+
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.puts").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheRuntimeConfiguration<?, ?> createCache(String cacheName) {
+        Cache<Object, Object> cache = cacheManager.createCache(cacheName, cacheRegionConfigurations.getConfiguration(cacheName));
+        Eh107Configuration<Object, Object> configuration = cache.getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.thirdcc.webapp.lib.wrapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process {@link CloudStorage} keeping the stored files in memory, which can be made slow or failing.
+ */
+public class FakeCloudStorage implements CloudStorage {
+
+    public static final String BASE_URL = "https://storage.test/";
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private final AtomicInteger remainingFailures = new AtomicInteger();
+
+    private volatile CountDownLatch gate;
+
+    @Override
+    public String getUrl(String objectName) {
+        return BASE_URL + objectName;
+    }
+
+    @Override
+    public void store(String objectName, String contentType, Path file) throws IOException {
+        attempts.incrementAndGet();
+        CountDownLatch currentGate = gate;
+        if (currentGate != null) {
+            try {
+                currentGate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+        }
+        if (remainingFailures.getAndDecrement() > 0) {
+            throw new IOException("Simulated failure of the cloud storage");
+        }
+        objects.put(objectName, Files.readAllBytes(file));
+    }
+
+    /**
+     * Block the uploads until the returned latch is counted down.
+     */
+    public CountDownLatch hold() {
+        gate = new CountDownLatch(1);
+        return gate;
+    }
+
+    public void failNext(int failures) {
+        remainingFailures.set(failures);
+    }
+
+    public int getAttempts() {
+        return attempts.get();
+    }
+
+    public Map<String, byte[]> getObjects() {
+        return objects;
+    }
+
+    public void reset() {
+        objects.clear();
+        attempts.set(0);
+        remainingFailures.set(0);
+        CountDownLatch currentGate = gate;
+        gate = null;
+        if (currentGate != null) {
+            currentGate.countDown();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.thirdcc.webapp.lib.wrapper;
+
+import com.thirdcc.webapp.warmup.StartupTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the {@link LazyClientHolder}.
+ */
+public class LazyClientHolderTest {
+
+    private MeterRegistry meterRegistry;
+
+    private StartupTimings startupTimings;
+
+    private AtomicInteger creations;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        startupTimings = new StartupTimings(meterRegistry);
+        creations = new AtomicInteger();
+    }
+
+    @Test
+    public void get_ShouldCreateClientOnFirstUseOnly() {
+        LazyClientHolder<String> clientHolder = new LazyClientHolder<>("test", () -> "client-" + creations.incrementAndGet(), startupTimings);
+
+        assertThat(clientHolder.isInitialized()).isFalse();
+        assertThat(creations.get()).isZero();
+
+        assertThat(clientHolder.get()).isEqualTo("client-1");
+        assertThat(clientHolder.get()).isEqualTo("client-1");
+        assertThat(clientHolder.isInitialized()).isTrue();
+        assertThat(creations.get()).isEqualTo(1);
+        assertThat(startupTimings.getDuration("client.test")).isPresent();
+        assertThat(meterRegistry.get("startup.phase.duration").tag("phase", "client.test").timeGauge()).isNotNull();
+    }
+
+    @Test
+    public void concurrentGets_ShouldShareOneCreation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        LazyClientHolder<String> clientHolder = new LazyClientHolder<>("test", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "client-" + creations.incrementAndGet();
+        }, startupTimings);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(executorService.submit(clientHolder::get));
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("client-1");
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(creations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_WhenCreationFails_ShouldRetryOnNextUse() {
+        LazyClientHolder<String> clientHolder = new LazyClientHolder<>("test", () -> {
+            if (creations.incrementAndGet() == 1) {
+                throw new IOException("No credentials");
+            }
+            return "client-" + creations.get();
+        }, startupTimings);
+
+        assertThatThrownBy(clientHolder::get)
+            .isInstanceOf(IllegalStateException.class)
+            .hasCauseInstanceOf(IOException.class);
+        assertThat(clientHolder.isInitialized()).isFalse();
+        assertThat(startupTimings.getDuration("client.test")).isEmpty();
+
+        assertThat(clientHolder.get()).isEqualTo("client-2");
+        assertThat(clientHolder.isInitialized()).isTrue();
+    }
+}
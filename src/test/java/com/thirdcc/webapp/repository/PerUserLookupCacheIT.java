@@ -0,0 +1,164 @@
+package com.thirdcc.webapp.repository;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import com.thirdcc.webapp.domain.Administrator;
+import com.thirdcc.webapp.domain.User;
+import com.thirdcc.webapp.domain.UserCCInfo;
+import com.thirdcc.webapp.domain.UserUniInfo;
+import com.thirdcc.webapp.domain.enumeration.AdministratorRole;
+import com.thirdcc.webapp.domain.enumeration.AdministratorStatus;
+import com.thirdcc.webapp.domain.enumeration.ClubFamilyCode;
+import com.thirdcc.webapp.domain.enumeration.ClubFamilyRole;
+import com.thirdcc.webapp.web.rest.UserResourceIT;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the query cache of the per-user lookups of {@link UserUniInfoRepository},
+ * {@link UserCCInfoRepository} and {@link AdministratorRepository}.
+ */
+@SpringBootTest(classes = ClubmanagementApp.class, properties = {
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+    "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create"
+})
+public class PerUserLookupCacheIT {
+
+    private static final String DEFAULT_YEAR_SESSION = "2021/2022";
+    private static final String UPDATED_YEAR_SESSION = "2022/2023";
+
+    @Autowired
+    private UserUniInfoRepository userUniInfoRepository;
+
+    @Autowired
+    private UserCCInfoRepository userCCInfoRepository;
+
+    @Autowired
+    private AdministratorRepository administratorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void initTest() {
+        user = UserResourceIT.createUserEntity();
+        user.setLogin("per-user-lookup");
+        user.setEmail("per-user-lookup@localhost");
+        user = userRepository.saveAndFlush(user);
+
+        UserUniInfo userUniInfo = new UserUniInfo();
+        userUniInfo.setUserId(user.getId());
+        userUniInfo.setYearSession(DEFAULT_YEAR_SESSION);
+        userUniInfoRepository.saveAndFlush(userUniInfo);
+        userCCInfoRepository.saveAndFlush(new UserCCInfo()
+            .userId(user.getId())
+            .clubFamilyCode(ClubFamilyCode.JIN_LONG)
+            .familyRole(ClubFamilyRole.FATHER)
+            .yearSession(DEFAULT_YEAR_SESSION));
+        administratorRepository.saveAndFlush(new Administrator()
+            .userId(user.getId())
+            .yearSession(DEFAULT_YEAR_SESSION)
+            .role(AdministratorRole.SECRETARY)
+            .status(AdministratorStatus.ACTIVE));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        statistics.setStatisticsEnabled(false);
+        administratorRepository.deleteAll();
+        userCCInfoRepository.deleteAll();
+        userUniInfoRepository.deleteAll();
+        userRepository.delete(user);
+    }
+
+    @Test
+    public void findOneByUserId_WhenRepeated_ShouldNotIssueStatement() {
+        assertThat(userUniInfoRepository.findOneByUserId(user.getId())).isPresent();
+        statistics.clear();
+
+        assertThat(userUniInfoRepository.findOneByUserId(user.getId()))
+            .hasValueSatisfying(userUniInfo -> assertThat(userUniInfo.getYearSession()).isEqualTo(DEFAULT_YEAR_SESSION));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void findOneByUserId_AfterWrite_ShouldReturnUpdatedEntity() {
+        UserUniInfo userUniInfo = userUniInfoRepository.findOneByUserId(user.getId()).orElseThrow(AssertionError::new);
+        userUniInfo.setYearSession(UPDATED_YEAR_SESSION);
+        userUniInfoRepository.saveAndFlush(userUniInfo);
+
+        assertThat(userUniInfoRepository.findOneByUserId(user.getId()))
+            .hasValueSatisfying(updated -> assertThat(updated.getYearSession()).isEqualTo(UPDATED_YEAR_SESSION));
+
+        userUniInfoRepository.delete(userUniInfo);
+        assertThat(userUniInfoRepository.findOneByUserId(user.getId())).isEmpty();
+    }
+
+    @Test
+    public void findByUserId_WhenRepeated_ShouldNotIssueStatement() {
+        assertThat(userCCInfoRepository.findByUserId(user.getId())).isPresent();
+        statistics.clear();
+
+        assertThat(userCCInfoRepository.findByUserId(user.getId()))
+            .hasValueSatisfying(userCCInfo -> assertThat(userCCInfo.getYearSession()).isEqualTo(DEFAULT_YEAR_SESSION));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void findByUserId_AfterInsert_ShouldNotServeStaleResult() {
+        userCCInfoRepository.deleteAll();
+        assertThat(userCCInfoRepository.findByUserId(user.getId())).isEmpty();
+
+        userCCInfoRepository.saveAndFlush(new UserCCInfo()
+            .userId(user.getId())
+            .clubFamilyCode(ClubFamilyCode.JIN_LONG)
+            .familyRole(ClubFamilyRole.FATHER)
+            .yearSession(UPDATED_YEAR_SESSION));
+
+        assertThat(userCCInfoRepository.findByUserId(user.getId()))
+            .hasValueSatisfying(userCCInfo -> assertThat(userCCInfo.getYearSession()).isEqualTo(UPDATED_YEAR_SESSION));
+    }
+
+    @Test
+    public void findAllByUserId_WhenRepeated_ShouldNotIssueStatement() {
+        assertThat(administratorRepository.findAllByUserId(user.getId())).hasSize(1);
+        statistics.clear();
+
+        assertThat(administratorRepository.findAllByUserId(user.getId())).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void findAllByUserId_AfterInsert_ShouldNotServeStaleResult() {
+        assertThat(administratorRepository.findAllByUserId(user.getId())).hasSize(1);
+
+        administratorRepository.saveAndFlush(new Administrator()
+            .userId(user.getId())
+            .yearSession(UPDATED_YEAR_SESSION)
+            .role(AdministratorRole.CC_HEAD)
+            .status(AdministratorStatus.ACTIVE));
+
+        assertThat(administratorRepository.findAllByUserId(user.getId()))
+            .extracting(Administrator::getYearSession)
+            .containsExactlyInAnyOrder(DEFAULT_YEAR_SESSION, UPDATED_YEAR_SESSION);
+    }
+}
@@ -0,0 +1,126 @@
+package com.thirdcc.webapp.security.firebase;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.firebase.auth.FirebaseToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FirebaseServiceTest {
+
+    private static final String TOKEN = "firebase-id-token";
+
+    private AtomicInteger verificationCount;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        verificationCount = new AtomicInteger();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void parseToken_WithSameValidToken_ShouldVerifyOnce() throws Exception {
+        FirebaseService firebaseService = createFirebaseService(token ->
+            ApiFutures.immediateFuture(createFirebaseToken(Instant.now().plus(1, ChronoUnit.HOURS))));
+
+        FirebaseTokenHolder first = firebaseService.parseToken(TOKEN);
+        FirebaseTokenHolder second = firebaseService.parseToken(TOKEN);
+
+        assertThat(second).isSameAs(first);
+        assertThat(verificationCount.get()).isEqualTo(1);
+        assertThat(getCacheGets("hit")).isEqualTo(1);
+        assertThat(getCacheGets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    public void parseToken_WithExpiredToken_ShouldVerifyEveryTime() throws Exception {
+        FirebaseService firebaseService = createFirebaseService(token ->
+            ApiFutures.immediateFuture(createFirebaseToken(Instant.now().minus(1, ChronoUnit.MINUTES))));
+
+        firebaseService.parseToken(TOKEN);
+        firebaseService.parseToken(TOKEN);
+
+        assertThat(verificationCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void parseToken_WithConcurrentVerifications_ShouldShareInFlightVerification() throws Exception {
+        SettableApiFuture<FirebaseToken> verification = SettableApiFuture.create();
+        FirebaseService firebaseService = createFirebaseService(token -> verification);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<FirebaseTokenHolder>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(executorService.submit(() -> firebaseService.parseToken(TOKEN)));
+            }
+            verification.set(createFirebaseToken(Instant.now().plus(1, ChronoUnit.HOURS)));
+            for (Future<FirebaseTokenHolder> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS).getUid()).isEqualTo("uid");
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(verificationCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void parseToken_WithFailedVerification_ShouldNotCacheFailure() throws Exception {
+        FirebaseService firebaseService = createFirebaseService(token -> verificationCount.get() == 1
+            ? ApiFutures.immediateFailedFuture(new IllegalArgumentException("Firebase ID token has expired"))
+            : ApiFutures.immediateFuture(createFirebaseToken(Instant.now().plus(1, ChronoUnit.HOURS))));
+
+        assertThatThrownBy(() -> firebaseService.parseToken(TOKEN))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(firebaseService.parseToken(TOKEN).getUid()).isEqualTo("uid");
+        assertThat(verificationCount.get()).isEqualTo(2);
+    }
+
+    private FirebaseService createFirebaseService(Function<String, ApiFuture<FirebaseToken>> tokenVerifier) {
+        return new FirebaseService(token -> {
+            verificationCount.incrementAndGet();
+            return tokenVerifier.apply(token);
+        }, 100, meterRegistry);
+    }
+
+    private double getCacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+            .tag("cache", FirebaseService.CACHE_NAME)
+            .tag("result", result)
+            .functionCounter()
+            .count();
+    }
+
+    private static FirebaseToken createFirebaseToken(Instant expirationTime) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("sub", "uid");
+        claims.put("exp", expirationTime.getEpochSecond());
+        try {
+            Constructor<FirebaseToken> constructor = FirebaseToken.class.getDeclaredConstructor(Map.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(claims);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
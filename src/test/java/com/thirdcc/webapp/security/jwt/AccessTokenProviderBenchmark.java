@@ -0,0 +1,63 @@
+package com.thirdcc.webapp.security.jwt;
+
+import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.security.AuthoritiesConstants;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost paid by every authenticated request to turn its access token into an authentication.
+ * <p>
+ * Run with:
+ * {@code ./mvnw test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main AccessTokenProviderBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessTokenProviderBenchmark {
+
+    private AccessTokenProvider accessTokenProvider;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        accessTokenProvider = new AccessTokenProvider(new ApplicationProperties());
+        ReflectionTestUtils.setField(accessTokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64
+            .decode("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8")));
+        ReflectionTestUtils.setField(accessTokenProvider, "tokenValidityInMilliseconds", 3600000L);
+        token = accessTokenProvider.createToken(new UsernamePasswordAuthenticationToken(
+            "benchmark-user",
+            "benchmark-password",
+            Arrays.asList(new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))
+        ));
+    }
+
+    /**
+     * The former request path, parsing and verifying the token twice.
+     */
+    @Benchmark
+    public Authentication validateThenGetAuthentication() {
+        if (accessTokenProvider.validateToken(token)) {
+            return accessTokenProvider.getAuthentication(token);
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Authentication getVerifiedAuthentication() {
+        return accessTokenProvider.getVerifiedAuthentication(token).orElse(null);
+    }
+}
@@ -1,6 +1,7 @@
 package com.thirdcc.webapp.security.jwt;
 
 import com.thirdcc.webapp.config.ApplicationProperties;
+import com.thirdcc.webapp.domain.enumeration.AdministratorRole;
 import com.thirdcc.webapp.security.AuthoritiesConstants;
 
 import java.security.Key;
@@ -97,6 +98,79 @@ public class AccessTokenProviderTest {
         assertThat(isTokenValid).isEqualTo(false);
     }
 
+    @Test
+    public void getVerifiedAuthentication_WithValidAccessToken_ShouldReturnAuthentication() {
+        String token = accessTokenProvider.createToken(createAuthentication());
+
+        Optional<Authentication> authentication = accessTokenProvider.getVerifiedAuthentication(token);
+
+        assertThat(authentication).hasValueSatisfying(value -> {
+            assertThat(value.getName()).isEqualTo("anonymous");
+            assertThat(value.getCredentials()).isEqualTo(token);
+            assertThat(value.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly(AuthoritiesConstants.ANONYMOUS);
+        });
+    }
+
+    @Test
+    public void getVerifiedAuthentication_WithSameAccessToken_ShouldShareVerifiedPrincipal() {
+        String token = accessTokenProvider.createToken(createAuthentication());
+
+        Authentication first = accessTokenProvider.getVerifiedAuthentication(token).orElseThrow(AssertionError::new);
+        Authentication second = accessTokenProvider.getVerifiedAuthentication(token).orElseThrow(AssertionError::new);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getPrincipal()).isSameAs(first.getPrincipal());
+        assertThat(second.getAuthorities()).isEqualTo(first.getAuthorities());
+    }
+
+    @Test
+    public void getVerifiedAuthentication_WithInvalidAccessToken_ShouldReturnEmpty() {
+        assertThat(accessTokenProvider.getVerifiedAuthentication(createTokenWithDifferentSignature())).isEmpty();
+        assertThat(accessTokenProvider.getVerifiedAuthentication("")).isEmpty();
+    }
+
+    @Test
+    public void getVerifiedAuthentication_WithExpiredAccessToken_ShouldReturnEmpty() {
+        ReflectionTestUtils.setField(accessTokenProvider, "tokenValidityInMilliseconds", -ONE_MINUTE);
+        String token = accessTokenProvider.createToken(createAuthentication());
+
+        assertThat(accessTokenProvider.getVerifiedAuthentication(token)).isEmpty();
+    }
+
+    @Test
+    public void getVerifiedAuthentication_WithTokenPermissions_ShouldExposePermissionsAsDetails() {
+        TokenPermissions tokenPermissions = new TokenPermissions(
+            1L,
+            "2021/2022",
+            42L,
+            EnumSet.of(AdministratorRole.SECRETARY),
+            Arrays.asList(1L, 5L),
+            Collections.singletonList(5L)
+        );
+        String token = accessTokenProvider.createToken(createAuthentication(), tokenPermissions);
+
+        Authentication authentication = accessTokenProvider.getVerifiedAuthentication(token).orElseThrow(AssertionError::new);
+
+        assertThat(authentication.getDetails()).isInstanceOfSatisfying(TokenPermissions.class, details -> {
+            assertThat(details.getUserId()).isEqualTo(1L);
+            assertThat(details.getYearSession()).isEqualTo("2021/2022");
+            assertThat(details.getVersion()).isEqualTo(42L);
+            assertThat(details.getAdministratorRoles()).containsExactly(AdministratorRole.SECRETARY);
+            assertThat(details.isEventCrew(5L)).isTrue();
+            assertThat(details.isEventHead(5L)).isTrue();
+            assertThat(details.isEventHead(1L)).isFalse();
+        });
+    }
+
+    @Test
+    public void getVerifiedAuthentication_WithoutTokenPermissions_ShouldNotExposeDetails() {
+        String token = accessTokenProvider.createToken(createAuthentication());
+
+        Authentication authentication = accessTokenProvider.getVerifiedAuthentication(token).orElseThrow(AssertionError::new);
+
+        assertThat(authentication.getDetails()).isNull();
+    }
+
     private Authentication createAuthentication() {
         Collection<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
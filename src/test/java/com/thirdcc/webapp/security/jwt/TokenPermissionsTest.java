@@ -0,0 +1,79 @@
+package com.thirdcc.webapp.security.jwt;
+
+import com.thirdcc.webapp.domain.enumeration.AdministratorRole;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TokenPermissionsTest {
+
+    @Test
+    public void encodeEventIds_ShouldRoundTrip() {
+        long[] eventIds = {1L, 2L, 127L, 128L, 16384L, 1L << 40, Long.MAX_VALUE};
+
+        String encodedEventIds = TokenPermissions.encodeEventIds(eventIds);
+
+        assertThat(TokenPermissions.decodeEventIds(encodedEventIds)).containsExactly(eventIds);
+    }
+
+    @Test
+    public void encodeEventIds_WithCloseEventIds_ShouldEncodeOneBytePerEventId() {
+        long[] eventIds = {1001L, 1002L, 1005L, 1010L, 1100L};
+
+        String encodedEventIds = TokenPermissions.encodeEventIds(eventIds);
+
+        // 1001 needs 2 bytes, each following delta 1
+        assertThat(Base64.getUrlDecoder().decode(encodedEventIds)).hasSize(6);
+    }
+
+    @Test
+    public void encodeEventIds_WithoutEventIds_ShouldEncodeEmptyString() {
+        assertThat(TokenPermissions.encodeEventIds(new long[0])).isEmpty();
+        assertThat(TokenPermissions.decodeEventIds("")).isEmpty();
+    }
+
+    @Test
+    public void decodeEventIds_WithTruncatedVarint_ShouldThrow() {
+        String truncatedEventIds = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[]{(byte) 0x81});
+
+        assertThatThrownBy(() -> TokenPermissions.decodeEventIds(truncatedEventIds))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void decode_ShouldRestoreEncodedPermissions() {
+        TokenPermissions tokenPermissions = new TokenPermissions(
+            1L,
+            "2021/2022",
+            42L,
+            EnumSet.of(AdministratorRole.CC_HEAD, AdministratorRole.SECRETARY),
+            Arrays.asList(30L, 10L, 20L, 10L),
+            Collections.singletonList(20L)
+        );
+
+        TokenPermissions decodedTokenPermissions = TokenPermissions.decode(
+            tokenPermissions.getUserId(),
+            tokenPermissions.getYearSession(),
+            tokenPermissions.getVersion(),
+            tokenPermissions.getEncodedAdministratorRoles(),
+            tokenPermissions.getEncodedCrewEventIds(),
+            tokenPermissions.getEncodedHeadEventIds()
+        );
+
+        assertThat(decodedTokenPermissions.getAdministratorRoles()).containsExactlyInAnyOrder(AdministratorRole.CC_HEAD, AdministratorRole.SECRETARY);
+        assertThat(decodedTokenPermissions.isEventCrew(10L)).isTrue();
+        assertThat(decodedTokenPermissions.isEventCrew(20L)).isTrue();
+        assertThat(decodedTokenPermissions.isEventCrew(30L)).isTrue();
+        assertThat(decodedTokenPermissions.isEventCrew(40L)).isFalse();
+        assertThat(decodedTokenPermissions.isEventCrew(null)).isFalse();
+        assertThat(decodedTokenPermissions.isEventHead(20L)).isTrue();
+        assertThat(decodedTokenPermissions.isEventHead(10L)).isFalse();
+        assertThat(decodedTokenPermissions.toString()).isEqualTo(tokenPermissions.toString());
+    }
+}
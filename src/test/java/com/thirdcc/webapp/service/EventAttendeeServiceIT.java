@@ -0,0 +1,180 @@
+package com.thirdcc.webapp.service;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import com.thirdcc.webapp.annotations.authorization.WithCurrentCCAdministrator;
+import com.thirdcc.webapp.annotations.init.InitYearSession;
+import com.thirdcc.webapp.domain.Event;
+import com.thirdcc.webapp.domain.EventAttendee;
+import com.thirdcc.webapp.domain.EventRegistrationClosingCriteria;
+import com.thirdcc.webapp.domain.User;
+import com.thirdcc.webapp.domain.enumeration.EventStatus;
+import com.thirdcc.webapp.exception.BadRequestException;
+import com.thirdcc.webapp.repository.EventAttendeeRepository;
+import com.thirdcc.webapp.repository.EventRegistrationClosingCriteriaRepository;
+import com.thirdcc.webapp.repository.EventRepository;
+import com.thirdcc.webapp.repository.UserRepository;
+import com.thirdcc.webapp.service.dto.EventAttendeeDTO;
+import com.thirdcc.webapp.web.rest.UserResourceIT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the registration capacity enforced by {@link EventAttendeeService}.
+ */
+@SpringBootTest(classes = ClubmanagementApp.class)
+@InitYearSession
+@WithCurrentCCAdministrator
+public class EventAttendeeServiceIT {
+
+    private static final int USER_COUNT = 250;
+    private static final int REGISTRATIONS_PER_USER = 2;
+    private static final int MAX_ATTENDEES = 100;
+    private static final int THREAD_COUNT = 32;
+
+    @Autowired
+    private EventAttendeeService eventAttendeeService;
+
+    @Autowired
+    private EventAttendeeRepository eventAttendeeRepository;
+
+    @Autowired
+    private EventRegistrationClosingCriteriaRepository eventRegistrationClosingCriteriaRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Event event;
+
+    private List<User> users;
+
+    @BeforeEach
+    public void initTest() {
+        event = new Event();
+        event.setName("DEFAULT_EVENT_NAME");
+        event.setStartDate(Instant.now().plus(1, ChronoUnit.DAYS));
+        event.setEndDate(Instant.now().plus(5, ChronoUnit.DAYS));
+        event.setStatus(EventStatus.OPEN);
+        event = eventRepository.saveAndFlush(event);
+
+        eventRegistrationClosingCriteriaRepository.saveAndFlush(new EventRegistrationClosingCriteria()
+            .eventId(event.getId())
+            .maxAttendees(MAX_ATTENDEES)
+            .forceClose(false));
+
+        users = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = UserResourceIT.createUserEntity();
+            user.setLogin("registration-burst-" + i);
+            user.setEmail("registration-burst-" + i + "@localhost");
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        eventAttendeeRepository.deleteAll();
+        eventRegistrationClosingCriteriaRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    public void save_WithBurstOfConcurrentRegistrations_ShouldNeitherOverbookNorDoubleRegister() throws Exception {
+        List<Callable<Boolean>> registrations = new ArrayList<>();
+        for (int i = 0; i < REGISTRATIONS_PER_USER; i++) {
+            for (User user : users) {
+                registrations.add(() -> register(user));
+            }
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Future<Boolean>> results;
+        Instant start = Instant.now();
+        try {
+            results = executorService.invokeAll(registrations, 2, TimeUnit.MINUTES);
+        } finally {
+            executorService.shutdownNow();
+        }
+        Duration elapsed = Duration.between(start, Instant.now());
+
+        int admitted = 0;
+        for (Future<Boolean> result : results) {
+            assertThat(result.isCancelled()).as("registration timed out").isFalse();
+            if (result.get()) {
+                admitted++;
+            }
+        }
+        assertThat(admitted).isEqualTo(MAX_ATTENDEES);
+        assertThat(elapsed).isLessThan(Duration.ofMinutes(1));
+
+        List<EventAttendee> eventAttendees = eventAttendeeRepository.findAllByEventId(event.getId(), Pageable.unpaged()).getContent();
+        assertThat(eventAttendees).hasSize(MAX_ATTENDEES);
+        assertThat(eventAttendees.stream().map(EventAttendee::getUserId).collect(Collectors.toSet())).hasSize(MAX_ATTENDEES);
+        assertThat(eventRegistrationClosingCriteriaRepository.findFirstByEventIdOrderByIdAsc(event.getId()))
+            .hasValueSatisfying(criteria -> assertThat(criteria.getAttendeeCount()).isEqualTo(MAX_ATTENDEES));
+    }
+
+    @Test
+    public void delete_ShouldReleaseSeat() {
+        EventAttendeeDTO eventAttendeeDTO = eventAttendeeService.save(createEventAttendeeDTO(users.get(0)));
+        assertThat(eventRegistrationClosingCriteriaRepository.findFirstByEventIdOrderByIdAsc(event.getId()))
+            .hasValueSatisfying(criteria -> assertThat(criteria.getAttendeeCount()).isEqualTo(1));
+
+        eventAttendeeService.delete(eventAttendeeDTO.getId());
+        assertThat(eventRegistrationClosingCriteriaRepository.findFirstByEventIdOrderByIdAsc(event.getId()))
+            .hasValueSatisfying(criteria -> assertThat(criteria.getAttendeeCount()).isEqualTo(0));
+    }
+
+    @Test
+    public void save_WithSeveralCriteria_ShouldOnlyCountOnFirstCriteria() {
+        EventRegistrationClosingCriteria otherCriteria = eventRegistrationClosingCriteriaRepository.saveAndFlush(new EventRegistrationClosingCriteria()
+            .eventId(event.getId())
+            .maxAttendees(MAX_ATTENDEES)
+            .forceClose(false));
+
+        eventAttendeeService.save(createEventAttendeeDTO(users.get(0)));
+
+        assertThat(eventRegistrationClosingCriteriaRepository.findFirstByEventIdOrderByIdAsc(event.getId()))
+            .hasValueSatisfying(criteria -> assertThat(criteria.getAttendeeCount()).isEqualTo(1));
+        assertThat(eventRegistrationClosingCriteriaRepository.findById(otherCriteria.getId()))
+            .hasValueSatisfying(criteria -> assertThat(criteria.getAttendeeCount()).isEqualTo(0));
+    }
+
+    /**
+     * @return whether the user is admitted, rejections are expected to be reported as {@link BadRequestException}.
+     */
+    private boolean register(User user) {
+        try {
+            eventAttendeeService.save(createEventAttendeeDTO(user));
+            return true;
+        } catch (BadRequestException e) {
+            return false;
+        }
+    }
+
+    private EventAttendeeDTO createEventAttendeeDTO(User user) {
+        EventAttendeeDTO eventAttendeeDTO = new EventAttendeeDTO();
+        eventAttendeeDTO.setEventId(event.getId());
+        eventAttendeeDTO.setUserId(user.getId());
+        eventAttendeeDTO.setProvideTransport(false);
+        return eventAttendeeDTO;
+    }
+}
@@ -0,0 +1,176 @@
+package com.thirdcc.webapp.service;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import com.thirdcc.webapp.annotations.authorization.WithCurrentCCAdministrator;
+import com.thirdcc.webapp.annotations.init.InitYearSession;
+import com.thirdcc.webapp.domain.Budget;
+import com.thirdcc.webapp.domain.Event;
+import com.thirdcc.webapp.domain.EventFinanceSummary;
+import com.thirdcc.webapp.domain.enumeration.EventStatus;
+import com.thirdcc.webapp.domain.enumeration.TransactionStatus;
+import com.thirdcc.webapp.domain.enumeration.TransactionType;
+import com.thirdcc.webapp.repository.BudgetRepository;
+import com.thirdcc.webapp.repository.EventFinanceSummaryRepository;
+import com.thirdcc.webapp.repository.EventRepository;
+import com.thirdcc.webapp.repository.TransactionRepository;
+import com.thirdcc.webapp.service.dto.BudgetDTO;
+import com.thirdcc.webapp.service.dto.TransactionDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link EventFinanceSummaryService}.
+ */
+@SpringBootTest(classes = ClubmanagementApp.class)
+@InitYearSession
+@WithCurrentCCAdministrator
+public class EventFinanceSummaryServiceIT {
+
+    private static final BigDecimal DEFAULT_AMOUNT = new BigDecimal(11);
+    private static final BigDecimal UPDATED_AMOUNT = new BigDecimal(7);
+
+    @Autowired
+    private EventFinanceSummaryService eventFinanceSummaryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EventFinanceSummaryRepository eventFinanceSummaryRepository;
+
+    private Event event;
+
+    @BeforeEach
+    public void initTest() {
+        event = new Event();
+        event.setName("DEFAULT_EVENT_NAME");
+        event.setStartDate(Instant.now().minus(1, ChronoUnit.DAYS));
+        event.setEndDate(Instant.now().plus(5, ChronoUnit.DAYS));
+        event.setStatus(EventStatus.OPEN);
+        event = eventRepository.saveAndFlush(event);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        eventFinanceSummaryRepository.deleteAll();
+        transactionRepository.deleteAll();
+        budgetRepository.deleteAll();
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    public void transactionWrites_ShouldMaintainSummary() throws Exception {
+        TransactionDTO transactionDTO = transactionService.save(null, createTransactionDTO(TransactionType.INCOME));
+        assertSummary(EventFinanceSummary::getPendingIncome, DEFAULT_AMOUNT);
+
+        transactionService.updateTransactionStatus(transactionDTO.getId(), TransactionStatus.COMPLETED);
+        assertSummary(EventFinanceSummary::getPendingIncome, BigDecimal.ZERO);
+        assertSummary(EventFinanceSummary::getRealisedIncome, DEFAULT_AMOUNT);
+
+        transactionDTO.setTransactionType(TransactionType.EXPENSE);
+        transactionDTO.setTransactionStatus(TransactionStatus.COMPLETED);
+        transactionDTO.setImageLink("DEFAULT_IMAGE_LINK");
+        transactionDTO.setTransactionAmount(UPDATED_AMOUNT);
+        transactionService.save(null, transactionDTO);
+        assertSummary(EventFinanceSummary::getRealisedIncome, BigDecimal.ZERO);
+        assertSummary(EventFinanceSummary::getRealisedExpense, UPDATED_AMOUNT);
+
+        transactionService.delete(transactionDTO.getId());
+        assertSummary(EventFinanceSummary::getRealisedExpense, BigDecimal.ZERO);
+        assertThat(eventFinanceSummaryService.checkConsistency(false)).doesNotContain(event.getId());
+    }
+
+    @Test
+    public void budgetWrites_ShouldMaintainSummary() {
+        BudgetDTO budgetDTO = budgetService.save(createBudgetDTO(TransactionType.INCOME));
+        assertSummary(EventFinanceSummary::getBudgetIncome, DEFAULT_AMOUNT);
+
+        budgetDTO.setType(TransactionType.EXPENSE);
+        budgetDTO.setAmount(UPDATED_AMOUNT);
+        budgetService.update(budgetDTO);
+        assertSummary(EventFinanceSummary::getBudgetIncome, BigDecimal.ZERO);
+        assertSummary(EventFinanceSummary::getBudgetExpense, UPDATED_AMOUNT);
+
+        budgetService.delete(event.getId(), budgetDTO.getId());
+        assertSummary(EventFinanceSummary::getBudgetExpense, BigDecimal.ZERO);
+        assertThat(eventFinanceSummaryService.checkConsistency(false)).doesNotContain(event.getId());
+    }
+
+    @Test
+    public void checkConsistency_WithBudgetWrittenOutsideService_ShouldReportAndRebuild() {
+        budgetService.save(createBudgetDTO(TransactionType.INCOME));
+        Budget budget = new Budget();
+        budget.setEventId(event.getId());
+        budget.setAmount(UPDATED_AMOUNT);
+        budget.setType(TransactionType.INCOME);
+        budgetRepository.saveAndFlush(budget);
+
+        assertThat(eventFinanceSummaryService.checkConsistency(false)).contains(event.getId());
+
+        assertThat(eventFinanceSummaryService.rebuildAll()).isGreaterThanOrEqualTo(1);
+        assertThat(eventFinanceSummaryService.checkConsistency(false)).doesNotContain(event.getId());
+        assertSummary(EventFinanceSummary::getBudgetIncome, DEFAULT_AMOUNT.add(UPDATED_AMOUNT));
+    }
+
+    @Test
+    public void firstWrite_WithoutSummary_ShouldInsertSummaryIncludingExistingRows() {
+        Budget budget = new Budget();
+        budget.setEventId(event.getId());
+        budget.setAmount(UPDATED_AMOUNT);
+        budget.setType(TransactionType.INCOME);
+        budgetRepository.saveAndFlush(budget);
+        assertThat(eventFinanceSummaryRepository.existsById(event.getId())).isFalse();
+
+        budgetService.save(createBudgetDTO(TransactionType.INCOME));
+
+        assertSummary(EventFinanceSummary::getBudgetIncome, DEFAULT_AMOUNT.add(UPDATED_AMOUNT));
+        assertThat(eventFinanceSummaryService.checkConsistency(false)).doesNotContain(event.getId());
+    }
+
+    private void assertSummary(Function<EventFinanceSummary, BigDecimal> amount, BigDecimal expected) {
+        EventFinanceSummary summary = eventFinanceSummaryRepository.findById(event.getId()).orElseThrow(AssertionError::new);
+        assertThat(amount.apply(summary)).isEqualByComparingTo(expected);
+    }
+
+    private TransactionDTO createTransactionDTO(TransactionType transactionType) {
+        TransactionDTO transactionDTO = new TransactionDTO();
+        transactionDTO.setTitle("DEFAULT_TITLE");
+        transactionDTO.setEventId(event.getId());
+        transactionDTO.setTransactionType(transactionType);
+        transactionDTO.setTransactionStatus(TransactionStatus.PENDING);
+        transactionDTO.setTransactionAmount(DEFAULT_AMOUNT);
+        transactionDTO.setTransactionDate(Instant.now());
+        return transactionDTO;
+    }
+
+    private BudgetDTO createBudgetDTO(TransactionType transactionType) {
+        BudgetDTO budgetDTO = new BudgetDTO();
+        budgetDTO.setEventId(event.getId());
+        budgetDTO.setName("DEFAULT_BUDGET_NAME");
+        budgetDTO.setType(transactionType);
+        budgetDTO.setAmount(DEFAULT_AMOUNT);
+        return budgetDTO;
+    }
+}
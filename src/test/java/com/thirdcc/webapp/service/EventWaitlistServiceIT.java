@@ -0,0 +1,230 @@
+package com.thirdcc.webapp.service;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import com.thirdcc.webapp.annotations.authorization.WithCurrentCCAdministrator;
+import com.thirdcc.webapp.annotations.init.InitYearSession;
+import com.thirdcc.webapp.domain.Event;
+import com.thirdcc.webapp.domain.EventAttendee;
+import com.thirdcc.webapp.domain.EventRegistrationClosingCriteria;
+import com.thirdcc.webapp.domain.EventWaitlistEntry;
+import com.thirdcc.webapp.domain.User;
+import com.thirdcc.webapp.domain.enumeration.EventStatus;
+import com.thirdcc.webapp.repository.EventAttendeeRepository;
+import com.thirdcc.webapp.repository.EventRegistrationClosingCriteriaRepository;
+import com.thirdcc.webapp.repository.EventRepository;
+import com.thirdcc.webapp.repository.EventWaitlistEntryRepository;
+import com.thirdcc.webapp.repository.UserRepository;
+import com.thirdcc.webapp.service.dto.EventRegistrationClosingCriteriaDTO;
+import com.thirdcc.webapp.service.mapper.EventRegistrationClosingCriteriaMapper;
+import com.thirdcc.webapp.web.rest.UserResourceIT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Integration tests for the promotion of the waitlists by {@link EventWaitlistService}.
+ */
+@SpringBootTest(classes = ClubmanagementApp.class)
+@InitYearSession
+@WithCurrentCCAdministrator
+public class EventWaitlistServiceIT {
+
+    private static final int MAX_ATTENDEES = 3;
+    private static final int QUEUED_USER_COUNT = 5;
+
+    @Autowired
+    private EventWaitlistService eventWaitlistService;
+
+    @Autowired
+    private EventAttendeeService eventAttendeeService;
+
+    @Autowired
+    private EventRegistrationClosingCriteriaService eventRegistrationClosingCriteriaService;
+
+    @Autowired
+    private EventRegistrationClosingCriteriaMapper eventRegistrationClosingCriteriaMapper;
+
+    @Autowired
+    private EventWaitlistEntryRepository eventWaitlistEntryRepository;
+
+    @Autowired
+    private EventAttendeeRepository eventAttendeeRepository;
+
+    @Autowired
+    private EventRegistrationClosingCriteriaRepository eventRegistrationClosingCriteriaRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private MailService mailService;
+
+    private Event event;
+
+    private EventRegistrationClosingCriteria criteria;
+
+    private List<User> users;
+
+    private List<EventAttendee> eventAttendees;
+
+    @BeforeEach
+    public void initTest() {
+        event = new Event();
+        event.setName("DEFAULT_EVENT_NAME");
+        event.setStartDate(Instant.now().plus(1, ChronoUnit.DAYS));
+        event.setEndDate(Instant.now().plus(5, ChronoUnit.DAYS));
+        event.setStatus(EventStatus.OPEN);
+        event = eventRepository.saveAndFlush(event);
+
+        users = new ArrayList<>();
+        for (int i = 0; i < MAX_ATTENDEES + QUEUED_USER_COUNT; i++) {
+            User user = UserResourceIT.createUserEntity();
+            user.setLogin("waitlist-" + i);
+            user.setEmail("waitlist-" + i + "@localhost");
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        eventAttendees = new ArrayList<>();
+        for (User user : users.subList(0, MAX_ATTENDEES)) {
+            eventAttendees.add(eventAttendeeRepository.saveAndFlush(new EventAttendee()
+                .eventId(event.getId())
+                .userId(user.getId())));
+        }
+        criteria = eventRegistrationClosingCriteriaRepository.saveAndFlush(new EventRegistrationClosingCriteria()
+            .eventId(event.getId())
+            .maxAttendees(MAX_ATTENDEES)
+            .attendeeCount(MAX_ATTENDEES)
+            .forceClose(false));
+        for (User user : users.subList(MAX_ATTENDEES, users.size())) {
+            eventWaitlistEntryRepository.saveAndFlush(new EventWaitlistEntry()
+                .eventId(event.getId())
+                .userId(user.getId()));
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        eventWaitlistEntryRepository.deleteAll();
+        eventAttendeeRepository.deleteAll();
+        eventRegistrationClosingCriteriaRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    public void delete_WithMassCancellationInOneTransaction_ShouldPromoteHeadOfWaitlist() {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            eventAttendees.forEach(eventAttendee -> eventAttendeeService.delete(eventAttendee.getId()));
+            // nothing is promoted before the cancellations are committed
+            assertThat(eventWaitlistEntryRepository.findAll()).hasSize(QUEUED_USER_COUNT);
+            return null;
+        });
+
+        List<Long> promotedUserIds = users.subList(MAX_ATTENDEES, MAX_ATTENDEES * 2).stream()
+            .map(User::getId)
+            .collect(Collectors.toList());
+        assertThat(getAttendeeUserIds()).containsExactlyInAnyOrderElementsOf(promotedUserIds);
+        assertThat(getAttendeeCount()).isEqualTo(MAX_ATTENDEES);
+        assertThat(eventWaitlistEntryRepository.findAll())
+            .extracting(EventWaitlistEntry::getUserId)
+            .containsExactly(users.get(MAX_ATTENDEES * 2).getId(), users.get(MAX_ATTENDEES * 2 + 1).getId());
+        promotedUserIds.forEach(userId -> verify(mailService, timeout(5000))
+            .sendWaitlistPromotionEmail(argThat(user -> userId.equals(user.getId())), any(Event.class)));
+    }
+
+    @Test
+    public void promote_WithoutAvailableSeat_ShouldDoNothing() {
+        assertThat(eventWaitlistService.promote(event.getId())).isEqualTo(0);
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            eventAttendeeRepository.delete(eventAttendees.get(0));
+            return eventRegistrationClosingCriteriaRepository.releaseSeat(criteria.getId());
+        });
+        assertThat(eventWaitlistService.promote(event.getId())).isEqualTo(1);
+        assertThat(eventWaitlistService.promote(event.getId())).isEqualTo(0);
+
+        assertThat(getAttendeeCount()).isEqualTo(MAX_ATTENDEES);
+        assertThat(eventWaitlistEntryRepository.findAll()).hasSize(QUEUED_USER_COUNT - 1);
+    }
+
+    @Test
+    public void promote_WithRegistrationClosed_ShouldDoNothing() {
+        eventRegistrationClosingCriteriaRepository.saveAndFlush(criteria
+            .maxAttendees(MAX_ATTENDEES + 1)
+            .closingDate(Instant.now().minus(1, ChronoUnit.HOURS)));
+
+        assertThat(eventWaitlistService.promote(event.getId())).isEqualTo(0);
+
+        assertThat(getAttendeeCount()).isEqualTo(MAX_ATTENDEES);
+        assertThat(eventWaitlistEntryRepository.findAll()).hasSize(QUEUED_USER_COUNT);
+    }
+
+    @Test
+    public void promote_WithHeadOfWaitlistRegistered_ShouldFillSeatWithNextEntry() {
+        eventWaitlistEntryRepository.deleteAll();
+        eventWaitlistEntryRepository.saveAndFlush(new EventWaitlistEntry()
+            .eventId(event.getId())
+            .userId(eventAttendees.get(0).getUserId()));
+        for (User user : users.subList(MAX_ATTENDEES, users.size())) {
+            eventWaitlistEntryRepository.saveAndFlush(new EventWaitlistEntry()
+                .eventId(event.getId())
+                .userId(user.getId()));
+        }
+        eventRegistrationClosingCriteriaRepository.saveAndFlush(criteria.maxAttendees(MAX_ATTENDEES + 1));
+
+        assertThat(eventWaitlistService.promote(event.getId())).isEqualTo(1);
+
+        assertThat(getAttendeeCount()).isEqualTo(MAX_ATTENDEES + 1);
+        assertThat(getAttendeeUserIds()).contains(users.get(MAX_ATTENDEES).getId());
+        assertThat(eventWaitlistEntryRepository.findAll()).hasSize(QUEUED_USER_COUNT - 1);
+    }
+
+    @Test
+    public void save_WithCapacityRaised_ShouldPromoteWaitlist() {
+        EventRegistrationClosingCriteriaDTO criteriaDTO = eventRegistrationClosingCriteriaMapper.toDto(criteria);
+        criteriaDTO.setMaxAttendees(MAX_ATTENDEES + QUEUED_USER_COUNT + 1);
+
+        eventRegistrationClosingCriteriaService.save(criteriaDTO);
+
+        assertThat(eventWaitlistEntryRepository.findAll()).isEmpty();
+        assertThat(getAttendeeUserIds()).containsExactlyInAnyOrderElementsOf(users.stream().map(User::getId).collect(Collectors.toList()));
+        assertThat(getAttendeeCount()).isEqualTo(MAX_ATTENDEES + QUEUED_USER_COUNT);
+    }
+
+    private List<Long> getAttendeeUserIds() {
+        return eventAttendeeRepository.findAllByEventId(event.getId(), Pageable.unpaged()).stream()
+            .map(EventAttendee::getUserId)
+            .collect(Collectors.toList());
+    }
+
+    private int getAttendeeCount() {
+        return eventRegistrationClosingCriteriaRepository.findById(criteria.getId())
+            .map(EventRegistrationClosingCriteria::getAttendeeCount)
+            .orElseThrow(AssertionError::new);
+    }
+}
@@ -0,0 +1,127 @@
+package com.thirdcc.webapp.service;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import com.thirdcc.webapp.domain.YearSession;
+import com.thirdcc.webapp.exception.BadRequestException;
+import com.thirdcc.webapp.repository.YearSessionRepository;
+import com.thirdcc.webapp.service.impl.YearSessionServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the year session snapshot of {@link YearSessionService}.
+ */
+@SpringBootTest(classes = ClubmanagementApp.class, properties = "application.year-session.snapshot-enabled=true")
+public class YearSessionServiceIT {
+
+    private static final String PREVIOUS_YEAR_SESSION_VALUE = "2020/2021";
+    private static final String CURRENT_YEAR_SESSION_VALUE = "2021/2022";
+    private static final String NEXT_YEAR_SESSION_VALUE = "2022/2023";
+
+    @Autowired
+    private YearSessionService yearSessionService;
+
+    @Autowired
+    private YearSessionServiceImpl yearSessionServiceImpl;
+
+    @Autowired
+    private YearSessionRepository yearSessionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private YearSession previousYearSession;
+
+    private YearSession currentYearSession;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void initTest() {
+        previousYearSession = yearSessionRepository.saveAndFlush(new YearSession().value(PREVIOUS_YEAR_SESSION_VALUE));
+        currentYearSession = yearSessionRepository.saveAndFlush(new YearSession().value(CURRENT_YEAR_SESSION_VALUE));
+        yearSessionServiceImpl.refreshSnapshotPeriodically();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        statistics.setStatisticsEnabled(false);
+        yearSessionRepository.deleteAll();
+        yearSessionServiceImpl.refreshSnapshotPeriodically();
+    }
+
+    @Test
+    public void lookups_ShouldBeServedFromSnapshotWithoutStatements() {
+        assertThat(yearSessionService.getCurrentYearSession()).isEqualTo(currentYearSession);
+        assertThat(yearSessionService.findCurrentYearSession()).contains(currentYearSession);
+        assertThat(yearSessionService.getDefaultYearSessionString()).isEqualTo(CURRENT_YEAR_SESSION_VALUE);
+        assertThat(yearSessionService.getYearSessionStringById(previousYearSession.getId())).isEqualTo(PREVIOUS_YEAR_SESSION_VALUE);
+        assertThat(yearSessionService.findOne(previousYearSession.getId())).contains(previousYearSession);
+        assertThat(yearSessionService.findOneByValue(PREVIOUS_YEAR_SESSION_VALUE)).contains(previousYearSession);
+        assertThat(yearSessionService.findAll()).containsExactly(previousYearSession, currentYearSession);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void getYearSessionStringById_WithUnknownId_ShouldThrowBadRequest() {
+        assertThatThrownBy(() -> yearSessionService.getYearSessionStringById(Long.MAX_VALUE))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    public void findCurrentYearSession_ShouldNotExposeSnapshotToChanges() {
+        yearSessionService.findCurrentYearSession().ifPresent(yearSession -> yearSession.setValue(NEXT_YEAR_SESSION_VALUE));
+
+        assertThat(yearSessionService.getDefaultYearSessionString()).isEqualTo(CURRENT_YEAR_SESSION_VALUE);
+    }
+
+    @Test
+    public void save_ShouldRefreshSnapshotOnlyAfterCommit() {
+        YearSession nextYearSession = new TransactionTemplate(transactionManager).execute(status -> {
+            YearSession result = yearSessionService.save(new YearSession().value(NEXT_YEAR_SESSION_VALUE));
+            assertThat(yearSessionService.getDefaultYearSessionString()).isEqualTo(CURRENT_YEAR_SESSION_VALUE);
+            return result;
+        });
+
+        assertThat(yearSessionService.findCurrentYearSession()).contains(nextYearSession);
+        assertThat(yearSessionService.getDefaultYearSessionString()).isEqualTo(NEXT_YEAR_SESSION_VALUE);
+    }
+
+    @Test
+    public void delete_ShouldRefreshSnapshotAfterCommit() {
+        yearSessionService.delete(currentYearSession.getId());
+
+        assertThat(yearSessionService.getDefaultYearSessionString()).isEqualTo(PREVIOUS_YEAR_SESSION_VALUE);
+        assertThat(yearSessionService.findOne(currentYearSession.getId())).isEmpty();
+        assertThat(yearSessionService.findOneByValue(CURRENT_YEAR_SESSION_VALUE)).isEmpty();
+    }
+
+    @Test
+    public void refreshSnapshotPeriodically_ShouldPickUpChangesNotMadeThroughService() {
+        YearSession nextYearSession = yearSessionRepository.saveAndFlush(new YearSession().value(NEXT_YEAR_SESSION_VALUE));
+        assertThat(yearSessionService.getDefaultYearSessionString()).isEqualTo(CURRENT_YEAR_SESSION_VALUE);
+
+        yearSessionServiceImpl.refreshSnapshotPeriodically();
+
+        assertThat(yearSessionService.findCurrentYearSession()).contains(nextYearSession);
+    }
+}
@@ -0,0 +1,392 @@
+package com.thirdcc.webapp.upload;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import com.thirdcc.webapp.domain.ImageStorage;
+import com.thirdcc.webapp.domain.enumeration.ImageStorageStatus;
+import com.thirdcc.webapp.exception.BadRequestException;
+import com.thirdcc.webapp.lib.wrapper.FakeCloudStorage;
+import com.thirdcc.webapp.repository.ImageStorageRepository;
+import com.thirdcc.webapp.service.dto.ImageStorageDTO;
+import com.thirdcc.webapp.service.impl.ImageStorageServiceImpl;
+import com.thirdcc.webapp.service.mapper.ImageStorageMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the {@link ImageUploadPipeline}, against a {@link FakeCloudStorage}.
+ */
+@SpringBootTest(classes = {ClubmanagementApp.class, ImageUploadPipelineIT.FakeCloudStorageConfiguration.class}, properties = {
+    "application.image-upload.max-attempts=3",
+    "application.image-upload.initial-backoff-millis=10",
+    "application.image-upload.max-backoff-millis=50"
+})
+public class ImageUploadPipelineIT {
+
+    private static final String FILE_NAME = "poster.png";
+    private static final String FILE_TYPE = "image/png";
+    private static final byte[] CONTENT = "AAAAAAAAAA".getBytes();
+    // SHA-256 of the CONTENT
+    private static final String CONTENT_HASH = "1d65bf29403e4fb1767522a107c827b8884d16640cf0e3b18c4c1dd107e0d49d";
+
+    @Autowired
+    private FakeCloudStorage fakeCloudStorage;
+
+    @Autowired
+    private ImageStorageRepository imageStorageRepository;
+
+    @Autowired
+    private ImageStorageMapper imageStorageMapper;
+
+    @Autowired
+    private ImageUploadPipeline imageUploadPipeline;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // the ImageStorageService bean is mocked in the integration tests
+    private ImageStorageServiceImpl imageStorageService;
+
+    private final List<Long> imageStorageIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        imageStorageService = new ImageStorageServiceImpl(imageStorageRepository, imageStorageMapper, fakeCloudStorage, imageUploadPipeline);
+        fakeCloudStorage.reset();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fakeCloudStorage.reset();
+        imageStorageIds.forEach(id -> imageStorageRepository.findById(id).ifPresent(imageStorageRepository::delete));
+    }
+
+    @Test
+    public void save_ShouldReturnPendingImageBeforeUpload() throws Exception {
+        CountDownLatch release = fakeCloudStorage.hold();
+        List<Path> spooledFiles = listSpooledFiles();
+
+        ImageStorageDTO result = save();
+
+        assertThat(result.getStatus()).isEqualTo(ImageStorageStatus.PENDING);
+        assertThat(result.getFileName()).isEqualTo(FILE_NAME);
+        assertThat(result.getFileType()).isEqualTo(FILE_TYPE);
+        assertThat(result.getContentHash()).isEqualTo(CONTENT_HASH);
+        assertThat(result.getImageUrl()).isEqualTo(FakeCloudStorage.BASE_URL + CONTENT_HASH);
+        assertThat(imageStorageRepository.findById(result.getId()))
+            .hasValueSatisfying(imageStorage -> assertThat(imageStorage.getStatus()).isEqualTo(ImageStorageStatus.PENDING));
+
+        release.countDown();
+
+        assertThat(awaitCompletion(result.getId()).getStatus()).isEqualTo(ImageStorageStatus.READY);
+        assertThat(fakeCloudStorage.getObjects().get(CONTENT_HASH)).isEqualTo(CONTENT);
+        // not an image
+        assertThat(getVariants(result.getId())).isEmpty();
+        assertThat(listSpooledFiles()).containsExactlyInAnyOrderElementsOf(spooledFiles);
+    }
+
+    @Test
+    public void save_WhenContentAlreadyStored_ShouldReuseItWithoutUpload() throws Exception {
+        ImageStorageDTO first = save();
+        assertThat(awaitCompletion(first.getId()).getStatus()).isEqualTo(ImageStorageStatus.READY);
+        DistributionSummary deduplicatedBytes = meterRegistry.summary("image.upload.bytes", "transfer", "deduplicated");
+        double deduplicatedBytesBefore = deduplicatedBytes.totalAmount();
+        List<Path> spooledFiles = listSpooledFiles();
+
+        ImageStorageDTO second = save();
+
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(second.getStatus()).isEqualTo(ImageStorageStatus.READY);
+        assertThat(second.getImageUrl()).isEqualTo(first.getImageUrl());
+        assertThat(second.getContentHash()).isEqualTo(CONTENT_HASH);
+        assertThat(fakeCloudStorage.getAttempts()).isEqualTo(1);
+        assertThat(deduplicatedBytes.totalAmount() - deduplicatedBytesBefore).isEqualTo(CONTENT.length);
+        assertThat(listSpooledFiles()).containsExactlyInAnyOrderElementsOf(spooledFiles);
+    }
+
+    @Test
+    public void upload_WhenImage_ShouldStoreDownsizedVariants() throws Exception {
+        List<Path> spooledFiles = listSpooledFiles();
+
+        ImageStorageDTO result = save(createPng(1200, 600));
+
+        assertThat(awaitCompletion(result.getId()).getStatus()).isEqualTo(ImageStorageStatus.READY);
+        Map<Integer, String> variants = getVariants(result.getId());
+        assertThat(variants).containsOnlyKeys(160, 480, 1080);
+        for (Map.Entry<Integer, String> variant : variants.entrySet()) {
+            String objectName = result.getContentHash() + "-" + variant.getKey() + ".jpg";
+            assertThat(variant.getValue()).isEqualTo(FakeCloudStorage.BASE_URL + objectName);
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(fakeCloudStorage.getObjects().get(objectName)));
+            assertThat(image.getWidth()).isEqualTo(variant.getKey());
+            assertThat(image.getHeight()).isEqualTo(variant.getKey() / 2);
+        }
+        assertThat(listSpooledFiles()).containsExactlyInAnyOrderElementsOf(spooledFiles);
+    }
+
+    @Test
+    public void upload_WhenSmallImage_ShouldOnlyStoreSmallerVariants() throws Exception {
+        ImageStorageDTO result = save(createPng(300, 100));
+
+        assertThat(awaitCompletion(result.getId()).getStatus()).isEqualTo(ImageStorageStatus.READY);
+        assertThat(getVariants(result.getId())).containsOnlyKeys(160);
+    }
+
+    @Test
+    public void upload_WhenCloudStorageFailsTransiently_ShouldRetryUntilReady() throws Exception {
+        fakeCloudStorage.failNext(2);
+
+        ImageStorageDTO result = save();
+
+        assertThat(awaitCompletion(result.getId()).getStatus()).isEqualTo(ImageStorageStatus.READY);
+        assertThat(fakeCloudStorage.getAttempts()).isEqualTo(3);
+        assertThat(fakeCloudStorage.getObjects()).hasSize(1);
+    }
+
+    @Test
+    public void upload_WhenCloudStorageKeepsFailing_ShouldMarkFailed() throws Exception {
+        fakeCloudStorage.failNext(Integer.MAX_VALUE);
+        List<Path> spooledFiles = listSpooledFiles();
+
+        ImageStorageDTO result = save();
+
+        assertThat(awaitCompletion(result.getId()).getStatus()).isEqualTo(ImageStorageStatus.FAILED);
+        assertThat(fakeCloudStorage.getAttempts()).isEqualTo(3);
+        assertThat(fakeCloudStorage.getObjects()).isEmpty();
+        assertThat(listSpooledFiles()).containsExactlyInAnyOrderElementsOf(spooledFiles);
+    }
+
+    @Test
+    public void save_WhenTransactionRollsBack_ShouldNotUpload() throws Exception {
+        List<Path> spooledFiles = listSpooledFiles();
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            imageStorageIds.add(saveUnchecked().getId());
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(imageStorageRepository.findById(imageStorageIds.get(0))).isEmpty();
+        assertThat(fakeCloudStorage.getAttempts()).isZero();
+        assertThat(listSpooledFiles()).containsExactlyInAnyOrderElementsOf(spooledFiles);
+    }
+
+    @Test
+    public void save_WhenNotRasterImage_ShouldRejectWithoutSpooling() throws Exception {
+        List<Path> spooledFiles = listSpooledFiles();
+        long countBefore = imageStorageRepository.count();
+
+        assertThatThrownBy(() -> imageStorageService.save(new ImageStorageDTO(), new MockMultipartFile("multipartFile", "page.svg", "image/svg+xml", CONTENT)))
+            .isInstanceOf(BadRequestException.class);
+
+        assertThat(imageStorageRepository.count()).isEqualTo(countBefore);
+        assertThat(fakeCloudStorage.getAttempts()).isZero();
+        assertThat(listSpooledFiles()).containsExactlyInAnyOrderElementsOf(spooledFiles);
+    }
+
+    @Test
+    public void sweep_WhenStalePendingWithSpooledFile_ShouldResumeUpload() throws Exception {
+        Path file = createSpooledFile();
+        ImageStorage imageStorage = savePending(file.toString(), Instant.now().minus(1, ChronoUnit.HOURS));
+
+        imageUploadPipeline.sweep();
+
+        ImageStorage result = awaitCompletion(imageStorage.getId());
+        assertThat(result.getStatus()).isEqualTo(ImageStorageStatus.READY);
+        assertThat(result.getSpoolPath()).isNull();
+        assertThat(fakeCloudStorage.getObjects().get(CONTENT_HASH)).isEqualTo(CONTENT);
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    public void sweep_WhenStalePendingWithLostSpooledFile_ShouldMarkFailed() throws Exception {
+        Path file = createSpooledFile();
+        Files.delete(file);
+        ImageStorage imageStorage = savePending(file.toString(), Instant.now().minus(1, ChronoUnit.HOURS));
+        ImageStorage legacyImageStorage = savePending(null, null, null);
+
+        imageUploadPipeline.sweep();
+
+        assertThat(imageStorageRepository.findById(imageStorage.getId()))
+            .hasValueSatisfying(result -> assertThat(result.getStatus()).isEqualTo(ImageStorageStatus.FAILED));
+        assertThat(imageStorageRepository.findById(legacyImageStorage.getId()))
+            .hasValueSatisfying(result -> assertThat(result.getStatus()).isEqualTo(ImageStorageStatus.FAILED));
+        assertThat(fakeCloudStorage.getAttempts()).isZero();
+    }
+
+    @Test
+    public void sweep_WhenStalePendingSpooledOnOtherHost_ShouldKeepIt() throws Exception {
+        Path file = createSpooledFile();
+        Files.delete(file);
+        ImageStorage imageStorage = savePending(file.toString(), "other-host", Instant.now().minus(1, ChronoUnit.HOURS));
+
+        imageUploadPipeline.sweep();
+
+        assertThat(imageStorageRepository.findById(imageStorage.getId()))
+            .hasValueSatisfying(result -> assertThat(result.getStatus()).isEqualTo(ImageStorageStatus.PENDING));
+        assertThat(fakeCloudStorage.getAttempts()).isZero();
+    }
+
+    @Test
+    public void sweep_WhenPendingNotStale_ShouldKeepIt() throws Exception {
+        Path file = createSpooledFile();
+        ImageStorage imageStorage = savePending(file.toString(), Instant.now());
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+
+        try {
+            imageUploadPipeline.sweep();
+
+            assertThat(imageStorageRepository.findById(imageStorage.getId()))
+                .hasValueSatisfying(result -> assertThat(result.getStatus()).isEqualTo(ImageStorageStatus.PENDING));
+            assertThat(fakeCloudStorage.getAttempts()).isZero();
+            assertThat(file).exists();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void sweep_ShouldDeleteStaleOrphanedSpooledFiles() throws Exception {
+        Path staleFile = createSpooledFile();
+        Files.setLastModifiedTime(staleFile, FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+        Path recentFile = createSpooledFile();
+
+        try {
+            imageUploadPipeline.sweep();
+
+            assertThat(staleFile).doesNotExist();
+            assertThat(recentFile).exists();
+        } finally {
+            Files.deleteIfExists(recentFile);
+        }
+    }
+
+    private ImageStorage savePending(String spoolPath, Instant spooledDate) {
+        return savePending(spoolPath, imageUploadPipeline.getSpoolHost(), spooledDate);
+    }
+
+    private ImageStorage savePending(String spoolPath, String spoolHost, Instant spooledDate) {
+        ImageStorage imageStorage = imageStorageRepository.saveAndFlush(new ImageStorage()
+            .imageUrl(FakeCloudStorage.BASE_URL + CONTENT_HASH)
+            .fileName(FILE_NAME)
+            .fileType(FILE_TYPE)
+            .contentHash(CONTENT_HASH)
+            .status(ImageStorageStatus.PENDING)
+            .spoolPath(spoolPath)
+            .spoolHost(spoolHost)
+            .spooledDate(spooledDate));
+        imageStorageIds.add(imageStorage.getId());
+        return imageStorage;
+    }
+
+    private static Path createSpooledFile() throws IOException {
+        Path file = Files.createTempFile(Paths.get(System.getProperty("java.io.tmpdir")), "image-upload-", ".tmp");
+        return Files.write(file, CONTENT);
+    }
+
+    private ImageStorageDTO save() {
+        return save(CONTENT);
+    }
+
+    private ImageStorageDTO save(byte[] content) {
+        ImageStorageDTO result = new TransactionTemplate(transactionManager).execute(status -> saveUnchecked(content));
+        imageStorageIds.add(result.getId());
+        return result;
+    }
+
+    private ImageStorageDTO saveUnchecked() {
+        return saveUnchecked(CONTENT);
+    }
+
+    private ImageStorageDTO saveUnchecked(byte[] content) {
+        try {
+            return imageStorageService.save(new ImageStorageDTO(), new MockMultipartFile("multipartFile", FILE_NAME, FILE_TYPE, content));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<Integer, String> getVariants(Long id) {
+        return new TransactionTemplate(transactionManager).execute(status -> imageStorageRepository.findById(id)
+            .map(imageStorage -> new HashMap<>(imageStorage.getVariants()))
+            .orElseThrow(IllegalStateException::new));
+    }
+
+    private static byte[] createPng(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    private ImageStorage awaitCompletion(Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (true) {
+            ImageStorage imageStorage = imageStorageRepository.findById(id).orElseThrow(IllegalStateException::new);
+            if (imageStorage.getStatus() != ImageStorageStatus.PENDING || System.currentTimeMillis() > deadline) {
+                // the spooled file is deleted right after the status update
+                Thread.sleep(50);
+                return imageStorage;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static List<Path> listSpooledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            List<Path> spooledFiles = new ArrayList<>();
+            files.filter(file -> file.getFileName().toString().startsWith("image-upload-")).forEach(spooledFiles::add);
+            return spooledFiles;
+        }
+    }
+
+    @TestConfiguration
+    public static class FakeCloudStorageConfiguration {
+
+        @Bean
+        @Primary
+        public FakeCloudStorage fakeCloudStorage() {
+            return new FakeCloudStorage();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.thirdcc.webapp.warmup;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@link CacheWarmUp} run at startup.
+ */
+@SpringBootTest(classes = ClubmanagementApp.class, properties = {
+    "application.warm-up.enabled=true",
+    "application.warm-up.endpoint-iterations=2"
+})
+public class CacheWarmUpIT {
+
+    private static final long TIMEOUT_MILLIS = 30000L;
+
+    @Autowired
+    private CacheWarmUp cacheWarmUp;
+
+    @Autowired
+    private WarmUpHealthIndicator warmUpHealthIndicator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void warmUp_ShouldRunEveryStepAtStartupThenReportUp() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!cacheWarmUp.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(cacheWarmUp.getStatus()).isEqualTo(CacheWarmUp.Status.COMPLETED);
+        assertThat(warmUpHealthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        for (String step : new String[]{
+            CacheWarmUp.CURRENT_YEAR_SESSION,
+            CacheWarmUp.REFERENCE_DATA,
+            CacheWarmUp.UPCOMING_EVENTS,
+            CacheWarmUp.ACTIVE_ADMINISTRATORS,
+            CacheWarmUp.READ_ENDPOINTS
+        }) {
+            assertThat(meterRegistry.get("warmup.step").tags("step", step, "outcome", "success").timer().count())
+                .as(step)
+                .isEqualTo(1L);
+        }
+        assertThat(meterRegistry.get("warmup.progress").gauge().value()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,149 @@
+package com.thirdcc.webapp.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link CacheWarmUp} and its {@link WarmUpHealthIndicator}.
+ */
+public class CacheWarmUpTest {
+
+    private static final Duration TIME_BUDGET = Duration.ofMinutes(1);
+
+    private MeterRegistry meterRegistry;
+
+    private List<String> ranSteps;
+
+    private List<Runnable> submittedTasks;
+
+    private Executor executor;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ranSteps = new ArrayList<>();
+        submittedTasks = new ArrayList<>();
+        executor = submittedTasks::add;
+    }
+
+    @Test
+    public void health_BeforeWarmUpFinished_ShouldBeOutOfService() {
+        CacheWarmUp cacheWarmUp = new CacheWarmUp(true, steps("first", "second"), TIME_BUDGET, meterRegistry, executor);
+        WarmUpHealthIndicator healthIndicator = new WarmUpHealthIndicator(cacheWarmUp);
+
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        cacheWarmUp.start();
+
+        assertThat(submittedTasks).hasSize(1);
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("status", CacheWarmUp.Status.RUNNING);
+        assertThat(meterRegistry.get("warmup.progress").gauge().value()).isEqualTo(0.0);
+    }
+
+    @Test
+    public void run_ShouldRunStepsInOrderThenReportUp() {
+        CacheWarmUp cacheWarmUp = new CacheWarmUp(true, steps("first", "second"), TIME_BUDGET, meterRegistry, executor);
+        WarmUpHealthIndicator healthIndicator = new WarmUpHealthIndicator(cacheWarmUp);
+
+        cacheWarmUp.start();
+        submittedTasks.forEach(Runnable::run);
+
+        assertThat(ranSteps).containsExactly("first", "second");
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("status", CacheWarmUp.Status.COMPLETED);
+        assertThat(meterRegistry.get("warmup.progress").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("warmup.step").tags("step", "first", "outcome", "success").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("warmup.step").tags("step", "second", "outcome", "success").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("warmup.duration").tag("status", "completed").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    public void run_WithFailingStep_ShouldRunNextSteps() {
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+        steps.put("failing", () -> {
+            throw new IllegalStateException("database unavailable");
+        });
+        steps.putAll(steps("next"));
+        CacheWarmUp cacheWarmUp = new CacheWarmUp(true, steps, TIME_BUDGET, meterRegistry, executor);
+
+        cacheWarmUp.start();
+        submittedTasks.forEach(Runnable::run);
+
+        assertThat(ranSteps).containsExactly("next");
+        assertThat(cacheWarmUp.getStatus()).isEqualTo(CacheWarmUp.Status.COMPLETED);
+        assertThat(meterRegistry.get("warmup.step").tags("step", "failing", "outcome", "failure").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("warmup.step").tags("step", "next", "outcome", "success").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    public void run_WhenTimeBudgetSpent_ShouldSkipRemainingStepsAndReportUp() {
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+        steps.put("slow", () -> {
+            ranSteps.add("slow");
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        steps.putAll(steps("skipped"));
+        CacheWarmUp cacheWarmUp = new CacheWarmUp(true, steps, Duration.ofMillis(50), meterRegistry, executor);
+        WarmUpHealthIndicator healthIndicator = new WarmUpHealthIndicator(cacheWarmUp);
+
+        cacheWarmUp.start();
+        submittedTasks.forEach(Runnable::run);
+
+        assertThat(ranSteps).containsExactly("slow");
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(cacheWarmUp.getStatus()).isEqualTo(CacheWarmUp.Status.TIMED_OUT);
+        assertThat(meterRegistry.get("warmup.step").tags("step", "skipped", "outcome", "skipped").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("warmup.progress").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("warmup.duration").tag("status", "timed_out").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    public void health_WhileStepOverrunsTimeBudget_ShouldBeUp() throws InterruptedException {
+        CacheWarmUp cacheWarmUp = new CacheWarmUp(true, steps("first"), Duration.ofMillis(10), meterRegistry, executor);
+
+        cacheWarmUp.start();
+        Thread.sleep(20);
+
+        assertThat(submittedTasks).hasSize(1);
+        assertThat(cacheWarmUp.getStatus()).isEqualTo(CacheWarmUp.Status.TIMED_OUT);
+        assertThat(new WarmUpHealthIndicator(cacheWarmUp).health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    public void start_WhenDisabled_ShouldReportUpWithoutRunningSteps() {
+        CacheWarmUp cacheWarmUp = new CacheWarmUp(false, steps("first"), TIME_BUDGET, meterRegistry, executor);
+
+        cacheWarmUp.start();
+
+        assertThat(submittedTasks).isEmpty();
+        assertThat(ranSteps).isEmpty();
+        assertThat(cacheWarmUp.getStatus()).isEqualTo(CacheWarmUp.Status.DISABLED);
+        assertThat(new WarmUpHealthIndicator(cacheWarmUp).health().getStatus()).isEqualTo(Status.UP);
+        assertThat(meterRegistry.get("warmup.progress").gauge().value()).isEqualTo(1.0);
+    }
+
+    private Map<String, Runnable> steps(String... names) {
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+        for (String name : names) {
+            steps.put(name, () -> ranSteps.add(name));
+        }
+        return steps;
+    }
+}
@@ -8,12 +8,14 @@ import com.thirdcc.webapp.annotations.init.InitYearSession;
 import com.thirdcc.webapp.domain.Event;
 import com.thirdcc.webapp.domain.EventActivity;
 import com.thirdcc.webapp.domain.EventAttendee;
+import com.thirdcc.webapp.domain.EventRegistrationClosingCriteria;
 import com.thirdcc.webapp.domain.User;
 import com.thirdcc.webapp.domain.UserUniInfo;
 import com.thirdcc.webapp.domain.enumeration.EventStatus;
 import com.thirdcc.webapp.domain.enumeration.UserUniStatus;
 import com.thirdcc.webapp.exception.BadRequestException;
 import com.thirdcc.webapp.repository.EventAttendeeRepository;
+import com.thirdcc.webapp.repository.EventRegistrationClosingCriteriaRepository;
 import com.thirdcc.webapp.repository.EventRepository;
 import com.thirdcc.webapp.repository.UserRepository;
 import com.thirdcc.webapp.repository.UserUniInfoRepository;
@@ -44,6 +46,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -103,6 +106,9 @@ public class EventAttendeeResourceIT {
     @Autowired
     private EventAttendeeRepository eventAttendeeRepository;
 
+    @Autowired
+    private EventRegistrationClosingCriteriaRepository eventRegistrationClosingCriteriaRepository;
+
     @Autowired
     private EventAttendeeMapper eventAttendeeMapper;
 
@@ -196,6 +202,7 @@ public class EventAttendeeResourceIT {
     @AfterEach
     public void cleanUp() {
         eventAttendeeRepository.deleteAll();
+        eventRegistrationClosingCriteriaRepository.deleteAll();
         eventRepository.deleteAll();
         userUniInfoRepository.deleteAll();
     }
@@ -329,6 +336,99 @@ public class EventAttendeeResourceIT {
         assertThat(eventAttendeeList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @WithCurrentCCAdministrator
+    public void createEventAttendee_WithEventFull_ShouldThrow400() throws Exception {
+        Event savedEvent = initEventDB();
+        eventRegistrationClosingCriteriaRepository.saveAndFlush(new EventRegistrationClosingCriteria()
+            .eventId(savedEvent.getId())
+            .maxAttendees(1)
+            .attendeeCount(1));
+
+        int databaseSizeBeforeCreate = eventAttendeeRepository.findAll().size();
+
+        EventAttendeeDTO eventAttendeeDTO = createDefaultEventAttendeeDTO();
+        eventAttendeeDTO.setUserId(getLoggedInUser().getId());
+        eventAttendeeDTO.setEventId(savedEvent.getId());
+
+        restEventAttendeeMockMvc.perform(post("/api/event-attendees")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(eventAttendeeDTO)))
+            .andExpect(status().isBadRequest());
+
+        List<EventAttendee> eventAttendeeList = eventAttendeeRepository.findAll();
+        assertThat(eventAttendeeList).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @WithCurrentCCAdministrator
+    public void createEventAttendee_WithRegistrationForceClosed_ShouldThrow400() throws Exception {
+        Event savedEvent = initEventDB();
+        eventRegistrationClosingCriteriaRepository.saveAndFlush(new EventRegistrationClosingCriteria()
+            .eventId(savedEvent.getId())
+            .forceClose(true));
+
+        int databaseSizeBeforeCreate = eventAttendeeRepository.findAll().size();
+
+        EventAttendeeDTO eventAttendeeDTO = createDefaultEventAttendeeDTO();
+        eventAttendeeDTO.setUserId(getLoggedInUser().getId());
+        eventAttendeeDTO.setEventId(savedEvent.getId());
+
+        restEventAttendeeMockMvc.perform(post("/api/event-attendees")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(eventAttendeeDTO)))
+            .andExpect(status().isBadRequest());
+
+        List<EventAttendee> eventAttendeeList = eventAttendeeRepository.findAll();
+        assertThat(eventAttendeeList).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @WithCurrentCCAdministrator
+    public void createEventAttendee_WithRegistrationClosingDatePassed_ShouldThrow400() throws Exception {
+        Event savedEvent = initEventDB();
+        eventRegistrationClosingCriteriaRepository.saveAndFlush(new EventRegistrationClosingCriteria()
+            .eventId(savedEvent.getId())
+            .closingDate(Instant.now().minus(1, ChronoUnit.HOURS)));
+
+        int databaseSizeBeforeCreate = eventAttendeeRepository.findAll().size();
+
+        EventAttendeeDTO eventAttendeeDTO = createDefaultEventAttendeeDTO();
+        eventAttendeeDTO.setUserId(getLoggedInUser().getId());
+        eventAttendeeDTO.setEventId(savedEvent.getId());
+
+        restEventAttendeeMockMvc.perform(post("/api/event-attendees")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(eventAttendeeDTO)))
+            .andExpect(status().isBadRequest());
+
+        List<EventAttendee> eventAttendeeList = eventAttendeeRepository.findAll();
+        assertThat(eventAttendeeList).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @WithCurrentCCAdministrator
+    public void createEventAttendee_WithRegistrationOpen_ShouldTakeSeat() throws Exception {
+        Event savedEvent = initEventDB();
+        eventRegistrationClosingCriteriaRepository.saveAndFlush(new EventRegistrationClosingCriteria()
+            .eventId(savedEvent.getId())
+            .maxAttendees(1)
+            .closingDate(Instant.now().plus(1, ChronoUnit.HOURS))
+            .forceClose(false));
+
+        EventAttendeeDTO eventAttendeeDTO = createDefaultEventAttendeeDTO();
+        eventAttendeeDTO.setUserId(getLoggedInUser().getId());
+        eventAttendeeDTO.setEventId(savedEvent.getId());
+
+        restEventAttendeeMockMvc.perform(post("/api/event-attendees")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(eventAttendeeDTO)))
+            .andExpect(status().isCreated());
+
+        assertThat(eventRegistrationClosingCriteriaRepository.findFirstByEventIdOrderByIdAsc(savedEvent.getId()))
+            .hasValueSatisfying(criteria -> assertThat(criteria.getAttendeeCount()).isEqualTo(1));
+    }
+
     @Test
     @WithCurrentCCAdministrator
     public void createEventAttendee_WithEventCancelled_ShouldThrow400() throws Exception {
@@ -442,6 +542,48 @@ public class EventAttendeeResourceIT {
             .andExpect(jsonPath("$.[*].yearSession").value(""));
     }
 
+    @Test
+    @Transactional
+    @WithCurrentCCAdministrator
+    public void getAllEventAttendees_WithEventId_SortByYearSession_ShouldSortAndPageInDatabase() throws Exception {
+        Event savedEvent = initEventDB();
+        EventAttendee loggedInUserAttendee = initEventAttendeeDB();
+        userUniInfo = createUserUniInfoEntity();
+        userUniInfo.setYearSession("2019/2020");
+        initUserUniInfoDB();
+        EventAttendee userWithoutUniInfoAttendee = eventAttendeeRepository.saveAndFlush(createEventAttendeeEntity(em)
+            .eventId(savedEvent.getId())
+            .userId(Long.MAX_VALUE - 1));
+        EventAttendee userWithLaterYearSessionAttendee = eventAttendeeRepository.saveAndFlush(createEventAttendeeEntity(em)
+            .eventId(savedEvent.getId())
+            .userId(Long.MAX_VALUE));
+        UserUniInfo laterUserUniInfo = createUserUniInfoEntity();
+        laterUserUniInfo.setUserId(Long.MAX_VALUE);
+        laterUserUniInfo.setYearSession("2021/2022");
+        userUniInfoRepository.saveAndFlush(laterUserUniInfo);
+
+        restEventAttendeeMockMvc.perform(get("/api/event-attendees/event/{eventId}?sort=yearSession,desc&page=0&size=2", savedEvent.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.[*].id").value(contains(userWithLaterYearSessionAttendee.getId().intValue(), loggedInUserAttendee.getId().intValue())))
+            .andExpect(jsonPath("$.[*].yearSession").value(contains("2021/2022", "2019/2020")))
+            .andExpect(jsonPath("$.[*].contactNumber").value(contains("", "000")));
+
+        restEventAttendeeMockMvc.perform(get("/api/event-attendees/event/{eventId}?sort=yearSession,desc&page=1&size=2", savedEvent.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(userWithoutUniInfoAttendee.getId().intValue()))
+            .andExpect(jsonPath("$.[*].yearSession").value(""));
+    }
+
+    @Test
+    @WithCurrentCCAdministrator
+    public void getAllEventAttendees_WithEventId_SortByUnknownProperty_ShouldThrow400() throws Exception {
+        Event savedEvent = initEventDB();
+
+        restEventAttendeeMockMvc.perform(get("/api/event-attendees/event/{eventId}?sort=unknown,desc", savedEvent.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithCurrentCCAdministrator
     public void getAllEventAttendees_WithNonExistingEventId_ShouldThrow400() throws Exception {
@@ -35,13 +35,18 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static com.thirdcc.webapp.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -92,6 +97,7 @@ public class EventResourceIT {
     private static final String DEFAULT_YEAR_SESSION_VALUE = "2021/2022";
 
     private static final Long DEFAULT_IMAGE_STORAGE_ID = 1L;
+    private static final Long UPDATED_IMAGE_STORAGE_ID = 2L;
 
     private static final MockMultipartFile MOCK_MULTIPART_FILE = new MockMultipartFile("multipartFile", "Event Image".getBytes());
     private static final String DEFAULT_EVENT_IMAGE_LINK = "https://gcp/eventImage.jpg";
@@ -172,6 +178,13 @@ public class EventResourceIT {
             .status(UPDATED_STATUS);
     }
 
+    private static ImageStorageDTO createImageStorageDTO(Long id) {
+        ImageStorageDTO imageStorageDTO = new ImageStorageDTO();
+        imageStorageDTO.setId(id);
+        imageStorageDTO.setImageUrl(DEFAULT_EVENT_IMAGE_LINK);
+        return imageStorageDTO;
+    }
+
     private YearSession initYearSessionDB() {
         return yearSessionRepository.saveAndFlush(new YearSession()
             .value(DEFAULT_YEAR_SESSION_VALUE));
@@ -509,6 +522,42 @@ public class EventResourceIT {
             .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())));
     }
 
+    @Test
+    @Transactional
+    public void getAllEvents_ShouldLoadImageStoragesOfPageInSingleCall() throws Exception {
+        eventRepository.saveAndFlush(createEntity());
+        eventRepository.saveAndFlush(createEntity().imageStorageId(UPDATED_IMAGE_STORAGE_ID));
+        eventRepository.saveAndFlush(createEntity().imageStorageId(null));
+        when(imageStorageService.findAllByIdIn(anyCollection()))
+            .thenReturn(Collections.singletonMap(DEFAULT_IMAGE_STORAGE_ID, createImageStorageDTO(DEFAULT_IMAGE_STORAGE_ID)));
+
+        restEventMockMvc.perform(get("/api/events/v1?sort=id,asc")
+            .with(user("user").password("user").roles("USER")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].imageStorageDTO.imageUrl").value(hasItem(DEFAULT_EVENT_IMAGE_LINK)));
+
+        verify(imageStorageService).findAllByIdIn(argThat(ids -> ids.size() == 2 &&
+            ids.containsAll(Arrays.asList(DEFAULT_IMAGE_STORAGE_ID, UPDATED_IMAGE_STORAGE_ID))));
+        verify(imageStorageService, never()).findOne(anyLong());
+    }
+
+    @Test
+    @Transactional
+    public void getAllEventsByCriteria_ShouldLoadImageStoragesOfPageInSingleCall() throws Exception {
+        eventRepository.saveAndFlush(createEntity());
+        eventRepository.saveAndFlush(createEntity());
+        when(imageStorageService.findAllByIdIn(anyCollection()))
+            .thenReturn(Collections.singletonMap(DEFAULT_IMAGE_STORAGE_ID, createImageStorageDTO(DEFAULT_IMAGE_STORAGE_ID)));
+
+        restEventMockMvc.perform(get("/api/events?name.equals=" + DEFAULT_NAME)
+            .with(user("user").password("user").roles("USER")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].imageStorageDTO.imageUrl").value(contains(DEFAULT_EVENT_IMAGE_LINK, DEFAULT_EVENT_IMAGE_LINK)));
+
+        verify(imageStorageService, times(1)).findAllByIdIn(anyCollection());
+        verify(imageStorageService, never()).findOne(anyLong());
+    }
+
     @Test
     @Transactional
     public void getAllUpcomingEvents() throws Exception {
@@ -0,0 +1,229 @@
+package com.thirdcc.webapp.web.rest;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import com.thirdcc.webapp.annotations.authorization.WithCurrentCCAdministrator;
+import com.thirdcc.webapp.annotations.init.InitYearSession;
+import com.thirdcc.webapp.domain.Event;
+import com.thirdcc.webapp.domain.EventAttendee;
+import com.thirdcc.webapp.domain.EventRegistrationClosingCriteria;
+import com.thirdcc.webapp.domain.EventWaitlistEntry;
+import com.thirdcc.webapp.domain.User;
+import com.thirdcc.webapp.domain.enumeration.EventStatus;
+import com.thirdcc.webapp.exception.BadRequestException;
+import com.thirdcc.webapp.repository.EventAttendeeRepository;
+import com.thirdcc.webapp.repository.EventRegistrationClosingCriteriaRepository;
+import com.thirdcc.webapp.repository.EventRepository;
+import com.thirdcc.webapp.repository.EventWaitlistEntryRepository;
+import com.thirdcc.webapp.service.UserService;
+import com.thirdcc.webapp.service.dto.EventWaitlistEntryDTO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link EventWaitlistEntryResource} REST controller.
+ */
+@SpringBootTest(classes = ClubmanagementApp.class)
+@AutoConfigureMockMvc
+@InitYearSession
+@WithCurrentCCAdministrator
+public class EventWaitlistEntryResourceIT {
+
+    private static final Boolean DEFAULT_PROVIDE_TRANSPORT = false;
+
+    @Autowired
+    private EventWaitlistEntryRepository eventWaitlistEntryRepository;
+
+    @Autowired
+    private EventAttendeeRepository eventAttendeeRepository;
+
+    @Autowired
+    private EventRegistrationClosingCriteriaRepository eventRegistrationClosingCriteriaRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MockMvc restEventWaitlistEntryMockMvc;
+
+    private Event event;
+
+    @BeforeEach
+    public void initTest() {
+        event = new Event();
+        event.setName("DEFAULT_EVENT_NAME");
+        event.setStartDate(Instant.now().plus(1, ChronoUnit.DAYS));
+        event.setEndDate(Instant.now().plus(5, ChronoUnit.DAYS));
+        event.setStatus(EventStatus.OPEN);
+        event = eventRepository.saveAndFlush(event);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        eventWaitlistEntryRepository.deleteAll();
+        eventAttendeeRepository.deleteAll();
+        eventRegistrationClosingCriteriaRepository.deleteAll();
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    public void createEventWaitlistEntry_WithEventFull_ShouldQueueUser() throws Exception {
+        initFullEventCriteria();
+        User user = getLoggedInUser();
+        EventWaitlistEntryDTO eventWaitlistEntryDTO = createEventWaitlistEntryDTO(user.getId());
+
+        restEventWaitlistEntryMockMvc.perform(post("/api/event-waitlist-entries")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(eventWaitlistEntryDTO)))
+            .andExpect(status().isCreated());
+
+        List<EventWaitlistEntry> eventWaitlistEntries = eventWaitlistEntryRepository.findAll();
+        assertThat(eventWaitlistEntries).hasSize(1);
+        assertThat(eventWaitlistEntries.get(0).getEventId()).isEqualTo(event.getId());
+        assertThat(eventWaitlistEntries.get(0).getUserId()).isEqualTo(user.getId());
+        assertThat(eventWaitlistEntries.get(0).getJoinedDate()).isNotNull();
+    }
+
+    @Test
+    public void createEventWaitlistEntry_WithEventNotLimited_ShouldThrow400() throws Exception {
+        EventWaitlistEntryDTO eventWaitlistEntryDTO = createEventWaitlistEntryDTO(getLoggedInUser().getId());
+
+        restEventWaitlistEntryMockMvc.perform(post("/api/event-waitlist-entries")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(eventWaitlistEntryDTO)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(eventWaitlistEntryRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    public void createEventWaitlistEntry_WithSeatsAvailable_ShouldThrow400() throws Exception {
+        eventRegistrationClosingCriteriaRepository.saveAndFlush(new EventRegistrationClosingCriteria()
+            .eventId(event.getId())
+            .maxAttendees(2)
+            .attendeeCount(1)
+            .forceClose(false));
+        EventWaitlistEntryDTO eventWaitlistEntryDTO = createEventWaitlistEntryDTO(getLoggedInUser().getId());
+
+        restEventWaitlistEntryMockMvc.perform(post("/api/event-waitlist-entries")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(eventWaitlistEntryDTO)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(eventWaitlistEntryRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    public void createEventWaitlistEntry_WithUserRegistered_ShouldThrow400() throws Exception {
+        initFullEventCriteria();
+        eventAttendeeRepository.saveAndFlush(new EventAttendee()
+            .eventId(event.getId())
+            .userId(getLoggedInUser().getId()));
+        EventWaitlistEntryDTO eventWaitlistEntryDTO = createEventWaitlistEntryDTO(getLoggedInUser().getId());
+
+        restEventWaitlistEntryMockMvc.perform(post("/api/event-waitlist-entries")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(eventWaitlistEntryDTO)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(eventWaitlistEntryRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    public void createEventWaitlistEntry_WithUserQueued_ShouldThrow400() throws Exception {
+        initFullEventCriteria();
+        eventWaitlistEntryRepository.saveAndFlush(new EventWaitlistEntry()
+            .eventId(event.getId())
+            .userId(getLoggedInUser().getId()));
+        EventWaitlistEntryDTO eventWaitlistEntryDTO = createEventWaitlistEntryDTO(getLoggedInUser().getId());
+
+        restEventWaitlistEntryMockMvc.perform(post("/api/event-waitlist-entries")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(eventWaitlistEntryDTO)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(eventWaitlistEntryRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    public void createEventWaitlistEntry_WithRegistrationClosed_ShouldThrow400() throws Exception {
+        eventRegistrationClosingCriteriaRepository.saveAndFlush(new EventRegistrationClosingCriteria()
+            .eventId(event.getId())
+            .maxAttendees(1)
+            .attendeeCount(1)
+            .forceClose(true));
+        EventWaitlistEntryDTO eventWaitlistEntryDTO = createEventWaitlistEntryDTO(getLoggedInUser().getId());
+
+        restEventWaitlistEntryMockMvc.perform(post("/api/event-waitlist-entries")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(eventWaitlistEntryDTO)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(eventWaitlistEntryRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    public void getAllEventWaitlistEntriesByEventId_ShouldReturnInOrderOfPromotion() throws Exception {
+        EventWaitlistEntry firstEntry = eventWaitlistEntryRepository.saveAndFlush(new EventWaitlistEntry()
+            .eventId(event.getId())
+            .userId(Long.MAX_VALUE));
+        EventWaitlistEntry secondEntry = eventWaitlistEntryRepository.saveAndFlush(new EventWaitlistEntry()
+            .eventId(event.getId())
+            .userId(Long.MAX_VALUE - 1));
+
+        restEventWaitlistEntryMockMvc.perform(get("/api/event-waitlist-entries/event/{eventId}", event.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[*].id").value(contains(firstEntry.getId().intValue(), secondEntry.getId().intValue())));
+    }
+
+    @Test
+    public void deleteEventWaitlistEntry() throws Exception {
+        EventWaitlistEntry eventWaitlistEntry = eventWaitlistEntryRepository.saveAndFlush(new EventWaitlistEntry()
+            .eventId(event.getId())
+            .userId(getLoggedInUser().getId()));
+
+        restEventWaitlistEntryMockMvc.perform(delete("/api/event-waitlist-entries/{id}", eventWaitlistEntry.getId()))
+            .andExpect(status().isNoContent());
+
+        assertThat(eventWaitlistEntryRepository.findAll()).isEmpty();
+    }
+
+    private void initFullEventCriteria() {
+        eventRegistrationClosingCriteriaRepository.saveAndFlush(new EventRegistrationClosingCriteria()
+            .eventId(event.getId())
+            .maxAttendees(1)
+            .attendeeCount(1)
+            .forceClose(false));
+    }
+
+    private EventWaitlistEntryDTO createEventWaitlistEntryDTO(Long userId) {
+        EventWaitlistEntryDTO eventWaitlistEntryDTO = new EventWaitlistEntryDTO();
+        eventWaitlistEntryDTO.setEventId(event.getId());
+        eventWaitlistEntryDTO.setUserId(userId);
+        eventWaitlistEntryDTO.setProvideTransport(DEFAULT_PROVIDE_TRANSPORT);
+        return eventWaitlistEntryDTO;
+    }
+
+    private User getLoggedInUser() {
+        return userService.getUserWithAuthorities()
+            .orElseThrow(() -> new BadRequestException("User not login"));
+    }
+}
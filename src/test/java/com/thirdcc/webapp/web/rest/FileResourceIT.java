@@ -0,0 +1,182 @@
+package com.thirdcc.webapp.web.rest;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import com.thirdcc.webapp.config.Constants;
+import com.thirdcc.webapp.lib.wrapper.LocalFileCloudStorage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link FileResource} REST controller.
+ */
+@SpringBootTest(classes = ClubmanagementApp.class, properties = "application.local-storage.directory=target/local-storage")
+@ActiveProfiles(Constants.SPRING_PROFILE_LOCAL_STORAGE)
+@AutoConfigureMockMvc
+public class FileResourceIT {
+
+    private static final String CONTENT = "0123456789";
+    private static final String CONTENT_TYPE = "image/png";
+
+    @Autowired
+    private LocalFileCloudStorage localFileCloudStorage;
+
+    @Autowired
+    private MockMvc restFileMockMvc;
+
+    private String objectName;
+
+    @BeforeEach
+    public void initTest() throws IOException {
+        objectName = UUID.randomUUID() + "/image.png";
+        store(objectName, CONTENT_TYPE);
+    }
+
+    private void store(String name, String contentType) throws IOException {
+        Path file = Files.createTempFile("file-resource-", ".tmp");
+        try {
+            Files.write(file, CONTENT.getBytes(StandardCharsets.UTF_8));
+            localFileCloudStorage.store(name, contentType, file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void getFile_ShouldReturnWholeFileWithCacheHeaders() throws Exception {
+        assertThat(localFileCloudStorage.getUrl(objectName)).isEqualTo("/api/files/" + objectName);
+
+        restFileMockMvc.perform(get(localFileCloudStorage.getUrl(objectName)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(CONTENT_TYPE))
+            .andExpect(content().string(CONTENT))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+            .andExpect(header().string("Content-Security-Policy", "sandbox"))
+            .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+    }
+
+    @Test
+    public void getFile_WhenNotRasterImage_ShouldReturnAttachment() throws Exception {
+        String htmlObjectName = UUID.randomUUID() + "/page.html";
+        store(htmlObjectName, "text/html");
+        String svgObjectName = UUID.randomUUID() + "/image.svg";
+        store(svgObjectName, "image/svg+xml");
+
+        for (String name : new String[]{htmlObjectName, svgObjectName}) {
+            restFileMockMvc.perform(get("/api/files/" + name))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment"))
+                .andExpect(header().string("Content-Security-Policy", "sandbox"))
+                .andExpect(content().string(CONTENT));
+        }
+    }
+
+    @Test
+    public void headFile_ShouldReturnHeadersOnly() throws Exception {
+        restFileMockMvc.perform(head("/api/files/" + objectName))
+            .andExpect(status().isOk())
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    public void getFile_WithRange_ShouldReturnPartialContent() throws Exception {
+        restFileMockMvc.perform(get("/api/files/" + objectName).header(HttpHeaders.RANGE, "bytes=2-5"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+            .andExpect(content().string("2345"));
+
+        restFileMockMvc.perform(get("/api/files/" + objectName).header(HttpHeaders.RANGE, "bytes=-3"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+            .andExpect(content().string("789"));
+
+        restFileMockMvc.perform(get("/api/files/" + objectName).header(HttpHeaders.RANGE, "bytes=8-"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 8-9/10"))
+            .andExpect(content().string("89"));
+    }
+
+    @Test
+    public void getFile_WithUnsatisfiableRange_ShouldReturnRangeNotSatisfiable() throws Exception {
+        restFileMockMvc.perform(get("/api/files/" + objectName).header(HttpHeaders.RANGE, "bytes=10-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    public void getFile_WithStaleIfRange_ShouldReturnWholeFile() throws Exception {
+        restFileMockMvc.perform(get("/api/files/" + objectName)
+            .header(HttpHeaders.RANGE, "bytes=2-5")
+            .header(HttpHeaders.IF_RANGE, "\"stale\""))
+            .andExpect(status().isOk())
+            .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    public void getFile_WithCurrentETag_ShouldReturnNotModified() throws Exception {
+        MvcResult result = restFileMockMvc.perform(get("/api/files/" + objectName))
+            .andExpect(status().isOk())
+            .andReturn();
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        restFileMockMvc.perform(get("/api/files/" + objectName).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        restFileMockMvc.perform(get("/api/files/" + objectName)
+            .header(HttpHeaders.RANGE, "bytes=2-5")
+            .header(HttpHeaders.IF_RANGE, eTag))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().string("2345"));
+    }
+
+    @Test
+    public void getFile_WhenNotStored_ShouldReturnNotFound() throws Exception {
+        restFileMockMvc.perform(get("/api/files/" + UUID.randomUUID()))
+            .andExpect(status().isNotFound());
+        restFileMockMvc.perform(get("/api/files/" + objectName + ".content-type"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void store_WithNameOutsideOfDirectory_ShouldFail() throws Exception {
+        Path file = Files.createTempFile("file-resource-", ".tmp");
+        try {
+            assertThatThrownBy(() -> localFileCloudStorage.store("../escaped.png", CONTENT_TYPE, file))
+                .isInstanceOf(IOException.class);
+            assertThat(localFileCloudStorage.getFile("../" + objectName)).isEmpty();
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -77,6 +77,9 @@ class FinanceReportResourceIT {
     @Autowired
     private FinanceReportService financeReportService;
 
+    @Autowired
+    private EventFinanceSummaryRepository eventFinanceSummaryRepository;
+
     @Autowired
     private YearSessionService yearSessionService;
 
@@ -129,6 +132,7 @@ class FinanceReportResourceIT {
 
     @AfterEach
     public void cleanUp() {
+        eventFinanceSummaryRepository.deleteAll();
         eventRepository.deleteAll();
         receiptRepository.deleteAll();
         budgetRepository.deleteAll();
@@ -154,6 +158,29 @@ class FinanceReportResourceIT {
             .andExpect(jsonPath("$.[*].totalExpenses").value(hasItem(DEFAULT_TRANSACTION_AMOUNT.doubleValue())));
     }
 
+    @Test
+    public void getAllEventFinanceReport_WithPagination_ShouldAggregatePerEvent() throws Exception {
+        Event firstEvent = initEventDB();
+        Event secondEvent = eventRepository.saveAndFlush(createEventEntity(em));
+        Receipt savedReceipt = initReceiptDB();
+        initBudgetDB(firstEvent, TransactionType.INCOME);
+        initTransactionDB(DEFAULT_INCOME_TRANSACTION_TITLE, firstEvent, savedReceipt, TransactionType.INCOME, DEFAULT_TRANSACTION_DATE);
+        initBudgetDB(secondEvent, TransactionType.EXPENSE);
+        initBudgetDB(secondEvent, TransactionType.EXPENSE);
+        initTransactionDB(DEFAULT_EXPENSE_TRANSACTION_TITLE, secondEvent, savedReceipt, TransactionType.EXPENSE, DEFAULT_TRANSACTION_DATE);
+
+        restFinanceReportMockMvc.perform(get("/api/finance-report?sort=id,desc&page=0&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].eventDTO.id").value(secondEvent.getId().intValue()))
+            .andExpect(jsonPath("$.[0].totalBudgetIncome").value(BigDecimal.ZERO.doubleValue()))
+            .andExpect(jsonPath("$.[0].totalBudgetExpenses").value(DEFAULT_BUDGET_AMOUNT.add(DEFAULT_BUDGET_AMOUNT).doubleValue()))
+            .andExpect(jsonPath("$.[0].totalIncome").value(BigDecimal.ZERO.doubleValue()))
+            .andExpect(jsonPath("$.[0].totalExpenses").value(DEFAULT_TRANSACTION_AMOUNT.doubleValue()));
+    }
+
     @Test
     @WithEventHead
     public void getAllEventFinanceReport_IsNotAdmin_ShouldReturnIsForbidden403() throws Exception {
@@ -246,6 +273,38 @@ class FinanceReportResourceIT {
             .andExpect(jsonPath("$.EXPENSE.DECEMBER").value(BigDecimal.ZERO.doubleValue()));
     }
 
+    @Test
+    public void getFinanceReportByYearSession_WithTransactionsOfDifferentMonthAndStatus_ShouldSumByMonth() throws Exception {
+        int secondYear = Integer.parseInt(YearSessionUtils.getCurrentYearSession().substring(5));
+        Event savedEvent = initEventDB();
+        Receipt savedReceipt = initReceiptDB();
+        Long currentYearSessionId = yearSessionService.getCurrentYearSession().getId();
+
+        // belongs to the next year session
+        mockCreatedDate(LocalDateTime.of(secondYear, 9, 1, 0, 0, 0));
+        initTransactionDB(DEFAULT_EXPENSE_TRANSACTION_TITLE, savedEvent, savedReceipt, TransactionType.EXPENSE, DEFAULT_TRANSACTION_DATE);
+        mockCreatedDate(LocalDateTime.of(secondYear, 1, 1, 0, 0, 0));
+        initTransactionDB(DEFAULT_INCOME_TRANSACTION_TITLE, savedEvent, savedReceipt, TransactionType.INCOME, DEFAULT_TRANSACTION_DATE);
+        mockCreatedDate(LocalDateTime.of(secondYear, 1, 31, 23, 59, 59));
+        Transaction completedTransaction = initTransactionDB(DEFAULT_INCOME_TRANSACTION_TITLE, savedEvent, savedReceipt, TransactionType.INCOME, DEFAULT_TRANSACTION_DATE);
+        completedTransaction.setTransactionStatus(TransactionStatus.COMPLETED);
+        transactionRepository.saveAndFlush(completedTransaction);
+        mockCreatedDate(LocalDateTime.of(secondYear, 2, 1, 0, 0, 0));
+        initTransactionDB(DEFAULT_EXPENSE_TRANSACTION_TITLE, savedEvent, savedReceipt, TransactionType.EXPENSE, DEFAULT_TRANSACTION_DATE);
+
+        restFinanceReportMockMvc.perform(
+            get("/api/finance-report/year-session")
+                .param("yearSessionId", currentYearSessionId.toString())
+        )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.INCOME.JANUARY").value(DEFAULT_TRANSACTION_AMOUNT.add(DEFAULT_TRANSACTION_AMOUNT).doubleValue()))
+            .andExpect(jsonPath("$.INCOME.FEBRUARY").value(BigDecimal.ZERO.doubleValue()))
+            .andExpect(jsonPath("$.EXPENSE.JANUARY").value(BigDecimal.ZERO.doubleValue()))
+            .andExpect(jsonPath("$.EXPENSE.FEBRUARY").value(DEFAULT_TRANSACTION_AMOUNT.doubleValue()))
+            .andExpect(jsonPath("$.EXPENSE.SEPTEMBER").value(BigDecimal.ZERO.doubleValue()));
+    }
+
     @Test
     public void getFinanceReportByYearSession_WithNoTransaction() throws Exception {
         restFinanceReportMockMvc.perform(get("/api/finance-report/year-session"))
@@ -332,6 +391,12 @@ class FinanceReportResourceIT {
             .andExpect(status().isForbidden());
     }
 
+    private void mockCreatedDate(LocalDateTime createdDate) {
+        Mockito
+            .when(dateTimeProvider.getNow())
+            .thenReturn(Optional.of(createdDate));
+    }
+
     private Event initEventDB() {
         return eventRepository.saveAndFlush(event);
     }
@@ -0,0 +1,182 @@
+package com.thirdcc.webapp.web.rest;
+
+import com.thirdcc.webapp.ClubmanagementApp;
+import com.thirdcc.webapp.domain.CourseProgram;
+import com.thirdcc.webapp.domain.Faculty;
+import com.thirdcc.webapp.repository.CourseProgramRepository;
+import com.thirdcc.webapp.repository.FacultyRepository;
+import com.thirdcc.webapp.service.FacultyService;
+import com.thirdcc.webapp.service.ReferenceDataService;
+import com.thirdcc.webapp.service.impl.ReferenceDataServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link ReferenceDataResource} REST controller, and the snapshot of {@link ReferenceDataService}.
+ */
+@SpringBootTest(classes = ClubmanagementApp.class, properties = "application.reference-data.snapshot-enabled=true")
+@AutoConfigureMockMvc
+@WithMockUser
+public class ReferenceDataResourceIT {
+
+    private static final String DEFAULT_FACULTY_NAME = "REFERENCE_DATA_FACULTY";
+    private static final String UPDATED_FACULTY_NAME = "UPDATED_REFERENCE_DATA_FACULTY";
+    private static final String DEFAULT_COURSE_PROGRAM_NAME = "REFERENCE_DATA_COURSE_PROGRAM";
+    private static final Integer DEFAULT_NUM_OF_SEM = 7;
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private ReferenceDataServiceImpl referenceDataServiceImpl;
+
+    @Autowired
+    private FacultyService facultyService;
+
+    @Autowired
+    private FacultyRepository facultyRepository;
+
+    @Autowired
+    private CourseProgramRepository courseProgramRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc restReferenceDataMockMvc;
+
+    private Faculty faculty;
+
+    private CourseProgram courseProgram;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void initTest() {
+        faculty = facultyRepository.saveAndFlush(new Faculty().name(DEFAULT_FACULTY_NAME).shortName("RDF"));
+        courseProgram = new CourseProgram();
+        courseProgram.setFacultyId(faculty.getId());
+        courseProgram.setName(DEFAULT_COURSE_PROGRAM_NAME);
+        courseProgram.setNumOfSem(DEFAULT_NUM_OF_SEM);
+        courseProgram = courseProgramRepository.saveAndFlush(courseProgram);
+        referenceDataServiceImpl.refreshSnapshotPeriodically();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        statistics.setStatisticsEnabled(false);
+        courseProgramRepository.deleteById(courseProgram.getId());
+        facultyRepository.findById(faculty.getId()).ifPresent(facultyRepository::delete);
+        referenceDataServiceImpl.refreshSnapshotPeriodically();
+    }
+
+    @Test
+    public void getReferenceData_ShouldReturnVersionedCatalogue() throws Exception {
+        String version = referenceDataService.getVersion();
+
+        restReferenceDataMockMvc.perform(get("/api/reference-data"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + version + "\""))
+            .andExpect(jsonPath("$.version").value(version))
+            .andExpect(jsonPath("$.faculties.[*].name").value(hasItem(DEFAULT_FACULTY_NAME)))
+            .andExpect(jsonPath("$.coursePrograms.[*].id").value(hasItem(courseProgram.getId().intValue())));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void getReferenceData_WithCurrentETag_ShouldReturnNotModified() throws Exception {
+        String eTag = restReferenceDataMockMvc.perform(get("/api/reference-data"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        restReferenceDataMockMvc.perform(get("/api/reference-data").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    public void getReferenceData_AfterFacultySaved_ShouldReturnNewVersion() throws Exception {
+        String eTag = restReferenceDataMockMvc.perform(get("/api/reference-data"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        faculty.setName(UPDATED_FACULTY_NAME);
+        facultyService.save(faculty);
+
+        restReferenceDataMockMvc.perform(get("/api/reference-data").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.faculties.[*].name").value(hasItem(UPDATED_FACULTY_NAME)));
+        assertThat(facultyService.findOne(faculty.getId()))
+            .hasValueSatisfying(found -> assertThat(found.getName()).isEqualTo(UPDATED_FACULTY_NAME));
+    }
+
+    @Test
+    public void getReferenceData_AfterFacultyDeleted_ShouldNotReturnIt() throws Exception {
+        facultyService.delete(faculty.getId());
+
+        assertThat(referenceDataService.findFaculty(faculty.getId())).isEmpty();
+        restReferenceDataMockMvc.perform(get("/api/reference-data"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.faculties.[*].id").value(not(hasItem(faculty.getId().intValue()))));
+    }
+
+    @Test
+    public void lookups_ShouldBeServedFromSnapshotWithoutStatements() {
+        assertThat(referenceDataService.existsCourseProgram(courseProgram.getId())).isTrue();
+        assertThat(referenceDataService.existsCourseProgram(Long.MAX_VALUE)).isFalse();
+        assertThat(referenceDataService.findCourseProgram(courseProgram.getId()))
+            .hasValueSatisfying(found -> assertThat(found.getNumOfSem()).isEqualTo(DEFAULT_NUM_OF_SEM));
+        assertThat(referenceDataService.findAllCourseProgramsByFacultyId(faculty.getId()))
+            .extracting(CourseProgram::getId)
+            .containsExactly(courseProgram.getId());
+        assertThat(facultyService.findOne(faculty.getId())).contains(faculty);
+        assertThat(facultyService.findAll()).contains(faculty);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void lookups_ShouldNotExposeSnapshotToChanges() {
+        referenceDataService.findCourseProgram(courseProgram.getId()).ifPresent(found -> found.setNumOfSem(1));
+
+        assertThat(referenceDataService.findCourseProgram(courseProgram.getId()))
+            .hasValueSatisfying(found -> assertThat(found.getNumOfSem()).isEqualTo(DEFAULT_NUM_OF_SEM));
+    }
+
+    @Test
+    public void refreshSnapshotPeriodically_ShouldPickUpChangesNotMadeThroughService() {
+        String version = referenceDataService.getVersion();
+        courseProgram.setNumOfSem(DEFAULT_NUM_OF_SEM + 1);
+        courseProgramRepository.saveAndFlush(courseProgram);
+        assertThat(referenceDataService.getVersion()).isEqualTo(version);
+
+        referenceDataServiceImpl.refreshSnapshotPeriodically();
+
+        assertThat(referenceDataService.getVersion()).isNotEqualTo(version);
+        assertThat(referenceDataService.findCourseProgram(courseProgram.getId()))
+            .hasValueSatisfying(found -> assertThat(found.getNumOfSem()).isEqualTo(DEFAULT_NUM_OF_SEM + 1));
+    }
+}
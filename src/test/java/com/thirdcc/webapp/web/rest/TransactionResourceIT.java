@@ -19,6 +19,9 @@ import com.thirdcc.webapp.service.dto.ReceiptDTO;
 import com.thirdcc.webapp.service.dto.TransactionDTO;
 import com.thirdcc.webapp.service.mapper.TransactionMapper;
 
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,6 +30,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -35,6 +39,7 @@ import org.springframework.test.web.servlet.request.MockMultipartHttpServletRequ
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -1179,6 +1184,67 @@ public class TransactionResourceIT {
             .orElseThrow(()-> new BadRequestException("User not found"));
     }
 
+    @Test
+    public void exportTransactionsByYearSession_AsCsv() throws Exception {
+        Event savedEvent = initEventDB();
+        transaction.setEventId(savedEvent.getId());
+        transaction.setTitle("DEFAULT, \"QUOTED\" TITLE");
+        Transaction savedTransaction = initTransactionDB();
+
+        String content = restTransactionMockMvc.perform(get(ENTITY_API_URL + "/export").param("format", "CSV"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("text/csv"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, Matchers.startsWith("attachment; filename=\"transactions-")))
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(content.split("\r\n")).containsExactly(
+            "Id,Transaction Date,Title,Event,Type,Status,Amount,Image Link",
+            savedTransaction.getId() + "," + DEFAULT_TRANSACTION_DATE + ",\"DEFAULT, \"\"QUOTED\"\" TITLE\"," + DEFAULT_EVENT_NAME + "," +
+                DEFAULT_TRANSACTION_TYPE + "," + DEFAULT_TRANSACTION_STATUS + "," + DEFAULT_AMOUNT.setScale(2).toPlainString() + "," + DEFAULT_IMAGE_LINK
+        );
+    }
+
+    @Test
+    public void exportTransactionsByYearSession_AsCsv_WithFormula_ShouldPrefixValue() throws Exception {
+        Event savedEvent = initEventDB();
+        transaction.setEventId(savedEvent.getId());
+        transaction.setTitle("=HYPERLINK(\"http://example.com\")");
+        initTransactionDB();
+
+        String content = restTransactionMockMvc.perform(get(ENTITY_API_URL + "/export").param("format", "CSV"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(content.split("\r\n")[1]).contains(",\"'=HYPERLINK(\"\"http://example.com\"\")\",");
+    }
+
+    @Test
+    public void exportTransactionsByYearSession_AsXlsx() throws Exception {
+        Event savedEvent = initEventDB();
+        transaction.setEventId(savedEvent.getId());
+        Transaction savedTransaction = initTransactionDB();
+
+        byte[] content = restTransactionMockMvc.perform(get(ENTITY_API_URL + "/export").param("format", "XLSX"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(content))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(1);
+            assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo(savedTransaction.getId().toString());
+            assertThat(sheet.getRow(1).getCell(3).getStringCellValue()).isEqualTo(DEFAULT_EVENT_NAME);
+            assertThat(sheet.getRow(1).getCell(6).getNumericCellValue()).isEqualTo(DEFAULT_AMOUNT.doubleValue());
+        }
+    }
+
+    @Test
+    @WithNormalUser
+    public void exportTransactionsByYearSession_IsNotAdmin_ShouldReturnIsForbidden403() throws Exception {
+        restTransactionMockMvc.perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isForbidden());
+    }
+
     private Transaction initTransactionDB() {
         return transactionRepository.saveAndFlush(transaction);
     }